@@ -0,0 +1,106 @@
+package com.madang.bench;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import com.madang.model.Book;
+import com.madang.util.JsonBody;
+import com.madang.util.JsonWriter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ApiServlet JSON 응답 도우미 (successResponse/errorResponse, 압축 포함 응답 전송)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApiJsonBenchmark {
+
+    private BenchServlet servlet;
+    private Map<String, Object> stats;
+    private List<Book> books;
+
+    private final ByteArrayOutputStream sink = new ByteArrayOutputStream(64 * 1024);
+    private HttpServletRequest plainRequest;
+    private HttpServletRequest gzipRequest;
+    private HttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        servlet = new BenchServlet();
+
+        stats = new LinkedHashMap<>();
+        stats.put("totalOrders", 1523);
+        stats.put("totalSales", 18_250_000L);
+        stats.put("avgPrice", 11983.4);
+        stats.put("topPublisher", "대한미디어");
+        stats.put("months", List.of("2024-05", "2024-06", "2024-07"));
+
+        books = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            books.add(new Book(i, "도서 " + i + " - Java Programming", "출판사 " + (i % 7), 10000 + i * 100));
+        }
+
+        plainRequest = ServletStubs.request("action=list", ServletStubs.headers());
+        gzipRequest = ServletStubs.request("action=list", ServletStubs.headers("Accept-Encoding", "gzip, deflate, br"));
+        response = ServletStubs.response(sink, new HashMap<>());
+    }
+
+    private int write(JsonBody body) throws Exception {
+        sink.reset();
+        JsonWriter out = JsonWriter.of(sink);
+        body.writeTo(out);
+        out.flush();
+        return sink.size();
+    }
+
+    @Benchmark
+    public int successMap() throws Exception {
+        return write(servlet.success(stats));
+    }
+
+    @Benchmark
+    public int successList() throws Exception {
+        return write(servlet.success(books, Book::writeJson));
+    }
+
+    @Benchmark
+    public int error() throws Exception {
+        return write(servlet.error("도서를 찾을 수 없습니다."));
+    }
+
+    @Benchmark
+    public int sendPlain() throws Exception {
+        sink.reset();
+        servlet.send(plainRequest, response, servlet.success(books, Book::writeJson));
+        return sink.size();
+    }
+
+    @Benchmark
+    public int sendGzip() throws Exception {
+        sink.reset();
+        servlet.send(gzipRequest, response, servlet.success(books, Book::writeJson));
+        return sink.size();
+    }
+}
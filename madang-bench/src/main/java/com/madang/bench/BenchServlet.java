@@ -0,0 +1,39 @@
+package com.madang.bench;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import com.madang.servlet.ApiServlet;
+import com.madang.util.JsonBody;
+import com.madang.util.JsonWriter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ApiServlet의 protected 도우미를 벤치마크에서 호출하기 위한 서블릿
+ */
+public class BenchServlet extends ApiServlet {
+
+    private static final long serialVersionUID = 1L;
+
+    public Map<String, String> parse(HttpServletRequest req) {
+        return parseQueryParams(req);
+    }
+
+    public JsonBody success(Object data) {
+        return successResponse(data);
+    }
+
+    public <T> JsonBody success(List<T> items, JsonWriter.ItemWriter<T> itemWriter) {
+        return successResponse(items, itemWriter);
+    }
+
+    public JsonBody error(String message) {
+        return errorResponse(message);
+    }
+
+    public void send(HttpServletRequest req, HttpServletResponse resp, JsonBody body) throws Exception {
+        sendJsonResponse(req, resp, 200, body);
+    }
+}
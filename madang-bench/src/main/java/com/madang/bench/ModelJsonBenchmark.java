@@ -0,0 +1,113 @@
+package com.madang.bench;
+
+import com.madang.model.Book;
+import com.madang.model.Order;
+import com.madang.model.PageRequest;
+import com.madang.model.PageResponse;
+import com.madang.util.JsonWriter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 모델 JSON 변환 (행 하나를 문자열로, 목록을 응답 스트림으로)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ModelJsonBenchmark {
+
+    @Param({"20", "100"})
+    public int rows;
+
+    private Book book;
+    private Order order;
+    private List<Book> books;
+    private List<Order> orders;
+    private PageResponse<Book> page;
+    private final ByteArrayOutputStream sink = new ByteArrayOutputStream(64 * 1024);
+
+    @Setup
+    public void setUp() {
+        book = new Book(1, "축구의 역사 \"개정판\"", "굿스포츠", 7000);
+        order = newOrder(1);
+
+        books = new ArrayList<>();
+        orders = new ArrayList<>();
+        for (int i = 1; i <= rows; i++) {
+            books.add(new Book(i, "도서 " + i + " - Java Programming", "출판사 " + (i % 7), 10000 + i * 100));
+            orders.add(newOrder(i));
+        }
+        page = new PageResponse<>(books, new PageRequest(2, rows, "price", "desc"), rows * 10L, null);
+    }
+
+    private static Order newOrder(int id) {
+        Order order = new Order(id, id % 50 + 1, id % 20 + 1, 6000 + id, Date.valueOf("2024-07-0" + (id % 9 + 1)));
+        order.setBookname("축구아는 여자");
+        order.setPublisher("나무수");
+        order.setCustomerName("김연아");
+        order.setListPrice(13000);
+        return order;
+    }
+
+    @Benchmark
+    public String bookToJson() {
+        return book.toJson();
+    }
+
+    @Benchmark
+    public String orderToJson() {
+        return order.toJson();
+    }
+
+    @Benchmark
+    public String orderToJsonWithDetails() {
+        return order.toJsonWithDetails();
+    }
+
+    @Benchmark
+    public int bookListToStream() throws IOException {
+        sink.reset();
+        JsonWriter out = JsonWriter.of(sink);
+        out.array(books, Book::writeJson);
+        out.flush();
+        return sink.size();
+    }
+
+    @Benchmark
+    public int orderListWithDetailsToStream() throws IOException {
+        sink.reset();
+        JsonWriter out = JsonWriter.of(sink);
+        out.array(orders, Order::writeJsonWithDetails);
+        out.flush();
+        return sink.size();
+    }
+
+    @Benchmark
+    public int bookPageToStream() throws IOException {
+        sink.reset();
+        JsonWriter out = JsonWriter.of(sink);
+        page.writeJson(out, Book::writeJson);
+        out.flush();
+        return sink.size();
+    }
+}
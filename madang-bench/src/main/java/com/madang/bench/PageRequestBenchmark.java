@@ -0,0 +1,54 @@
+package com.madang.bench;
+
+import com.madang.model.PageRequest;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PageRequest 생성/커서 처리 (페이지 조회마다 실행)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PageRequestBenchmark {
+
+    private String cursor;
+
+    @Setup
+    public void setUp() {
+        cursor = PageRequest.encodeCursor("bookname", "ASC", "축구의 역사", 1234);
+    }
+
+    @Benchmark
+    public int offsetPage() {
+        PageRequest request = new PageRequest(3, 20, "price", "desc");
+        request.setCountMode(PageRequest.CountMode.parse("cached"));
+        return request.getOffset();
+    }
+
+    @Benchmark
+    public long keysetPage() {
+        PageRequest request = new PageRequest(1, 20, "bookname", "asc", cursor);
+        request.requireCursorFor("bookname", "ASC");
+        return request.getCursorId() + request.getOffset();
+    }
+
+    @Benchmark
+    public String encodeCursor() {
+        return PageRequest.encodeCursor("bookname", "ASC", "축구의 역사", 1234);
+    }
+}
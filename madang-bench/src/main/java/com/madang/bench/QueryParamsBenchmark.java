@@ -0,0 +1,61 @@
+package com.madang.bench;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ApiServlet.parseQueryParams (요청마다 실행)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QueryParamsBenchmark {
+
+    private BenchServlet servlet;
+    private HttpServletRequest detail;
+    private HttpServletRequest list;
+    private HttpServletRequest search;
+
+    @Setup
+    public void setUp() {
+        servlet = new BenchServlet();
+        detail = ServletStubs.request("action=detail&id=42", ServletStubs.headers());
+        list = ServletStubs.request("action=list&page=3&pageSize=20&sortBy=price&direction=desc&count=cached",
+                                    ServletStubs.headers());
+        // 한글 검색어 (퍼센트 인코딩)와 커서
+        search = ServletStubs.request("action=search&keyword=%EC%B6%95%EA%B5%AC%EC%9D%98+%EC%97%AD%EC%82%AC" +
+                                      "&publisher=%EA%B5%BF%EC%8A%A4%ED%8F%AC%EC%B8%A0&priceMin=5000&priceMax=30000" +
+                                      "&after=Ym9va2lkAEFTQwAyMAAyMA&pageSize=20", ServletStubs.headers());
+    }
+
+    @Benchmark
+    public Map<String, String> detail() {
+        return servlet.parse(detail);
+    }
+
+    @Benchmark
+    public Map<String, String> list() {
+        return servlet.parse(list);
+    }
+
+    @Benchmark
+    public Map<String, String> encodedSearch() {
+        return servlet.parse(search);
+    }
+}
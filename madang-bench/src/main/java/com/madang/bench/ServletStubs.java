@@ -0,0 +1,94 @@
+package com.madang.bench;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 서블릿 컨테이너 없이 쓰는 최소한의 요청/응답 (벤치마크용)
+ * 사용하는 메서드만 구현하고 나머지는 기본값(null, 0, false)을 반환
+ */
+final class ServletStubs {
+
+    private ServletStubs() {
+    }
+
+    /**
+     * 쿼리 문자열과 헤더만 가진 요청
+     */
+    static HttpServletRequest request(String queryString, Map<String, String> headers) {
+        return (HttpServletRequest) Proxy.newProxyInstance(
+            ServletStubs.class.getClassLoader(), new Class<?>[] {HttpServletRequest.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "getQueryString" -> queryString;
+                case "getHeader" -> headers.get((String) args[0]);
+                case "getMethod" -> "GET";
+                default -> defaultValue(method.getReturnType());
+            });
+    }
+
+    /**
+     * 본문을 메모리에 모으는 응답 (헤더는 headers에 기록)
+     */
+    static HttpServletResponse response(ByteArrayOutputStream body, Map<String, String> headers) {
+        ServletOutputStream stream = new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+                body.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                body.write(b, off, len);
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener listener) {
+            }
+        };
+
+        return (HttpServletResponse) Proxy.newProxyInstance(
+            ServletStubs.class.getClassLoader(), new Class<?>[] {HttpServletResponse.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "getOutputStream" -> stream;
+                case "setHeader" -> {
+                    headers.put((String) args[0], (String) args[1]);
+                    yield null;
+                }
+                case "getHeader" -> headers.get((String) args[0]);
+                default -> defaultValue(method.getReturnType());
+            });
+    }
+
+    static Map<String, String> headers(String... pairs) {
+        Map<String, String> headers = new HashMap<>();
+        for (int i = 0; i + 1 < pairs.length; i += 2) {
+            headers.put(pairs[i], pairs[i + 1]);
+        }
+        return headers;
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+}
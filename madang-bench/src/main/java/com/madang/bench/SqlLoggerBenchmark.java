@@ -0,0 +1,68 @@
+package com.madang.bench;
+
+import com.madang.util.SqlLogger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SqlLogger (DAO 쿼리마다 실행)
+ * 기본값(logging.sql.enabled=false)은 꺼진 경로, -jvmArgs -Dlogging.sql.enabled=true로 켠 경로를 측정
+ * 포맷/출력은 SqlTrace 출력 스레드에서 하므로 요청 스레드 비용에 포함되지 않음
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SqlLoggerBenchmark {
+
+    private static final String SIMPLE = "SELECT bookid, bookname, publisher, price FROM Book WHERE bookid = ?";
+    private static final String JOIN = "SELECT o.orderid, o.custid, o.bookid, o.saleprice, o.orderdate, " +
+        "b.bookname, b.publisher, c.name AS customerName, b.price AS listPrice " +
+        "FROM Orders o INNER JOIN Book b ON o.bookid = b.bookid INNER JOIN Customer c ON o.custid = c.custid " +
+        "WHERE o.custid = ? AND o.orderdate >= ? ORDER BY o.orderdate DESC, o.orderid DESC LIMIT ? OFFSET ?";
+
+    private PrintStream console;
+
+    @Setup
+    public void setUp() {
+        console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(console);
+    }
+
+    @Benchmark
+    public void simpleQuery() {
+        SqlLogger.logQuery(SIMPLE, 42);
+    }
+
+    @Benchmark
+    public void joinQuery() {
+        SqlLogger.logQuery(JOIN, 7, "2024-01-01", 20, 40);
+    }
+
+    @Benchmark
+    public void update() {
+        SqlLogger.logUpdate("UPDATE Book SET bookname = ?, publisher = ?, price = ? WHERE bookid = ?",
+                            "축구의 역사", "굿스포츠", 7000, 1);
+    }
+}
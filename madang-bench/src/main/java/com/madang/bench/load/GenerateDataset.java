@@ -0,0 +1,61 @@
+package com.madang.bench.load;
+
+import com.madang.dao.DatasetGenerator;
+import com.madang.util.DBConnection;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * 대용량 테스트 데이터 생성 (DatasetGenerator 명령행 실행, gen/*.py 대체)
+ *
+ * DB 적재는 config/application.properties(또는 -Ddb.url 등)의 DB에, 서버의 ID 발급기와 같은 IdSequence 구간으로 추가합니다.
+ * <pre>
+ * java -cp target/benchmarks.jar com.madang.bench.load.GenerateDataset --books 100000 --customers 500000 --orders 5000000
+ * java -cp target/benchmarks.jar com.madang.bench.load.GenerateDataset --orders 1000000 --csv data   # CSV로 저장 (ID는 1부터)
+ * </pre>
+ * 옵션: --books, --customers, --orders (행 수), --days (주문 기간, 기본 730),
+ * --anchor (마지막 주문일 yyyy-MM-dd, 기본 오늘), --seed (기본 42), --zipf (도서 인기 지수, 기본 1.0),
+ * --threads (INSERT 스레드 수, 기본 4), --csv (저장할 디렉터리)
+ * 같은 데이터를 다시 만들려면 --seed와 --anchor를 함께 지정하세요.
+ */
+public final class GenerateDataset {
+
+    private GenerateDataset() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = LoadHarness.parseOptions(args);
+        int books = Integer.parseInt(options.getOrDefault("books", "1000"));
+        int customers = Integer.parseInt(options.getOrDefault("customers", "5000"));
+        int orders = Integer.parseInt(options.getOrDefault("orders", "50000"));
+        int days = Integer.parseInt(options.getOrDefault("days", "730"));
+        LocalDate anchor = options.containsKey("anchor") ? LocalDate.parse(options.get("anchor")) : LocalDate.now();
+        double zipf = Double.parseDouble(options.getOrDefault("zipf", "1.0"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        int threads = Integer.parseInt(options.getOrDefault("threads", "4"));
+
+        DatasetGenerator generator = new DatasetGenerator(books, customers, orders, anchor, days, zipf, seed);
+        System.out.printf("생성: 도서 %,d권, 고객 %,d명, 주문 %,d건 (%s까지 %d일, zipf %.2f, seed %d)%n",
+                          books, customers, orders, anchor, days, zipf, seed);
+
+        long start = System.nanoTime();
+        if (options.containsKey("csv")) {
+            Path dir = Path.of(options.get("csv"));
+            generator.writeCsv(dir, threads);
+            System.out.printf("CSV 저장: %s (%.1f초)%n", dir.toAbsolutePath(), (System.nanoTime() - start) / 1e9);
+            return;
+        }
+
+        try {
+            Map<String, Long> elapsed = generator.insert(threads);
+            long total = (System.nanoTime() - start) / 1_000_000;
+            elapsed.forEach((table, millis) -> System.out.printf("  %-14s %,10d ms%n", table, millis));
+            System.out.printf("완료: %,d ms (%,.0f행/초)%n", total,
+                              (books + customers + orders) * 1000.0 / Math.max(1, total));
+        } finally {
+            DBConnection.shutdown();
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.madang.bench.load;
+
+import com.madang.dao.SalesRollupDAO;
+import com.madang.servlet.BookServlet;
+import com.madang.servlet.CustomerServlet;
+import com.madang.servlet.HealthServlet;
+import com.madang.servlet.MetricsServlet;
+import com.madang.servlet.OrderServlet;
+import com.madang.servlet.SearchServlet;
+import com.madang.servlet.StatsServlet;
+import com.madang.util.DBConnection;
+
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+
+import org.apache.catalina.Context;
+import org.apache.catalina.Wrapper;
+import org.apache.catalina.startup.Tomcat;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 종단 간 부하 테스트 (서블릿 에디션 + 메모리 DB)
+ *
+ * 메모리 DB(StandInDatabase)를 규모에 맞게 채우고 내장 Tomcat에 API 서블릿을 올린 뒤,
+ * 프론트엔드 화면의 요청 구성(RouteMix)을 열린 모델(open model)로 보냅니다.
+ * 요청 도착 간격은 지수 분포(포아송 도착)이며 서버 응답을 기다리지 않고 정해진 시각에 보내므로,
+ * 서버가 느려지면 대기열이 쌓이고 그만큼 응답 시간이 늘어난 것으로 측정됩니다.
+ *
+ * 실행:
+ * <pre>
+ * java -cp target/benchmarks.jar com.madang.bench.load.LoadHarness \
+ *      [--rate 200] [--duration 30] [--warmup 10] [--scale 1] [--seed 42] [--anchor 2025-12-31] \
+ *      [--max-inflight 1000] [--port 0] [--server-log load-server.log] [--data 디렉터리]
+ * </pre>
+ * --rate: 초당 요청 수, --duration/--warmup: 측정/워밍업 시간(초), --scale: 데이터 규모,
+ * --anchor: 데이터의 마지막 주문일 (기본값: 오늘, 통계 화면이 최근 기간을 조회하므로),
+ * --data: GenerateDataset --csv로 저장한 데이터 사용 (지정하면 --scale, --seed, --anchor로 만들지 않음),
+ * --max-inflight: 동시 요청 수 상한 (넘으면 보내지 않고 누락으로 집계),
+ * --server-log: 서버 콘솔 출력(SQL 로그 등)을 저장할 파일 (기본값: 버림)
+ */
+public final class LoadHarness {
+
+    private static final List<Class<? extends HttpServlet>> SERVLETS = List.of(
+        BookServlet.class, CustomerServlet.class, OrderServlet.class,
+        StatsServlet.class, SearchServlet.class, HealthServlet.class, MetricsServlet.class);
+
+    private LoadHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        double rate = Double.parseDouble(options.getOrDefault("rate", "200"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "30"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        double scale = Double.parseDouble(options.getOrDefault("scale", "1"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        LocalDate anchor = options.containsKey("anchor") ? LocalDate.parse(options.get("anchor")) : LocalDate.now();
+        int maxInFlight = Integer.parseInt(options.getOrDefault("max-inflight", "1000"));
+        int port = Integer.parseInt(options.getOrDefault("port", "0"));
+        if (rate <= 0 || duration <= 0 || warmup < 0 || maxInFlight <= 0) {
+            throw new IllegalArgumentException("rate, duration, max-inflight는 0보다 커야 합니다.");
+        }
+
+        // 서버 설정 (ConfigManager는 시스템 프로퍼티를 가장 먼저 읽음)
+        System.setProperty("db.url", StandInDatabase.URL);
+        System.setProperty("db.user", StandInDatabase.USER);
+        System.setProperty("db.password", StandInDatabase.PASSWORD);
+        System.setProperty("search.fulltext.enabled", "false");
+
+        // 서버 콘솔 출력(요청마다 찍히는 SQL 로그)은 보고서와 섞이지 않도록 분리
+        PrintStream out = System.out;
+        String serverLog = options.get("server-log");
+        OutputStream sink = serverLog != null ? new FileOutputStream(serverLog) : OutputStream.nullOutputStream();
+        PrintStream serverOut = new PrintStream(sink, true, StandardCharsets.UTF_8);
+        System.setOut(serverOut);
+        System.setErr(serverOut);
+
+        long start = System.nanoTime();
+        StandInDatabase db = options.containsKey("data") ? StandInDatabase.load(Path.of(options.get("data")))
+                             : StandInDatabase.create(scale, seed, anchor);
+        out.printf("메모리 DB: %s (%.1f초)%n", db, (System.nanoTime() - start) / 1e9);
+
+        Tomcat tomcat = startServer(port);
+        new SalesRollupDAO().rebuild();
+        URI base = URI.create("http://localhost:" + tomcat.getConnector().getLocalPort());
+        out.println("서버: " + base);
+
+        RouteMix mix = new RouteMix(base, db);
+        Map<RouteMix.Route, RouteStats> stats = new LinkedHashMap<>();
+        for (RouteMix.Route route : mix.routes()) {
+            stats.put(route, new RouteStats(route.name()));
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+        Random random = new Random(seed);
+
+        try {
+            if (warmup > 0) {
+                out.printf("워밍업: %d초, 초당 %.0f건%n", warmup, rate);
+                run(client, mix, stats, random, rate, warmup, maxInFlight);
+                stats.values().forEach(RouteStats::reset);
+            }
+
+            out.printf("측정: %d초, 초당 %.0f건 (동시 요청 상한 %d)%n%n", duration, rate, maxInFlight);
+            run(client, mix, stats, random, rate, duration, maxInFlight);
+
+            out.println("응답 시간 (ms, 예정된 전송 시각부터)");
+            RouteStats.printHeader(out);
+            for (RouteStats route : stats.values()) {
+                route.print(out, duration);
+            }
+            RouteStats.printTotal(out, stats.values(), duration);
+        } finally {
+            client.close();
+            tomcat.stop();
+            tomcat.destroy();
+            DBConnection.shutdown();
+            serverOut.close();
+        }
+    }
+
+    /**
+     * 정해진 시간 동안 포아송 도착으로 요청 전송 (응답은 가상 스레드에서 기다림)
+     */
+    private static void run(HttpClient client, RouteMix mix, Map<RouteMix.Route, RouteStats> stats,
+                            Random random, double rate, int seconds, int maxInFlight) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(seconds);
+        long intended = start;
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            while (true) {
+                intended += (long) (-Math.log(1 - random.nextDouble()) / rate * 1e9);
+                if (intended >= end) {
+                    break;
+                }
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                RouteMix.Route route = mix.next(random);
+                HttpRequest request = mix.request(route, random);
+                RouteStats routeStats = stats.get(route);
+                if (!inFlight.tryAcquire()) {
+                    routeStats.drop();
+                    continue;
+                }
+
+                long scheduledAt = intended;
+                workers.execute(() -> {
+                    boolean success = false;
+                    try {
+                        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                        success = isSuccess(response);
+                    } catch (IOException e) {
+                        // 연결 실패, 시간 초과는 오류로 집계
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        routeStats.record(System.nanoTime() - scheduledAt, success);
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * 200 응답이고 본문이 {"success":true,...} 인지 확인
+     */
+    private static boolean isSuccess(HttpResponse<byte[]> response) throws IOException {
+        if (response.statusCode() != 200) {
+            return false;
+        }
+        byte[] body = response.body();
+        if ("gzip".equals(response.headers().firstValue("Content-Encoding").orElse(null))) {
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                body = in.readNBytes(32);
+            }
+        }
+        return new String(body, 0, Math.min(body.length, 32), StandardCharsets.UTF_8).startsWith("{\"success\":true");
+    }
+
+    /**
+     * 내장 Tomcat에 API 서블릿 등록 (@WebServlet의 URL 패턴과 loadOnStartup을 그대로 사용)
+     */
+    private static Tomcat startServer(int port) throws Exception {
+        Tomcat tomcat = new Tomcat();
+        tomcat.setBaseDir(Files.createTempDirectory("madang-load").toString());
+        tomcat.setPort(port);
+        tomcat.getConnector();
+
+        Context context = tomcat.addContext("", null);
+        for (Class<? extends HttpServlet> type : SERVLETS) {
+            WebServlet mapping = type.getAnnotation(WebServlet.class);
+            String name = type.getSimpleName();
+            Wrapper wrapper = Tomcat.addServlet(context, name, type.getDeclaredConstructor().newInstance());
+            wrapper.setLoadOnStartup(mapping.loadOnStartup());
+            for (String pattern : mapping.urlPatterns().length > 0 ? mapping.urlPatterns() : mapping.value()) {
+                context.addServletMappingDecoded(pattern, name);
+            }
+        }
+
+        tomcat.start();
+        return tomcat;
+    }
+
+    /**
+     * --이름 값 형식의 옵션
+     */
+    static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("옵션은 --이름 값 형식이어야 합니다: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+}
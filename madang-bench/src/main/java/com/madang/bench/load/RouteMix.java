@@ -0,0 +1,137 @@
+package com.madang.bench.load;
+
+import com.madang.dao.DatasetGenerator;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * 프론트엔드 화면이 보내는 API 요청 구성 (가중치에 따라 무작위 선택)
+ *
+ * 요청 모양은 frontend/js의 fetchAPI 호출과 같음
+ * - books.js     : 도서 목록(정렬/페이지/도서명·출판사 필터), 출판사 목록, 도서 상세 + 판매 통계
+ * - orders.js    : 내 주문 목록 + 주문 통계, 주문 확인 화면(고객/도서 상세), 주문 등록
+ * - customers.js : 고객 목록(이름 필터)
+ * - dashboard.js : 월별 매출, 고객 세그먼트, 출판사 매출, 월별 고객/도서 순위, 개요, 주간 베스트셀러
+ */
+final class RouteMix {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private static final List<String> BOOK_SORTS = List.of("bookid", "bookname", "publisher", "price");
+    private static final List<String> ORDER_SORTS = List.of("orderdate", "orderid", "saleprice");
+
+    /**
+     * 요청 종류 (이름, 가중치, 경로+쿼리 생성, POST 본문 생성 - GET이면 null)
+     */
+    record Route(String name, int weight, Function<Random, String> target, Function<Random, String> body) {
+    }
+
+    private final List<Route> routes = new ArrayList<>();
+    private final int totalWeight;
+    private final URI base;
+
+    RouteMix(URI base, StandInDatabase db) {
+        this.base = base;
+
+        // books.js
+        get("books list", 20, r -> "/api/books?action=list&sortBy=" + pick(r, BOOK_SORTS) +
+                                   "&direction=" + (r.nextBoolean() ? "asc" : "desc") +
+                                   "&page=" + (1 + r.nextInt(5)) + "&pageSize=10");
+        get("books list title", 5, r -> "/api/books?action=list&sortBy=bookid&direction=asc&page=1&pageSize=10" +
+                                         "&title=" + encode(pick(r, DatasetGenerator.KEYWORDS)));
+        get("books list publisher", 3, r -> "/api/books?action=list&sortBy=bookid&direction=asc&page=1&pageSize=10" +
+                                             "&publisher=" + encode(pick(r, DatasetGenerator.PUBLISHERS)));
+        get("books publishers", 4, r -> "/api/books?action=publishers");
+        get("books detail", 8, r -> "/api/books?action=detail&id=" + (1 + r.nextInt(db.books)));
+        get("books stats", 6, r -> "/api/books?action=stats&id=" + (1 + r.nextInt(db.books)));
+
+        // orders.js
+        get("orders list", 10, r -> "/api/orders?action=list&custid=" + (1 + r.nextInt(db.customers)) +
+                                    "&sortBy=" + pick(r, ORDER_SORTS) +
+                                    "&direction=desc&page=1&pageSize=10");
+        get("orders stats", 8, r -> "/api/orders?action=stats&custid=" + (1 + r.nextInt(db.customers)));
+        get("customers detail", 5, r -> "/api/customers?action=detail&id=" + (1 + r.nextInt(db.customers)));
+        post("orders create", 5, r -> "/api/orders?action=create",
+             r -> "{\"custid\":" + (1 + r.nextInt(db.customers)) + ",\"bookid\":" + (1 + r.nextInt(db.books)) +
+                  ",\"saleprice\":" + (5000 + r.nextInt(46) * 1000) + "}");
+
+        // customers.js
+        get("customers list name", 3, r -> "/api/customers?action=list&sortBy=custid&direction=asc&page=1&pageSize=10" +
+                                           "&name=" + encode(pick(r, DatasetGenerator.SURNAMES)));
+
+        // dashboard.js
+        get("stats monthly", 2, r -> "/api/stats?action=monthly&months=12");
+        get("stats customer-segments", 2, r -> "/api/stats?action=customer-segments");
+        get("stats publishers", 2, r -> "/api/stats?action=publishers&sortBy=totalRevenue&direction=desc");
+        get("stats top-customers", 1, r -> "/api/stats?action=top-customers&month=" + month(r) + "&limit=10");
+        get("stats books-by-month", 1, r -> "/api/stats?action=books-by-month&month=" + month(r));
+        get("stats overview", 2, r -> "/api/stats?action=overview");
+        get("stats weekly-bestsellers", 2, r -> "/api/stats?action=weekly-bestsellers&limit=5");
+
+        this.totalWeight = routes.stream().mapToInt(Route::weight).sum();
+    }
+
+    List<Route> routes() {
+        return routes;
+    }
+
+    /**
+     * 가중치에 따라 요청 종류 하나 선택
+     */
+    Route next(Random random) {
+        int pick = random.nextInt(totalWeight);
+        for (Route route : routes) {
+            pick -= route.weight();
+            if (pick < 0) {
+                return route;
+            }
+        }
+        return routes.get(routes.size() - 1);
+    }
+
+    /**
+     * 브라우저처럼 Accept-Encoding: gzip을 보내는 요청 생성
+     */
+    HttpRequest request(Route route, Random random) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(base.resolve(route.target().apply(random)))
+            .timeout(TIMEOUT)
+            .header("Content-Type", "application/json")
+            .header("Accept-Encoding", "gzip");
+        if (route.body() == null) {
+            return builder.GET().build();
+        }
+        return builder.POST(HttpRequest.BodyPublishers.ofString(route.body().apply(random))).build();
+    }
+
+    private void get(String name, int weight, Function<Random, String> target) {
+        routes.add(new Route(name, weight, target, null));
+    }
+
+    private void post(String name, int weight, Function<Random, String> target, Function<Random, String> body) {
+        routes.add(new Route(name, weight, target, body));
+    }
+
+    /**
+     * 최근 24개월 중 한 달 (yyyy-MM)
+     */
+    private static String month(Random random) {
+        return YearMonth.now().minusMonths(random.nextInt(24)).toString();
+    }
+
+    private static String pick(Random random, List<String> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,89 @@
+package com.madang.bench.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.Collection;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 요청 종류별 응답 시간 분포 (HdrHistogram, 마이크로초 단위)
+ *
+ * 응답 시간은 요청을 보내야 했던 시각(도착 일정)부터 측정하므로
+ * 서버가 밀려 요청이 늦게 나가도 그 대기 시간이 포함됨 (coordinated omission 보정)
+ */
+final class RouteStats {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    final String name;
+    private final Histogram latency = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    RouteStats(String name) {
+        this.name = name;
+    }
+
+    /**
+     * 응답 기록 (실패한 요청도 응답 시간에 포함)
+     */
+    void record(long latencyNanos, boolean success) {
+        latency.recordValue(Math.max(1, latencyNanos / 1000));
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * 동시 요청 수 제한에 걸려 보내지 못한 요청
+     */
+    void drop() {
+        dropped.increment();
+    }
+
+    void reset() {
+        latency.reset();
+        errors.reset();
+        dropped.reset();
+    }
+
+    static void printHeader(PrintStream out) {
+        out.printf("%-28s %8s %6s %6s %9s %8s %8s %8s %8s %8s%n",
+                   "요청", "건수", "오류", "누락", "처리량/s", "p50", "p90", "p99", "p99.9", "최대");
+    }
+
+    void print(PrintStream out, double seconds) {
+        print(out, name, latency, errors.sum(), dropped.sum(), seconds);
+    }
+
+    /**
+     * 모든 요청 종류를 합친 한 줄
+     */
+    static void printTotal(PrintStream out, Collection<RouteStats> routes, double seconds) {
+        Histogram total = new Histogram(SIGNIFICANT_DIGITS);
+        long errors = 0;
+        long dropped = 0;
+        for (RouteStats route : routes) {
+            total.add(route.latency);
+            errors += route.errors.sum();
+            dropped += route.dropped.sum();
+        }
+        print(out, "전체", total, errors, dropped, seconds);
+    }
+
+    private static void print(PrintStream out, String name, Histogram histogram, long errors, long dropped, double seconds) {
+        long count = histogram.getTotalCount();
+        if (count == 0 && dropped == 0) {
+            return;
+        }
+        out.printf("%-28s %8d %6d %6d %9.1f %8.2f %8.2f %8.2f %8.2f %8.2f%n", name, count, errors, dropped,
+                   count / seconds, millis(histogram, 50), millis(histogram, 90), millis(histogram, 99),
+                   millis(histogram, 99.9), histogram.getMaxValue() / 1000.0);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,155 @@
+package com.madang.bench.load;
+
+import com.madang.dao.DatasetGenerator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+/**
+ * 부하 테스트용 메모리 DB (H2 MySQL 호환 모드)
+ *
+ * 운영 스키마(README의 Book/Customer/Orders와 sql/add_indexes.sql)를 만들고
+ * DatasetGenerator로 규모(scale)에 비례하는 데이터를 만들거나 미리 저장한 CSV를 읽어 채웁니다.
+ * IdSequence와 판매 집계 테이블은 서버가 처음 사용할 때 직접 만듭니다.
+ * 규모 1 = 도서 1,000권, 고객 5,000명, 주문 50,000건 (기준일까지 2년)
+ */
+public final class StandInDatabase {
+
+    // MONTH: 통계 쿼리가 별칭으로 사용 (... AS month), H2에서는 예약어
+    private static final String H2_URL = "h2:mem:madangdb;MODE=MySQL;DATABASE_TO_LOWER=TRUE;" +
+                                         "CASE_INSENSITIVE_IDENTIFIERS=TRUE;IGNORE_UNKNOWN_SETTINGS=TRUE;" +
+                                         "NON_KEYWORDS=MONTH;DB_CLOSE_DELAY=-1";
+
+    // 서버(DBConnection)에 넘길 URL: StandInDriver가 MySQL 날짜 구문을 변환
+    static final String URL = StandInDriver.PREFIX + H2_URL;
+    static final String USER = "madang";
+    static final String PASSWORD = "madang";
+
+    private static final String[] SCHEMA = {
+        "CREATE TABLE Book (" +
+        "bookid INT PRIMARY KEY AUTO_INCREMENT, bookname VARCHAR(40) NOT NULL, " +
+        "publisher VARCHAR(40) NOT NULL, price INT NOT NULL DEFAULT 0)",
+        "CREATE TABLE Customer (" +
+        "custid INT PRIMARY KEY AUTO_INCREMENT, name VARCHAR(40), address VARCHAR(50), phone VARCHAR(20), " +
+        "role VARCHAR(20) NOT NULL DEFAULT 'customer', " +
+        "CONSTRAINT chk_customer_role CHECK (role IN ('customer', 'publisher', 'admin', 'manager')))",
+        "CREATE TABLE Orders (" +
+        "orderid INT PRIMARY KEY AUTO_INCREMENT, custid INT NOT NULL, bookid INT NOT NULL, " +
+        "saleprice INT NOT NULL DEFAULT 0, orderdate DATE NOT NULL DEFAULT (CURDATE()), " +
+        "FOREIGN KEY (custid) REFERENCES Customer(custid), FOREIGN KEY (bookid) REFERENCES Book(bookid))",
+        "CREATE INDEX idx_orders_custid ON Orders(custid)",
+        "CREATE INDEX idx_orders_bookid ON Orders(bookid)",
+        "CREATE INDEX idx_orders_orderdate ON Orders(orderdate)",
+        "CREATE INDEX idx_orders_custid_orderdate ON Orders(custid, orderdate DESC)",
+        "CREATE INDEX idx_book_publisher ON Book(publisher)",
+        "CREATE INDEX idx_book_price ON Book(price)",
+        "CREATE INDEX idx_book_bookname ON Book(bookname)",
+        "CREATE INDEX idx_customer_name ON Customer(name)",
+        "CREATE INDEX idx_customer_role ON Customer(role)",
+        // MySQL DATE_FORMAT, FIELD (H2에는 없음)
+        "CREATE ALIAS DATE_FORMAT FOR \"com.madang.bench.load.StandInDatabase.dateFormat\"",
+        "CREATE ALIAS FIELD FOR \"com.madang.bench.load.StandInDatabase.field\""
+    };
+
+    final int books;
+    final int customers;
+    final int orders;
+
+    private StandInDatabase(int books, int customers, int orders) {
+        this.books = books;
+        this.customers = customers;
+        this.orders = orders;
+    }
+
+    /**
+     * 스키마 생성 후 DatasetGenerator로 만든 데이터 적재
+     *
+     * @param scale 규모 (1 = 도서 1,000 / 고객 5,000 / 주문 50,000)
+     * @param seed 난수 시드 (시드와 기준일이 같으면 같은 데이터)
+     * @param anchor 기준일 (마지막 주문일)
+     */
+    static StandInDatabase create(double scale, long seed, LocalDate anchor) throws SQLException, IOException, InterruptedException {
+        if (scale <= 0) {
+            throw new IllegalArgumentException("scale은 0보다 커야 합니다: " + scale);
+        }
+        DatasetGenerator generator = new DatasetGenerator(Math.max(1, (int) (1000 * scale)),
+                                                          Math.max(1, (int) (5000 * scale)),
+                                                          Math.max(1, (int) (50000 * scale)), anchor, 730, 1.0, seed);
+        Path dir = Files.createTempDirectory("madang-data");
+        try {
+            generator.writeCsv(dir, 3);
+            return load(dir);
+        } finally {
+            try (Stream<Path> files = Files.list(dir)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(dir);
+        }
+    }
+
+    /**
+     * 스키마 생성 후 DatasetGenerator가 저장한 CSV(book.csv, customer.csv, orders.csv) 적재
+     */
+    static StandInDatabase load(Path dir) throws SQLException {
+        StandInDriver.register();
+
+        try (Connection conn = DriverManager.getConnection(URL, USER, PASSWORD);
+             Statement stmt = conn.createStatement()) {
+            for (String ddl : SCHEMA) {
+                stmt.execute(ddl);
+            }
+            int books = loadCsv(stmt, "Book", dir.resolve("book.csv"));
+            int customers = loadCsv(stmt, "Customer", dir.resolve("customer.csv"));
+            int orders = loadCsv(stmt, "Orders", dir.resolve("orders.csv"));
+            return new StandInDatabase(books, customers, orders);
+        }
+    }
+
+    /**
+     * CSV 파일을 테이블에 적재 (첫 줄은 컬럼명, 빈 칸은 NULL)
+     *
+     * @return 적재한 행 수
+     */
+    private static int loadCsv(Statement stmt, String table, Path file) throws SQLException {
+        String path = file.toAbsolutePath().toString().replace("'", "''");
+        return stmt.executeUpdate("INSERT INTO " + table + " SELECT * FROM CSVREAD('" + path + "', NULL, 'charset=UTF-8')");
+    }
+
+    /**
+     * MySQL DATE_FORMAT 대역 (%Y, %m, %d만 지원)
+     */
+    public static String dateFormat(LocalDate date, String format) {
+        if (date == null || format == null) {
+            return null;
+        }
+        return format.replace("%Y", String.format("%04d", date.getYear()))
+                     .replace("%m", String.format("%02d", date.getMonthValue()))
+                     .replace("%d", String.format("%02d", date.getDayOfMonth()));
+    }
+
+    /**
+     * MySQL FIELD 대역 (values 중 value의 위치, 1부터 시작, 없으면 0)
+     */
+    public static int field(String value, String... values) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i].equals(value)) {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("도서 %,d권, 고객 %,d명, 주문 %,d건", books, customers, orders);
+    }
+}
@@ -0,0 +1,160 @@
+package com.madang.bench.load;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Properties;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * MySQL 대역(H2) JDBC 드라이버
+ *
+ * jdbc:standin:h2:... URL을 받아 H2에 연결하고, H2(MySQL 모드)가 해석하지 못하는
+ * MySQL 날짜 구문만 같은 뜻의 H2 구문으로 바꿔 전달합니다.
+ * - DATE_SUB(날짜, INTERVAL n 단위)      → DATEADD(단위, -n, 날짜)
+ * - (컬럼 - INTERVAL (식) 단위)          → DATEADD(단위, -(식), 컬럼)
+ * - information_schema.TABLES.TABLE_ROWS → ROW_COUNT_ESTIMATE
+ * - ... ORDER BY FIELD(별칭, ...)          → SELECT * FROM (...) ORDER BY FIELD(별칭, ...)
+ *   (H2는 GROUP BY 결과의 별칭을 ORDER BY 식 안에서 참조하지 못함)
+ * - setFetchSize(Integer.MIN_VALUE) (MySQL 스트리밍 조회 표시) → 무시 (H2는 음수를 받지 않음)
+ * DATE_FORMAT, FIELD는 StandInDatabase가 함수(ALIAS)로 등록합니다.
+ */
+public final class StandInDriver implements Driver {
+
+    static final String PREFIX = "jdbc:standin:";
+
+    private static final List<Rewrite> REWRITES = List.of(
+        new Rewrite("DATE_SUB\\((.+?), INTERVAL (\\?|\\d+) (DAY|WEEK|MONTH|YEAR)\\)",
+                    "DATEADD($3, -CAST($2 AS INT), $1)"),
+        new Rewrite("\\(([\\w.]+) - INTERVAL \\((.+?)\\) (DAY|WEEK|MONTH|YEAR)\\)",
+                    "DATEADD($3, -($2), $1)"),
+        new Rewrite("\\bTABLE_ROWS\\b", "ROW_COUNT_ESTIMATE"),
+        new Rewrite("^(SELECT .+) (ORDER BY FIELD\\(\\w+, [^)]*\\))$",
+                    "SELECT * FROM ($1) AS field_sorted $2")
+    );
+
+    static {
+        try {
+            DriverManager.registerDriver(new StandInDriver());
+        } catch (SQLException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * 드라이버 등록 (클래스 로딩으로 등록되므로 여러 번 호출해도 한 번만 등록)
+     */
+    static void register() {
+    }
+
+    /**
+     * MySQL 구문을 H2 구문으로 변환
+     */
+    static String rewrite(String sql) {
+        String result = sql;
+        for (Rewrite rewrite : REWRITES) {
+            result = rewrite.apply(result);
+        }
+        return result;
+    }
+
+    @Override
+    public Connection connect(String url, Properties info) throws SQLException {
+        if (!acceptsURL(url)) {
+            return null;
+        }
+        Connection target = DriverManager.getConnection("jdbc:" + url.substring(PREFIX.length()), info);
+        return wrap(target, Connection.class);
+    }
+
+    @Override
+    public boolean acceptsURL(String url) {
+        return url != null && url.startsWith(PREFIX);
+    }
+
+    @Override
+    public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+        return new DriverPropertyInfo[0];
+    }
+
+    @Override
+    public int getMajorVersion() {
+        return 1;
+    }
+
+    @Override
+    public int getMinorVersion() {
+        return 0;
+    }
+
+    @Override
+    public boolean jdbcCompliant() {
+        return false;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    /**
+     * SQL 문자열을 받는 메서드(prepareStatement, execute, addBatch 등)의 첫 인자를 변환하고,
+     * createStatement()로 만든 Statement도 같은 방식으로 감쌈 (PreparedStatement는 만들 때 이미 변환됨)
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T wrap(T target, Class<T> type) {
+        return (T) Proxy.newProxyInstance(StandInDriver.class.getClassLoader(), new Class<?>[] {type},
+            (proxy, method, args) -> {
+                if (args != null && args.length > 0 && args[0] instanceof String sql && takesSql(method)) {
+                    args[0] = rewrite(sql);
+                }
+                if ("setFetchSize".equals(method.getName()) && (Integer) args[0] < 0) {
+                    return null;
+                }
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                if (result instanceof PreparedStatement statement && method.getReturnType() == PreparedStatement.class) {
+                    return wrap(statement, PreparedStatement.class);
+                }
+                if (result instanceof Statement statement && method.getReturnType() == Statement.class) {
+                    return wrap(statement, Statement.class);
+                }
+                return result;
+            });
+    }
+
+    private static boolean takesSql(Method method) {
+        return switch (method.getName()) {
+            case "prepareStatement", "prepareCall", "nativeSQL",
+                 "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "addBatch" -> true;
+            default -> false;
+        };
+    }
+
+    private record Rewrite(Pattern pattern, String replacement) {
+
+        Rewrite(String regex, String replacement) {
+            this(Pattern.compile(regex, Pattern.CASE_INSENSITIVE | Pattern.DOTALL), replacement);
+        }
+
+        String apply(String sql) {
+            Matcher matcher = pattern.matcher(sql);
+            return matcher.find() ? matcher.replaceAll(replacement) : sql;
+        }
+    }
+}
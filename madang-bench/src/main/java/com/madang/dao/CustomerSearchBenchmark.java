@@ -0,0 +1,174 @@
+package com.madang.dao;
+
+import com.madang.util.DBConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 고객 검색 벤치마크 (LIKE 전체 스캔 vs 검색 색인 + 기본 키 조회)
+ *
+ * 설정된 DB의 Customer에서 고객을 무작위로 골라 이름/전화번호/주소 일부를 검색어로 만들고,
+ * 같은 검색어를 LIKE 조건만으로 한 번, CustomerSearchIndex를 거쳐 한 번 실행해 응답 시간과 결과를 비교합니다.
+ *
+ * 색인 사용 여부를 고르는 CustomerSearchIndex.where()가 패키지 전용이므로 com.madang.dao 패키지에 둡니다.
+ *
+ * 실행 (DB 설정은 config/application.properties 또는 -Ddb.url 등):
+ * <pre>
+ * java -cp target/benchmarks.jar com.madang.dao.CustomerSearchBenchmark [검색어 수] [반복 횟수]
+ * </pre>
+ */
+public final class CustomerSearchBenchmark {
+
+    private static final String SELECT = "SELECT custid, name, address, phone, role FROM Customer";
+
+    private CustomerSearchBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int samples = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        long start = System.nanoTime();
+        CustomerSearchIndex.load();
+        System.out.printf("색인 로딩: %.1f ms %s%n%n", (System.nanoTime() - start) / 1e6, CustomerSearchIndex.stats());
+
+        List<String[]> customers = sampleCustomers(samples);
+        if (customers.isEmpty()) {
+            System.out.println("Customer 테이블이 비어 있습니다.");
+            return;
+        }
+
+        System.out.printf("%-8s %-6s %10s %10s %10s %10s%n", "검색", "방식", "평균(ms)", "p50(ms)", "p95(ms)", "최대(ms)");
+        run("name", customers, rounds);
+        run("phone", customers, rounds);
+        run("address", customers, rounds);
+
+        System.out.println();
+        System.out.println(CustomerSearchIndex.stats());
+        DBConnection.shutdown();
+    }
+
+    /**
+     * 한 종류의 검색어를 LIKE/색인 방식으로 번갈아 실행 (결과가 다르면 중단)
+     */
+    private static void run(String field, List<String[]> customers, int rounds) throws SQLException {
+        List<String> terms = new ArrayList<>();
+        for (String[] customer : customers) {
+            String term = termOf(field, customer);
+            if (term != null) {
+                terms.add(term);
+            }
+        }
+        if (terms.isEmpty()) {
+            return;
+        }
+
+        // 워밍업 (JIT, 연결 풀, DB 버퍼 캐시)
+        for (String term : terms) {
+            query(field, term, false);
+            query(field, term, true);
+        }
+
+        long[] like = new long[terms.size() * rounds];
+        long[] indexed = new long[terms.size() * rounds];
+        int n = 0;
+        for (int round = 0; round < rounds; round++) {
+            for (String term : terms) {
+                long start = System.nanoTime();
+                List<Integer> expected = query(field, term, false);
+                like[n] = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                List<Integer> actual = query(field, term, true);
+                indexed[n] = System.nanoTime() - start;
+                n++;
+
+                if (!expected.equals(actual)) {
+                    throw new IllegalStateException(field + " '" + term + "' 결과가 다릅니다: LIKE " +
+                                                    expected.size() + "건, 색인 " + actual.size() + "건");
+                }
+            }
+        }
+
+        print(field, "LIKE", like, n);
+        print(field, "색인", indexed, n);
+    }
+
+    private static List<Integer> query(String field, String term, boolean useIndex) throws SQLException {
+        List<Object> params = new ArrayList<>();
+        String sql = SELECT + CustomerSearchIndex.where(
+            "name".equals(field) ? term : null,
+            "phone".equals(field) ? term : null,
+            "address".equals(field) ? term : null,
+            params, useIndex) + " ORDER BY custid";
+
+        List<Integer> ids = new ArrayList<>();
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < params.size(); i++) {
+                pstmt.setObject(i + 1, params.get(i));
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getInt("custid"));
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * 검색어 만들기 (이름 가운데 2글자, 전화번호 끝 4자리, 주소 가운데 3글자)
+     */
+    private static String termOf(String field, String[] customer) {
+        return switch (field) {
+            case "name" -> middle(customer[0], 2);
+            case "phone" -> customer[1] == null || customer[1].length() < 4 ? null
+                           : customer[1].substring(customer[1].length() - 4);
+            case "address" -> middle(customer[2], 3);
+            default -> throw new IllegalArgumentException("알 수 없는 검색 항목: " + field);
+        };
+    }
+
+    private static String middle(String value, int length) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String trimmed = value.trim();
+        if (trimmed.length() <= length) {
+            return trimmed;
+        }
+        int start = (trimmed.length() - length) / 2;
+        return trimmed.substring(start, start + length);
+    }
+
+    private static List<String[]> sampleCustomers(int samples) throws SQLException {
+        String sql = "SELECT name, phone, address FROM Customer ORDER BY RAND() LIMIT ?";
+        List<String[]> customers = new ArrayList<>();
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, samples);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    customers.add(new String[] {rs.getString("name"), rs.getString("phone"), rs.getString("address")});
+                }
+            }
+        }
+        return customers;
+    }
+
+    private static void print(String field, String mode, long[] nanos, int count) {
+        long[] sorted = Arrays.copyOf(nanos, count);
+        Arrays.sort(sorted);
+        double average = Arrays.stream(sorted).average().orElse(0) / 1e6;
+        System.out.printf("%-8s %-6s %10.2f %10.2f %10.2f %10.2f%n", field, mode, average,
+                          sorted[count / 2] / 1e6, sorted[(int) (count * 0.95)] / 1e6, sorted[count - 1] / 1e6);
+    }
+}
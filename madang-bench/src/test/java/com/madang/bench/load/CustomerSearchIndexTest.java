@@ -0,0 +1,62 @@
+package com.madang.bench.load;
+
+import com.madang.dao.CustomerDAO;
+import com.madang.model.Customer;
+import com.madang.model.PageRequest;
+import com.madang.util.DBConnection;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 고객 검색 색인: 색인을 읽은 후 서버를 거치지 않고 추가된 고객도 바로 검색되는지 확인
+ */
+class CustomerSearchIndexTest {
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        StandIn.start();
+    }
+
+    @Test
+    void findsCustomersInsertedByOtherWriters() throws Exception {
+        CustomerDAO dao = new CustomerDAO();
+        dao.loadSearchIndex();
+
+        int custId;
+        try (Connection conn = DBConnection.getConnection();
+             Statement stmt = conn.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery("SELECT MAX(custid) + 100 FROM Customer")) {
+                rs.next();
+                custId = rs.getInt(1);
+            }
+            // gen/*.py나 다른 서버처럼 DAO를 거치지 않고 추가
+            stmt.executeUpdate("INSERT INTO Customer (custid, name, address, phone) " +
+                               "VALUES (" + custId + ", '외부등록', '세종특별자치시 갈매로 1', '010-9876-5432')");
+        }
+
+        try {
+            assertEquals(List.of(custId), search("외부등록", null, null));
+            assertEquals(List.of(custId), search(null, "9876-5432", "갈매로"));
+            assertEquals(List.of(), search("외부등록", "0000", null));
+        } finally {
+            try (Connection conn = DBConnection.getConnection();
+                 Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("DELETE FROM Customer WHERE custid = " + custId);
+            }
+        }
+    }
+
+    private static List<Integer> search(String name, String phone, String address) throws Exception {
+        PageRequest request = new PageRequest(1, 50, "custid", "ASC", null);
+        return new CustomerDAO().getCustomersPaged(request, name, phone, address).getItems().stream()
+            .map(Customer::getCustid).toList();
+    }
+}
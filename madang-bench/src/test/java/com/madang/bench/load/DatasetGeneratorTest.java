@@ -0,0 +1,78 @@
+package com.madang.bench.load;
+
+import com.madang.dao.DatasetGenerator;
+import com.madang.model.Order;
+import com.madang.util.DBConnection;
+import com.madang.util.HiLoIdAllocator;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 대용량 데이터 생성기: 기준일 재현성과 서버 ID 발급기와의 ID 구간 충돌 확인
+ */
+class DatasetGeneratorTest {
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        StandIn.start();
+    }
+
+    @Test
+    void sameSeedAndAnchorGiveSameOrders() {
+        LocalDate anchor = LocalDate.of(2024, 2, 29);
+        DatasetGenerator a = new DatasetGenerator(10, 10, 100, anchor, 30, 1.0, 3);
+        DatasetGenerator b = new DatasetGenerator(10, 10, 100, anchor, 30, 1.0, 3);
+
+        for (int i = 0; i < 100; i++) {
+            Order x = a.order(i);
+            Order y = b.order(i);
+            assertEquals(x.getOrderdate(), y.getOrderdate());
+            assertEquals(x.getBookid(), y.getBookid());
+            LocalDate day = x.getOrderdate().toLocalDate();
+            assertTrue(!day.isAfter(anchor) && !day.isBefore(anchor.minusDays(29)), day.toString());
+        }
+    }
+
+    @Test
+    void insertReservesIdsPastServerBlocks() throws Exception {
+        // 서버가 이미 예약해 둔 구간 (아직 INSERT 하지 않은 ID 포함)
+        HiLoIdAllocator server = new HiLoIdAllocator("Book", "bookid", 50);
+        int first = server.nextId();
+        int before = count("SELECT COUNT(*) FROM Book");
+
+        new DatasetGenerator(20, 0, 0, StandIn.ANCHOR, 30, 1.0, 5).insert(2);
+        try {
+            assertEquals(before + 20, count("SELECT COUNT(*) FROM Book"));
+            assertEquals(20, count("SELECT COUNT(*) FROM Book WHERE bookid >= " + (first + 50)));
+
+            // 서버의 남은 구간과 다음 구간도 생성기가 쓴 ID와 겹치지 않음
+            for (int i = 1; i < 60; i++) {
+                int id = server.nextId();
+                assertEquals(0, count("SELECT COUNT(*) FROM Book WHERE bookid = " + id), "ID " + id);
+            }
+        } finally {
+            try (Connection conn = DBConnection.getConnection();
+                 Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("DELETE FROM Book WHERE bookid >= " + (first + 50));
+            }
+        }
+    }
+
+    private static int count(String sql) throws Exception {
+        try (Connection conn = DBConnection.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
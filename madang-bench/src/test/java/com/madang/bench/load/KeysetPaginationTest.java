@@ -0,0 +1,82 @@
+package com.madang.bench.load;
+
+import com.madang.dao.CustomerDAO;
+import com.madang.model.Customer;
+import com.madang.model.PageRequest;
+import com.madang.model.PageResponse;
+import com.madang.util.DBConnection;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 커서(keyset) 페이지네이션: NULL이 있는 정렬 컬럼(Customer.phone, address)에서도 모든 행을 한 번씩 돌려주는지 확인
+ */
+class KeysetPaginationTest {
+
+    private static int customers;
+    private static int nullPhones;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        StandIn.start();
+        try (Connection conn = DBConnection.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*), COUNT(*) - COUNT(phone) FROM Customer")) {
+            rs.next();
+            customers = rs.getInt(1);
+            nullPhones = rs.getInt(2);
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({"phone, ASC", "phone, DESC", "address, ASC", "address, DESC", "name, ASC", "custid, DESC"})
+    void keysetVisitsEveryRowOnce(String sortBy, String direction) throws Exception {
+        assertTrue(nullPhones > 0, "테스트 데이터에 phone이 NULL인 고객이 있어야 함");
+
+        CustomerDAO dao = new CustomerDAO();
+        List<Integer> visited = new ArrayList<>();
+        String cursor = null;
+        boolean first = true;
+        do {
+            PageRequest request = new PageRequest(1, 100, sortBy, direction, cursor);
+            request.setCountMode(PageRequest.CountMode.NONE);
+            PageResponse<Customer> page = dao.getCustomersPaged(request, null, null, null);
+            assertEquals(!first, page.isHasPrevious());
+            for (Customer customer : page.getItems()) {
+                visited.add(customer.getCustid());
+            }
+            cursor = page.getNextCursor();
+            first = false;
+        } while (cursor != null);
+
+        assertEquals(customers, visited.size());
+        assertEquals(customers, new HashSet<>(visited).size());
+    }
+
+    @ParameterizedTest
+    @CsvSource({"ASC", "DESC"})
+    void cursorKeepsNullApartFromEmptyString(String direction) {
+        PageRequest nullValue = new PageRequest(1, 10, "phone", direction,
+                                                PageRequest.encodeCursor("phone", direction, null, 5));
+        PageRequest emptyValue = new PageRequest(1, 10, "phone", direction,
+                                                 PageRequest.encodeCursor("phone", direction, "", 5));
+
+        assertEquals(null, nullValue.getCursorValue());
+        assertEquals("", emptyValue.getCursorValue());
+        assertEquals(5, nullValue.getCursorId());
+        assertFalse(new PageRequest(1, 10, "phone", direction, null).isKeyset());
+    }
+}
@@ -0,0 +1,30 @@
+package com.madang.bench.load;
+
+import java.time.LocalDate;
+
+/**
+ * 테스트용 메모리 DB (테스트 JVM에서 한 번만 생성)
+ *
+ * DBConnection은 클래스를 처음 사용할 때 설정을 읽으므로 DAO를 호출하기 전에 start()를 불러야 합니다.
+ */
+public final class StandIn {
+
+    // 테스트 데이터 기준일 (실행 날짜와 관계없이 같은 데이터)
+    static final LocalDate ANCHOR = LocalDate.of(2025, 6, 30);
+
+    private static StandInDatabase db;
+
+    private StandIn() {
+    }
+
+    public static synchronized StandInDatabase start() throws Exception {
+        if (db == null) {
+            System.setProperty("db.url", StandInDatabase.URL);
+            System.setProperty("db.user", StandInDatabase.USER);
+            System.setProperty("db.password", StandInDatabase.PASSWORD);
+            System.setProperty("search.fulltext.enabled", "false");
+            db = StandInDatabase.create(0.2, 7, ANCHOR);
+        }
+        return db;
+    }
+}
@@ -0,0 +1,79 @@
+package com.madang.dao;
+
+import com.madang.bench.load.StandIn;
+import com.madang.model.Book;
+import com.madang.model.PageRequest;
+import com.madang.util.DBConnection;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 도서 검색: MySQL 기본 불용어("a", "i" 등) 때문에 ngram MATCH로는 찾지 못하는 영문 검색어 처리
+ */
+class BookSearchDAOTest {
+
+    private static final int BOOK_ID = 900_001;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        StandIn.start();
+        try (Connection conn = DBConnection.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("INSERT INTO Book (bookid, bookname, publisher, price) " +
+                               "VALUES (" + BOOK_ID + ", 'Java 바이블', 'Pearson', 30000)");
+        }
+    }
+
+    @AfterAll
+    static void tearDown() throws Exception {
+        try (Connection conn = DBConnection.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM Book WHERE bookid = " + BOOK_ID);
+        }
+    }
+
+    @Test
+    void detectsTermsWithStopwordTokens() {
+        assertTrue(BookSearchDAO.hasStopwordToken("Java"));      // ja, av, va 모두 "a" 포함
+        assertTrue(BookSearchDAO.hasStopwordToken("Pearson"));   // ea, ar, on
+        assertTrue(BookSearchDAO.hasStopwordToken("Linux"));     // li ("i")
+        assertFalse(BookSearchDAO.hasStopwordToken("SQL"));
+        assertFalse(BookSearchDAO.hasStopwordToken("축구의 역사"));
+    }
+
+    @Test
+    void listFilterFallsBackToLikeForStopwordTerms() {
+        List<Object> params = new ArrayList<>();
+        assertEquals(" bookname LIKE ?", BookSearchDAO.condition("bookname", "Java", params));
+        assertEquals(List.of("%Java%"), params);
+    }
+
+    @Test
+    void searchFindsJavaAndPearson() throws Exception {
+        BookSearchDAO dao = new BookSearchDAO();
+        assertTrue(ids(dao.search("Java", 10)).contains(BOOK_ID));
+        assertTrue(ids(dao.search("Java Pearson", 10)).contains(BOOK_ID));
+        assertEquals(List.of(BOOK_ID), ids(dao.search("Java 바이블", 10)));
+        assertFalse(ids(dao.search("Java 축구", 10)).contains(BOOK_ID));
+
+        PageRequest request = new PageRequest(1, 20, "bookid", "DESC", null);
+        List<Book> books = new BookDAO().getBooksPaged(request, "Java", "Pearson", null, null).getItems();
+        assertEquals(BOOK_ID, books.get(0).getBookid());
+    }
+
+    private static List<Integer> ids(List<Map<String, Object>> books) {
+        return books.stream().map(book -> (Integer) book.get("bookid")).toList();
+    }
+}
@@ -0,0 +1,99 @@
+package com.madang.dao;
+
+import com.madang.bench.load.StandIn;
+import com.madang.model.Customer;
+import com.madang.model.PageRequest;
+import com.madang.util.DBConnection;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 고객 검색 색인: LIKE가 찾는 고객을 색인 후보가 빠뜨리지 않는지 확인
+ * - 검색어의 %, _ 는 LIKE에서 와일드카드
+ * - 악센트/전각 문자는 MySQL collation(utf8mb4_0900_ai_ci)에서 ASCII와 같게 비교됨 (메모리 DB는 이진 비교라 후보만 확인)
+ */
+class CustomerSearchIndexLikeTest {
+
+    private static int wildcardId;
+    private static int accentId;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        StandIn.start();
+        try (Connection conn = DBConnection.getConnection();
+             Statement stmt = conn.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery("SELECT MAX(custid) FROM Customer")) {
+                rs.next();
+                accentId = rs.getInt(1) + 200;
+                wildcardId = accentId + 1;  // 색인을 읽은 최대 custid (custid > ? 파라미터와 구분되도록 accentId보다 큼)
+            }
+            stmt.executeUpdate("INSERT INTO Customer (custid, name, address, phone) " +
+                               "VALUES (" + wildcardId + ", '와일드카드고객', '서울 중구', '010-1111-2222')");
+            stmt.executeUpdate("INSERT INTO Customer (custid, name, address, phone) " +
+                               "VALUES (" + accentId + ", 'José Ｋｉｍ', 'Zürich', '010-3333-4444')");
+        }
+        // 두 고객 모두 색인을 읽은 범위 안에 있도록 (custid > 최대 custid 조건으로 찾지 않도록) 다시 읽음
+        new CustomerDAO().loadSearchIndex();
+    }
+
+    @AfterAll
+    static void tearDown() throws Exception {
+        try (Connection conn = DBConnection.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM Customer WHERE custid IN (" + wildcardId + ", " + accentId + ")");
+        }
+        new CustomerDAO().loadSearchIndex();
+    }
+
+    @Test
+    void likeWildcardsInTermsAreNotMatchedLiterally() throws Exception {
+        assertEquals(List.of(wildcardId), search("와일드%고객"));
+        assertEquals(List.of(wildcardId), search("와일드카_고객"));
+    }
+
+    @Test
+    void accentAndWidthVariantsStayCandidates() {
+        assertTrue(candidates("jose", null, null).contains(accentId));
+        assertTrue(candidates("kim", null, null).contains(accentId));
+        assertTrue(candidates(null, null, "zurich").contains(accentId));
+    }
+
+    @Test
+    void candidateListsUseBucketedPlaceholders() {
+        assertEquals(8, CustomerSearchIndex.placeholders(1));
+        assertEquals(8, CustomerSearchIndex.placeholders(8));
+        assertEquals(16, CustomerSearchIndex.placeholders(9));
+        assertEquals(1024, CustomerSearchIndex.placeholders(1000));
+
+        List<Object> params = new ArrayList<>();
+        String where = CustomerSearchIndex.where("와일드카드", null, null, params);
+        assertTrue(where.contains("custid IN (?, ?, ?, ?, ?, ?, ?, ?)"), where);
+        // 후보 2명 (색인할 수 없는 값의 accentId는 항상 포함) + 마지막 custid로 채운 6자리, custid > ?, LIKE
+        assertEquals(List.of(accentId, wildcardId, wildcardId, wildcardId, wildcardId, wildcardId, wildcardId, wildcardId,
+                             wildcardId, "%와일드카드%"), params);
+    }
+
+    private static List<Integer> search(String name) throws Exception {
+        PageRequest request = new PageRequest(1, 50, "custid", "ASC", null);
+        return new CustomerDAO().getCustomersPaged(request, name, null, null).getItems().stream()
+            .map(Customer::getCustid).toList();
+    }
+
+    private static List<Object> candidates(String name, String phone, String address) {
+        List<Object> params = new ArrayList<>();
+        String where = CustomerSearchIndex.where(name, phone, address, params);
+        assertTrue(where.contains("custid"), where);  // 색인 사용
+        return params;
+    }
+}
@@ -0,0 +1,124 @@
+package com.madang.util;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 고정 스레드 풀(server.executor=fixed)로 요청을 받을 때 통계 요청이 몰려도 주문 요청이 처리되는지 확인
+ * MadangServer와 같이 요청 종류별 bulkhead의 전용 스레드 풀로 넘겨 처리
+ */
+class BulkheadTest {
+
+    @Test
+    void statsFloodDoesNotStarveOrdersOnFixedPool() throws Exception {
+        Bulkhead stats = new Bulkhead("stats-test", 4, 20, 10_000L);
+        Bulkhead api = new Bulkhead("api-test", 50, 100, 1000L);
+        CountDownLatch slowQueries = new CountDownLatch(1);
+
+        ExecutorService serverThreads = Executors.newFixedThreadPool(10);
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(serverThreads);
+        server.createContext("/api/stats", limit(stats, exchange -> {
+            try {
+                slowQueries.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            send(exchange, 200);
+        }));
+        server.createContext("/api/orders", limit(api, exchange -> send(exchange, 200)));
+        server.start();
+
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        String base = "http://127.0.0.1:" + server.getAddress().getPort();
+        try {
+            List<CompletableFuture<HttpResponse<Void>>> flood = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                flood.add(client.sendAsync(get(base + "/api/stats?action=overview"), HttpResponse.BodyHandlers.discarding()));
+            }
+
+            // 처리 4개, 대기 20개를 넘는 통계 요청은 바로 503
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (done(flood) < 16 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(16, done(flood));
+            for (CompletableFuture<HttpResponse<Void>> response : flood) {
+                if (response.isDone()) {
+                    assertEquals(503, response.join().statusCode());
+                }
+            }
+
+            // 통계 요청이 모두 막혀 있는 동안에도 주문 요청은 처리
+            HttpResponse<Void> orders = client.send(get(base + "/api/orders?action=list"), HttpResponse.BodyHandlers.discarding());
+            assertEquals(200, orders.statusCode());
+            assertEquals(4, stats.stats().get("active"));
+
+            slowQueries.countDown();
+            for (CompletableFuture<HttpResponse<Void>> response : flood) {
+                int status = response.get().statusCode();
+                assertTrue(status == 200 || status == 503, String.valueOf(status));
+            }
+        } finally {
+            slowQueries.countDown();
+            server.stop(0);
+            serverThreads.shutdownNow();
+        }
+    }
+
+    /**
+     * MadangServer.limit()과 같이 요청을 받은 스레드는 전용 스레드 풀에 넘기기만 함
+     */
+    private static HttpHandler limit(Bulkhead bulkhead, HttpHandler handler) {
+        return exchange -> bulkhead.execute(() -> {
+            try {
+                handler.handle(exchange);
+            } catch (IOException e) {
+                exchange.close();
+            }
+        }, () -> {
+            try {
+                send(exchange, 503);
+            } catch (IOException e) {
+                exchange.close();
+            }
+        });
+    }
+
+    private static void send(HttpExchange exchange, int status) throws IOException {
+        exchange.sendResponseHeaders(status, -1);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.flush();
+        }
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(5)).build();
+    }
+
+    private static long done(List<? extends CompletableFuture<?>> responses) {
+        return responses.stream().filter(CompletableFuture::isDone).count();
+    }
+}
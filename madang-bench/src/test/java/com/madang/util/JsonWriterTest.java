@@ -0,0 +1,36 @@
+package com.madang.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * JSON에 없는 숫자 값(NaN, Infinity) 처리
+ */
+class JsonWriterTest {
+
+    @Test
+    void nonFiniteNumbersAreWrittenAsNull() throws Exception {
+        StringWriter buffer = new StringWriter();
+        new JsonWriter(buffer).beginArray()
+            .value(Double.NaN).value(Double.POSITIVE_INFINITY).value(1.5)
+            .value(Float.valueOf(Float.NEGATIVE_INFINITY)).value(Double.valueOf(Double.NaN)).value(Integer.valueOf(3))
+            .endArray().flush();
+
+        assertEquals("[null,null,1.5,null,null,3]", buffer.toString());
+    }
+
+    @Test
+    void nonFiniteMapValuesAreWrittenAsNull() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("avgSalePrice", 0.0 / 0.0);
+        stats.put("ratios", Arrays.asList(1.0 / 0.0, 0.25));
+
+        assertEquals("{\"avgSalePrice\":null,\"ratios\":[null,0.25]}", JsonWriter.toJson(out -> out.writeValue(stats)));
+    }
+}
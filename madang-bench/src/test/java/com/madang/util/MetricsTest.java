@@ -0,0 +1,49 @@
+package com.madang.util;
+
+import com.madang.bench.load.StandIn;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 요청 지표 라벨 제한과 실행 시간을 재는 연결 래퍼
+ */
+class MetricsTest {
+
+    @Test
+    void unknownActionsAndMethodsAreRecordedAsOther() {
+        Metrics.recordRequest("/api/metrics-test", "list", Set.of("list"), "GET", 200, 1_000_000);
+        Metrics.recordRequest("/api/metrics-test", "drop-table-1", Set.of("list"), "BREW", 200, 1_000_000);
+
+        String scrape = Metrics.scrape();
+        assertTrue(scrape.contains("route=\"/api/metrics-test\",action=\"list\",method=\"GET\""), scrape);
+        assertTrue(scrape.contains("route=\"/api/metrics-test\",action=\"other\",method=\"other\""), scrape);
+        assertFalse(scrape.contains("drop-table-1"));
+        assertFalse(scrape.contains("BREW"));
+    }
+
+    @Test
+    void tracedConnectionDelegatesToDriver() throws Exception {
+        StandIn.start();
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement("SELECT bookname FROM Book WHERE bookid = ?")) {
+            assertInstanceOf(TracedPreparedStatement.class, pstmt);
+            assertTrue(pstmt.isWrapperFor(TracedPreparedStatement.class));
+
+            pstmt.setInt(1, 1);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                assertTrue(rs.next());
+            }
+            assertEquals(1, pstmt.getParameterMetaData().getParameterCount());
+        }
+    }
+}
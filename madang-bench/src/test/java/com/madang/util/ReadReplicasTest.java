@@ -0,0 +1,175 @@
+package com.madang.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.SQLException;
+import java.sql.SQLSyntaxErrorException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 복제 상태 확인 (SHOW REPLICA STATUS) 오류 처리
+ *
+ * MySQL 대역 드라이버(jdbc:replica-stub:모드)가 복제 상태 조회에 MySQL과 같은 오류 코드로 응답합니다.
+ * - current: SHOW REPLICA STATUS 지원 (8.0.22 이상)
+ * - legacy : SHOW REPLICA STATUS는 구문 오류(1064), SHOW SLAVE STATUS만 지원
+ * - denied : REPLICATION CLIENT 권한 없음(1227)
+ */
+class ReadReplicasTest {
+
+    private static final Queue<String> STATUS_QUERIES = new ConcurrentLinkedQueue<>();
+
+    private ReadReplicas replicas;
+
+    @BeforeAll
+    static void registerDriver() throws SQLException {
+        DriverManager.registerDriver(new StubDriver());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (replicas != null) {
+            replicas.shutdown();
+        }
+        STATUS_QUERIES.clear();
+    }
+
+    @Test
+    void currentSyntaxReportsLag() {
+        Map<String, Object> status = check("current");
+
+        assertEquals(true, status.get("usable"));
+        assertEquals(1L, status.get("lagSeconds"));
+        assertFalse(STATUS_QUERIES.contains("SHOW SLAVE STATUS"));
+    }
+
+    @Test
+    void parseErrorSwitchesToLegacySyntax() {
+        Map<String, Object> status = check("legacy");
+
+        assertEquals(true, status.get("usable"));
+        assertEquals(2L, status.get("lagSeconds"));
+        assertTrue(STATUS_QUERIES.contains("SHOW SLAVE STATUS"));
+    }
+
+    @Test
+    void missingPrivilegeIsReportedWithoutSwitchingSyntax() {
+        Map<String, Object> status = check("denied");
+
+        assertEquals(false, status.get("usable"));
+        assertTrue(String.valueOf(status.get("error")).contains("REPLICATION CLIENT"), String.valueOf(status.get("error")));
+        assertFalse(STATUS_QUERIES.contains("SHOW SLAVE STATUS"));
+
+        // 권한이 없는 동안에도 계속 현재 구문으로 확인 (권한을 부여하면 복구)
+        STATUS_QUERIES.clear();
+        replicas.checkAll();
+        assertFalse(STATUS_QUERIES.isEmpty());
+        assertTrue(STATUS_QUERIES.stream().allMatch("SHOW REPLICA STATUS"::equals), STATUS_QUERIES.toString());
+    }
+
+    private Map<String, Object> check(String mode) {
+        replicas = new ReadReplicas(List.of(StubDriver.PREFIX + mode), "sa", "", 2, 1000, 5, 60_000);
+        replicas.checkAll();
+        return replicas.status().get(0);
+    }
+
+    /**
+     * 복제 상태 조회만 MySQL처럼 흉내 내고 나머지는 H2 메모리 DB로 넘기는 드라이버
+     */
+    static final class StubDriver implements Driver {
+        static final String PREFIX = "jdbc:replica-stub:";
+
+        @Override
+        public Connection connect(String url, Properties info) throws SQLException {
+            if (!acceptsURL(url)) {
+                return null;
+            }
+            String mode = url.substring(PREFIX.length());
+            Connection h2 = DriverManager.getConnection("jdbc:h2:mem:replica-stub;DB_CLOSE_DELAY=-1");
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(h2, method, args);
+                    return "createStatement".equals(method.getName()) ? statement(mode, (Statement) result) : result;
+                });
+        }
+
+        private static Statement statement(String mode, Statement statement) {
+            return (Statement) Proxy.newProxyInstance(StubDriver.class.getClassLoader(), new Class<?>[] {Statement.class},
+                (proxy, method, args) -> {
+                    if ("executeQuery".equals(method.getName()) && args[0] instanceof String sql && sql.startsWith("SHOW ")) {
+                        STATUS_QUERIES.add(sql);
+                        return statement.executeQuery(replicaStatus(mode, sql));
+                    }
+                    return invoke(statement, method, args);
+                });
+        }
+
+        private static String replicaStatus(String mode, String sql) throws SQLSyntaxErrorException {
+            if ("denied".equals(mode)) {
+                throw new SQLSyntaxErrorException("Access denied; you need (at least one of) the SUPER, "
+                    + "REPLICATION CLIENT privilege(s) for this operation", "42000", 1227);
+            }
+            boolean legacySql = sql.equals("SHOW SLAVE STATUS");
+            if ("legacy".equals(mode) != legacySql) {
+                throw new SQLSyntaxErrorException("You have an error in your SQL syntax", "42000", 1064);
+            }
+            return legacySql ? "SELECT 2 AS Seconds_Behind_Master" : "SELECT 1 AS Seconds_Behind_Source";
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        @Override
+        public boolean acceptsURL(String url) {
+            return url != null && url.startsWith(PREFIX);
+        }
+
+        @Override
+        public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+            return new DriverPropertyInfo[0];
+        }
+
+        @Override
+        public int getMajorVersion() {
+            return 1;
+        }
+
+        @Override
+        public int getMinorVersion() {
+            return 0;
+        }
+
+        @Override
+        public boolean jdbcCompliant() {
+            return false;
+        }
+
+        @Override
+        public Logger getParentLogger() {
+            return Logger.getGlobal();
+        }
+    }
+}
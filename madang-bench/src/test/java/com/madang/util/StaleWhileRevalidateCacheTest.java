@@ -0,0 +1,36 @@
+package com.madang.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 백그라운드 갱신이 bulkhead에 막혀 건너뛰어져도 값이 없어 새로 계산하는 요청은 실패하지 않음
+ */
+class StaleWhileRevalidateCacheTest {
+
+    @Test
+    void missDuringRejectedRefreshLoadsItself() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("swr-test", 1, 1, 500L);
+        StaleWhileRevalidateCache<String, Integer> cache =
+            new StaleWhileRevalidateCache<>("swr-test", key -> 0L, 60_000L, 10, 1, bulkhead);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals(1, cache.get("overview", loads::incrementAndGet));
+
+        // 슬롯을 모두 잡아 두면 갱신은 대기하다 건너뜀
+        bulkhead.tryAcquire();
+        try {
+            assertEquals(1, cache.get("overview", loads::incrementAndGet));  // 오래된 값 + 백그라운드 갱신 시작
+            cache.invalidateAll();
+            assertEquals(2, cache.get("overview", loads::incrementAndGet));
+
+            Thread.sleep(700);
+            assertEquals(1L, cache.stats().get("refreshRejected"));
+        } finally {
+            bulkhead.release();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.madang.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 자동완성 트라이: 전체 적재(상위 후보 일괄 계산)와 한 행씩 put한 결과가 같은지 확인
+ */
+class SuggestTrieTest {
+
+    private static final String[] WORDS = {"축구", "축구의", "역사", "야구", "Java", "java", "Linux", "리눅스", "입문", "바이블"};
+
+    @Test
+    void bulkLoadMatchesIncrementalPuts() throws Exception {
+        Random random = new Random(7);
+        String[][] rows = new String[2000][];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = new String[] {WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)],
+                                    "출판사" + random.nextInt(5)};
+        }
+
+        SuggestTrie bulk = new SuggestTrie("bulk-test", "bookname", "publisher");
+        bulk.load(sink -> {
+            for (int i = 0; i < rows.length; i++) {
+                sink.put(i, rows[i]);
+            }
+        });
+
+        SuggestTrie incremental = new SuggestTrie("incremental-test", "bookname", "publisher");
+        incremental.load(sink -> { });
+        for (int i = 0; i < rows.length; i++) {
+            incremental.put(i, rows[i]);
+        }
+
+        for (String prefix : List.of("", "축", "축구 ", "java", "출판사", "역", "리")) {
+            List<Map<String, Object>> expected = incremental.suggest(prefix, 10, sink -> { });
+            assertEquals(expected, bulk.suggest(prefix, 10, sink -> { }), prefix);
+        }
+
+        // 적재 후 변경은 바로 순위에 반영
+        for (int i = 0; i < 50; i++) {
+            bulk.put(rows.length + i, "축구공", null);
+        }
+        assertEquals("축구공", bulk.suggest("축구", 1, sink -> { }).get(0).get("text"));
+    }
+}
@@ -0,0 +1,28 @@
+-- 마당 서점 도서 전문 검색 인덱스 추가 스크립트
+-- 목적: 도서명/출판사 검색을 LIKE '%검색어%' 전체 스캔 대신 FULLTEXT 인덱스로 처리
+-- (ngram 파서는 한글을 ngram_token_size(기본 2) 글자 단위로 색인합니다.
+--  서버는 인덱스를 만들지 않으며, 없으면 LIKE 검색을 사용합니다.
+--  검색: GET /api/search?q=검색어)
+--
+-- ngram 파서는 불용어를 포함한 토큰을 색인하지 않습니다. MySQL 기본 불용어 목록에는 "a", "i", "on" 등이 있어
+-- "Java"(ja, av, va)나 "Pearson"이 검색되지 않으므로 불용어 없이 만듭니다 (불용어 설정은 인덱스를 만들 때 고정됨).
+-- 이 스크립트로 만든 후 application.properties에 search.fulltext.stopwords=false를 설정하면 영문 검색어도 인덱스를 사용합니다.
+--
+-- 이전 버전 서버가 자동으로 만든 인덱스(기본 불용어 적용)가 있으면 먼저 삭제:
+-- ALTER TABLE Book DROP INDEX ft_book_bookname, DROP INDEX ft_book_publisher, DROP INDEX ft_book_text;
+
+USE madangdb;
+
+SET SESSION innodb_ft_enable_stopword = OFF;
+
+-- 도서명 검색 (도서 목록의 title/keyword 필터)
+ALTER TABLE Book ADD FULLTEXT INDEX ft_book_bookname (bookname) WITH PARSER ngram;
+
+-- 출판사 검색 (도서 목록의 publisher 필터)
+ALTER TABLE Book ADD FULLTEXT INDEX ft_book_publisher (publisher) WITH PARSER ngram;
+
+-- 통합 검색 (/api/search, 관련도 순)
+ALTER TABLE Book ADD FULLTEXT INDEX ft_book_text (bookname, publisher) WITH PARSER ngram;
+
+-- 확인
+SHOW INDEX FROM Book WHERE Index_type = 'FULLTEXT';
@@ -0,0 +1,68 @@
+-- 마당 서점 일별 판매 집계(rollup) 테이블 생성 스크립트
+-- 목적: 대시보드 통계가 매번 Orders 전체를 GROUP BY 하지 않도록 일별 합계를 유지
+-- (OrderDAO가 주문 등록/수정/취소 시 같은 트랜잭션에서 증감분을 반영합니다.
+--  테이블이 없으면 서버가 처음 사용할 때 자동으로 생성하고 적재합니다.
+--  재적재: POST /api/stats?action=rebuild-rollups (관리자))
+
+USE madangdb;
+
+CREATE TABLE IF NOT EXISTS SalesDailyBook (
+    sale_date   DATE NOT NULL,
+    bookid      INT NOT NULL,
+    order_count INT NOT NULL DEFAULT 0,
+    revenue     BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (sale_date, bookid),
+    KEY idx_sdb_bookid (bookid)
+);
+
+CREATE TABLE IF NOT EXISTS SalesDailyPublisher (
+    sale_date   DATE NOT NULL,
+    publisher   VARCHAR(40) NOT NULL,
+    order_count INT NOT NULL DEFAULT 0,
+    revenue     BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (sale_date, publisher),
+    KEY idx_sdp_publisher (publisher)
+);
+
+CREATE TABLE IF NOT EXISTS SalesDailyCustomer (
+    sale_date   DATE NOT NULL,
+    custid      INT NOT NULL,
+    order_count INT NOT NULL DEFAULT 0,
+    revenue     BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (sale_date, custid),
+    KEY idx_sdc_custid (custid)
+);
+
+-- 월별 고객 스냅샷 (특정 월까지의 누적 구매 금액 = month_start < 다음 달 1일인 행의 합)
+CREATE TABLE IF NOT EXISTS SalesMonthlyCustomer (
+    month_start DATE NOT NULL,
+    custid      INT NOT NULL,
+    order_count INT NOT NULL DEFAULT 0,
+    revenue     BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (month_start, custid),
+    KEY idx_smc_custid (custid)
+);
+
+-- 현재 Orders 기준으로 전체 적재
+START TRANSACTION;
+
+DELETE FROM SalesDailyBook;
+INSERT INTO SalesDailyBook (sale_date, bookid, order_count, revenue)
+SELECT orderdate, bookid, COUNT(*), SUM(saleprice) FROM Orders GROUP BY orderdate, bookid;
+
+DELETE FROM SalesDailyPublisher;
+INSERT INTO SalesDailyPublisher (sale_date, publisher, order_count, revenue)
+SELECT o.orderdate, b.publisher, COUNT(*), SUM(o.saleprice)
+FROM Orders o JOIN Book b ON o.bookid = b.bookid
+GROUP BY o.orderdate, b.publisher;
+
+DELETE FROM SalesDailyCustomer;
+INSERT INTO SalesDailyCustomer (sale_date, custid, order_count, revenue)
+SELECT orderdate, custid, COUNT(*), SUM(saleprice) FROM Orders GROUP BY orderdate, custid;
+
+DELETE FROM SalesMonthlyCustomer;
+INSERT INTO SalesMonthlyCustomer (month_start, custid, order_count, revenue)
+SELECT orderdate - INTERVAL (DAY(orderdate) - 1) DAY, custid, COUNT(*), SUM(saleprice)
+FROM Orders GROUP BY orderdate - INTERVAL (DAY(orderdate) - 1) DAY, custid;
+
+COMMIT;
@@ -0,0 +1,18 @@
+-- 마당 서점 ID 시퀀스 테이블 생성 스크립트
+-- 목적: INSERT마다 실행하던 SELECT MAX(id) + 1 조회 제거, 동시 등록 시 ID 충돌 방지
+-- (HiLoIdAllocator가 next_val을 구간 단위로 올려 ID를 예약합니다.
+--  테이블이 없으면 서버가 처음 등록할 때 자동으로 생성합니다.)
+
+USE madangdb;
+
+CREATE TABLE IF NOT EXISTS IdSequence (
+    seq_name VARCHAR(64) NOT NULL PRIMARY KEY,  -- 테이블명 (Book, Customer, Orders)
+    next_val BIGINT NOT NULL                    -- 다음에 예약할 구간의 시작 ID
+);
+
+-- 현재 데이터의 MAX(id) + 1로 초기화 (이미 있으면 유지)
+INSERT IGNORE INTO IdSequence (seq_name, next_val) SELECT 'Book', IFNULL(MAX(bookid), 0) + 1 FROM Book;
+INSERT IGNORE INTO IdSequence (seq_name, next_val) SELECT 'Customer', IFNULL(MAX(custid), 0) + 1 FROM Customer;
+INSERT IGNORE INTO IdSequence (seq_name, next_val) SELECT 'Orders', IFNULL(MAX(orderid), 0) + 1 FROM Orders;
+
+SELECT * FROM IdSequence;
@@ -0,0 +1,240 @@
+package com.madang.dao;
+
+import com.madang.util.ConfigManager;
+import com.madang.util.DBConnection;
+import com.madang.util.SqlLogger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 도서 전문 검색 (MySQL FULLTEXT 인덱스 + ngram 파서)
+ *
+ * LIKE '%검색어%'는 인덱스를 쓰지 못해 매번 Book 전체를 읽으므로,
+ * bookname/publisher에 ngram FULLTEXT 인덱스를 두고 MATCH ... AGAINST로 검색합니다.
+ * - 한글도 띄어쓰기와 무관하게 ngram_token_size(기본 2글자) 단위로 색인되어 부분 문자열 검색 가능
+ * - 인덱스는 MySQL이 Book의 INSERT/UPDATE/DELETE와 함께 갱신 (createBook/updateBook/deleteBook과 자동 동기화)
+ * - 검색어가 ngram 크기보다 짧거나 인덱스가 없으면 LIKE로 대체
+ * - ngram 파서는 불용어를 포함한 토큰을 색인하지 않으므로, 인덱스를 MySQL 기본 불용어 목록으로 만들었으면
+ *   (search.fulltext.stopwords=true) 불용어("a", "i", "on" 등)가 들어간 토큰이 생기는 단어는 LIKE로 검색
+ *   (예: "Java"의 ja/av/va는 모두 "a"를 포함해 MATCH로는 아무것도 찾지 못함)
+ *
+ * 인덱스는 서버가 만들지 않습니다. sql/add_fulltext.sql로 불용어 없이 만들고, 없으면 LIKE 검색을 사용합니다.
+ * <pre>
+ * ft_book_bookname  (bookname)            - 도서명 검색
+ * ft_book_publisher (publisher)           - 출판사 검색
+ * ft_book_text      (bookname, publisher) - 통합 검색 (search)
+ * </pre>
+ */
+public class BookSearchDAO {
+
+    // MySQL ngram_token_size 설정과 같아야 함
+    private static final int NGRAM_SIZE = ConfigManager.getInt("search.ngram.token.size", 2);
+    private static final boolean ENABLED = ConfigManager.getBoolean("search.fulltext.enabled", true);
+    // 인덱스에 MySQL 기본 불용어 목록이 적용되어 있는지 (sql/add_fulltext.sql로 다시 만들었으면 false)
+    private static final boolean STOPWORDS = ConfigManager.getBoolean("search.fulltext.stopwords", true);
+
+    private static final List<String> INDEXES = List.of("ft_book_bookname", "ft_book_publisher", "ft_book_text");
+
+    // MySQL INFORMATION_SCHEMA.INNODB_FT_DEFAULT_STOPWORD
+    private static final List<String> DEFAULT_STOPWORDS = List.of(
+        "a", "about", "an", "are", "as", "at", "be", "by", "com", "de", "en", "for", "from", "how", "i", "in",
+        "is", "it", "la", "of", "on", "or", "that", "the", "this", "to", "was", "what", "when", "where", "who",
+        "will", "with", "und", "www");
+
+    private static volatile boolean checked = false;
+    private static volatile boolean available = false;
+
+    /**
+     * 도서명/출판사 통합 검색 (관련도 순)
+     * 검색어의 단어를 모두 포함하는 도서를 찾고, 도서명 일치에 가중치를 두어 정렬
+     * 전문 검색을 쓸 수 있는 단어는 MATCH, 나머지(짧은 단어, 불용어 토큰이 생기는 단어)는 LIKE 조건으로 거름
+     *
+     * @param query 검색어 (공백으로 구분한 여러 단어)
+     * @param limit 최대 결과 수
+     * @return 도서 목록 (bookid, bookname, publisher, price, score)
+     */
+    public List<Map<String, Object>> search(String query, int limit) throws SQLException {
+        StringBuilder against = new StringBuilder();
+        List<String> likeWords = new ArrayList<>();
+        for (String word : query.trim().split("\\s+")) {
+            String phrase = fulltextPhrase(word);
+            if (phrase != null) {
+                against.append(against.length() > 0 ? " +" : "+").append(phrase);
+            } else if (!word.isEmpty()) {
+                likeWords.add("%" + word + "%");
+            }
+        }
+
+        StringBuilder score = new StringBuilder();
+        StringBuilder where = new StringBuilder();
+        List<Object> params = new ArrayList<>();
+        List<Object> whereParams = new ArrayList<>();
+        if (against.length() > 0) {
+            score.append("MATCH(bookname) AGAINST (? IN BOOLEAN MODE) * 2 + ")
+                 .append("MATCH(bookname, publisher) AGAINST (? IN BOOLEAN MODE)");
+            where.append("MATCH(bookname, publisher) AGAINST (? IN BOOLEAN MODE)");
+            params.add(against.toString());
+            params.add(against.toString());
+            whereParams.add(against.toString());
+        }
+        for (String pattern : likeWords) {
+            score.append(score.length() > 0 ? " + " : "").append("CASE WHEN bookname LIKE ? THEN 2 ELSE 1 END");
+            where.append(where.length() > 0 ? " AND " : "").append("(bookname LIKE ? OR publisher LIKE ?)");
+            params.add(pattern);
+            whereParams.add(pattern);
+            whereParams.add(pattern);
+        }
+        params.addAll(whereParams);
+        params.add(limit);
+
+        String sql = "SELECT bookid, bookname, publisher, price, " + score + " AS score " +
+                     "FROM Book WHERE " + where + " ORDER BY score DESC, bookid LIMIT ?";
+
+        List<Map<String, Object>> books = new ArrayList<>();
+
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+
+        try {
+            conn = DBConnection.getReadConnection();
+            pstmt = conn.prepareStatement(sql);
+            for (int i = 0; i < params.size(); i++) {
+                pstmt.setObject(i + 1, params.get(i));
+            }
+
+            SqlLogger.logQuery(sql, params.toArray());
+            rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                books.add(mapResult(rs, rs.getDouble("score")));
+            }
+        } finally {
+            DBConnection.close(conn, pstmt, rs);
+        }
+
+        return books;
+    }
+
+    private Map<String, Object> mapResult(ResultSet rs, double score) throws SQLException {
+        Map<String, Object> book = new LinkedHashMap<>();
+        book.put("bookid", rs.getInt("bookid"));
+        book.put("bookname", rs.getString("bookname"));
+        book.put("publisher", rs.getString("publisher"));
+        book.put("price", rs.getInt("price"));
+        book.put("score", Math.round(score * 1000) / 1000.0);
+        return book;
+    }
+
+    /**
+     * 목록 검색 조건 (BookDAO의 도서명/출판사 필터)
+     * 전문 검색으로 LIKE와 같은 결과를 낼 수 있으면 MATCH 구문(부분 문자열 검색과 같은 구문 검색), 아니면 LIKE
+     *
+     * @param column bookname 또는 publisher
+     * @param term 검색어
+     * @param params 바인딩 파라미터 (검색어가 추가됨)
+     */
+    static String condition(String column, String term, List<Object> params) {
+        String phrase = fulltextPhrase(term.trim());
+        if (phrase != null) {
+            params.add(phrase);
+            return " MATCH(" + column + ") AGAINST (? IN BOOLEAN MODE)";
+        }
+        params.add("%" + term.trim() + "%");
+        return " " + column + " LIKE ?";
+    }
+
+    /**
+     * 검색어 전체를 하나의 MATCH 구문으로 ("검색어")
+     *
+     * @return 인덱스가 없거나, ngram 크기보다 짧거나, 불용어 토큰 때문에 빠지는 결과가 생길 수 있으면 null (LIKE 사용)
+     */
+    private static String fulltextPhrase(String term) {
+        String cleaned = term.replace("\"", " ").trim();
+        if (cleaned.codePointCount(0, cleaned.length()) < NGRAM_SIZE || (STOPWORDS && hasStopwordToken(cleaned))
+            || !isAvailable()) {
+            return null;
+        }
+        return "\"" + cleaned + "\"";
+    }
+
+    /**
+     * 검색어의 ngram 토큰 중 MySQL 기본 불용어를 포함하는 것이 있는지
+     * (ngram 파서는 이런 토큰을 색인하지도 검색하지도 않음)
+     */
+    static boolean hasStopwordToken(String term) {
+        String lower = term.toLowerCase(Locale.ROOT);
+        int[] codePoints = lower.codePoints().toArray();
+        for (int i = 0; i + NGRAM_SIZE <= codePoints.length; i++) {
+            String token = new String(codePoints, i, NGRAM_SIZE);
+            for (String stopword : DEFAULT_STOPWORDS) {
+                if (token.contains(stopword)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * FULLTEXT 인덱스 사용 가능 여부 (서버 시작 후 한 번만 확인)
+     * 인덱스가 하나라도 없으면(sql/add_fulltext.sql 미실행) LIKE 검색을 계속 사용
+     */
+    static boolean isAvailable() {
+        if (!ENABLED) {
+            return false;
+        }
+        if (checked) {
+            return available;
+        }
+        synchronized (BookSearchDAO.class) {
+            if (!checked) {
+                try {
+                    Set<String> missing = missingIndexes();
+                    if (!missing.isEmpty()) {
+                        System.err.println("⚠️  도서 전문 검색 인덱스가 없어 LIKE 검색을 사용합니다 (sql/add_fulltext.sql 실행 필요): " + missing);
+                    }
+                    available = missing.isEmpty();
+                } catch (SQLException e) {
+                    System.err.println("⚠️  도서 전문 검색 인덱스를 확인할 수 없어 LIKE 검색을 사용합니다: " + e.getMessage());
+                    available = false;
+                }
+                checked = true;
+            }
+        }
+        return available;
+    }
+
+    private static Set<String> missingIndexes() throws SQLException {
+        String sql = "SELECT DISTINCT INDEX_NAME FROM information_schema.STATISTICS " +
+                     "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'Book' AND INDEX_TYPE = 'FULLTEXT'";
+        Set<String> missing = new LinkedHashSet<>(INDEXES);
+
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+
+        try {
+            conn = DBConnection.getConnection();
+            pstmt = conn.prepareStatement(sql);
+            SqlLogger.logQuery(sql);
+            rs = pstmt.executeQuery();
+            while (rs.next()) {
+                missing.remove(rs.getString(1));
+            }
+        } finally {
+            DBConnection.close(conn, pstmt, rs);
+        }
+        return missing;
+    }
+}
@@ -0,0 +1,457 @@
+package com.madang.dao;
+
+import com.madang.model.Book;
+import com.madang.model.Customer;
+import com.madang.model.Order;
+import com.madang.util.DBConnection;
+import com.madang.util.HiLoIdAllocator;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 대용량 테스트 데이터 생성기 (gen/*.py 대체)
+ *
+ * 도서/고객/주문을 만들어 DB에 병렬 일괄 INSERT 하거나 CSV 파일로 저장합니다.
+ * - 도서 판매량과 고객 구매 횟수는 Zipf 분포 (소수의 베스트셀러와 단골 고객에 주문이 몰림)
+ * - 주문일은 기준일까지 최근 days일 중 계절성(방학/신학기/연말), 주말, 완만한 성장 추세를 반영한 분포
+ * - 각 행은 (시드, 테이블, 행 번호)로 정해지는 난수로 만들어 스레드 수와 관계없이 시드와 기준일이 같으면 같은 데이터
+ * - DB 적재 ID는 IdSequence 테이블에서 구간으로 예약하므로 실행 중인 서버의 등록과 겹치지 않음
+ *
+ * 명령행 실행은 madang-bench의 com.madang.bench.load.GenerateDataset
+ */
+public class DatasetGenerator {
+
+    public static final List<String> PUBLISHERS = List.of(
+        "굿스포츠", "나무수", "대한미디어", "이상미디어", "삼성당", "Pearson",
+        "한빛미디어", "길벗", "위키북스", "민음사", "문학동네", "창비");
+    public static final List<String> KEYWORDS = List.of(
+        "축구", "농구", "야구", "배구", "골프", "테니스", "피겨", "수영", "올림픽",
+        "데이터베이스", "자바", "알고리즘", "요리", "여행", "역사", "경제");
+    public static final List<String> SURNAMES = List.of(
+        "김", "이", "박", "최", "정", "강", "조", "윤", "장", "임", "한", "오", "서", "신", "권");
+
+    private static final List<String> TITLES = List.of(
+        "%s의 역사", "%s 아는 사람", "%s의 이해", "%s 바이블", "%s 교본",
+        "%s 단계별 기술", "즐거운 %s", "%s를 부탁해", "%s 이야기", "처음 만나는 %s");
+    private static final List<String> GIVEN_NAMES = List.of(
+        "민준", "서연", "도윤", "지우", "하준", "서윤", "은우", "지민", "시우", "수아",
+        "예준", "하은", "유진", "지호", "채원", "현우", "연아", "지성", "세리", "태환");
+    private static final List<String> CITIES = List.of(
+        "서울특별시", "부산광역시", "인천광역시", "대구광역시", "대전광역시",
+        "광주광역시", "울산광역시", "수원시", "성남시", "고양시", "제주특별자치도");
+    private static final List<String> STREETS = List.of(
+        "중앙로", "한강대로", "테헤란로", "세종대로", "해운대로", "대학로", "신촌로", "동문로");
+
+    // 월별 주문 가중치 (1월~12월): 신년/신학기(1~3월), 여름 방학(7~8월), 2학기(9월), 연말(12월)
+    private static final double[] MONTH_WEIGHTS = {1.3, 1.2, 1.3, 1.0, 0.9, 0.9, 1.1, 1.1, 1.2, 1.0, 1.0, 1.4};
+    private static final double WEEKEND_WEIGHT = 1.3;
+    // 기간 동안 주문량이 늘어나는 비율 (마지막 날이 첫날의 1.5배)
+    private static final double GROWTH = 0.5;
+    // 고객 구매 횟수 Zipf 지수 (도서보다 완만)
+    private static final double CUSTOMER_ZIPF = 0.7;
+
+    private static final int CHUNK_SIZE = 10000;
+    private static final int BATCH_SIZE = 1000;
+
+    private static final long BOOK_STREAM = 1;
+    private static final long CUSTOMER_STREAM = 2;
+    private static final long ORDER_STREAM = 3;
+
+    private final int books;
+    private final int customers;
+    private final int orders;
+    private final long seed;
+    private final LocalDate firstDay;
+
+    // 인기 순위 누적 분포와 순위 → 행 번호 (1위가 항상 첫 번째 도서가 되지 않도록 섞음)
+    private final double[] bookCdf;
+    private final int[] bookByRank;
+    private final double[] customerCdf;
+    private final int[] customerByRank;
+    private final double[] dayCdf;
+
+    // 생성한 행의 ID = 시작 ID + 행 번호 (기존 데이터 뒤에 추가할 때 사용)
+    private int bookBase;
+    private int customerBase;
+    private int orderBase;
+
+    /**
+     * @param books 도서 수
+     * @param customers 고객 수
+     * @param orders 주문 수 (도서와 고객이 1명 이상이어야 함)
+     * @param lastDay 기준일 (마지막 주문일)
+     * @param days 주문 기간 (기준일까지 최근 days일)
+     * @param zipf 도서 인기 Zipf 지수 (0이면 균등)
+     * @param seed 난수 시드
+     */
+    public DatasetGenerator(int books, int customers, int orders, LocalDate lastDay, int days, double zipf, long seed) {
+        if (books < 0 || customers < 0 || orders < 0) {
+            throw new IllegalArgumentException("행 수는 0 이상이어야 합니다.");
+        }
+        if (orders > 0 && (books == 0 || customers == 0)) {
+            throw new IllegalArgumentException("주문을 만들려면 도서와 고객이 필요합니다.");
+        }
+        if (lastDay == null) {
+            throw new IllegalArgumentException("기준일이 필요합니다.");
+        }
+        if (days < 1) {
+            throw new IllegalArgumentException("주문 기간은 1일 이상이어야 합니다: " + days);
+        }
+        if (zipf < 0) {
+            throw new IllegalArgumentException("Zipf 지수는 0 이상이어야 합니다: " + zipf);
+        }
+
+        this.books = books;
+        this.customers = customers;
+        this.orders = orders;
+        this.seed = seed;
+        this.firstDay = lastDay.minusDays(days - 1);
+
+        this.bookCdf = orders > 0 ? zipfCdf(books, zipf) : new double[0];
+        this.bookByRank = orders > 0 ? shuffledIndexes(books, new SplittableRandom(seed ^ 0x5DEECE66DL)) : new int[0];
+        this.customerCdf = orders > 0 ? zipfCdf(customers, CUSTOMER_ZIPF) : new double[0];
+        this.customerByRank = orders > 0 ? shuffledIndexes(customers, new SplittableRandom(seed ^ 0xB5AD4ECEDA1CE2A9L)) : new int[0];
+        this.dayCdf = dayCdf(firstDay, days);
+    }
+
+    /**
+     * 생성할 ID의 시작값 지정 (각 ID는 시작값 + 1부터)
+     */
+    public void startAfter(int bookid, int custid, int orderid) {
+        this.bookBase = bookid;
+        this.customerBase = custid;
+        this.orderBase = orderid;
+    }
+
+    /**
+     * index번째 도서 (0부터)
+     */
+    public Book book(int index) {
+        SplittableRandom random = rowRandom(BOOK_STREAM, index);
+        int price = bookPrice(random);
+        String title = String.format(pick(random, TITLES), pick(random, KEYWORDS));
+        return new Book(bookBase + index + 1, title, pick(random, PUBLISHERS), price);
+    }
+
+    /**
+     * index번째 고객 (0부터)
+     */
+    public Customer customer(int index) {
+        SplittableRandom random = rowRandom(CUSTOMER_STREAM, index);
+        String name = pick(random, SURNAMES) + pick(random, GIVEN_NAMES);
+        String address = pick(random, CITIES) + " " + pick(random, STREETS) + " " + (1 + random.nextInt(300));
+        // 10%는 전화번호 없음 (gen/gen_cust_mysql.py와 같은 비율)
+        String phone = random.nextInt(10) == 0 ? null
+                       : String.format("010-%04d-%04d", random.nextInt(10000), random.nextInt(10000));
+        return new Customer(customerBase + index + 1, name, address, phone);
+    }
+
+    /**
+     * index번째 주문 (0부터): Zipf 분포로 도서/고객, 계절성 분포로 주문일 선택
+     */
+    public Order order(int index) {
+        SplittableRandom random = rowRandom(ORDER_STREAM, index);
+        int bookIndex = bookByRank[sample(bookCdf, random.nextDouble())];
+        int customerIndex = customerByRank[sample(customerCdf, random.nextDouble())];
+        LocalDate orderdate = firstDay.plusDays(sample(dayCdf, random.nextDouble()));
+
+        // 정가에서 0~3000원 할인 (최소 1000원)
+        int price = bookPrice(rowRandom(BOOK_STREAM, bookIndex));
+        int saleprice = Math.max(1000, price - random.nextInt(4) * 1000);
+
+        return new Order(orderBase + index + 1, customerBase + customerIndex + 1, bookBase + bookIndex + 1,
+                         saleprice, Date.valueOf(orderdate));
+    }
+
+    // ========================================
+    // CSV
+    // ========================================
+
+    /**
+     * book.csv, customer.csv, orders.csv 저장 (첫 줄은 컬럼명, NULL은 빈 칸)
+     */
+    public void writeCsv(Path dir, int threads) throws IOException, InterruptedException {
+        Files.createDirectories(dir);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(3, threads)));
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            futures.add(executor.submit(() -> writeCsv(dir.resolve("book.csv"), "bookid,bookname,publisher,price",
+                books, i -> {
+                    Book b = book(i);
+                    return b.getBookid() + "," + csv(b.getBookname()) + "," + csv(b.getPublisher()) + "," + b.getPrice();
+                })));
+            futures.add(executor.submit(() -> writeCsv(dir.resolve("customer.csv"), "custid,name,address,phone,role",
+                customers, i -> {
+                    Customer c = customer(i);
+                    return c.getCustid() + "," + csv(c.getName()) + "," + csv(c.getAddress()) + "," +
+                           csv(c.getPhone()) + "," + csv(c.getRole());
+                })));
+            futures.add(executor.submit(() -> writeCsv(dir.resolve("orders.csv"), "orderid,custid,bookid,saleprice,orderdate",
+                orders, i -> {
+                    Order o = order(i);
+                    return o.getOrderid() + "," + o.getCustid() + "," + o.getBookid() + "," +
+                           o.getSaleprice() + "," + o.getOrderdate();
+                })));
+            await(futures);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof UncheckedIOException io ? io.getCause() : new IOException(e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private interface RowFormatter {
+        String format(int index);
+    }
+
+    private static void writeCsv(Path file, String header, int rows, RowFormatter formatter) {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(header);
+            writer.newLine();
+            for (int i = 0; i < rows; i++) {
+                writer.write(formatter.format(i));
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * CSV 값 (NULL은 빈 칸, 쉼표나 따옴표가 있으면 따옴표로 감쌈)
+     */
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.isEmpty() || value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    // ========================================
+    // JDBC
+    // ========================================
+
+    /**
+     * IdSequence에서 예약한 ID 구간에 INSERT (CHUNK_SIZE 행씩 나눠 여러 스레드가 각자 연결로 일괄 INSERT)
+     * 서버의 ID 발급기({@link HiLoIdAllocator})와 같은 시퀀스에서 예약하므로 적재 중에 서버가 등록해도 ID가 겹치지 않음
+     * 주문은 도서/고객 적재가 끝난 후 적재 (외래 키)
+     *
+     * @return 테이블별 적재 시간 (ms)
+     */
+    public Map<String, Long> insert(int threads) throws SQLException, InterruptedException {
+        startAfter(reserveIds("Book", "bookid", books), reserveIds("Customer", "custid", customers),
+                   reserveIds("Orders", "orderid", orders));
+
+        Map<String, Long> elapsed = new LinkedHashMap<>();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            submitChunks(executor, futures, books, "INSERT INTO Book (bookid, bookname, publisher, price) VALUES (?, ?, ?, ?)",
+                (pstmt, i) -> {
+                    Book b = book(i);
+                    pstmt.setInt(1, b.getBookid());
+                    pstmt.setString(2, b.getBookname());
+                    pstmt.setString(3, b.getPublisher());
+                    pstmt.setInt(4, b.getPrice());
+                });
+            submitChunks(executor, futures, customers,
+                "INSERT INTO Customer (custid, name, address, phone, role) VALUES (?, ?, ?, ?, ?)",
+                (pstmt, i) -> {
+                    Customer c = customer(i);
+                    pstmt.setInt(1, c.getCustid());
+                    pstmt.setString(2, c.getName());
+                    pstmt.setString(3, c.getAddress());
+                    pstmt.setString(4, c.getPhone());
+                    pstmt.setString(5, c.getRole());
+                });
+            await(futures);
+            elapsed.put("Book+Customer", (System.nanoTime() - start) / 1_000_000);
+
+            start = System.nanoTime();
+            futures.clear();
+            submitChunks(executor, futures, orders,
+                "INSERT INTO Orders (orderid, custid, bookid, saleprice, orderdate) VALUES (?, ?, ?, ?, ?)",
+                (pstmt, i) -> {
+                    Order o = order(i);
+                    pstmt.setInt(1, o.getOrderid());
+                    pstmt.setInt(2, o.getCustid());
+                    pstmt.setInt(3, o.getBookid());
+                    pstmt.setInt(4, o.getSaleprice());
+                    pstmt.setDate(5, o.getOrderdate());
+                });
+            await(futures);
+            elapsed.put("Orders", (System.nanoTime() - start) / 1_000_000);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof SQLException sql ? sql : new SQLException(e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+
+        if (orders > 0) {
+            // 판매 집계 테이블을 새 주문까지 포함해 다시 생성
+            long start = System.nanoTime();
+            new SalesRollupDAO().rebuild();
+            elapsed.put("SalesRollup", (System.nanoTime() - start) / 1_000_000);
+        }
+        return elapsed;
+    }
+
+    private interface RowBinder {
+        void bind(PreparedStatement pstmt, int index) throws SQLException;
+    }
+
+    private static void submitChunks(ExecutorService executor, List<Future<?>> futures, int rows,
+                                     String sql, RowBinder binder) {
+        for (int from = 0; from < rows; from += CHUNK_SIZE) {
+            int start = from;
+            int end = Math.min(rows, from + CHUNK_SIZE);
+            futures.add(executor.submit(() -> {
+                insertChunk(sql, binder, start, end);
+                return null;
+            }));
+        }
+    }
+
+    private static void insertChunk(String sql, RowBinder binder, int from, int to) throws SQLException {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            conn.setAutoCommit(false);
+            try {
+                for (int i = from; i < to; i++) {
+                    binder.bind(pstmt, i);
+                    pstmt.addBatch();
+                    if ((i - from + 1) % BATCH_SIZE == 0) {
+                        pstmt.executeBatch();
+                    }
+                }
+                pstmt.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * rows개의 ID 구간 예약
+     *
+     * @return 구간 시작 직전 ID (startAfter에 넘길 값)
+     */
+    private static int reserveIds(String table, String idColumn, int rows) throws SQLException {
+        if (rows == 0) {
+            return 0;
+        }
+        return new HiLoIdAllocator(table, idColumn, 1).reserveRange(rows) - 1;
+    }
+
+    private static void await(List<Future<?>> futures) throws ExecutionException, InterruptedException {
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    // ========================================
+    // 분포
+    // ========================================
+
+    /**
+     * 행마다 독립된 난수 (같은 시드, 테이블, 행 번호면 같은 값)
+     */
+    private SplittableRandom rowRandom(long stream, int index) {
+        return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + stream * 0xC2B2AE3D27D4EB4FL + index);
+    }
+
+    private static int bookPrice(SplittableRandom random) {
+        return 5000 + random.nextInt(46) * 1000;
+    }
+
+    private static <T> T pick(SplittableRandom random, List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    /**
+     * 순위 k(1부터)의 가중치가 1 / k^s인 누적 분포
+     */
+    private static double[] zipfCdf(int n, double s) {
+        double[] cdf = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1.0 / Math.pow(k + 1, s);
+            cdf[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cdf[k] /= sum;
+        }
+        return cdf;
+    }
+
+    /**
+     * 날짜별 누적 분포 (월 가중치 x 주말 가중치 x 성장 추세)
+     */
+    private static double[] dayCdf(LocalDate firstDay, int days) {
+        double[] cdf = new double[days];
+        double sum = 0;
+        for (int d = 0; d < days; d++) {
+            LocalDate day = firstDay.plusDays(d);
+            double weight = MONTH_WEIGHTS[day.getMonthValue() - 1]
+                            * (day.getDayOfWeek().getValue() >= 6 ? WEEKEND_WEIGHT : 1.0)
+                            * (1.0 + GROWTH * d / Math.max(1, days - 1));
+            sum += weight;
+            cdf[d] = sum;
+        }
+        for (int d = 0; d < days; d++) {
+            cdf[d] /= sum;
+        }
+        return cdf;
+    }
+
+    /**
+     * 누적 분포에서 u(0~1)에 해당하는 위치
+     */
+    private static int sample(double[] cdf, double u) {
+        int index = Arrays.binarySearch(cdf, u);
+        index = index >= 0 ? index : -index - 1;
+        return Math.min(index, cdf.length - 1);
+    }
+
+    private static int[] shuffledIndexes(int n, SplittableRandom random) {
+        int[] indexes = new int[n];
+        for (int i = 0; i < n; i++) {
+            indexes[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = indexes[i];
+            indexes[i] = indexes[j];
+            indexes[j] = tmp;
+        }
+        return indexes;
+    }
+}
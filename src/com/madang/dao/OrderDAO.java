@@ -4,16 +4,25 @@ import com.madang.model.Order;
 import com.madang.model.PageRequest;
 import com.madang.model.PageResponse;
 import com.madang.util.DBConnection;
+import com.madang.util.IdAllocator;
 import com.madang.util.SqlLogger;
 
+import java.io.IOException;
 import java.sql.*;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Orders 테이블 데이터 접근 객체
+ * 통계 조회는 읽기 전용 연결(복제본)을 사용하고, 고객별 주문 조회와 쓰기는 기본 DB를 사용
  */
 public class OrderDAO {
 
@@ -22,6 +31,9 @@ public class OrderDAO {
     private static final String DEFAULT_PUBLISHER_STATS_SORT = "totalRevenue";
     private static final String DEFAULT_BOOK_STATS_SORT = "salesCount";
 
+    // 기본 키 발급기 (IdSequence 테이블에서 구간 예약)
+    private static final IdAllocator ID_ALLOCATOR = IdAllocator.create("Orders", "orderid");
+
     /**
      * 고객별 주문 내역 조회 (정렬 지원)
      */
@@ -71,17 +83,26 @@ public class OrderDAO {
         List<Order> orders = new ArrayList<>();
 
         // 1. 전체 개수 조회
-        long totalItems = countOrdersByCustomer(custId);
-
-        // 2. 페이징된 데이터 조회
-        String sql = "SELECT o.orderid, o.custid, o.bookid, o.saleprice, o.orderdate, " +
-                     "b.bookname, b.publisher, b.price AS listPrice " +
-                     "FROM Orders o " +
-                     "JOIN Book b ON o.bookid = b.bookid " +
-                     "WHERE o.custid = ? " +
-                     "ORDER BY " + resolveOrderSortColumn(pageRequest.getSortBy()) + " " +
-                     resolveDirection(pageRequest.getDirection()) +
-                     " LIMIT ? OFFSET ?";
+        long totalItems = PageCounter.count("Orders", " WHERE custid = ?", List.of(custId), pageRequest.getCountMode());
+
+        // 2. 페이징된 데이터 조회 (다음 페이지 커서를 만들기 위해 pageSize + 1개 조회)
+        String sortColumn = resolveOrderSortColumn(pageRequest.getSortBy());
+        String direction = resolveDirection(pageRequest.getDirection());
+        List<Object> params = new ArrayList<>();
+        params.add(custId);
+
+        StringBuilder sql = new StringBuilder(
+            "SELECT o.orderid, o.custid, o.bookid, o.saleprice, o.orderdate, " +
+            "b.bookname, b.publisher, b.price AS listPrice " +
+            "FROM Orders o " +
+            "JOIN Book b ON o.bookid = b.bookid " +
+            "WHERE o.custid = ?");
+        if (pageRequest.isKeyset()) {
+            Keyset.appendSeek(sql, true, pageRequest, sortColumn, "o.orderid",
+                              resolveOrderSortType(sortColumn), direction, params);
+        }
+        sql.append(Keyset.orderBy(sortColumn, "o.orderid", direction));
+        sql.append(" LIMIT ? OFFSET ?");
 
         Connection conn = null;
         PreparedStatement pstmt = null;
@@ -89,12 +110,14 @@ public class OrderDAO {
 
         try {
             conn = DBConnection.getConnection();
-            pstmt = conn.prepareStatement(sql);
-            pstmt.setInt(1, custId);
-            pstmt.setInt(2, pageRequest.getPageSize());
-            pstmt.setInt(3, pageRequest.getOffset());
+            pstmt = conn.prepareStatement(sql.toString());
+            for (int i = 0; i < params.size(); i++) {
+                pstmt.setObject(i + 1, params.get(i));
+            }
+            pstmt.setInt(params.size() + 1, pageRequest.getPageSize() + 1);
+            pstmt.setInt(params.size() + 2, pageRequest.getOffset());
 
-            SqlLogger.logQuery(sql, custId);
+            SqlLogger.logQuery(sql.toString(), params.toArray());
             rs = pstmt.executeQuery();
 
             while (rs.next()) {
@@ -113,41 +136,16 @@ public class OrderDAO {
             DBConnection.close(conn, pstmt, rs);
         }
 
-        // 3. PageResponse 생성
-        return new PageResponse<>(
-            orders,
-            pageRequest.getPage(),
-            pageRequest.getPageSize(),
-            totalItems
-        );
-    }
-
-    /**
-     * 고객별 주문 개수 조회
-     */
-    private long countOrdersByCustomer(int custId) throws SQLException {
-        String sql = "SELECT COUNT(*) as total FROM Orders WHERE custid = ?";
-
-        Connection conn = null;
-        PreparedStatement pstmt = null;
-        ResultSet rs = null;
-
-        try {
-            conn = DBConnection.getConnection();
-            pstmt = conn.prepareStatement(sql);
-            pstmt.setInt(1, custId);
-
-            SqlLogger.logQuery(sql, custId);
-            rs = pstmt.executeQuery();
-
-            if (rs.next()) {
-                return rs.getLong("total");
-            }
-        } finally {
-            DBConnection.close(conn, pstmt, rs);
+        // 3. 다음 페이지 커서 계산
+        String nextCursor = null;
+        if (orders.size() > pageRequest.getPageSize()) {
+            orders.remove(orders.size() - 1);
+            Order last = orders.get(orders.size() - 1);
+            nextCursor = PageRequest.encodeCursor(sortColumn, direction, orderSortValueOf(last, sortColumn), last.getOrderid());
         }
 
-        return 0;
+        // 4. PageResponse 생성
+        return new PageResponse<>(orders, pageRequest, totalItems, nextCursor);
     }
 
     /**
@@ -183,25 +181,9 @@ public class OrderDAO {
         return null;
     }
 
-    /**
-     * 다음 주문 ID 가져오기
-     */
-    public int getNextOrderId(Connection conn) throws SQLException {
-        String sql = "SELECT IFNULL(MAX(orderid), 0) + 1 AS next_orderid FROM Orders";
-
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            SqlLogger.logQuery(sql);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt("next_orderid");
-                }
-            }
-        }
-        return 1;
-    }
-
     /**
      * 주문 생성 (INSERT)
+     * 판매 집계(SalesDaily*)도 같은 트랜잭션에서 함께 반영
      */
     public int createOrder(int custId, int bookId, int salePrice) throws SQLException {
         String sql = "INSERT INTO Orders (orderid, custid, bookid, saleprice, orderdate) " +
@@ -211,8 +193,10 @@ public class OrderDAO {
         PreparedStatement pstmt = null;
 
         try {
+            int nextOrderId = ID_ALLOCATOR.nextId();  // 연결을 잡기 전에 발급 (구간 예약 시 별도 연결 사용)
+            SalesRollupDAO.ensureTables();
             conn = DBConnection.getConnection();
-            int nextOrderId = getNextOrderId(conn);
+            conn.setAutoCommit(false);
 
             pstmt = conn.prepareStatement(sql);
             pstmt.setInt(1, nextOrderId);
@@ -223,8 +207,16 @@ public class OrderDAO {
             SqlLogger.logUpdate(sql, nextOrderId, custId, bookId, salePrice);
             int result = pstmt.executeUpdate();
             if (result > 0) {
+                SalesRollupDAO.apply(conn, List.of(nextOrderId), 1);
+                conn.commit();
+                PageCounter.invalidate("Orders");
+                TableVersions.bump("Orders");
                 return nextOrderId;
             }
+            conn.rollback();
+        } catch (SQLException e) {
+            DBConnection.rollback(conn);
+            throw e;
         } finally {
             DBConnection.close(conn, pstmt);
         }
@@ -232,8 +224,144 @@ public class OrderDAO {
         return -1;
     }
 
+    /**
+     * 일괄 주문 생성 (한 트랜잭션, JDBC batch)
+     * 존재하지 않는 도서/음수 가격 항목은 해당 줄만 실패로 표시하고 나머지를 등록
+     * INSERT 중 오류가 나면 전체를 롤백하고 등록하려던 모든 줄을 실패로 표시
+     *
+     * @param custId 주문 고객 ID
+     * @param lines 주문 항목 (bookid, saleprice 사용)
+     * @return 줄별 결과 (index, bookid, success, orderid 또는 error) - 요청 순서와 동일
+     */
+    public List<Map<String, Object>> createOrders(int custId, List<Order> lines) throws SQLException {
+        String sql = "INSERT INTO Orders (orderid, custid, bookid, saleprice, orderdate) " +
+                     "VALUES (?, ?, ?, ?, CURDATE())";
+
+        List<Map<String, Object>> results = new ArrayList<>(lines.size());
+        List<Map<String, Object>> accepted = new ArrayList<>(lines.size());
+        List<Order> acceptedLines = new ArrayList<>(lines.size());
+        Set<Integer> existingBookIds = findExistingBookIds(lines);
+
+        // 1. 줄별 검증 및 ID 발급 (발급은 대부분 메모리에서 처리됨)
+        for (int i = 0; i < lines.size(); i++) {
+            Order line = lines.get(i);
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("index", i);
+            result.put("bookid", line.getBookid());
+
+            if (!existingBookIds.contains(line.getBookid())) {
+                result.put("success", false);
+                result.put("error", "도서를 찾을 수 없습니다.");
+            } else if (line.getSaleprice() < 0) {
+                result.put("success", false);
+                result.put("error", "판매 가격은 0 이상이어야 합니다.");
+            } else {
+                result.put("success", true);
+                result.put("orderid", ID_ALLOCATOR.nextId());
+                accepted.add(result);
+                acceptedLines.add(line);
+            }
+            results.add(result);
+        }
+
+        if (accepted.isEmpty()) {
+            return results;
+        }
+
+        // 2. 한 번의 batch로 INSERT 후 커밋 (rewriteBatchedStatements로 다중 행 INSERT 한 번에 전송)
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+
+        try {
+            SalesRollupDAO.ensureTables();
+            conn = DBConnection.getConnection();
+            conn.setAutoCommit(false);
+            pstmt = conn.prepareStatement(sql);
+
+            for (int i = 0; i < accepted.size(); i++) {
+                Order line = acceptedLines.get(i);
+                pstmt.setInt(1, (Integer) accepted.get(i).get("orderid"));
+                pstmt.setInt(2, custId);
+                pstmt.setInt(3, line.getBookid());
+                pstmt.setInt(4, line.getSaleprice());
+                pstmt.addBatch();
+            }
+
+            SqlLogger.logUpdate(sql, custId, accepted.size() + " rows");
+            pstmt.executeBatch();
+
+            List<Integer> orderIds = new ArrayList<>(accepted.size());
+            for (Map<String, Object> result : accepted) {
+                orderIds.add((Integer) result.get("orderid"));
+            }
+            SalesRollupDAO.apply(conn, orderIds, 1);
+            conn.commit();
+            PageCounter.invalidate("Orders");
+            TableVersions.bump("Orders");
+        } catch (BatchUpdateException e) {
+            // 데이터 오류 (고객 없음 등): 전체 롤백 후 줄별 실패로 보고
+            DBConnection.rollback(conn);
+            for (Map<String, Object> result : accepted) {
+                result.remove("orderid");
+                result.put("success", false);
+                result.put("error", "일괄 주문이 취소되었습니다: " + e.getMessage());
+            }
+        } catch (SQLException e) {
+            DBConnection.rollback(conn);
+            throw e;
+        } finally {
+            DBConnection.close(conn, pstmt);
+        }
+
+        return results;
+    }
+
+    /**
+     * 주문 항목의 도서 ID 중 실제로 존재하는 ID 조회 (한 번의 IN 쿼리)
+     */
+    private Set<Integer> findExistingBookIds(List<Order> lines) throws SQLException {
+        Set<Integer> bookIds = new HashSet<>();
+        for (Order line : lines) {
+            bookIds.add(line.getBookid());
+        }
+
+        Set<Integer> existing = new HashSet<>();
+        if (bookIds.isEmpty()) {
+            return existing;
+        }
+
+        String sql = "SELECT bookid FROM Book WHERE bookid IN (" +
+                     String.join(", ", Collections.nCopies(bookIds.size(), "?")) + ")";
+
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+
+        try {
+            conn = DBConnection.getConnection();
+            pstmt = conn.prepareStatement(sql);
+
+            int index = 1;
+            for (Integer bookId : bookIds) {
+                pstmt.setInt(index++, bookId);
+            }
+
+            SqlLogger.logQuery(sql, bookIds.toArray());
+            rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                existing.add(rs.getInt("bookid"));
+            }
+        } finally {
+            DBConnection.close(conn, pstmt, rs);
+        }
+
+        return existing;
+    }
+
     /**
      * 주문 금액 수정
+     * 판매 집계는 이전 금액을 빼고 새 금액을 더하는 방식으로 같은 트랜잭션에서 반영
      */
     public boolean updateOrderPrice(int orderId, int custId, int salePrice) throws SQLException {
         String sql = "UPDATE Orders SET saleprice = ? WHERE orderid = ? AND custid = ?";
@@ -242,14 +370,32 @@ public class OrderDAO {
         PreparedStatement pstmt = null;
 
         try {
+            SalesRollupDAO.ensureTables();
             conn = DBConnection.getConnection();
+            conn.setAutoCommit(false);
+
+            if (!lockOrder(conn, orderId, custId)) {
+                conn.rollback();
+                return false;
+            }
+            SalesRollupDAO.apply(conn, List.of(orderId), -1);
+
             pstmt = conn.prepareStatement(sql);
             pstmt.setInt(1, salePrice);
             pstmt.setInt(2, orderId);
             pstmt.setInt(3, custId);
             SqlLogger.logUpdate(sql, salePrice, orderId, custId);
             int result = pstmt.executeUpdate();
+
+            SalesRollupDAO.apply(conn, List.of(orderId), 1);
+            conn.commit();
+            if (result > 0) {
+                TableVersions.bump("Orders");
+            }
             return result > 0;
+        } catch (SQLException e) {
+            DBConnection.rollback(conn);
+            throw e;
         } finally {
             DBConnection.close(conn, pstmt);
         }
@@ -257,6 +403,7 @@ public class OrderDAO {
 
     /**
      * 주문 취소 (DELETE)
+     * 판매 집계는 주문 행을 지우기 전에 같은 트랜잭션에서 차감
      */
     public boolean deleteOrder(int orderId, int custId) throws SQLException {
         String sql = "DELETE FROM Orders WHERE orderid = ? AND custid = ?";
@@ -265,18 +412,53 @@ public class OrderDAO {
         PreparedStatement pstmt = null;
 
         try {
+            SalesRollupDAO.ensureTables();
             conn = DBConnection.getConnection();
+            conn.setAutoCommit(false);
+
+            if (!lockOrder(conn, orderId, custId)) {
+                conn.rollback();
+                return false;
+            }
+            SalesRollupDAO.apply(conn, List.of(orderId), -1);
+
             pstmt = conn.prepareStatement(sql);
             pstmt.setInt(1, orderId);
             pstmt.setInt(2, custId);
             SqlLogger.logUpdate(sql, orderId, custId);
             int result = pstmt.executeUpdate();
+
+            conn.commit();
+            if (result > 0) {
+                PageCounter.invalidate("Orders");
+                TableVersions.bump("Orders");
+            }
             return result > 0;
+        } catch (SQLException e) {
+            DBConnection.rollback(conn);
+            throw e;
         } finally {
             DBConnection.close(conn, pstmt);
         }
     }
 
+    /**
+     * 수정/취소할 주문 행 잠금 (해당 고객의 주문이 아니면 false)
+     * 집계 반영과 주문 변경 사이에 다른 트랜잭션이 같은 주문을 바꾸지 못하도록 함
+     */
+    private boolean lockOrder(Connection conn, int orderId, int custId) throws SQLException {
+        String sql = "SELECT orderid FROM Orders WHERE orderid = ? AND custid = ? FOR UPDATE";
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, orderId);
+            pstmt.setInt(2, custId);
+            SqlLogger.logQuery(sql, orderId, custId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
     /**
      * 고객별 주문 통계
      */
@@ -315,19 +497,23 @@ public class OrderDAO {
      */
     public Map<String, Object> getOverallStats() throws SQLException {
         Map<String, Object> stats = new HashMap<>();
+        // 주문 수/매출은 일별 집계(SalesDailyBook)에서 합산
+        SalesRollupDAO.ensureTables();
+        String rollup = SalesRollupDAO.source(SalesRollupDAO.BOOK_TABLE, "d");
         String sql = "SELECT " +
                      "(SELECT COUNT(*) FROM Book) as totalBooks, " +
                      "(SELECT COUNT(*) FROM Customer) as totalCustomers, " +
-                     "(SELECT COUNT(*) FROM Orders) as totalOrders, " +
-                     "(SELECT IFNULL(SUM(saleprice), 0) FROM Orders) as totalRevenue, " +
-                     "(SELECT IFNULL(AVG(saleprice), 0) FROM Orders) as avgSalePrice";
+                     "s.totalOrders, s.totalRevenue, " +
+                     "IFNULL(s.totalRevenue / NULLIF(s.totalOrders, 0), 0) as avgSalePrice " +
+                     "FROM (SELECT IFNULL(SUM(order_count), 0) as totalOrders, " +
+                     "IFNULL(SUM(revenue), 0) as totalRevenue FROM " + rollup + ") s";
 
         Connection conn = null;
         PreparedStatement pstmt = null;
         ResultSet rs = null;
 
         try {
-            conn = DBConnection.getConnection();
+            conn = DBConnection.getReadConnection();
             pstmt = conn.prepareStatement(sql);
             SqlLogger.logQuery(sql);
             rs = pstmt.executeQuery();
@@ -347,23 +533,24 @@ public class OrderDAO {
     }
 
     /**
-     * 베스트셀러 조회 (GROUP BY)
+     * 베스트셀러 조회 (일별 도서 집계 기준)
      */
     public List<Map<String, Object>> getBestsellers(int limit) throws SQLException {
         List<Map<String, Object>> bestsellers = new ArrayList<>();
-        String sql = "SELECT b.bookname, b.publisher, COUNT(*) as salesCount " +
-                     "FROM Orders o " +
-                     "JOIN Book b ON o.bookid = b.bookid " +
-                     "GROUP BY b.bookid, b.bookname, b.publisher " +
-                     "ORDER BY salesCount DESC " +
-                     "LIMIT ?";
+        SalesRollupDAO.ensureTables();
+        String rollup = SalesRollupDAO.source(SalesRollupDAO.BOOK_TABLE, "d");
+        String sql = "SELECT b.bookname, b.publisher, s.salesCount " +
+                     "FROM (SELECT bookid, SUM(order_count) as salesCount FROM " + rollup + " " +
+                     "GROUP BY bookid HAVING salesCount > 0 ORDER BY salesCount DESC LIMIT ?) s " +
+                     "JOIN Book b ON s.bookid = b.bookid " +
+                     "ORDER BY s.salesCount DESC";
 
         Connection conn = null;
         PreparedStatement pstmt = null;
         ResultSet rs = null;
 
         try {
-            conn = DBConnection.getConnection();
+            conn = DBConnection.getReadConnection();
             pstmt = conn.prepareStatement(sql);
             pstmt.setInt(1, limit);
             SqlLogger.logQuery(sql, limit);
@@ -388,20 +575,21 @@ public class OrderDAO {
      */
     public List<Map<String, Object>> getWeeklyBestsellers(int limit) throws SQLException {
         List<Map<String, Object>> bestsellers = new ArrayList<>();
-        String sql = "SELECT b.bookname, b.publisher, COUNT(*) as salesCount " +
-                     "FROM Orders o " +
-                     "JOIN Book b ON o.bookid = b.bookid " +
-                     "WHERE o.orderdate >= DATE_SUB(CURDATE(), INTERVAL 7 DAY) " +
-                     "GROUP BY b.bookid, b.bookname, b.publisher " +
-                     "ORDER BY salesCount DESC " +
-                     "LIMIT ?";
+        SalesRollupDAO.ensureTables();
+        String rollup = SalesRollupDAO.source(SalesRollupDAO.BOOK_TABLE, "d");
+        String sql = "SELECT b.bookname, b.publisher, s.salesCount " +
+                     "FROM (SELECT bookid, SUM(order_count) as salesCount FROM " + rollup + " " +
+                     "WHERE sale_date >= DATE_SUB(CURDATE(), INTERVAL 7 DAY) " +
+                     "GROUP BY bookid HAVING salesCount > 0 ORDER BY salesCount DESC LIMIT ?) s " +
+                     "JOIN Book b ON s.bookid = b.bookid " +
+                     "ORDER BY s.salesCount DESC";
 
         Connection conn = null;
         PreparedStatement pstmt = null;
         ResultSet rs = null;
 
         try {
-            conn = DBConnection.getConnection();
+            conn = DBConnection.getReadConnection();
             pstmt = conn.prepareStatement(sql);
             pstmt.setInt(1, limit);
             SqlLogger.logQuery(sql, limit);
@@ -438,7 +626,7 @@ public class OrderDAO {
         ResultSet rs = null;
 
         try {
-            conn = DBConnection.getConnection();
+            conn = DBConnection.getReadConnection();
             pstmt = conn.prepareStatement(sql);
             pstmt.setInt(1, limit);
             SqlLogger.logQuery(sql, limit);
@@ -464,13 +652,15 @@ public class OrderDAO {
      */
     public List<Map<String, Object>> getStatsByCustomer(String sortBy, String direction) throws SQLException {
         List<Map<String, Object>> stats = new ArrayList<>();
+        SalesRollupDAO.ensureTables();
+        String rollup = SalesRollupDAO.source(SalesRollupDAO.CUSTOMER_TABLE, "d");
         String sql = "SELECT c.name, " +
-                     "COUNT(o.orderid) as orderCount, " +
-                     "IFNULL(SUM(o.saleprice), 0) as totalAmount, " +
-                     "IFNULL(AVG(o.saleprice), 0) as avgAmount " +
+                     "IFNULL(s.orderCount, 0) as orderCount, " +
+                     "IFNULL(s.totalAmount, 0) as totalAmount, " +
+                     "IFNULL(s.totalAmount / NULLIF(s.orderCount, 0), 0) as avgAmount " +
                      "FROM Customer c " +
-                     "LEFT JOIN Orders o ON c.custid = o.custid " +
-                     "GROUP BY c.custid, c.name " +
+                     "LEFT JOIN (SELECT custid, SUM(order_count) as orderCount, SUM(revenue) as totalAmount " +
+                     "FROM " + rollup + " GROUP BY custid) s ON c.custid = s.custid " +
                      "ORDER BY " + resolveCustomerStatsSort(sortBy) + " " + resolveDirection(direction);
 
         Connection conn = null;
@@ -478,7 +668,7 @@ public class OrderDAO {
         ResultSet rs = null;
 
         try {
-            conn = DBConnection.getConnection();
+            conn = DBConnection.getReadConnection();
             pstmt = conn.prepareStatement(sql);
             SqlLogger.logQuery(sql);
             rs = pstmt.executeQuery();
@@ -503,13 +693,14 @@ public class OrderDAO {
      */
     public List<Map<String, Object>> getStatsByPublisher(String sortBy, String direction) throws SQLException {
         List<Map<String, Object>> stats = new ArrayList<>();
-        String sql = "SELECT b.publisher, " +
-                     "COUNT(DISTINCT b.bookid) as bookCount, " +
-                     "COUNT(o.orderid) as salesCount, " +
-                     "IFNULL(SUM(o.saleprice), 0) as totalRevenue " +
-                     "FROM Book b " +
-                     "LEFT JOIN Orders o ON b.bookid = o.bookid " +
-                     "GROUP BY b.publisher " +
+        SalesRollupDAO.ensureTables();
+        String rollup = SalesRollupDAO.source(SalesRollupDAO.PUBLISHER_TABLE, "d");
+        String sql = "SELECT p.publisher, p.bookCount, " +
+                     "IFNULL(s.salesCount, 0) as salesCount, " +
+                     "IFNULL(s.totalRevenue, 0) as totalRevenue " +
+                     "FROM (SELECT publisher, COUNT(*) as bookCount FROM Book GROUP BY publisher) p " +
+                     "LEFT JOIN (SELECT publisher, SUM(order_count) as salesCount, SUM(revenue) as totalRevenue " +
+                     "FROM " + rollup + " GROUP BY publisher) s ON p.publisher = s.publisher " +
                      "ORDER BY " + resolvePublisherStatsSort(sortBy) + " " + resolveDirection(direction);
 
         Connection conn = null;
@@ -517,7 +708,7 @@ public class OrderDAO {
         ResultSet rs = null;
 
         try {
-            conn = DBConnection.getConnection();
+            conn = DBConnection.getReadConnection();
             pstmt = conn.prepareStatement(sql);
             SqlLogger.logQuery(sql);
             rs = pstmt.executeQuery();
@@ -542,32 +733,20 @@ public class OrderDAO {
      */
     public List<Map<String, Object>> getStatsByBook(String sortBy, String direction) throws SQLException {
         List<Map<String, Object>> stats = new ArrayList<>();
-        String sql = "SELECT b.bookname, b.publisher, b.price, " +
-                     "COUNT(o.orderid) as salesCount, " +
-                     "IFNULL(AVG(o.saleprice), 0) as avgSalePrice " +
-                     "FROM Book b " +
-                     "LEFT JOIN Orders o ON b.bookid = o.bookid " +
-                     "GROUP BY b.bookid, b.bookname, b.publisher, b.price " +
-                     "ORDER BY " + resolveBookStatsSort(sortBy) + " " + resolveDirection(direction);
+        String sql = buildStatsByBookQuery(sortBy, direction);
 
         Connection conn = null;
         PreparedStatement pstmt = null;
         ResultSet rs = null;
 
         try {
-            conn = DBConnection.getConnection();
+            conn = DBConnection.getReadConnection();
             pstmt = conn.prepareStatement(sql);
             SqlLogger.logQuery(sql);
             rs = pstmt.executeQuery();
 
             while (rs.next()) {
-                Map<String, Object> stat = new HashMap<>();
-                stat.put("bookname", rs.getString("bookname"));
-                stat.put("publisher", rs.getString("publisher"));
-                stat.put("price", rs.getInt("price"));
-                stat.put("salesCount", rs.getInt("salesCount"));
-                stat.put("avgSalePrice", rs.getDouble("avgSalePrice"));
-                stats.add(stat);
+                stats.add(mapBookStat(rs));
             }
         } finally {
             DBConnection.close(conn, pstmt, rs);
@@ -576,6 +755,58 @@ public class OrderDAO {
         return stats;
     }
 
+    /**
+     * 도서별 판매 현황 스트리밍 조회
+     * 도서 수만큼 행이 나오므로 List로 모으지 않고 한 행씩 handler로 전달
+     */
+    public void streamStatsByBook(String sortBy, String direction, RowHandler<Map<String, Object>> handler)
+            throws SQLException, IOException {
+        String sql = buildStatsByBookQuery(sortBy, direction);
+
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+
+        try {
+            conn = DBConnection.getReadConnection();
+            pstmt = DBConnection.prepareStreaming(conn, sql);
+            SqlLogger.logQuery(sql);
+            rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                handler.handle(mapBookStat(rs));
+            }
+        } catch (IOException e) {
+            // 클라이언트 전송 실패: 남은 행을 읽지 않도록 쿼리 취소
+            DBConnection.cancel(pstmt);
+            throw e;
+        } finally {
+            DBConnection.close(conn, pstmt, rs);
+        }
+    }
+
+    private String buildStatsByBookQuery(String sortBy, String direction) {
+        SalesRollupDAO.ensureTables();
+        String rollup = SalesRollupDAO.source(SalesRollupDAO.BOOK_TABLE, "d");
+        return "SELECT b.bookname, b.publisher, b.price, " +
+               "IFNULL(s.salesCount, 0) as salesCount, " +
+               "IFNULL(s.revenue / NULLIF(s.salesCount, 0), 0) as avgSalePrice " +
+               "FROM Book b " +
+               "LEFT JOIN (SELECT bookid, SUM(order_count) as salesCount, SUM(revenue) as revenue " +
+               "FROM " + rollup + " GROUP BY bookid) s ON b.bookid = s.bookid " +
+               "ORDER BY " + resolveBookStatsSort(sortBy) + " " + resolveDirection(direction);
+    }
+
+    private Map<String, Object> mapBookStat(ResultSet rs) throws SQLException {
+        Map<String, Object> stat = new HashMap<>();
+        stat.put("bookname", rs.getString("bookname"));
+        stat.put("publisher", rs.getString("publisher"));
+        stat.put("price", rs.getInt("price"));
+        stat.put("salesCount", rs.getInt("salesCount"));
+        stat.put("avgSalePrice", rs.getDouble("avgSalePrice"));
+        return stat;
+    }
+
     private String resolveOrderSortColumn(String sortBy) {
         if (sortBy == null) return DEFAULT_ORDER_SORT;
         return switch (sortBy.toLowerCase()) {
@@ -588,6 +819,24 @@ public class OrderDAO {
         };
     }
 
+    private Keyset.ColumnType resolveOrderSortType(String sortColumn) {
+        return switch (sortColumn) {
+            case "o.orderid", "o.saleprice" -> Keyset.ColumnType.INT;
+            case "o.orderdate" -> Keyset.ColumnType.DATE;
+            default -> Keyset.ColumnType.STRING;
+        };
+    }
+
+    private Object orderSortValueOf(Order order, String sortColumn) {
+        return switch (sortColumn) {
+            case "o.orderid" -> order.getOrderid();
+            case "o.saleprice" -> order.getSaleprice();
+            case "b.bookname" -> order.getBookname();
+            case "b.publisher" -> order.getPublisher();
+            default -> order.getOrderdate();
+        };
+    }
+
     private String resolveRecentSortColumn(String sortBy) {
         if (sortBy == null) return "o.orderdate";
         return switch (sortBy.toLowerCase()) {
@@ -613,7 +862,7 @@ public class OrderDAO {
     private String resolvePublisherStatsSort(String sortBy) {
         if (sortBy == null) return DEFAULT_PUBLISHER_STATS_SORT;
         return switch (sortBy.toLowerCase()) {
-            case "publisher" -> "b.publisher";
+            case "publisher" -> "p.publisher";
             case "bookcount" -> "bookCount";
             case "salescount" -> "salesCount";
             case "totalrevenue" -> "totalRevenue";
@@ -660,7 +909,7 @@ public class OrderDAO {
         ResultSet rs = null;
 
         try {
-            conn = DBConnection.getConnection();
+            conn = DBConnection.getReadConnection();
             pstmt = conn.prepareStatement(sql);
             pstmt.setInt(1, months);
 
@@ -689,6 +938,8 @@ public class OrderDAO {
     public List<Map<String, Object>> getCustomerSegments() throws SQLException {
         List<Map<String, Object>> segments = new ArrayList<>();
 
+        SalesRollupDAO.ensureTables();
+        String monthly = SalesRollupDAO.source(SalesRollupDAO.MONTHLY_CUSTOMER_TABLE, "m");
         String sql = "SELECT " +
                      "CASE " +
                      "    WHEN totalAmount >= 100000 THEN 'VIP' " +
@@ -699,9 +950,9 @@ public class OrderDAO {
                      "COUNT(*) AS customerCount, " +
                      "SUM(totalAmount) AS totalRevenue " +
                      "FROM ( " +
-                     "    SELECT c.custid, c.name, SUM(o.saleprice) AS totalAmount " +
+                     "    SELECT c.custid, c.name, SUM(m.revenue) AS totalAmount " +
                      "    FROM Customer c " +
-                     "    LEFT JOIN Orders o ON c.custid = o.custid " +
+                     "    LEFT JOIN " + monthly + " ON c.custid = m.custid " +
                      "    GROUP BY c.custid, c.name " +
                      ") AS customer_totals " +
                      "GROUP BY segment " +
@@ -712,7 +963,7 @@ public class OrderDAO {
         ResultSet rs = null;
 
         try {
-            conn = DBConnection.getConnection();
+            conn = DBConnection.getReadConnection();
             pstmt = conn.prepareStatement(sql);
 
             SqlLogger.logQuery(sql);
@@ -735,11 +986,14 @@ public class OrderDAO {
     /**
      * 특정 월의 고객 세그먼트 분석 (해당 월까지 누적 구매 금액 기준)
      * 대시보드 차트용
+     * 월별 고객 스냅샷(SalesMonthlyCustomer)에서 다음 달 1일 이전 행만 합산 (고객 수 x 개월 수만큼만 읽음)
      */
     public List<Map<String, Object>> getCustomerSegmentsByMonth(String month) throws SQLException {
         List<Map<String, Object>> segments = new ArrayList<>();
+        Date[] range = monthRange(month);
 
-        // month 형식: YYYY-MM
+        SalesRollupDAO.ensureTables();
+        String monthly = SalesRollupDAO.source(SalesRollupDAO.MONTHLY_CUSTOMER_TABLE, "m");
         String sql = "SELECT " +
                      "CASE " +
                      "    WHEN totalAmount >= 100000 THEN 'VIP' " +
@@ -750,10 +1004,10 @@ public class OrderDAO {
                      "COUNT(*) AS customerCount, " +
                      "SUM(totalAmount) AS totalRevenue " +
                      "FROM ( " +
-                     "    SELECT c.custid, c.name, IFNULL(SUM(o.saleprice), 0) AS totalAmount " +
+                     "    SELECT c.custid, c.name, IFNULL(SUM(m.revenue), 0) AS totalAmount " +
                      "    FROM Customer c " +
-                     "    LEFT JOIN Orders o ON c.custid = o.custid " +
-                     "        AND DATE_FORMAT(o.orderdate, '%Y-%m') <= ? " +
+                     "    LEFT JOIN " + monthly + " ON c.custid = m.custid " +
+                     "        AND m.month_start < ? " +
                      "    GROUP BY c.custid, c.name " +
                      ") AS customer_totals " +
                      "GROUP BY segment " +
@@ -764,11 +1018,11 @@ public class OrderDAO {
         ResultSet rs = null;
 
         try {
-            conn = DBConnection.getConnection();
+            conn = DBConnection.getReadConnection();
             pstmt = conn.prepareStatement(sql);
-            pstmt.setString(1, month);
+            pstmt.setDate(1, range[1]);
 
-            SqlLogger.logQuery(sql, month);
+            SqlLogger.logQuery(sql, range[1]);
             rs = pstmt.executeQuery();
 
             while (rs.next()) {
@@ -791,16 +1045,19 @@ public class OrderDAO {
      */
     public List<Map<String, Object>> getTopCustomersByMonth(String month, int limit) throws SQLException {
         List<Map<String, Object>> customers = new ArrayList<>();
-
-        // month 형식: YYYY-MM
-        String sql = "SELECT c.name, COUNT(o.orderid) AS orderCount, " +
-                     "IFNULL(SUM(o.saleprice), 0) AS totalAmount, " +
-                     "IFNULL(AVG(o.saleprice), 0) AS avgAmount " +
-                     "FROM Customer c " +
-                     "INNER JOIN Orders o ON c.custid = o.custid " +
-                     "WHERE DATE_FORMAT(o.orderdate, '%Y-%m') = ? " +
-                     "GROUP BY c.custid, c.name " +
-                     "ORDER BY totalAmount DESC " +
+        Date[] range = monthRange(month);
+
+        // 일별 고객 집계의 (sale_date, custid) 기본 키 범위 탐색
+        SalesRollupDAO.ensureTables();
+        String rollup = SalesRollupDAO.source(SalesRollupDAO.CUSTOMER_TABLE, "d");
+        String sql = "SELECT c.name, s.orderCount, s.totalAmount, " +
+                     "s.totalAmount / s.orderCount AS avgAmount " +
+                     "FROM (SELECT custid, SUM(order_count) AS orderCount, SUM(revenue) AS totalAmount " +
+                     "      FROM " + rollup + " " +
+                     "      WHERE sale_date >= ? AND sale_date < ? " +
+                     "      GROUP BY custid HAVING orderCount > 0) s " +
+                     "INNER JOIN Customer c ON c.custid = s.custid " +
+                     "ORDER BY s.totalAmount DESC " +
                      "LIMIT ?";
 
         Connection conn = null;
@@ -808,12 +1065,13 @@ public class OrderDAO {
         ResultSet rs = null;
 
         try {
-            conn = DBConnection.getConnection();
+            conn = DBConnection.getReadConnection();
             pstmt = conn.prepareStatement(sql);
-            pstmt.setString(1, month);
-            pstmt.setInt(2, limit);
+            pstmt.setDate(1, range[0]);
+            pstmt.setDate(2, range[1]);
+            pstmt.setInt(3, limit);
 
-            SqlLogger.logQuery(sql, month, limit);
+            SqlLogger.logQuery(sql, range[0], range[1], limit);
             rs = pstmt.executeQuery();
 
             while (rs.next()) {
@@ -837,16 +1095,18 @@ public class OrderDAO {
      */
     public List<Map<String, Object>> getPublisherStatsByMonth(String month) throws SQLException {
         List<Map<String, Object>> stats = new ArrayList<>();
-
-        // month 형식: YYYY-MM
-        String sql = "SELECT b.publisher, " +
-                     "COUNT(DISTINCT b.bookid) AS bookCount, " +
-                     "COUNT(o.orderid) AS salesCount, " +
-                     "IFNULL(SUM(o.saleprice), 0) AS totalRevenue " +
-                     "FROM Book b " +
-                     "LEFT JOIN Orders o ON b.bookid = o.bookid " +
-                     "    AND DATE_FORMAT(o.orderdate, '%Y-%m') = ? " +
-                     "GROUP BY b.publisher " +
+        Date[] range = monthRange(month);
+
+        SalesRollupDAO.ensureTables();
+        String rollup = SalesRollupDAO.source(SalesRollupDAO.PUBLISHER_TABLE, "d");
+        String sql = "SELECT p.publisher, p.bookCount, " +
+                     "IFNULL(s.salesCount, 0) AS salesCount, " +
+                     "IFNULL(s.totalRevenue, 0) AS totalRevenue " +
+                     "FROM (SELECT publisher, COUNT(*) AS bookCount FROM Book GROUP BY publisher) p " +
+                     "LEFT JOIN (SELECT publisher, SUM(order_count) AS salesCount, SUM(revenue) AS totalRevenue " +
+                     "           FROM " + rollup + " " +
+                     "           WHERE sale_date >= ? AND sale_date < ? " +
+                     "           GROUP BY publisher) s ON p.publisher = s.publisher " +
                      "ORDER BY totalRevenue DESC";
 
         Connection conn = null;
@@ -854,11 +1114,12 @@ public class OrderDAO {
         ResultSet rs = null;
 
         try {
-            conn = DBConnection.getConnection();
+            conn = DBConnection.getReadConnection();
             pstmt = conn.prepareStatement(sql);
-            pstmt.setString(1, month);
+            pstmt.setDate(1, range[0]);
+            pstmt.setDate(2, range[1]);
 
-            SqlLogger.logQuery(sql, month);
+            SqlLogger.logQuery(sql, range[0], range[1]);
             rs = pstmt.executeQuery();
 
             while (rs.next()) {
@@ -881,14 +1142,18 @@ public class OrderDAO {
      */
     public List<Map<String, Object>> getBookStatsByMonth(String month) throws SQLException {
         List<Map<String, Object>> stats = new ArrayList<>();
+        Date[] range = monthRange(month);
 
+        SalesRollupDAO.ensureTables();
+        String rollup = SalesRollupDAO.source(SalesRollupDAO.BOOK_TABLE, "d");
         String sql = "SELECT b.bookname, b.publisher, b.price, " +
-                     "COUNT(o.orderid) as salesCount, " +
-                     "IFNULL(AVG(o.saleprice), 0) as avgSalePrice " +
+                     "IFNULL(s.salesCount, 0) as salesCount, " +
+                     "IFNULL(s.revenue / NULLIF(s.salesCount, 0), 0) as avgSalePrice " +
                      "FROM Book b " +
-                     "LEFT JOIN Orders o ON b.bookid = o.bookid " +
-                     "    AND DATE_FORMAT(o.orderdate, '%Y-%m') = ? " +
-                     "GROUP BY b.bookid, b.bookname, b.publisher, b.price " +
+                     "LEFT JOIN (SELECT bookid, SUM(order_count) as salesCount, SUM(revenue) as revenue " +
+                     "           FROM " + rollup + " " +
+                     "           WHERE sale_date >= ? AND sale_date < ? " +
+                     "           GROUP BY bookid) s ON b.bookid = s.bookid " +
                      "ORDER BY salesCount DESC";
 
         Connection conn = null;
@@ -896,11 +1161,12 @@ public class OrderDAO {
         ResultSet rs = null;
 
         try {
-            conn = DBConnection.getConnection();
+            conn = DBConnection.getReadConnection();
             pstmt = conn.prepareStatement(sql);
-            pstmt.setString(1, month);
+            pstmt.setDate(1, range[0]);
+            pstmt.setDate(2, range[1]);
 
-            SqlLogger.logQuery(sql, month);
+            SqlLogger.logQuery(sql, range[0], range[1]);
             rs = pstmt.executeQuery();
 
             while (rs.next()) {
@@ -918,4 +1184,24 @@ public class OrderDAO {
 
         return stats;
     }
+
+    /**
+     * "YYYY-MM"을 [해당 월 1일, 다음 달 1일) 범위로 변환
+     * DATE_FORMAT(날짜, '%Y-%m') = ? 조건은 컬럼을 가공하므로 인덱스를 쓰지 못함
+     * 대신 날짜 컬럼을 그대로 두고 반열린 범위로 비교해 인덱스 범위 탐색이 되도록 함
+     *
+     * @return [0] 시작일 (포함), [1] 다음 달 시작일 (미포함)
+     */
+    private static Date[] monthRange(String month) {
+        YearMonth yearMonth;
+        try {
+            yearMonth = YearMonth.parse(month == null ? "" : month.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("month는 YYYY-MM 형식이어야 합니다.");
+        }
+        return new Date[] {
+            Date.valueOf(yearMonth.atDay(1)),
+            Date.valueOf(yearMonth.plusMonths(1).atDay(1))
+        };
+    }
 }
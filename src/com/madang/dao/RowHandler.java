@@ -0,0 +1,15 @@
+package com.madang.dao;
+
+import java.io.IOException;
+
+/**
+ * 스트리밍 조회 시 행 단위로 호출되는 콜백
+ * ResultSet에서 읽은 행을 목록에 모으지 않고 바로 응답으로 흘려보낼 때 사용
+ *
+ * @param <T> 행 타입 (Book, Customer, Map 등)
+ */
+@FunctionalInterface
+public interface RowHandler<T> {
+
+    void handle(T row) throws IOException;
+}
@@ -0,0 +1,289 @@
+package com.madang.dao;
+
+import com.madang.util.DBConnection;
+import com.madang.util.SqlLogger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 일별 판매 집계(rollup) 테이블 관리
+ *
+ * 대시보드 통계가 매번 Orders 전체를 GROUP BY 하지 않도록
+ * 일별 도서/출판사/고객 단위로 주문 수와 매출을 미리 합산해 둡니다.
+ * - SalesDailyBook        (sale_date, bookid)
+ * - SalesDailyPublisher   (sale_date, publisher)
+ * - SalesDailyCustomer    (sale_date, custid)
+ * - SalesMonthlyCustomer  (month_start, custid) - 월별 고객 스냅샷 (특정 월까지 누적 금액 계산용)
+ *
+ * 주문 등록/수정/취소 시 OrderDAO가 같은 트랜잭션 안에서 apply()로 증감분을 반영하고,
+ * rebuild()는 Orders 전체로부터 집계를 다시 만듭니다 (초기 적재, 불일치 복구용).
+ * 출판사 집계는 주문 시점의 출판사 기준이므로 도서의 출판사를 바꾼 후에는 rebuild()로 맞춥니다.
+ *
+ * 통계 쿼리는 source()로 집계 테이블을 참조합니다. 테이블 생성이나 첫 적재가 끝나지 않았으면(실패 포함)
+ * 같은 값을 Orders에서 바로 GROUP BY 하는 서브쿼리를 돌려주고, RETRY_INTERVAL 후 다시 준비를 시도합니다.
+ */
+public class SalesRollupDAO {
+
+    static final String BOOK_TABLE = "SalesDailyBook";
+    static final String PUBLISHER_TABLE = "SalesDailyPublisher";
+    static final String CUSTOMER_TABLE = "SalesDailyCustomer";
+    static final String MONTHLY_CUSTOMER_TABLE = "SalesMonthlyCustomer";
+
+    // 주문일이 속한 달의 1일 (DATE 타입 유지)
+    private static final String MONTH_START = "(o.orderdate - INTERVAL (DAY(o.orderdate) - 1) DAY)";
+
+    private static final String[] CREATE_SQL = {
+        "CREATE TABLE IF NOT EXISTS " + BOOK_TABLE + " (" +
+        "sale_date DATE NOT NULL, bookid INT NOT NULL, " +
+        "order_count INT NOT NULL DEFAULT 0, revenue BIGINT NOT NULL DEFAULT 0, " +
+        "PRIMARY KEY (sale_date, bookid), KEY idx_sdb_bookid (bookid))",
+        "CREATE TABLE IF NOT EXISTS " + PUBLISHER_TABLE + " (" +
+        "sale_date DATE NOT NULL, publisher VARCHAR(40) NOT NULL, " +
+        "order_count INT NOT NULL DEFAULT 0, revenue BIGINT NOT NULL DEFAULT 0, " +
+        "PRIMARY KEY (sale_date, publisher), KEY idx_sdp_publisher (publisher))",
+        "CREATE TABLE IF NOT EXISTS " + CUSTOMER_TABLE + " (" +
+        "sale_date DATE NOT NULL, custid INT NOT NULL, " +
+        "order_count INT NOT NULL DEFAULT 0, revenue BIGINT NOT NULL DEFAULT 0, " +
+        "PRIMARY KEY (sale_date, custid), KEY idx_sdc_custid (custid))",
+        "CREATE TABLE IF NOT EXISTS " + MONTHLY_CUSTOMER_TABLE + " (" +
+        "month_start DATE NOT NULL, custid INT NOT NULL, " +
+        "order_count INT NOT NULL DEFAULT 0, revenue BIGINT NOT NULL DEFAULT 0, " +
+        "PRIMARY KEY (month_start, custid), KEY idx_smc_custid (custid))"
+    };
+
+    // 집계 테이블별 Orders 기준 계산식 (rebuild 적재와 준비 전 통계 조회에 함께 사용)
+    private static final Map<String, String> ROLLUP_SELECT = Map.of(
+        BOOK_TABLE,
+        "SELECT orderdate AS sale_date, bookid, COUNT(*) AS order_count, SUM(saleprice) AS revenue " +
+        "FROM Orders GROUP BY orderdate, bookid",
+        PUBLISHER_TABLE,
+        "SELECT o.orderdate AS sale_date, b.publisher, COUNT(*) AS order_count, SUM(o.saleprice) AS revenue " +
+        "FROM Orders o JOIN Book b ON o.bookid = b.bookid GROUP BY o.orderdate, b.publisher",
+        CUSTOMER_TABLE,
+        "SELECT orderdate AS sale_date, custid, COUNT(*) AS order_count, SUM(saleprice) AS revenue " +
+        "FROM Orders GROUP BY orderdate, custid",
+        MONTHLY_CUSTOMER_TABLE,
+        "SELECT " + MONTH_START + " AS month_start, o.custid, COUNT(*) AS order_count, SUM(o.saleprice) AS revenue " +
+        "FROM Orders o GROUP BY " + MONTH_START + ", o.custid");
+
+    private static final String[][] COLUMNS = {
+        {BOOK_TABLE, "sale_date, bookid, order_count, revenue"},
+        {PUBLISHER_TABLE, "sale_date, publisher, order_count, revenue"},
+        {CUSTOMER_TABLE, "sale_date, custid, order_count, revenue"},
+        {MONTHLY_CUSTOMER_TABLE, "month_start, custid, order_count, revenue"}
+    };
+
+    // 준비에 실패하면 이 시간(ms)이 지난 후 다시 시도 (그동안 통계는 Orders에서 집계)
+    private static final long RETRY_INTERVAL = 60_000L;
+
+    private static volatile boolean created = false;  // 테이블 있음: 주문 변경 시 증감분 반영
+    private static volatile boolean ready = false;    // 전체 적재 완료: 통계 조회에 사용
+    private static volatile long retryAt = 0;
+    private static boolean needsLoad = false;          // 새로 만들었거나 비어 있어 전체 적재가 필요 (클래스 잠금으로 보호)
+
+    /**
+     * 주문 증감분을 집계 테이블에 반영 (호출한 쪽 트랜잭션 안에서 실행)
+     * 주문 행이 Orders에 있는 동안 호출해야 함 (등록 후 +1, 취소 전 -1)
+     * 트랜잭션을 시작하기 전에 ensureTables()를 먼저 호출해야 함 (테이블이 없으면 반영하지 않음, 나중에 rebuild로 적재)
+     *
+     * @param conn 주문 변경과 같은 트랜잭션의 연결
+     * @param orderIds 반영할 주문 ID 목록
+     * @param sign +1 (등록) 또는 -1 (취소)
+     */
+    static void apply(Connection conn, List<Integer> orderIds, int sign) throws SQLException {
+        if (!created || orderIds.isEmpty()) {
+            return;
+        }
+
+        String in = String.join(", ", Collections.nCopies(orderIds.size(), "?"));
+        String upsert = " ON DUPLICATE KEY UPDATE order_count = order_count + VALUES(order_count), " +
+                        "revenue = revenue + VALUES(revenue)";
+
+        String[] sqls = {
+            "INSERT INTO " + BOOK_TABLE + " (sale_date, bookid, order_count, revenue) " +
+            "SELECT o.orderdate, o.bookid, ? * COUNT(*), ? * SUM(o.saleprice) FROM Orders o " +
+            "WHERE o.orderid IN (" + in + ") GROUP BY o.orderdate, o.bookid" + upsert,
+            "INSERT INTO " + PUBLISHER_TABLE + " (sale_date, publisher, order_count, revenue) " +
+            "SELECT o.orderdate, b.publisher, ? * COUNT(*), ? * SUM(o.saleprice) FROM Orders o " +
+            "JOIN Book b ON o.bookid = b.bookid " +
+            "WHERE o.orderid IN (" + in + ") GROUP BY o.orderdate, b.publisher" + upsert,
+            "INSERT INTO " + CUSTOMER_TABLE + " (sale_date, custid, order_count, revenue) " +
+            "SELECT o.orderdate, o.custid, ? * COUNT(*), ? * SUM(o.saleprice) FROM Orders o " +
+            "WHERE o.orderid IN (" + in + ") GROUP BY o.orderdate, o.custid" + upsert,
+            "INSERT INTO " + MONTHLY_CUSTOMER_TABLE + " (month_start, custid, order_count, revenue) " +
+            "SELECT " + MONTH_START + ", o.custid, ? * COUNT(*), ? * SUM(o.saleprice) FROM Orders o " +
+            "WHERE o.orderid IN (" + in + ") GROUP BY " + MONTH_START + ", o.custid" + upsert
+        };
+
+        for (String sql : sqls) {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, sign);
+                pstmt.setInt(2, sign);
+                for (int i = 0; i < orderIds.size(); i++) {
+                    pstmt.setInt(i + 3, orderIds.get(i));
+                }
+                SqlLogger.logUpdate(sql, sign, orderIds);
+                pstmt.executeUpdate();
+            }
+        }
+    }
+
+    /**
+     * 통계 쿼리의 FROM/JOIN 대상 (적재가 끝났으면 집계 테이블, 아니면 Orders에서 같은 값을 계산하는 서브쿼리)
+     *
+     * @param table 집계 테이블명 (BOOK_TABLE 등)
+     * @param alias 쿼리에서 쓸 별칭
+     */
+    static String source(String table, String alias) {
+        return (ready ? table : "(" + ROLLUP_SELECT.get(table) + ")") + " " + alias;
+    }
+
+    /**
+     * 집계 테이블 전체 재생성 (Orders 기준)
+     * 한 트랜잭션으로 실행되므로 실행 중에도 통계 조회는 이전 집계를 읽음
+     *
+     * @return 테이블별 생성된 행 수
+     */
+    public Map<String, Object> rebuild() throws SQLException {
+        synchronized (SalesRollupDAO.class) {
+            createTables();
+            Map<String, Object> result = load();
+            needsLoad = false;
+            ready = true;
+            return result;
+        }
+    }
+
+    private static Map<String, Object> load() throws SQLException {
+        Map<String, Object> result = new LinkedHashMap<>();
+        Connection conn = null;
+
+        try {
+            conn = DBConnection.getConnection();
+            conn.setAutoCommit(false);
+
+            for (String[] table : COLUMNS) {
+                String delete = "DELETE FROM " + table[0];
+                try (PreparedStatement pstmt = conn.prepareStatement(delete)) {
+                    SqlLogger.logUpdate(delete);
+                    pstmt.executeUpdate();
+                }
+                String insert = "INSERT INTO " + table[0] + " (" + table[1] + ") " + ROLLUP_SELECT.get(table[0]);
+                try (PreparedStatement pstmt = conn.prepareStatement(insert)) {
+                    SqlLogger.logUpdate(insert);
+                    result.put(table[0], pstmt.executeUpdate());
+                }
+            }
+
+            conn.commit();
+            TableVersions.bump("Orders");  // 통계 결과가 바뀔 수 있음
+        } catch (SQLException e) {
+            DBConnection.rollback(conn);
+            throw e;
+        } finally {
+            DBConnection.close(conn, null);
+        }
+
+        return result;
+    }
+
+    /**
+     * 집계 테이블이 없으면 생성 후 전체 적재 (성공하면 서버 시작 후 한 번만 확인)
+     * 적재가 Orders를 읽으므로 주문 트랜잭션 밖에서 호출
+     * 실패하면 경고만 남기고 RETRY_INTERVAL 동안은 다시 시도하지 않음 (통계는 Orders에서 집계)
+     */
+    static void ensureTables() {
+        if (ready || System.currentTimeMillis() < retryAt) {
+            return;
+        }
+        synchronized (SalesRollupDAO.class) {
+            if (ready || System.currentTimeMillis() < retryAt) {
+                return;
+            }
+            try {
+                if (createTables() || isEmpty()) {
+                    needsLoad = true;  // 적재에 실패하면 그동안 반영된 증감분만 남으므로 다음 시도에서도 전체 적재
+                }
+                if (needsLoad) {
+                    load();
+                    needsLoad = false;
+                }
+                ready = true;
+            } catch (SQLException e) {
+                retryAt = System.currentTimeMillis() + RETRY_INTERVAL;
+                System.err.println("⚠️  판매 집계 테이블을 준비하지 못해 통계를 Orders에서 집계합니다: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 없는 집계 테이블 생성
+     *
+     * @return 새로 만든 테이블이 있으면 true (전체 적재 필요)
+     */
+    private static boolean createTables() throws SQLException {
+        String sql = "SELECT COUNT(*) FROM information_schema.TABLES " +
+                     "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME IN (?, ?, ?, ?)";
+        int existing;
+
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+
+        try {
+            conn = DBConnection.getConnection();
+            pstmt = conn.prepareStatement(sql);
+            pstmt.setString(1, BOOK_TABLE);
+            pstmt.setString(2, PUBLISHER_TABLE);
+            pstmt.setString(3, CUSTOMER_TABLE);
+            pstmt.setString(4, MONTHLY_CUSTOMER_TABLE);
+            SqlLogger.logQuery(sql, BOOK_TABLE, PUBLISHER_TABLE, CUSTOMER_TABLE, MONTHLY_CUSTOMER_TABLE);
+            rs = pstmt.executeQuery();
+            rs.next();
+            existing = rs.getInt(1);
+
+            if (existing < CREATE_SQL.length) {
+                try (Statement stmt = conn.createStatement()) {
+                    for (String create : CREATE_SQL) {
+                        SqlLogger.logUpdate(create);
+                        stmt.executeUpdate(create);
+                    }
+                }
+            }
+        } finally {
+            DBConnection.close(conn, pstmt, rs);
+        }
+
+        created = true;
+        return existing < CREATE_SQL.length;
+    }
+
+    /**
+     * 주문은 있는데 집계가 비어 있는지 (이전 실행에서 테이블만 만들고 적재에 실패한 경우)
+     */
+    private static boolean isEmpty() throws SQLException {
+        String sql = "SELECT EXISTS (SELECT 1 FROM Orders) AND NOT EXISTS (SELECT 1 FROM " + BOOK_TABLE + ")";
+
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+
+        try {
+            conn = DBConnection.getConnection();
+            pstmt = conn.prepareStatement(sql);
+            SqlLogger.logQuery(sql);
+            rs = pstmt.executeQuery();
+            return rs.next() && rs.getBoolean(1);
+        } finally {
+            DBConnection.close(conn, pstmt, rs);
+        }
+    }
+}
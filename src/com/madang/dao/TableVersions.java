@@ -0,0 +1,42 @@
+package com.madang.dao;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 테이블별 변경 버전 (조건부 GET의 ETag 계산용)
+ *
+ * DAO가 쓰기를 커밋한 후 bump()로 버전을 올리고, 서블릿은 token()으로 DB 조회 없이 ETag를 만듭니다.
+ * - 버전은 서버 메모리에만 있으므로 토큰에 서버 시작 시각을 포함 (재시작 후 이전 ETag와 겹치지 않음)
+ * - 이 서버를 거치지 않은 변경(직접 실행한 SQL, 다른 서버 인스턴스)은 반영되지 않음
+ */
+public final class TableVersions {
+
+    private static final String EPOCH = Long.toString(System.currentTimeMillis(), 36);
+    private static final ConcurrentHashMap<String, AtomicLong> VERSIONS = new ConcurrentHashMap<>();
+
+    private TableVersions() {
+    }
+
+    /**
+     * 테이블 변경 기록 (커밋 후 호출)
+     */
+    static void bump(String table) {
+        version(table).incrementAndGet();
+    }
+
+    /**
+     * 여러 테이블의 현재 버전을 합친 토큰 (어느 하나라도 바뀌면 토큰이 바뀜)
+     */
+    public static String token(String... tables) {
+        StringBuilder token = new StringBuilder(EPOCH);
+        for (String table : tables) {
+            token.append('-').append(version(table).get());
+        }
+        return token.toString();
+    }
+
+    private static AtomicLong version(String table) {
+        return VERSIONS.computeIfAbsent(table, t -> new AtomicLong());
+    }
+}
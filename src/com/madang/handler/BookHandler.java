@@ -8,6 +8,7 @@ import com.madang.server.ApiHandler;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * /api/books 핸들러
@@ -15,6 +16,13 @@ import java.util.Map;
 public class BookHandler extends ApiHandler {
 
     private final BookDAO bookDAO = new BookDAO();
+    private static final Set<String> ACTIONS = Set.of(
+        "list", "detail", "search", "publisher", "publishers", "stats", "suggest", "create", "update", "delete");
+
+    @Override
+    protected Set<String> actions() {
+        return ACTIONS;
+    }
 
     @Override
     protected String handleGet(Map<String, String> params) throws Exception {
@@ -38,6 +46,14 @@ public class BookHandler extends ApiHandler {
                 Map<String, Object> stats = bookDAO.getBookStats(statsBookId);
                 return successResponse(mapToJson(stats));
 
+            case "suggest":
+                String prefix = params.get("q");
+                if (prefix == null || prefix.isBlank()) {
+                    return errorResponse("q 파라미터가 필요합니다");
+                }
+                int suggestLimit = Integer.parseInt(params.getOrDefault("limit", "10"));
+                return successResponse(listMapToJsonArray(bookDAO.suggest(prefix, suggestLimit)));
+
             case "search":
             case "publisher":
             case "list":
@@ -184,6 +200,16 @@ public class BookHandler extends ApiHandler {
         return sb.toString();
     }
 
+    private String listMapToJsonArray(List<Map<String, Object>> list) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < list.size(); i++) {
+            if (i > 0) sb.append(",");
+            sb.append(mapToJson(list.get(i)));
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+
     /**
      * PageResponse를 JSON 문자열로 변환
      */
@@ -9,6 +9,7 @@ import com.madang.util.SessionManager;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * /api/customers 핸들러
@@ -16,6 +17,13 @@ import java.util.Map;
 public class CustomerHandler extends ApiHandler {
 
     private final CustomerDAO customerDAO = new CustomerDAO();
+    private static final Set<String> ACTIONS = Set.of(
+        "list", "detail", "suggest", "login", "create", "update", "delete");
+
+    @Override
+    protected Set<String> actions() {
+        return ACTIONS;
+    }
 
     @Override
     protected String handleGet(Map<String, String> params) throws Exception {
@@ -30,6 +38,15 @@ public class CustomerHandler extends ApiHandler {
             return successResponse(customer.toJson());
         }
 
+        if ("suggest".equals(action)) {
+            String prefix = params.get("q");
+            if (prefix == null || prefix.isBlank()) {
+                return errorResponse("q 파라미터가 필요합니다");
+            }
+            int limit = Integer.parseInt(params.getOrDefault("limit", "10"));
+            return successResponse(toJson(customerDAO.suggest(prefix, limit)));
+        }
+
         String name = params.getOrDefault("name", params.get("keyword"));
         String phone = params.get("phone");
         String address = params.get("address");
@@ -75,7 +92,7 @@ public class CustomerHandler extends ApiHandler {
             );
 
             // 세션 ID를 응답 헤더에 추가
-            currentExchange.getResponseHeaders().set("X-Session-Id", sessionId);
+            currentExchange().getResponseHeaders().set("X-Session-Id", sessionId);
 
             // 고객 정보와 세션 ID 반환
             String response = String.format(
@@ -8,6 +8,7 @@ import com.madang.server.ApiHandler;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * /api/orders 핸들러
@@ -15,6 +16,12 @@ import java.util.Map;
 public class OrderHandler extends ApiHandler {
 
     private final OrderDAO orderDAO = new OrderDAO();
+    private static final Set<String> ACTIONS = Set.of("list", "stats", "recent", "create", "update", "delete");
+
+    @Override
+    protected Set<String> actions() {
+        return ACTIONS;
+    }
 
     @Override
     protected String handleGet(Map<String, String> params) throws Exception {
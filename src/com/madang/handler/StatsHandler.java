@@ -5,6 +5,7 @@ import com.madang.server.ApiHandler;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * /api/stats 핸들러 (대시보드용)
@@ -12,6 +13,14 @@ import java.util.Map;
 public class StatsHandler extends ApiHandler {
 
     private final OrderDAO orderDAO = new OrderDAO();
+    private static final Set<String> ACTIONS = Set.of(
+        "overview", "bestsellers", "weekly-bestsellers", "recent", "customers", "publishers", "books", "monthly",
+        "customer-segments", "top-customers", "publishers-by-month", "books-by-month");
+
+    @Override
+    protected Set<String> actions() {
+        return ACTIONS;
+    }
 
     @Override
     protected String handleGet(Map<String, String> params) throws Exception {
@@ -1,5 +1,10 @@
 package com.madang.model;
 
+import com.madang.util.JsonWriter;
+
+import java.io.IOException;
+import java.util.Objects;
+
 /**
  * Book 테이블 모델
  */
@@ -54,18 +59,19 @@ public class Book {
      * JSON 형식으로 변환
      */
     public String toJson() {
-        return String.format(
-            "{\"bookid\":%d,\"bookname\":\"%s\",\"publisher\":\"%s\",\"price\":%d}",
-            bookid, escapeJson(bookname), escapeJson(publisher), price
-        );
+        return JsonWriter.toJson(this::writeJson);
     }
 
-    private String escapeJson(String str) {
-        if (str == null) return "";
-        return str.replace("\\", "\\\\")
-                  .replace("\"", "\\\"")
-                  .replace("\n", "\\n")
-                  .replace("\r", "\\r");
+    /**
+     * JSON 스트림에 직접 기록
+     */
+    public void writeJson(JsonWriter out) throws IOException {
+        out.beginObject()
+           .name("bookid").value(bookid)
+           .name("bookname").value(Objects.toString(bookname, ""))
+           .name("publisher").value(Objects.toString(publisher, ""))
+           .name("price").value(price)
+           .endObject();
     }
 
     @Override
@@ -1,5 +1,10 @@
 package com.madang.model;
 
+import com.madang.util.JsonWriter;
+
+import java.io.IOException;
+import java.util.Objects;
+
 /**
  * Customer 테이블 모델
  */
@@ -72,18 +77,20 @@ public class Customer {
      * JSON 형식으로 변환
      */
     public String toJson() {
-        return String.format(
-            "{\"custid\":%d,\"name\":\"%s\",\"address\":\"%s\",\"phone\":\"%s\",\"role\":\"%s\"}",
-            custid, escapeJson(name), escapeJson(address), escapeJson(phone), escapeJson(role != null ? role : "customer")
-        );
+        return JsonWriter.toJson(this::writeJson);
     }
 
-    private String escapeJson(String str) {
-        if (str == null) return "";
-        return str.replace("\\", "\\\\")
-                  .replace("\"", "\\\"")
-                  .replace("\n", "\\n")
-                  .replace("\r", "\\r");
+    /**
+     * JSON 스트림에 직접 기록
+     */
+    public void writeJson(JsonWriter out) throws IOException {
+        out.beginObject()
+           .name("custid").value(custid)
+           .name("name").value(Objects.toString(name, ""))
+           .name("address").value(Objects.toString(address, ""))
+           .name("phone").value(Objects.toString(phone, ""))
+           .name("role").value(role != null ? role : "customer")
+           .endObject();
     }
 
     @Override
@@ -1,6 +1,10 @@
 package com.madang.model;
 
+import com.madang.util.JsonWriter;
+
+import java.io.IOException;
 import java.sql.Date;
+import java.util.Objects;
 
 /**
  * Orders 테이블 모델
@@ -104,31 +108,44 @@ public class Order {
      * JSON 형식으로 변환 (기본 필드)
      */
     public String toJson() {
-        return String.format(
-            "{\"orderid\":%d,\"custid\":%d,\"bookid\":%d,\"saleprice\":%d,\"orderdate\":\"%s\"}",
-            orderid, custid, bookid, saleprice, orderdate
-        );
+        return JsonWriter.toJson(this::writeJson);
     }
 
     /**
      * JSON 형식으로 변환 (JOIN 필드 포함)
      */
     public String toJsonWithDetails() {
-        return String.format(
-            "{\"orderid\":%d,\"custid\":%d,\"bookid\":%d,\"saleprice\":%d,\"orderdate\":\"%s\"," +
-            "\"bookname\":\"%s\",\"publisher\":\"%s\",\"customerName\":\"%s\",\"listPrice\":%s}",
-            orderid, custid, bookid, saleprice, orderdate,
-            escapeJson(bookname), escapeJson(publisher), escapeJson(customerName),
-            listPrice == null ? "null" : listPrice.toString()
-        );
-    }
-
-    private String escapeJson(String str) {
-        if (str == null) return "";
-        return str.replace("\\", "\\\\")
-                  .replace("\"", "\\\"")
-                  .replace("\n", "\\n")
-                  .replace("\r", "\\r");
+        return JsonWriter.toJson(this::writeJsonWithDetails);
+    }
+
+    /**
+     * JSON 스트림에 직접 기록 (기본 필드)
+     */
+    public void writeJson(JsonWriter out) throws IOException {
+        out.beginObject();
+        writeBaseFields(out);
+        out.endObject();
+    }
+
+    /**
+     * JSON 스트림에 직접 기록 (JOIN 필드 포함)
+     */
+    public void writeJsonWithDetails(JsonWriter out) throws IOException {
+        out.beginObject();
+        writeBaseFields(out);
+        out.name("bookname").value(Objects.toString(bookname, ""))
+           .name("publisher").value(Objects.toString(publisher, ""))
+           .name("customerName").value(Objects.toString(customerName, ""))
+           .name("listPrice").value(listPrice)
+           .endObject();
+    }
+
+    private void writeBaseFields(JsonWriter out) throws IOException {
+        out.name("orderid").value(orderid)
+           .name("custid").value(custid)
+           .name("bookid").value(bookid)
+           .name("saleprice").value(saleprice)
+           .name("orderdate").value(String.valueOf(orderdate));
     }
 
     @Override
@@ -1,13 +1,57 @@
 package com.madang.model;
 
+import com.madang.util.ConfigManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Locale;
+
 /**
  * 페이지네이션 요청 정보를 담는 클래스
+ *
+ * 두 가지 방식을 지원합니다.
+ * - 페이지 번호 방식: page → LIMIT ? OFFSET ? (앞 페이지 행을 모두 읽고 버림)
+ * - 커서(keyset) 방식: after → WHERE (정렬값, id) > (마지막 정렬값, 마지막 id) (인덱스 탐색)
  */
 public class PageRequest {
+    private static final char CURSOR_SEPARATOR = '\u001F';
+
+    /**
+     * 전체 개수(totalItems) 계산 방식
+     */
+    public enum CountMode {
+        EXACT,      // 매번 COUNT(*) 실행
+        CACHED,     // 필터 조건별 COUNT(*) 결과를 TTL 동안 캐시 (쓰기 시 무효화)
+        ESTIMATE,   // 테이블 통계/실행 계획의 예상 행 수 사용 (COUNT(*) 없음)
+        NONE;       // 전체 개수 없이 pageSize + 1개 조회로 다음 페이지 여부만 판단
+
+        /**
+         * 요청 파라미터 해석 (없거나 알 수 없는 값이면 설정 파일의 pagination.count.mode)
+         */
+        public static CountMode parse(String value) {
+            if (value == null || value.isBlank()) {
+                value = ConfigManager.getString("pagination.count.mode", "cached");
+            }
+            try {
+                return CountMode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return CACHED;
+            }
+        }
+    }
+
     private int page;           // 현재 페이지 번호 (1부터 시작)
     private int pageSize;       // 페이지당 항목 수
     private String sortBy;      // 정렬 기준 컬럼
     private String direction;   // 정렬 방향 (ASC, DESC)
+    private String after;       // 커서 토큰 (이전 응답의 nextCursor, 없으면 페이지 번호 방식)
+    private CountMode countMode = CountMode.parse(null);  // 전체 개수 계산 방식
+
+    // after 토큰을 해석한 값
+    private String cursorSortKey;
+    private String cursorDirection;
+    private String cursorValue;
+    private long cursorId;
 
     /**
      * 기본 생성자 (페이지 1, 20개 항목, bookid ASC 정렬)
@@ -33,13 +77,63 @@ public class PageRequest {
         this.direction = "DESC".equalsIgnoreCase(direction) ? "DESC" : "ASC";
     }
 
+    /**
+     * 커서(keyset) 방식 생성자
+     *
+     * @param after 이전 페이지 응답의 nextCursor (null 또는 빈 값이면 페이지 번호 방식)
+     */
+    public PageRequest(int page, int pageSize, String sortBy, String direction, String after) {
+        this(page, pageSize, sortBy, direction);
+        parseAfter(after);
+    }
+
     /**
      * SQL OFFSET 값 계산 (0부터 시작)
+     * 커서 방식에서는 WHERE 조건으로 시작 위치를 정하므로 항상 0
      */
     public int getOffset() {
+        if (isKeyset()) {
+            return 0;
+        }
         return (page - 1) * pageSize;
     }
 
+    /**
+     * 커서(keyset) 방식 여부
+     */
+    public boolean isKeyset() {
+        return after != null;
+    }
+
+    /**
+     * 커서 토큰 생성
+     * 토큰은 클라이언트에게 불투명한 값이며, 정렬 기준/방향/마지막 행의 정렬값과 id를 담습니다.
+     * 정렬값이 NULL이면 정렬값 칸을 생략합니다 (빈 문자열과 구분).
+     *
+     * @param sortKey 실제 정렬 컬럼 (DAO가 해석한 값)
+     * @param direction 정렬 방향
+     * @param sortValue 마지막 행의 정렬값
+     * @param id 마지막 행의 기본 키
+     */
+    public static String encodeCursor(String sortKey, String direction, Object sortValue, long id) {
+        String payload = sortKey + CURSOR_SEPARATOR + direction + CURSOR_SEPARATOR + id
+                + (sortValue == null ? "" : CURSOR_SEPARATOR + sortValue.toString());
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 커서가 현재 정렬 조건으로 만들어진 것인지 확인
+     * 정렬 기준이 바뀐 뒤의 커서는 위치가 맞지 않으므로 거부
+     *
+     * @throws IllegalArgumentException 정렬 조건이 다른 커서인 경우
+     */
+    public void requireCursorFor(String sortKey, String direction) {
+        if (!sortKey.equals(cursorSortKey) || !direction.equals(cursorDirection)) {
+            throw new IllegalArgumentException("정렬 조건이 바뀌어 페이지 커서를 사용할 수 없습니다. 첫 페이지부터 다시 조회하세요.");
+        }
+    }
+
     // Getters and Setters
     public int getPage() {
         return page;
@@ -73,6 +167,68 @@ public class PageRequest {
         this.direction = "DESC".equalsIgnoreCase(direction) ? "DESC" : "ASC";
     }
 
+    public CountMode getCountMode() {
+        return countMode;
+    }
+
+    public void setCountMode(CountMode countMode) {
+        this.countMode = countMode != null ? countMode : CountMode.parse(null);
+    }
+
+    public String getAfter() {
+        return after;
+    }
+
+    /**
+     * 커서 토큰 설정 (해석 실패 시 IllegalArgumentException)
+     */
+    public void setAfter(String after) {
+        parseAfter(after);
+    }
+
+    private void parseAfter(String after) {
+        if (after == null || after.isBlank()) {
+            this.after = null;
+            return;
+        }
+
+        String payload;
+        try {
+            payload = new String(Base64.getUrlDecoder().decode(after.trim()), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 페이지 커서입니다.");
+        }
+
+        String[] parts = payload.split(String.valueOf(CURSOR_SEPARATOR), 4);
+        if (parts.length < 3) {
+            throw new IllegalArgumentException("잘못된 페이지 커서입니다.");
+        }
+
+        try {
+            this.cursorId = Long.parseLong(parts[2]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("잘못된 페이지 커서입니다.");
+        }
+        this.cursorSortKey = parts[0];
+        this.cursorDirection = parts[1];
+        this.cursorValue = parts.length == 4 ? parts[3] : null;
+        this.after = after.trim();
+    }
+
+    /**
+     * 커서에 담긴 마지막 행의 정렬값 (문자열 형태, DAO에서 컬럼 타입에 맞게 변환, NULL이면 null)
+     */
+    public String getCursorValue() {
+        return cursorValue;
+    }
+
+    /**
+     * 커서에 담긴 마지막 행의 기본 키
+     */
+    public long getCursorId() {
+        return cursorId;
+    }
+
     @Override
     public String toString() {
         return "PageRequest{" +
@@ -81,6 +237,8 @@ public class PageRequest {
                 ", sortBy='" + sortBy + '\'' +
                 ", direction='" + direction + '\'' +
                 ", offset=" + getOffset() +
+                ", after='" + after + '\'' +
+                ", countMode=" + countMode +
                 '}';
     }
 }
@@ -12,6 +12,8 @@ import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonSyntaxException;
 
+import com.madang.util.DBConnection;
+import com.madang.util.ResponseCompression;
 import com.madang.util.SessionManager;
 import com.madang.util.SessionManager.Session;
 
@@ -22,11 +24,12 @@ import com.madang.util.SessionManager.Session;
 public abstract class ApiHandler implements HttpHandler {
 
     private static final Gson gson = new Gson();
-    protected HttpExchange currentExchange;  // 현재 요청의 HttpExchange (권한 검증용)
+
+    // 처리 중인 요청 (핸들러 하나를 여러 요청 스레드가 함께 쓰므로 필드가 아닌 스레드별로 보관)
+    private static final ThreadLocal<HttpExchange> CURRENT_EXCHANGE = new ThreadLocal<>();
 
     @Override
     public void handle(HttpExchange exchange) throws IOException {
-        this.currentExchange = exchange;  // 하위 클래스에서 권한 검증에 사용
         // CORS 헤더 설정
         setCorsHeaders(exchange);
 
@@ -36,7 +39,12 @@ public abstract class ApiHandler implements HttpHandler {
             return;
         }
 
+        CURRENT_EXCHANGE.set(exchange);  // 하위 클래스에서 권한 검증, 응답 헤더 설정에 사용
         try {
+            // 읽기 복제본 선택 시 방금 쓰기를 한 사용자인지 구분 (세션 ID, 없으면 접속 주소)
+            String sessionId = getSessionId();
+            DBConnection.bindClient(sessionId != null ? sessionId : exchange.getRemoteAddress().getAddress().getHostAddress());
+
             String method = exchange.getRequestMethod();
             Map<String, String> params = parseQueryParams(exchange.getRequestURI().getQuery());
             String requestBody = readRequestBody(exchange);
@@ -60,15 +68,37 @@ public abstract class ApiHandler implements HttpHandler {
                     response = errorResponse("지원하지 않는 HTTP 메서드입니다.");
             }
 
+            if (!"GET".equals(method)) {
+                // 이후 잠시 동안 이 사용자의 조회는 기본 DB에서 (read-your-writes)
+                DBConnection.markWritten();
+            }
+
             sendJsonResponse(exchange, 200, response);
 
         } catch (Exception e) {
             e.printStackTrace();
             String errorResponse = errorResponse(e.getMessage() == null ? "알 수 없는 오류가 발생했습니다." : e.getMessage());
             sendJsonResponse(exchange, 500, errorResponse);
+        } finally {
+            DBConnection.clearClient();
+            CURRENT_EXCHANGE.remove();
         }
     }
 
+    /**
+     * 현재 스레드가 처리 중인 요청
+     */
+    protected HttpExchange currentExchange() {
+        return CURRENT_EXCHANGE.get();
+    }
+
+    /**
+     * 이 핸들러가 처리하는 action 목록 (요청 지표 라벨용, 목록에 없는 값은 other로 기록)
+     */
+    protected Set<String> actions() {
+        return Set.of();
+    }
+
     /**
      * GET 요청 처리 (하위 클래스에서 구현)
      */
@@ -135,12 +165,33 @@ public abstract class ApiHandler implements HttpHandler {
 
     /**
      * JSON 응답 전송
+     * 클라이언트가 지원하면 gzip/deflate로 압축하며 전송 (compression.min.size 미만은 압축 안 함)
      */
     protected void sendJsonResponse(HttpExchange exchange, int statusCode, String jsonResponse) throws IOException {
         byte[] bytes = jsonResponse.getBytes(StandardCharsets.UTF_8);
-        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
-        exchange.sendResponseHeaders(statusCode, bytes.length);
-        try (OutputStream os = exchange.getResponseBody()) {
+        Headers headers = exchange.getResponseHeaders();
+        headers.set("Content-Type", "application/json; charset=UTF-8");
+        if (ResponseCompression.isEnabled()) {
+            headers.set("Vary", "Accept-Encoding");
+        }
+
+        String encoding = ResponseCompression.negotiate(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+        if (encoding == null) {
+            exchange.sendResponseHeaders(statusCode, bytes.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(bytes);
+            }
+            return;
+        }
+
+        try (OutputStream os = ResponseCompression.wrap(encoding, (contentEncoding, length) -> {
+            if (contentEncoding != null) {
+                headers.set("Content-Encoding", contentEncoding);
+            }
+            // 길이를 모르면 0 (chunked 전송), 빈 본문은 -1
+            exchange.sendResponseHeaders(statusCode, length < 0 ? 0 : (length == 0 ? -1 : length));
+            return exchange.getResponseBody();
+        })) {
             os.write(bytes);
         }
     }
@@ -199,6 +250,19 @@ public abstract class ApiHandler implements HttpHandler {
             sb.append("]");
             return sb.toString();
         }
+        if (obj instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) obj;
+            StringBuilder sb = new StringBuilder("{");
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!first) sb.append(",");
+                first = false;
+                sb.append("\"").append(escapeJson(String.valueOf(entry.getKey()))).append("\":");
+                sb.append(toJson(entry.getValue()));
+            }
+            sb.append("}");
+            return sb.toString();
+        }
         return obj.toString();
     }
 
@@ -268,7 +332,7 @@ public abstract class ApiHandler implements HttpHandler {
      * HTTP 헤더에서 세션 ID 추출
      */
     protected String getSessionId() {
-        Headers headers = currentExchange.getRequestHeaders();
+        Headers headers = currentExchange().getRequestHeaders();
         List<String> sessionHeaders = headers.get("X-Session-Id");
         if (sessionHeaders != null && !sessionHeaders.isEmpty()) {
             return sessionHeaders.get(0);
@@ -1,16 +1,23 @@
 package com.madang.server;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import com.sun.net.httpserver.HttpServer;
+import com.madang.util.Bulkhead;
 import com.madang.util.ConfigManager;
+import com.madang.util.Metrics;
 
 /**
  * 마당 서점 간단한 HTTP 서버
@@ -20,9 +27,18 @@ public class MadangServer {
 
     private static final int PORT = ConfigManager.getInt("server.port", 8888);
     private static final String HOST = ConfigManager.getString("server.host", "0.0.0.0");
+    private static final String EXECUTOR = ConfigManager.getString("server.executor", "virtual");
     private static final int THREAD_POOL_SIZE = ConfigManager.getInt("server.thread.pool.size", 10);
     private static final String FRONTEND_DIR = ConfigManager.getString("server.frontend.dir", "frontend");
 
+    // 요청 종류별 동시 처리 제한 (통계 요청이 몰려도 주문/정적 파일 요청은 처리되도록 분리)
+    private static final Bulkhead API_BULKHEAD = Bulkhead.fromConfig("api", 50, 100, 1000L);
+    private static final Bulkhead STATS_BULKHEAD = Bulkhead.fromConfig("stats", 4, 20, 2000L);
+    private static final Bulkhead STATIC_BULKHEAD = Bulkhead.fromConfig("static", 100, 200, 1000L);
+
+    // 가상 스레드가 아니면 요청 종류별 전용 스레드 풀에서 처리 (대기 중인 요청이 공용 스레드를 붙잡지 않도록)
+    private static final boolean ROUTE_POOLS = !"virtual".equals(EXECUTOR);
+
     public static void main(String[] args) throws IOException {
         // 설정 정보 출력
         ConfigManager.printConfig();
@@ -31,14 +47,17 @@ public class MadangServer {
         // HTTP 서버 생성
         HttpServer server = HttpServer.create(new InetSocketAddress(HOST, PORT), 0);
 
-        // 스레드 풀 설정
-        server.setExecutor(Executors.newFixedThreadPool(THREAD_POOL_SIZE));
+        // 요청 처리 스레드 설정 (server.executor)
+        server.setExecutor(createExecutor(EXECUTOR));
 
         // API 라우트 등록
         registerApiRoutes(server);
 
+        // 자동완성 색인 미리 읽기
+        preloadSuggestions();
+
         // 정적 파일 서빙 (HTML, CSS, JS)
-        server.createContext("/", new StaticFileHandler(FRONTEND_DIR));
+        server.createContext("/", limit(STATIC_BULKHEAD, new StaticFileHandler(FRONTEND_DIR)));
 
         // 서버 시작
         server.start();
@@ -49,6 +68,7 @@ public class MadangServer {
         System.out.println();
         System.out.println("📍 서버 주소: http://localhost:" + PORT);
         System.out.println("📁 프론트엔드: " + new File(FRONTEND_DIR).getAbsolutePath());
+        System.out.println("🧵 요청 처리: " + EXECUTOR);
         System.out.println();
         System.out.println("🌐 브라우저에서 접속하세요:");
         System.out.println("   http://localhost:" + PORT + "/index.html");
@@ -57,15 +77,56 @@ public class MadangServer {
         System.out.println();
     }
 
+    /**
+     * 요청 처리 Executor 생성
+     * - virtual: 요청마다 가상 스레드 (JDBC 대기 중에도 다른 요청을 막지 않음, DB 동시 사용은 DBConnection이 제한)
+     * - fixed: server.thread.pool.size 크기의 고정 스레드 풀 (기존 방식)
+     * - forkjoin: server.thread.pool.size 병렬도의 ForkJoinPool
+     * fixed/forkjoin에서는 요청을 받기만 하고 처리는 요청 종류별 bulkhead 전용 스레드 풀에서 함
+     */
+    static ExecutorService createExecutor(String mode) {
+        return switch (mode) {
+            case "virtual" -> Executors.newVirtualThreadPerTaskExecutor();
+            case "fixed" -> Executors.newFixedThreadPool(THREAD_POOL_SIZE);
+            case "forkjoin" -> new ForkJoinPool(THREAD_POOL_SIZE, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+            default -> throw new IllegalArgumentException("알 수 없는 server.executor: " + mode + " (virtual, fixed, forkjoin)");
+        };
+    }
+
+    /**
+     * 도서/고객 자동완성, 고객 검색 색인 미리 읽기 (실패하면 첫 요청 때 다시 읽음)
+     */
+    private static void preloadSuggestions() {
+        try {
+            new com.madang.dao.BookDAO().loadSuggestions();
+            new com.madang.dao.CustomerDAO().loadSuggestions();
+            new com.madang.dao.CustomerDAO().loadSearchIndex();
+        } catch (SQLException e) {
+            System.err.println("⚠️  자동완성 색인을 미리 읽지 못했습니다: " + e.getMessage());
+        }
+    }
+
     /**
      * API 라우트 등록
      */
     private static void registerApiRoutes(HttpServer server) {
         // API 핸들러 등록
-        server.createContext("/api/books", new com.madang.handler.BookHandler());
-        server.createContext("/api/customers", new com.madang.handler.CustomerHandler());
-        server.createContext("/api/orders", new com.madang.handler.OrderHandler());
-        server.createContext("/api/stats", new com.madang.handler.StatsHandler());
+        server.createContext("/api/books", limit(API_BULKHEAD, new com.madang.handler.BookHandler()));
+        server.createContext("/api/customers", limit(API_BULKHEAD, new com.madang.handler.CustomerHandler()));
+        server.createContext("/api/orders", limit(API_BULKHEAD, new com.madang.handler.OrderHandler()));
+        server.createContext("/api/stats", limit(STATS_BULKHEAD, new com.madang.handler.StatsHandler()));
+
+        // 운영 지표 (Prometheus 텍스트 형식, 동시 처리 제한 없음)
+        if (Metrics.ENABLED) {
+            server.createContext("/api/metrics", exchange -> {
+                byte[] response = Metrics.scrape().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=UTF-8");
+                exchange.sendResponseHeaders(200, response.length);
+                try (OutputStream os = exchange.getResponseBody()) {
+                    os.write(response);
+                }
+            });
+        }
 
         // 테스트 핸들러
         server.createContext("/api/test", exchange -> {
@@ -85,81 +146,87 @@ public class MadangServer {
         System.out.println("  - /api/customers");
         System.out.println("  - /api/orders");
         System.out.println("  - /api/stats");
+        if (Metrics.ENABLED) {
+            System.out.println("  - /api/metrics");
+        }
     }
 
     /**
-     * 정적 파일 핸들러 (HTML, CSS, JS, 이미지 등)
+     * 동시 처리 제한을 적용한 핸들러 (제한 초과 시 바로 503 응답)
+     * 처리 시간과 응답 코드는 경로/action별 지표로 기록
      */
-    static class StaticFileHandler implements HttpHandler {
-        private final String rootDirectory;
-
-        public StaticFileHandler(String rootDirectory) {
-            this.rootDirectory = rootDirectory;
+    private static HttpHandler limit(Bulkhead bulkhead, HttpHandler handler) {
+        Set<String> actions = handler instanceof ApiHandler api ? api.actions() : Set.of();
+        if (ROUTE_POOLS) {
+            return exchange -> {
+                long start = System.nanoTime();
+                bulkhead.execute(() -> respond(exchange, handler, actions, start),
+                                 () -> respond(exchange, MadangServer::send503, actions, start));
+            };
         }
-
-        @Override
-        public void handle(HttpExchange exchange) throws IOException {
-            String path = exchange.getRequestURI().getPath();
-
-            // 루트 경로는 index.html로 리다이렉트
-            if (path.equals("/")) {
-                path = "/index.html";
-            }
-
-            File file = new File(rootDirectory + path).getCanonicalFile();
-
-            // 보안: 루트 디렉토리 밖의 파일 접근 방지
-            if (!file.getPath().startsWith(new File(rootDirectory).getCanonicalPath())) {
-                send404(exchange);
-                return;
-            }
-
-            // 파일이 존재하지 않으면 404
-            if (!file.exists() || file.isDirectory()) {
-                send404(exchange);
-                return;
-            }
-
-            // Content-Type 설정
-            String contentType = getContentType(file.getName());
-            exchange.getResponseHeaders().set("Content-Type", contentType);
-
-            // 파일 전송
-            exchange.sendResponseHeaders(200, file.length());
-            try (OutputStream os = exchange.getResponseBody();
-                 FileInputStream fs = new FileInputStream(file)) {
-                fs.transferTo(os);
+        return exchange -> {
+            long start = System.nanoTime();
+            try {
+                if (!bulkhead.tryAcquire()) {
+                    send503(exchange);
+                    return;
+                }
+                try {
+                    handler.handle(exchange);
+                } finally {
+                    bulkhead.release();
+                }
+            } finally {
+                Metrics.recordRequest(exchange.getHttpContext().getPath(), action(exchange.getRequestURI().getRawQuery()),
+                                      actions, exchange.getRequestMethod(), exchange.getResponseCode(),
+                                      System.nanoTime() - start);
             }
+        };
+    }
 
-            System.out.println("✓ 200 " + path);
+    /**
+     * 전용 스레드 풀에서 응답 (호출한 쪽이 없으므로 예외는 로그만 남기고 연결을 닫음)
+     */
+    private static void respond(HttpExchange exchange, HttpHandler handler, Set<String> actions, long start) {
+        try {
+            handler.handle(exchange);
+        } catch (IOException | RuntimeException e) {
+            e.printStackTrace();
+            exchange.close();
+        } finally {
+            Metrics.recordRequest(exchange.getHttpContext().getPath(), action(exchange.getRequestURI().getRawQuery()),
+                                  actions, exchange.getRequestMethod(), exchange.getResponseCode(),
+                                  System.nanoTime() - start);
         }
+    }
 
-        /**
-         * 404 응답 전송
-         */
-        private void send404(HttpExchange exchange) throws IOException {
-            String response = "<html><body><h1>404 Not Found</h1></body></html>";
-            exchange.sendResponseHeaders(404, response.getBytes().length);
-            try (OutputStream os = exchange.getResponseBody()) {
-                os.write(response.getBytes());
+    /**
+     * 쿼리 문자열의 action 값 (없으면 null)
+     */
+    private static String action(String query) {
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            if (pair.startsWith("action=")) {
+                return URLDecoder.decode(pair.substring(7), StandardCharsets.UTF_8);
             }
-            System.out.println("✗ 404 " + exchange.getRequestURI().getPath());
         }
+        return null;
+    }
 
-        /**
-         * 파일 확장자에 따른 Content-Type 반환
-         */
-        private String getContentType(String filename) {
-            if (filename.endsWith(".html")) return "text/html; charset=UTF-8";
-            if (filename.endsWith(".css")) return "text/css; charset=UTF-8";
-            if (filename.endsWith(".js")) return "application/javascript; charset=UTF-8";
-            if (filename.endsWith(".json")) return "application/json; charset=UTF-8";
-            if (filename.endsWith(".png")) return "image/png";
-            if (filename.endsWith(".jpg") || filename.endsWith(".jpeg")) return "image/jpeg";
-            if (filename.endsWith(".gif")) return "image/gif";
-            if (filename.endsWith(".svg")) return "image/svg+xml";
-            if (filename.endsWith(".ico")) return "image/x-icon";
-            return "text/plain";
+    /**
+     * 503 응답 전송 (과부하)
+     */
+    private static void send503(HttpExchange exchange) throws IOException {
+        byte[] response = "{\"success\": false, \"error\": \"요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.\"}"
+            .getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
+        exchange.getResponseHeaders().set("Retry-After", "1");
+        exchange.sendResponseHeaders(503, response.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(response);
         }
     }
 }
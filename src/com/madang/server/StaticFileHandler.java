@@ -0,0 +1,485 @@
+package com.madang.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.madang.util.ConfigManager;
+
+/**
+ * 정적 파일 핸들러 (HTML, CSS, JS, 이미지 등)
+ *
+ * 파일 내용을 메모리에 보관해 요청마다 디스크를 읽지 않습니다.
+ * - 텍스트류 파일은 gzip 버전을 미리 만들어 두고 Accept-Encoding에 따라 전송
+ *   (같은 위치에 미리 압축한 .br / .gz 파일이 있으면 그 파일을 사용)
+ * - 내용 기반 ETag 전송, If-None-Match가 일치하면 304 응답
+ * - Range 요청 지원 (단일 구간, 206/416)
+ * - 캐시 한도를 넘는 큰 파일은 메모리에 올리지 않고 FileChannel.transferTo로 전송
+ *   (캐시하지 않고 요청마다 크기와 수정 시각을 다시 읽으므로 파일이 바뀌어도 길이/ETag가 맞음)
+ * - server.static.watch=true면 파일 변경을 감시해 캐시에서 제거 (개발용)
+ */
+class StaticFileHandler implements HttpHandler {
+
+    private static final long MAX_FILE_SIZE = ConfigManager.getLong("server.static.cache.max.file.size", 1048576L);
+    private static final long MAX_CACHE_BYTES = ConfigManager.getLong("server.static.cache.max.bytes", 33554432L);
+    private static final int MIN_COMPRESS_SIZE = ConfigManager.getInt("server.static.compress.min.size", 1024);
+    private static final String CACHE_CONTROL = ConfigManager.getString("server.static.cache.control", "no-cache");
+    private static final boolean WATCH = ConfigManager.getBoolean("server.static.watch", true);
+    private static final boolean LOG_REQUESTS = ConfigManager.getBoolean("server.static.log", false);
+
+    private final Path root;
+    private final Path realRoot;
+    private final ConcurrentHashMap<Path, Asset> cache = new ConcurrentHashMap<>();
+    private final AtomicLong cachedBytes = new AtomicLong();
+
+    /**
+     * 파일 정보 (content가 null이면 메모리에 올리지 않은 큰 파일, 캐시하지 않음)
+     */
+    private record Asset(Path path, long length, String contentType, String etag,
+                         byte[] content, byte[] gzip, byte[] brotli) {
+        long memorySize() {
+            return (content == null ? 0 : content.length)
+                 + (gzip == null ? 0 : gzip.length)
+                 + (brotli == null ? 0 : brotli.length);
+        }
+    }
+
+    public StaticFileHandler(String rootDirectory) {
+        this.root = Path.of(rootDirectory).toAbsolutePath().normalize();
+        Path real;
+        try {
+            real = root.toRealPath();
+        } catch (IOException e) {
+            real = root;
+        }
+        this.realRoot = real;
+
+        if (WATCH) {
+            startWatcher();
+        }
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+            exchange.sendResponseHeaders(405, -1);
+            exchange.close();
+            return;
+        }
+
+        String path = exchange.getRequestURI().getPath();
+
+        // 루트 경로는 index.html로 리다이렉트
+        if (path.equals("/")) {
+            path = "/index.html";
+        }
+
+        // 보안: 루트 디렉토리 밖의 파일 접근 방지
+        Path file;
+        try {
+            file = root.resolve(path.substring(1)).normalize();
+        } catch (InvalidPathException e) {
+            send404(exchange);
+            return;
+        }
+        if (!file.startsWith(root)) {
+            send404(exchange);
+            return;
+        }
+
+        Asset asset = cache.get(file);
+        if (asset == null) {
+            asset = load(file);
+            if (asset == null) {
+                send404(exchange);
+                return;
+            }
+            // 메모리에 올린 파일만 캐시 (큰 파일, 한도 초과로 올리지 못한 파일은 다음 요청에서 다시 확인)
+            if (asset.content() != null) {
+                Asset previous = cache.putIfAbsent(file, asset);
+                if (previous != null) {
+                    asset = previous;
+                } else {
+                    cachedBytes.addAndGet(asset.memorySize());
+                }
+            }
+        }
+
+        send(exchange, asset, "HEAD".equals(method));
+
+        if (LOG_REQUESTS) {
+            System.out.println("✓ " + exchange.getResponseCode() + " " + path);
+        }
+    }
+
+    /**
+     * 응답 전송 (압축 버전 선택, 304, Range 처리)
+     */
+    private void send(HttpExchange exchange, Asset asset, boolean headOnly) throws IOException {
+        Headers request = exchange.getRequestHeaders();
+        Headers headers = exchange.getResponseHeaders();
+        headers.set("Content-Type", asset.contentType());
+        headers.set("Cache-Control", CACHE_CONTROL);
+        headers.set("Accept-Ranges", "bytes");
+        if (asset.gzip() != null || asset.brotli() != null) {
+            headers.set("Vary", "Accept-Encoding");
+        }
+
+        // Range 요청은 압축하지 않은 원본 기준으로 처리
+        String range = request.getFirst("Range");
+        String ifRange = request.getFirst("If-Range");
+        if (range != null && ifRange != null && !ifRange.equals(asset.etag())) {
+            range = null;  // 파일이 바뀌었으면 전체 전송
+        }
+
+        byte[] body = asset.content();
+        String etag = asset.etag();
+        String encoding = null;
+        if (range == null) {
+            String acceptEncoding = request.getFirst("Accept-Encoding");
+            if (asset.brotli() != null && accepts(acceptEncoding, "br")) {
+                encoding = "br";
+                body = asset.brotli();
+            } else if (asset.gzip() != null && accepts(acceptEncoding, "gzip")) {
+                encoding = "gzip";
+                body = asset.gzip();
+            }
+            if (encoding != null) {
+                // 강한 ETag는 전송되는 바이트 기준이므로 압축 버전마다 다르게
+                etag = etag.substring(0, etag.length() - 1) + "-" + encoding + "\"";
+                headers.set("Content-Encoding", encoding);
+            }
+        }
+        headers.set("ETag", etag);
+
+        if (matches(request.getFirst("If-None-Match"), etag)) {
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+
+        long total = body != null ? body.length : asset.length();
+        long start = 0;
+        long count = total;
+        int status = 200;
+
+        if (range != null) {
+            long[] span = parseRange(range, total);
+            if (span != null && span.length == 0) {
+                headers.set("Content-Range", "bytes */" + total);
+                exchange.sendResponseHeaders(416, -1);
+                exchange.close();
+                return;
+            }
+            if (span != null) {
+                status = 206;
+                start = span[0];
+                count = span[1] - span[0] + 1;
+                headers.set("Content-Range", "bytes " + span[0] + "-" + span[1] + "/" + total);
+            }
+        }
+
+        if (headOnly) {
+            headers.set("Content-Length", String.valueOf(count));
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+            return;
+        }
+
+        exchange.sendResponseHeaders(status, count == 0 ? -1 : count);
+        try (OutputStream os = exchange.getResponseBody()) {
+            if (body != null) {
+                os.write(body, (int) start, (int) count);
+            } else {
+                try (FileChannel channel = FileChannel.open(asset.path(), StandardOpenOption.READ)) {
+                    transfer(channel, start, count, Channels.newChannel(os));
+                }
+            }
+        }
+    }
+
+    /**
+     * 파일을 읽어 캐시 항목 생성
+     *
+     * @return 파일이 없거나 루트 밖(심볼릭 링크 등)이면 null
+     */
+    private Asset load(Path file) throws IOException {
+        if (!Files.isRegularFile(file) || !file.toRealPath().startsWith(realRoot)) {
+            return null;
+        }
+
+        long length = Files.size(file);
+        String contentType = getContentType(file.getFileName().toString());
+
+        if (length > MAX_FILE_SIZE || cachedBytes.get() + length > MAX_CACHE_BYTES) {
+            // 큰 파일은 메모리에 올리지 않음 (요청마다 읽은 크기와 수정 시각으로 ETag 생성)
+            long lastModified = Files.getLastModifiedTime(file).toMillis();
+            String etag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+            return new Asset(file, length, contentType, etag, null, null, null);
+        }
+
+        byte[] content = Files.readAllBytes(file);
+        String etag = "\"" + hash(content) + "\"";
+
+        byte[] gzip = readPrecompressed(file, ".gz");
+        if (gzip == null && isCompressible(contentType) && content.length >= MIN_COMPRESS_SIZE) {
+            gzip = gzip(content);
+            if (gzip.length >= content.length) {
+                gzip = null;
+            }
+        }
+        byte[] brotli = readPrecompressed(file, ".br");
+
+        return new Asset(file, content.length, contentType, etag, content, gzip, brotli);
+    }
+
+    /**
+     * 미리 압축해 둔 파일 (index.html.br 등, 원본보다 오래되었으면 사용하지 않음)
+     */
+    private byte[] readPrecompressed(Path file, String suffix) throws IOException {
+        Path compressed = file.resolveSibling(file.getFileName() + suffix);
+        if (!Files.isRegularFile(compressed)
+                || Files.getLastModifiedTime(compressed).compareTo(Files.getLastModifiedTime(file)) < 0) {
+            return null;
+        }
+        return Files.readAllBytes(compressed);
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(content.length / 2);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(content);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static String hash(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void transfer(FileChannel channel, long position, long count, WritableByteChannel target)
+            throws IOException {
+        while (count > 0) {
+            long sent = channel.transferTo(position, count, target);
+            if (sent <= 0) {
+                break;
+            }
+            position += sent;
+            count -= sent;
+        }
+    }
+
+    /**
+     * Range 헤더 해석 (bytes=시작-끝, bytes=시작-, bytes=-마지막N바이트)
+     *
+     * @return [시작, 끝] (끝 포함), 범위가 파일 밖이면 빈 배열, 지원하지 않는 형식(여러 구간 등)이면 null
+     */
+    private static long[] parseRange(String range, long total) {
+        if (!range.startsWith("bytes=") || range.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = range.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+
+        try {
+            long start;
+            long end;
+            if (dash == 0) {
+                long suffix = Long.parseLong(spec.substring(1));
+                if (suffix <= 0) {
+                    return new long[0];
+                }
+                start = Math.max(0, total - suffix);
+                end = total - 1;
+            } else {
+                start = Long.parseLong(spec.substring(0, dash));
+                String endPart = spec.substring(dash + 1);
+                end = endPart.isEmpty() ? total - 1 : Math.min(Long.parseLong(endPart), total - 1);
+            }
+            if (start >= total || start > end) {
+                return new long[0];
+            }
+            return new long[] {start, end};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static boolean accepts(String acceptEncoding, String encoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            if (tokens[0].trim().equalsIgnoreCase(encoding)) {
+                return tokens.length < 2 || !tokens[1].replace(" ", "").equals("q=0");
+            }
+        }
+        return false;
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || value.equals(etag) || value.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isCompressible(String contentType) {
+        return contentType.startsWith("text/") || contentType.contains("javascript")
+            || contentType.contains("json") || contentType.contains("svg");
+    }
+
+    /**
+     * 캐시에서 제거 (해당 경로 아래 전체, 미리 압축한 파일이 바뀌면 원본 항목도 제거)
+     */
+    private void invalidate(Path changed) {
+        String name = changed.getFileName().toString();
+        Path original = name.endsWith(".gz") || name.endsWith(".br")
+            ? changed.resolveSibling(name.substring(0, name.length() - 3)) : changed;
+
+        Iterator<Map.Entry<Path, Asset>> it = cache.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Path, Asset> entry = it.next();
+            if (entry.getKey().startsWith(changed) || entry.getKey().equals(original)) {
+                it.remove();
+                cachedBytes.addAndGet(-entry.getValue().memorySize());
+            }
+        }
+    }
+
+    /**
+     * 파일 변경 감시 시작 (하위 디렉토리 포함)
+     */
+    private void startWatcher() {
+        try {
+            WatchService watcher = FileSystems.getDefault().newWatchService();
+            Map<WatchKey, Path> directories = new ConcurrentHashMap<>();
+            register(root, watcher, directories);
+
+            Thread thread = new Thread(() -> watch(watcher, directories), "static-file-watch");
+            thread.setDaemon(true);
+            thread.start();
+        } catch (IOException e) {
+            System.err.println("⚠️  정적 파일 변경 감시를 시작할 수 없습니다: " + e.getMessage());
+        }
+    }
+
+    private void register(Path directory, WatchService watcher, Map<WatchKey, Path> directories) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths.filter(Files::isDirectory)::iterator) {
+                WatchKey key = path.register(watcher, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+                directories.put(key, path);
+            }
+        }
+    }
+
+    private void watch(WatchService watcher, Map<WatchKey, Path> directories) {
+        while (true) {
+            WatchKey key;
+            try {
+                key = watcher.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            Path directory = directories.get(key);
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW || directory == null) {
+                    cache.clear();
+                    cachedBytes.set(0);
+                    continue;
+                }
+
+                Path changed = directory.resolve((Path) event.context());
+                invalidate(changed);
+
+                if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(changed)) {
+                    try {
+                        register(changed, watcher, directories);
+                    } catch (IOException e) {
+                        System.err.println("⚠️  디렉토리 감시 등록 실패: " + changed);
+                    }
+                }
+            }
+
+            if (!key.reset()) {
+                directories.remove(key);
+            }
+        }
+    }
+
+    /**
+     * 404 응답 전송
+     */
+    private void send404(HttpExchange exchange) throws IOException {
+        byte[] response = "<html><body><h1>404 Not Found</h1></body></html>".getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/html; charset=UTF-8");
+        exchange.sendResponseHeaders(404, response.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(response);
+        }
+        System.out.println("✗ 404 " + exchange.getRequestURI().getPath());
+    }
+
+    /**
+     * 파일 확장자에 따른 Content-Type 반환
+     */
+    private String getContentType(String filename) {
+        if (filename.endsWith(".html")) return "text/html; charset=UTF-8";
+        if (filename.endsWith(".css")) return "text/css; charset=UTF-8";
+        if (filename.endsWith(".js")) return "application/javascript; charset=UTF-8";
+        if (filename.endsWith(".json")) return "application/json; charset=UTF-8";
+        if (filename.endsWith(".png")) return "image/png";
+        if (filename.endsWith(".jpg") || filename.endsWith(".jpeg")) return "image/jpeg";
+        if (filename.endsWith(".gif")) return "image/gif";
+        if (filename.endsWith(".svg")) return "image/svg+xml";
+        if (filename.endsWith(".ico")) return "image/x-icon";
+        return "text/plain";
+    }
+}
@@ -8,7 +8,7 @@ import java.util.Properties;
 /**
  * 통합 설정 관리 클래스
  *
- * 우선순위: 환경 변수 > application.properties > 기본값
+ * 우선순위: 시스템 프로퍼티(-D) > 환경 변수 > application.properties > 기본값
  *
  * 사용 예시:
  * <pre>
@@ -53,9 +53,15 @@ public class ConfigManager {
      *
      * @param key 설정 키
      * @param defaultValue 기본값
-     * @return 설정 값 (환경 변수 > properties > 기본값)
+     * @return 설정 값 (시스템 프로퍼티 > 환경 변수 > properties > 기본값)
      */
     public static String getString(String key, String defaultValue) {
+        // 0순위: 시스템 프로퍼티 (-Ddb.url=... 처럼 키 그대로)
+        String sysValue = System.getProperty(key);
+        if (sysValue != null && !sysValue.isEmpty()) {
+            return sysValue;
+        }
+
         // 1순위: 환경 변수 (점(.)을 언더스코어(_)로 변환, 대문자로)
         String envKey = key.replace('.', '_').toUpperCase();
         String envValue = System.getenv(envKey);
@@ -149,6 +155,7 @@ public class ConfigManager {
         System.out.println("║   - Max Size: " + getInt("db.pool.maximum.size", 10));
         System.out.println("║   - Min Idle: " + getInt("db.pool.minimum.idle", 2));
         System.out.println("║   - Connection Timeout: " + getLong("db.pool.connection.timeout", 30000) + "ms");
+        System.out.println("║   - Read Replicas: " + (getString("db.replica.urls", "").isBlank() ? "none" : getString("db.replica.urls", "")));
 
         System.out.println("╚═══════════════════════════════════════════════╝");
     }
@@ -4,12 +4,23 @@ import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 데이터베이스 연결 관리 클래스 (Connection Pool 사용)
  * MySQL madangdb에 연결
  * ConfigManager를 통해 설정 관리 (환경 변수 > properties 파일 > 기본값)
  * HikariCP Connection Pool로 성능 최적화
+ *
+ * 읽기 전용 복제본(db.replica.urls)이 설정되어 있으면 통계/검색 조회는 getReadConnection()으로 복제본을 사용하고,
+ * 쓰기와 방금 쓴 데이터를 다시 읽는 조회는 getConnection()으로 기본 DB를 사용합니다.
  */
 public class DBConnection {
 
@@ -19,9 +30,40 @@ public class DBConnection {
     private static final String USER = ConfigManager.getString("db.user", "madang");
     private static final String PASSWORD = ConfigManager.getString("db.password", "madang");
 
+    private static final int POOL_SIZE = ConfigManager.getInt("db.pool.maximum.size", 10);
+    private static final long CONNECTION_TIMEOUT = ConfigManager.getLong("db.pool.connection.timeout", 30000);
+
     // HikariCP Connection Pool (싱글톤)
     private static HikariDataSource dataSource;
 
+    /**
+     * 동시에 연결을 사용할 수 있는 요청 수 제한 (db.concurrency.limit, 기본값은 풀 크기, 0이면 사용 안 함)
+     * 가상 스레드로 요청을 받으면 수천 개의 요청이 동시에 풀을 기다릴 수 있으므로
+     * 풀에 들어가기 전에 공정(FIFO) 세마포어로 줄을 세워 대기 순서를 보장하고 풀 내부 경합을 줄임
+     */
+    private static final int CONCURRENCY_LIMIT = ConfigManager.getInt("db.concurrency.limit", POOL_SIZE);
+    private static final Semaphore PERMITS = CONCURRENCY_LIMIT > 0 ? new Semaphore(CONCURRENCY_LIMIT, true) : null;
+
+    /**
+     * 요청 종류(bulkhead 이름)별 동시 연결 사용 제한 (db.concurrency.{종류}.limit, 0이면 전체 제한만 적용)
+     * 전체 제한 안에서 한 번 더 나눠, 통계 조회가 몰려도 주문 등 쓰기 요청이 쓸 연결을 남겨둠
+     * 기본값: stats는 전체 제한의 절반, 나머지 종류는 전체 제한만 적용
+     */
+    private static final ConcurrentHashMap<String, Optional<Semaphore>> ROUTE_PERMITS = new ConcurrentHashMap<>();
+
+    // 읽기 전용 복제본 (db.replica.urls가 비어 있으면 null, 모든 조회가 기본 DB 사용)
+    private static final ReadReplicas REPLICAS = createReplicas();
+
+    /**
+     * 쓰기 후 기본 DB에서만 읽는 시간 (ms)
+     * 주문 등록 직후 같은 사용자의 조회가 아직 복제되지 않은 복제본을 읽지 않도록 함 (read-your-writes)
+     */
+    private static final long STICKY_MILLIS = ConfigManager.getLong("db.replica.sticky.millis", 5000);
+
+    // 현재 스레드가 처리 중인 요청의 사용자 키 (세션 ID 등)와 사용자별 기본 DB 고정 만료 시각
+    private static final ThreadLocal<String> CURRENT_CLIENT = new ThreadLocal<>();
+    private static final ConcurrentHashMap<String, Long> PRIMARY_UNTIL = new ConcurrentHashMap<>();
+
     static {
         try {
             // MySQL JDBC 드라이버 로드
@@ -34,14 +76,19 @@ public class DBConnection {
             config.setPassword(PASSWORD);
 
             // Connection Pool 설정 (ConfigManager에서 읽기)
-            config.setMaximumPoolSize(ConfigManager.getInt("db.pool.maximum.size", 10));
+            config.setMaximumPoolSize(POOL_SIZE);
             config.setMinimumIdle(ConfigManager.getInt("db.pool.minimum.idle", 2));
-            config.setConnectionTimeout(ConfigManager.getLong("db.pool.connection.timeout", 30000));
+            config.setConnectionTimeout(CONNECTION_TIMEOUT);
             config.setIdleTimeout(ConfigManager.getLong("db.pool.idle.timeout", 600000));
             config.setMaxLifetime(ConfigManager.getLong("db.pool.max.lifetime", 1800000));
 
+            // 일괄 INSERT(addBatch/executeBatch)를 다중 행 INSERT 한 번으로 전송
+            config.addDataSourceProperty("rewriteBatchedStatements",
+                ConfigManager.getBoolean("db.rewrite.batched.statements", true));
+
             // 풀 이름 설정 (로깅용)
             config.setPoolName(ConfigManager.getString("db.pool.name", "MadangDB-Pool"));
+            Metrics.register(config);
 
             // DataSource 생성
             dataSource = new HikariDataSource(config);
@@ -54,9 +101,199 @@ public class DBConnection {
 
     /**
      * 데이터베이스 연결 생성 (Connection Pool에서 가져오기)
+     * 동시 사용 제한이 있으면 허가를 받은 후 연결을 가져오고, 연결을 닫을 때 허가를 반납
+     * 한 요청 안에서 연결을 닫기 전에 다른 연결을 가져오면 제한에 걸려 대기할 수 있음
+     * SQL 추적(logging.sql.enabled)이 켜져 있으면 실행 시간을 재는 연결로 감싸서 반환
      */
     public static Connection getConnection() throws SQLException {
-        return dataSource.getConnection();
+        if (PERMITS == null) {
+            return SqlTrace.wrap(dataSource.getConnection());
+        }
+
+        // 종류별 제한을 먼저 받아, 종류별 제한에 걸려 기다리는 동안 전체 허가를 잡고 있지 않도록 함
+        Bulkhead route = Bulkhead.current();
+        Semaphore routePermits = route == null ? null : routePermits(route.getName());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(CONNECTION_TIMEOUT);
+        if (routePermits != null) {
+            acquire(routePermits, deadline, route.getName() + " 동시 사용 제한");
+        }
+        try {
+            acquire(PERMITS, deadline, "동시 사용 제한 " + CONCURRENCY_LIMIT);
+        } catch (SQLException e) {
+            if (routePermits != null) {
+                routePermits.release();
+            }
+            throw e;
+        }
+
+        try {
+            // 닫을 때 허가를 반납하는 연결 (추적이 꺼져 있으면 Statement는 감싸지 않음)
+            return new TracedConnection(dataSource.getConnection(), SqlTrace.isWrapping(), PERMITS, routePermits);
+        } catch (SQLException | RuntimeException e) {
+            PERMITS.release();
+            if (routePermits != null) {
+                routePermits.release();
+            }
+            throw e;
+        }
+    }
+
+    private static void acquire(Semaphore permits, long deadline, String limit) throws SQLException {
+        try {
+            if (!permits.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                throw new SQLTransientConnectionException(
+                    "DB 연결 대기 시간 초과 (" + CONNECTION_TIMEOUT + "ms, " + limit + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("DB 연결 대기 중 인터럽트됨", e);
+        }
+    }
+
+    /**
+     * 요청 종류별 허가 (제한이 없거나 전체 제한 이상이면 null)
+     */
+    private static Semaphore routePermits(String route) {
+        return ROUTE_PERMITS.computeIfAbsent(route, name -> {
+            int defaultLimit = "stats".equals(name) ? Math.max(1, CONCURRENCY_LIMIT / 2) : 0;
+            int limit = ConfigManager.getInt("db.concurrency." + name + ".limit", defaultLimit);
+            return limit > 0 && limit < CONCURRENCY_LIMIT ? Optional.of(new Semaphore(limit, true)) : Optional.empty();
+        }).orElse(null);
+    }
+
+    /**
+     * 읽기 전용 조회용 연결 (통계, 검색 등 약간 늦은 데이터가 허용되는 조회)
+     * 사용 가능한 복제본이 없거나, 현재 사용자가 방금 쓰기를 했으면 기본 DB 연결을 반환
+     */
+    public static Connection getReadConnection() throws SQLException {
+        if (REPLICAS != null && !isStickyToPrimary()) {
+            Connection conn = REPLICAS.getConnection();
+            if (conn != null) {
+                return SqlTrace.wrap(conn);
+            }
+        }
+        return getConnection();
+    }
+
+    /**
+     * 현재 스레드에서 처리할 요청의 사용자 지정 (요청 처리 시작 시 호출, 끝나면 clearClient())
+     */
+    public static void bindClient(String clientKey) {
+        CURRENT_CLIENT.set(clientKey);
+    }
+
+    public static void clearClient() {
+        CURRENT_CLIENT.remove();
+    }
+
+    /**
+     * 현재 사용자가 쓰기를 했음을 기록 (db.replica.sticky.millis 동안 읽기도 기본 DB 사용)
+     */
+    public static void markWritten() {
+        String client = CURRENT_CLIENT.get();
+        if (REPLICAS == null || client == null) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        PRIMARY_UNTIL.put(client, now + STICKY_MILLIS);
+        if (PRIMARY_UNTIL.size() > 10000) {
+            PRIMARY_UNTIL.values().removeIf(until -> until <= now);
+        }
+    }
+
+    private static boolean isStickyToPrimary() {
+        String client = CURRENT_CLIENT.get();
+        if (client == null) {
+            return false;
+        }
+        Long until = PRIMARY_UNTIL.get(client);
+        if (until == null) {
+            return false;
+        }
+        if (until <= System.currentTimeMillis()) {
+            PRIMARY_UNTIL.remove(client, until);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 복제본 풀 생성 (db.replica.*)
+     * - db.replica.urls: 쉼표로 구분한 JDBC URL 목록
+     * - db.replica.user / db.replica.password: 기본값은 기본 DB와 동일
+     * - db.replica.pool.maximum.size, db.replica.connection.timeout: 복제본별 풀 설정
+     * - db.replica.max.lag.seconds: 이보다 지연된 복제본은 사용하지 않음
+     * - db.replica.health.interval: 상태 확인 주기 (ms)
+     */
+    private static ReadReplicas createReplicas() {
+        List<String> urls = new ArrayList<>();
+        for (String url : ConfigManager.getString("db.replica.urls", "").split(",")) {
+            if (!url.isBlank()) {
+                urls.add(url.trim());
+            }
+        }
+        if (urls.isEmpty()) {
+            return null;
+        }
+
+        ReadReplicas replicas = new ReadReplicas(urls,
+            ConfigManager.getString("db.replica.user", USER),
+            ConfigManager.getString("db.replica.password", PASSWORD),
+            ConfigManager.getInt("db.replica.pool.maximum.size", 5),
+            ConfigManager.getLong("db.replica.connection.timeout", 2000),
+            ConfigManager.getLong("db.replica.max.lag.seconds", 5),
+            ConfigManager.getLong("db.replica.health.interval", 5000));
+        System.out.println("✅ Read replica pools initialized: " + urls.size());
+        return replicas;
+    }
+
+    /**
+     * 복제본 상태 (헬스체크용, 복제본이 없으면 enabled=false)
+     */
+    public static Map<String, Object> getReplicaStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", REPLICAS != null);
+        if (REPLICAS != null) {
+            status.put("replicaReads", REPLICAS.getReplicaReads());
+            status.put("primaryFallbacks", REPLICAS.getFallbacks());
+            status.put("replicas", REPLICAS.status());
+        }
+        return status;
+    }
+
+    /**
+     * 스트리밍 조회용 PreparedStatement 생성
+     * MySQL 드라이버는 fetchSize가 Integer.MIN_VALUE일 때 결과를 한 행씩 서버에서 받아옴
+     * (결과 전체를 메모리에 올리지 않음, 조회가 끝날 때까지 해당 연결로 다른 쿼리 실행 불가)
+     */
+    public static PreparedStatement prepareStreaming(Connection conn, String sql) throws SQLException {
+        PreparedStatement pstmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        pstmt.setFetchSize(Integer.MIN_VALUE);
+        return pstmt;
+    }
+
+    /**
+     * 실행 중인 쿼리 취소 (스트리밍 조회를 중간에 멈출 때 사용)
+     * 취소하지 않으면 ResultSet을 닫을 때 남은 행을 모두 읽어 버림
+     */
+    public static void cancel(PreparedStatement pstmt) {
+        try {
+            if (pstmt != null) pstmt.cancel();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * 트랜잭션 롤백 (실패 시 원래 예외를 가리지 않도록 로그만 남김)
+     */
+    public static void rollback(Connection conn) {
+        try {
+            if (conn != null) conn.rollback();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
     }
 
     /**
@@ -105,6 +342,10 @@ public class DBConnection {
      * Connection Pool 종료 (애플리케이션 종료 시 호출)
      */
     public static void shutdown() {
+        SqlTrace.flush();
+        if (REPLICAS != null) {
+            REPLICAS.shutdown();
+        }
         if (dataSource != null && !dataSource.isClosed()) {
             dataSource.close();
             System.out.println("✅ HikariCP Connection Pool shut down successfully");
@@ -116,12 +357,13 @@ public class DBConnection {
      */
     public static String getPoolInfo() {
         if (dataSource != null) {
-            return String.format("Pool: %s | Active: %d | Idle: %d | Total: %d | Waiting: %d",
+            return String.format("Pool: %s | Active: %d | Idle: %d | Total: %d | Waiting: %d | Queued: %d",
                     dataSource.getPoolName(),
                     dataSource.getHikariPoolMXBean().getActiveConnections(),
                     dataSource.getHikariPoolMXBean().getIdleConnections(),
                     dataSource.getHikariPoolMXBean().getTotalConnections(),
-                    dataSource.getHikariPoolMXBean().getThreadsAwaitingConnection()
+                    dataSource.getHikariPoolMXBean().getThreadsAwaitingConnection(),
+                    PERMITS != null ? PERMITS.getQueueLength() : 0
             );
         }
         return "Pool not initialized";
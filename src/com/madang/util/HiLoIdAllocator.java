@@ -0,0 +1,185 @@
+package com.madang.util;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 구간 예약(hi/lo) 방식 ID 발급기
+ *
+ * IdSequence 테이블의 next_val을 blockSize만큼 한 번에 올려 [시작, 시작 + blockSize) 구간을 예약하고,
+ * 구간 안의 ID는 DB 조회 없이 AtomicLong으로 나눠줍니다.
+ * - INSERT마다 MAX(id) + 1을 조회하지 않으므로 등록이 한 번의 왕복으로 끝남
+ * - 예약은 행 잠금이 걸린 UPDATE 한 번이므로 여러 서버/스레드가 같은 ID를 받지 않음
+ * - 서버가 재시작되면 쓰지 않은 구간은 버려짐 (ID에 빈 번호가 생길 수 있음)
+ *
+ * 테이블 구조 (sql/add_sequences.sql, 없으면 처음 사용할 때 생성):
+ * <pre>
+ * CREATE TABLE IdSequence (
+ *     seq_name VARCHAR(64) PRIMARY KEY,
+ *     next_val BIGINT NOT NULL
+ * )
+ * </pre>
+ */
+public class HiLoIdAllocator implements IdAllocator {
+
+    private static final String TABLE_NOT_FOUND = "42S02";
+
+    private static final String CREATE_SQL =
+        "CREATE TABLE IF NOT EXISTS IdSequence (" +
+        "seq_name VARCHAR(64) NOT NULL PRIMARY KEY, " +
+        "next_val BIGINT NOT NULL)";
+
+    private final String sequence;
+    private final int blockSize;
+    private final String seedSql;
+    private final String reserveSql;
+    private final String firstReserveSql;
+
+    private final ReentrantLock refillLock = new ReentrantLock();
+    private volatile Block block = new Block(0, 0);
+    private volatile boolean synced = false;  // 서버 시작 후 실제 데이터의 MAX(id)와 맞췄는지 여부
+
+    /**
+     * 예약된 ID 구간 [next, end)
+     */
+    private static final class Block {
+        final AtomicLong next;
+        final long end;
+
+        Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+
+    /**
+     * @param table 테이블명 (시퀀스 이름으로 사용)
+     * @param idColumn 기본 키 컬럼명
+     * @param blockSize 한 번에 예약할 ID 개수
+     */
+    public HiLoIdAllocator(String table, String idColumn, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("ID 예약 구간 크기는 1 이상이어야 합니다.");
+        }
+        this.sequence = table;
+        this.blockSize = blockSize;
+
+        String maxPlusOne = "IFNULL(MAX(" + idColumn + "), 0) + 1 FROM " + table;
+        this.seedSql = "INSERT IGNORE INTO IdSequence (seq_name, next_val) SELECT ?, " + maxPlusOne;
+        this.reserveSql = "UPDATE IdSequence SET next_val = LAST_INSERT_ID(next_val + ?) WHERE seq_name = ?";
+        // 서버 시작 후 첫 예약은 스크립트 등으로 직접 추가된 행을 건너뛰도록 MAX(id)와 비교
+        this.firstReserveSql = "UPDATE IdSequence SET next_val = LAST_INSERT_ID(GREATEST(next_val, (SELECT " + maxPlusOne +
+                               ")) + ?) WHERE seq_name = ?";
+    }
+
+    @Override
+    public int nextId() throws SQLException {
+        while (true) {
+            Block current = block;
+            long id = current.next.getAndIncrement();
+            if (id < current.end) {
+                return Math.toIntExact(id);
+            }
+
+            // 구간을 다 쓴 경우에만 잠금 (다른 스레드가 이미 새 구간을 받았으면 그대로 사용)
+            refillLock.lock();
+            try {
+                if (block == current) {
+                    long end = reserve(blockSize);
+                    block = new Block(end - blockSize, end);
+                }
+            } finally {
+                refillLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * count개의 연속된 ID를 한 번에 예약 (대량 적재용)
+     * 같은 시퀀스를 쓰는 다른 발급기(다른 서버 포함)가 나눠주는 ID와 겹치지 않음
+     *
+     * @return 예약한 구간의 첫 ID
+     */
+    public int reserveRange(int count) throws SQLException {
+        if (count < 1) {
+            throw new IllegalArgumentException("예약할 ID 개수는 1 이상이어야 합니다: " + count);
+        }
+        return Math.toIntExact(reserve(count) - count);
+    }
+
+    /**
+     * 새 ID 구간 예약
+     * 예약은 호출한 쪽의 트랜잭션과 무관하게 별도 연결에서 바로 커밋됨
+     *
+     * @return 예약한 구간의 끝 (구간은 [끝 - size, 끝))
+     */
+    private long reserve(int size) throws SQLException {
+        Connection conn = null;
+        try {
+            conn = DBConnection.getConnection();
+            conn.setAutoCommit(true);
+
+            long end;
+            try {
+                end = tryReserve(conn, size);
+            } catch (SQLException e) {
+                if (!TABLE_NOT_FOUND.equals(e.getSQLState())) {
+                    throw e;
+                }
+                execute(conn, CREATE_SQL);
+                end = -1;
+            }
+
+            if (end < 0) {
+                // 시퀀스 행이 없으면 현재 MAX(id) + 1로 생성 후 다시 예약
+                try (PreparedStatement pstmt = conn.prepareStatement(seedSql)) {
+                    pstmt.setString(1, sequence);
+                    SqlLogger.logUpdate(seedSql, sequence);
+                    pstmt.executeUpdate();
+                }
+                end = tryReserve(conn, size);
+                if (end < 0) {
+                    throw new SQLException("ID 시퀀스를 만들 수 없습니다: " + sequence);
+                }
+            }
+
+            synced = true;
+            return end;
+        } finally {
+            DBConnection.close(conn, null);
+        }
+    }
+
+    /**
+     * @return 예약한 구간의 끝 (시퀀스 행이 없으면 -1)
+     */
+    private long tryReserve(Connection conn, int size) throws SQLException {
+        String sql = synced ? reserveSql : firstReserveSql;
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, size);
+            pstmt.setString(2, sequence);
+            SqlLogger.logUpdate(sql, size, sequence);
+            if (pstmt.executeUpdate() == 0) {
+                return -1;
+            }
+        }
+
+        // LAST_INSERT_ID(expr)로 저장한 값은 같은 연결에서만 보임
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT LAST_INSERT_ID()");
+             ResultSet rs = pstmt.executeQuery()) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static void execute(Connection conn, String sql) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            SqlLogger.logUpdate(sql);
+            pstmt.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.madang.util;
+
+import java.sql.SQLException;
+
+/**
+ * 기본 키(ID) 발급기
+ *
+ * INSERT 전에 사용할 ID를 발급합니다.
+ * 구현 방식은 설정 파일의 id.allocator 값으로 선택합니다.
+ * - hilo (기본값): IdSequence 테이블에서 ID 구간을 미리 예약해 JVM 안에서 나눠줌 ({@link HiLoIdAllocator})
+ * - max: 매번 MAX(id) + 1 조회 (기존 방식, 동시 등록 시 ID 충돌 가능) ({@link MaxIdAllocator})
+ */
+public interface IdAllocator {
+
+    /**
+     * 다음 ID 발급 (같은 발급기에서 같은 ID가 두 번 나오지 않음)
+     */
+    int nextId() throws SQLException;
+
+    /**
+     * 테이블용 발급기 생성
+     *
+     * @param table 테이블명 (시퀀스 이름으로도 사용, 예: "Orders")
+     * @param idColumn 기본 키 컬럼명 (예: "orderid")
+     */
+    static IdAllocator create(String table, String idColumn) {
+        String type = ConfigManager.getString("id.allocator", "hilo");
+        if ("max".equalsIgnoreCase(type)) {
+            return new MaxIdAllocator(table, idColumn);
+        }
+        return new HiLoIdAllocator(table, idColumn, ConfigManager.getInt("id.allocator.block.size", 50));
+    }
+}
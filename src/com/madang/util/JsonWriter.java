@@ -0,0 +1,306 @@
+package com.madang.util;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * 스트리밍 JSON 작성기
+ *
+ * 응답 전체를 String으로 만들지 않고 출력 스트림에 바로 기록합니다.
+ * 결과 크기와 관계없이 버퍼 크기만큼의 메모리만 사용합니다.
+ *
+ * 사용 예시:
+ * <pre>
+ * out.beginObject()
+ *    .name("bookid").value(1)
+ *    .name("bookname").value("축구의 역사")
+ *    .endObject();
+ * </pre>
+ */
+public class JsonWriter implements Closeable, Flushable {
+
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Writer out;
+
+    // 중첩 단계별 "아직 요소가 없음" 여부 (쉼표 출력 판단용)
+    private boolean[] empty = new boolean[16];
+    private int depth = 0;
+    private boolean afterName = false;
+
+    public JsonWriter(Writer out) {
+        this.out = out;
+    }
+
+    /**
+     * 출력 스트림용 작성기 생성 (UTF-8, 버퍼 포함)
+     */
+    public static JsonWriter of(OutputStream stream) {
+        return new JsonWriter(new BufferedWriter(
+            new OutputStreamWriter(stream, StandardCharsets.UTF_8), DEFAULT_BUFFER_SIZE));
+    }
+
+    /**
+     * 작은 객체를 문자열로 변환할 때 사용 (toJson() 하위 호환용)
+     */
+    public static String toJson(JsonBody body) {
+        StringWriter buffer = new StringWriter();
+        try {
+            body.writeTo(new JsonWriter(buffer));
+        } catch (Exception e) {
+            throw new IllegalStateException("JSON 변환에 실패했습니다.", e);
+        }
+        return buffer.toString();
+    }
+
+    public JsonWriter beginObject() throws IOException {
+        return open('{');
+    }
+
+    public JsonWriter endObject() throws IOException {
+        return close('}');
+    }
+
+    public JsonWriter beginArray() throws IOException {
+        return open('[');
+    }
+
+    public JsonWriter endArray() throws IOException {
+        return close(']');
+    }
+
+    /**
+     * 객체의 키 작성
+     */
+    public JsonWriter name(String name) throws IOException {
+        separator();
+        out.write('"');
+        escape(name, out);
+        out.write("\":");
+        afterName = true;
+        return this;
+    }
+
+    public JsonWriter value(String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        separator();
+        out.write('"');
+        escape(value, out);
+        out.write('"');
+        return this;
+    }
+
+    public JsonWriter value(long value) throws IOException {
+        separator();
+        out.write(Long.toString(value));
+        return this;
+    }
+
+    /**
+     * JSON에는 NaN, Infinity가 없으므로 유한하지 않은 값은 null로 기록 (예: 0으로 나눈 평균)
+     */
+    public JsonWriter value(double value) throws IOException {
+        if (!Double.isFinite(value)) {
+            return nullValue();
+        }
+        separator();
+        out.write(Double.toString(value));
+        return this;
+    }
+
+    public JsonWriter value(boolean value) throws IOException {
+        separator();
+        out.write(value ? "true" : "false");
+        return this;
+    }
+
+    public JsonWriter value(Number value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        if ((value instanceof Double || value instanceof Float) && !Double.isFinite(value.doubleValue())) {
+            return nullValue();
+        }
+        separator();
+        out.write(value.toString());
+        return this;
+    }
+
+    public JsonWriter nullValue() throws IOException {
+        separator();
+        out.write("null");
+        return this;
+    }
+
+    /**
+     * 이미 직렬화된 JSON 조각을 그대로 기록
+     */
+    public JsonWriter rawValue(String json) throws IOException {
+        separator();
+        out.write(json);
+        return this;
+    }
+
+    /**
+     * 임의의 값 기록 (Map, Iterable, String, Number, Boolean, null)
+     * 그 외 타입은 toString() 결과를 문자열로 기록
+     */
+    public JsonWriter writeValue(Object value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        if (value instanceof String s) {
+            return value(s);
+        }
+        if (value instanceof Number n) {
+            return value(n);
+        }
+        if (value instanceof Boolean b) {
+            return value(b.booleanValue());
+        }
+        if (value instanceof Map<?, ?> map) {
+            beginObject();
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                name(String.valueOf(entry.getKey()));
+                writeValue(entry.getValue());
+            }
+            return endObject();
+        }
+        if (value instanceof Iterable<?> items) {
+            beginArray();
+            for (Object item : items) {
+                writeValue(item);
+            }
+            return endArray();
+        }
+        return value(value.toString());
+    }
+
+    /**
+     * 목록을 JSON 배열로 기록
+     */
+    public <T> JsonWriter array(Iterable<T> items, ItemWriter<T> itemWriter) throws IOException {
+        beginArray();
+        for (T item : items) {
+            itemWriter.write(item, this);
+        }
+        return endArray();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    /**
+     * JSON 문자열 이스케이프 (프로젝트 공통 이스케이프 루틴)
+     */
+    public static void escape(String str, Appendable sb) throws IOException {
+        if (str == null) return;
+        int length = str.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            char c = str.charAt(i);
+            String replacement;
+            if (c == '"') {
+                replacement = "\\\"";
+            } else if (c == '\\') {
+                replacement = "\\\\";
+            } else if (c == '\n') {
+                replacement = "\\n";
+            } else if (c == '\r') {
+                replacement = "\\r";
+            } else if (c == '\t') {
+                replacement = "\\t";
+            } else if (c < 0x20 || c == '\u2028' || c == '\u2029') {
+                replacement = "\\u" + HEX[(c >> 12) & 0xF] + HEX[(c >> 8) & 0xF] + HEX[(c >> 4) & 0xF] + HEX[c & 0xF];
+            } else {
+                continue;
+            }
+            if (start < i) {
+                sb.append(str, start, i);
+            }
+            sb.append(replacement);
+            start = i + 1;
+        }
+        if (start < length) {
+            sb.append(str, start, length);
+        }
+    }
+
+    /**
+     * JSON 문자열 이스케이프 (문자열 반환)
+     */
+    public static String escape(String str) {
+        if (str == null) return "";
+        StringBuilder sb = new StringBuilder(str.length() + 8);
+        try {
+            escape(str, sb);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);  // StringBuilder는 IOException을 던지지 않음
+        }
+        return sb.toString();
+    }
+
+    private JsonWriter open(char bracket) throws IOException {
+        separator();
+        out.write(bracket);
+        if (++depth == empty.length) {
+            boolean[] grown = new boolean[empty.length * 2];
+            System.arraycopy(empty, 0, grown, 0, empty.length);
+            empty = grown;
+        }
+        empty[depth] = true;
+        return this;
+    }
+
+    private JsonWriter close(char bracket) throws IOException {
+        if (depth == 0) {
+            throw new IllegalStateException("닫을 JSON 객체/배열이 없습니다.");
+        }
+        depth--;
+        out.write(bracket);
+        return this;
+    }
+
+    /**
+     * 값/키 앞에 필요한 쉼표 출력
+     */
+    private void separator() throws IOException {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (depth > 0) {
+            if (empty[depth]) {
+                empty[depth] = false;
+            } else {
+                out.write(',');
+            }
+        }
+    }
+
+    /**
+     * 목록 요소 하나를 기록하는 함수
+     */
+    @FunctionalInterface
+    public interface ItemWriter<T> {
+        void write(T item, JsonWriter out) throws IOException;
+    }
+}
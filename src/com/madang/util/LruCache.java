@@ -0,0 +1,198 @@
+package com.madang.util;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 크기/유효 시간 제한이 있는 LRU 읽기 캐시 (read-through)
+ *
+ * DAO 조회 결과를 JVM 안에 보관해 같은 키의 반복 조회가 DB까지 가지 않도록 합니다.
+ * - 최대 개수를 넘으면 가장 오래 사용하지 않은 항목부터 제거 (LRU)
+ * - 유효 시간(TTL)이 지난 항목은 다음 조회 때 다시 읽음
+ * - 쓰기 후 invalidate()로 항목 제거 (조회 도중 무효화되면 읽은 값을 캐시에 넣지 않음)
+ *
+ * 설정 (name이 "book"인 경우):
+ * <pre>
+ * cache.enabled=true         # false면 모든 캐시를 거치지 않고 바로 조회
+ * cache.book.size=1000       # 최대 항목 수
+ * cache.book.ttl=300000      # 유효 시간 (ms)
+ * </pre>
+ *
+ * 캐시된 객체는 여러 요청이 공유하므로 꺼낸 객체를 수정하면 안 됩니다.
+ */
+public final class LruCache<K, V> {
+
+    private static final boolean ENABLED = ConfigManager.getBoolean("cache.enabled", true);
+
+    // 생성된 모든 캐시 (통계 조회용)
+    private static final List<LruCache<?, ?>> REGISTRY = new CopyOnWriteArrayList<>();
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    // 무효화 세대 (조회 중 무효화된 값을 캐시에 넣지 않기 위함)
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    /**
+     * 캐시가 없을 때 값을 읽어오는 함수 (보통 DAO의 DB 조회)
+     */
+    @FunctionalInterface
+    public interface Loader<K, V> {
+        V load(K key) throws SQLException;
+    }
+
+    public LruCache(String name, int maxSize, long ttlMillis) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("캐시 크기는 1 이상이어야 합니다: " + name);
+        }
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > LruCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        REGISTRY.add(this);
+    }
+
+    /**
+     * 설정 파일 기준으로 캐시 생성 (cache.{name}.size, cache.{name}.ttl)
+     */
+    public static <K, V> LruCache<K, V> fromConfig(String name, int defaultSize, long defaultTtlMillis) {
+        return new LruCache<>(name,
+            ConfigManager.getInt("cache." + name + ".size", defaultSize),
+            ConfigManager.getLong("cache." + name + ".ttl", defaultTtlMillis));
+    }
+
+    /**
+     * 캐시 조회, 없으면 loader로 읽어서 저장
+     * loader가 null을 반환하면 저장하지 않음 (없는 ID는 매번 조회)
+     */
+    public V get(K key, Loader<K, V> loader) throws SQLException {
+        if (!ENABLED) {
+            return loader.load(key);
+        }
+
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt() > now) {
+                    hits.increment();
+                    return entry.value();
+                }
+                entries.remove(key);
+                expirations.increment();
+            }
+        }
+
+        misses.increment();
+        long loadGeneration = generation.get();
+        V value = loader.load(key);  // DB 조회는 잠금 밖에서 실행
+
+        if (value != null) {
+            synchronized (entries) {
+                if (loadGeneration == generation.get()) {
+                    entries.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis));
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * 항목 하나 제거 (해당 데이터를 수정/삭제한 후 호출)
+     */
+    public void invalidate(K key) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * 전체 제거
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.clear();
+        }
+    }
+
+    /**
+     * 만료된 항목 정리 (조회 시에도 정리되므로 선택 사항)
+     */
+    public void cleanUp() {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Iterator<Entry<V>> it = entries.values().iterator();
+            while (it.hasNext()) {
+                if (it.next().expiresAt() <= now) {
+                    it.remove();
+                    expirations.increment();
+                }
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * 캐시 통계 (hits, misses, hitRate, evictions, expirations, size, maxSize)
+     */
+    public Map<String, Object> stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("name", name);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", total == 0 ? 0.0 : (double) hitCount / total);
+        stats.put("evictions", evictions.sum());
+        stats.put("expirations", expirations.sum());
+        stats.put("size", size());
+        stats.put("maxSize", maxSize);
+        return stats;
+    }
+
+    /**
+     * 생성된 모든 캐시 목록
+     */
+    public static List<LruCache<?, ?>> all() {
+        return Collections.unmodifiableList(REGISTRY);
+    }
+}
@@ -0,0 +1,42 @@
+package com.madang.util;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * MAX(id) + 1 방식 ID 발급기 (기존 방식)
+ * IdSequence 테이블을 만들 수 없는 환경용이며, 동시에 등록하면 같은 ID가 발급될 수 있음
+ */
+public class MaxIdAllocator implements IdAllocator {
+
+    private final String sql;
+
+    public MaxIdAllocator(String table, String idColumn) {
+        this.sql = "SELECT IFNULL(MAX(" + idColumn + "), 0) + 1 AS next_id FROM " + table;
+    }
+
+    @Override
+    public int nextId() throws SQLException {
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+
+        try {
+            conn = DBConnection.getConnection();
+            pstmt = conn.prepareStatement(sql);
+
+            SqlLogger.logQuery(sql);
+            rs = pstmt.executeQuery();
+
+            if (rs.next()) {
+                return rs.getInt("next_id");
+            }
+        } finally {
+            DBConnection.close(conn, pstmt, rs);
+        }
+
+        return 1;
+    }
+}
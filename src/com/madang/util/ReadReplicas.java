@@ -0,0 +1,207 @@
+package com.madang.util;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLSyntaxErrorException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 읽기 전용 복제본(replica) 연결 풀 관리
+ *
+ * 복제본마다 별도의 HikariCP 풀을 두고, 주기적으로 복제 상태를 확인해
+ * 정상이고 지연(lag)이 허용 범위 이내인 복제본에만 읽기 요청을 돌아가며 보냅니다.
+ * - 연결 실패, 복제 중지, 지연 초과인 복제본은 다음 확인 때까지 제외
+ * - 복제 상태 정보가 없는 인스턴스(복제 설정이 없는 별도 MySQL)는 지연 0으로 간주 (로컬 테스트용)
+ * - 복제 상태 확인에는 REPLICATION CLIENT 권한이 필요 (없으면 지연을 알 수 없으므로 제외하고 헬스체크에 표시)
+ * - 사용할 수 있는 복제본이 없으면 getConnection()이 null을 반환 (DBConnection이 기본 DB로 대체)
+ *
+ * 설정은 DBConnection의 db.replica.* 항목 참고
+ */
+class ReadReplicas {
+
+    private static final class Replica {
+        final HikariDataSource dataSource;
+        volatile boolean healthy = false;  // 첫 확인 전에는 사용하지 않음
+        volatile long lagSeconds = -1;
+        volatile String lastError;
+
+        Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService checker;
+    private volatile boolean legacyStatusSyntax = false;  // MySQL 8.0.22 미만은 SHOW SLAVE STATUS
+
+    // MySQL 오류 코드
+    private static final int ER_PARSE_ERROR = 1064;
+    private static final int ER_SPECIFIC_ACCESS_DENIED_ERROR = 1227;
+
+    private final LongAdder replicaReads = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+
+    /**
+     * @param urls 복제본 JDBC URL 목록
+     * @param poolSize 복제본별 최대 연결 수
+     * @param connectionTimeout 복제본 연결 대기 시간 (ms, 짧게 두어야 빨리 기본 DB로 대체)
+     * @param maxLagSeconds 허용할 최대 복제 지연 (초)
+     * @param checkIntervalMillis 상태 확인 주기 (ms)
+     */
+    ReadReplicas(List<String> urls, String user, String password, int poolSize,
+                 long connectionTimeout, long maxLagSeconds, long checkIntervalMillis) {
+        this.maxLagSeconds = maxLagSeconds;
+
+        for (int i = 0; i < urls.size(); i++) {
+            HikariConfig config = new HikariConfig();
+            config.setJdbcUrl(urls.get(i));
+            config.setUsername(user);
+            config.setPassword(password);
+            config.setMaximumPoolSize(poolSize);
+            config.setMinimumIdle(Math.min(2, poolSize));
+            config.setConnectionTimeout(connectionTimeout);
+            config.setReadOnly(true);
+            config.setInitializationFailTimeout(-1);  // 복제본이 꺼져 있어도 서버는 시작
+            config.setPoolName(ConfigManager.getString("db.pool.name", "MadangDB-Pool") + "-Replica" + (i + 1));
+            Metrics.register(config);
+            replicas.add(new Replica(new HikariDataSource(config)));
+        }
+
+        this.checker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "db-replica-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.checker.scheduleWithFixedDelay(this::checkAll, 0, checkIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 사용 가능한 복제본 연결 (돌아가며 선택)
+     *
+     * @return 사용할 수 있는 복제본이 없으면 null
+     */
+    Connection getConnection() {
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (!isUsable(replica)) {
+                continue;
+            }
+            try {
+                Connection conn = replica.dataSource.getConnection();
+                replicaReads.increment();
+                return conn;
+            } catch (SQLException e) {
+                // 다음 상태 확인에서 복구될 때까지 제외
+                replica.healthy = false;
+                replica.lastError = e.getMessage();
+            }
+        }
+
+        fallbacks.increment();
+        return null;
+    }
+
+    private boolean isUsable(Replica replica) {
+        return replica.healthy && replica.lagSeconds <= maxLagSeconds;
+    }
+
+    /**
+     * 모든 복제본 상태 확인 (연결 가능 여부, 복제 지연)
+     */
+    void checkAll() {
+        for (Replica replica : replicas) {
+            try (Connection conn = replica.dataSource.getConnection()) {
+                long lag = replicationLag(conn);
+                replica.lagSeconds = lag;
+                replica.healthy = lag >= 0;
+                replica.lastError = lag >= 0 ? null : "복제가 중지되었습니다.";
+            } catch (SQLException e) {
+                replica.healthy = false;
+                replica.lastError = e.getMessage();
+            }
+        }
+    }
+
+    /**
+     * 복제 지연 (초)
+     *
+     * @return 복제 상태 정보가 없으면 0, 복제가 중지되었으면 -1
+     */
+    private long replicationLag(Connection conn) throws SQLException {
+        boolean legacy = legacyStatusSyntax;
+        String sql = legacy ? "SHOW SLAVE STATUS" : "SHOW REPLICA STATUS";
+
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            if (!rs.next()) {
+                return 0;
+            }
+            long lag = rs.getLong(legacy ? "Seconds_Behind_Master" : "Seconds_Behind_Source");
+            return rs.wasNull() ? -1 : lag;
+        } catch (SQLSyntaxErrorException e) {
+            // 권한 부족도 SQLSyntaxErrorException(42000)이므로 오류 코드로 구분
+            switch (e.getErrorCode()) {
+                case ER_PARSE_ERROR -> {
+                    if (legacy) {
+                        throw e;
+                    }
+                    legacyStatusSyntax = true;
+                    return replicationLag(conn);
+                }
+                case ER_SPECIFIC_ACCESS_DENIED_ERROR -> throw new SQLException(
+                    "복제 상태를 확인할 권한이 없습니다 (REPLICATION CLIENT 권한 필요): " + e.getMessage(),
+                    e.getSQLState(), e.getErrorCode(), e);
+                default -> throw e;
+            }
+        }
+    }
+
+    /**
+     * 복제본별 상태 (헬스체크용)
+     */
+    List<Map<String, Object>> status() {
+        List<Map<String, Object>> status = new ArrayList<>();
+        for (Replica replica : replicas) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("pool", replica.dataSource.getPoolName());
+            item.put("usable", isUsable(replica));
+            item.put("healthy", replica.healthy);
+            item.put("lagSeconds", replica.lagSeconds);
+            item.put("error", replica.lastError);
+            status.add(item);
+        }
+        return status;
+    }
+
+    long getReplicaReads() {
+        return replicaReads.sum();
+    }
+
+    long getFallbacks() {
+        return fallbacks.sum();
+    }
+
+    void shutdown() {
+        checker.shutdownNow();
+        for (Replica replica : replicas) {
+            replica.dataSource.close();
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.madang.util;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * JSON 응답 압축 (gzip / deflate)
+ *
+ * 요청의 Accept-Encoding으로 압축 방식을 고르고, 응답 본문을 압축하면서 압축 통계를 집계합니다.
+ * 본문 전체를 모아두지 않고 기준 크기까지만 버퍼에 담아 둡니다.
+ * - 기준 크기를 넘으면 그때 압축을 시작하고 이후 내용은 바로 압축해 전송 (Content-Length 없이 chunked)
+ * - 기준 크기 전에 본문이 끝나면 압축하지 않고 그대로 전송 (작은 응답은 압축 이득보다 비용이 큼)
+ *
+ * 설정:
+ * <pre>
+ * compression.enabled=true     # false면 압축하지 않음
+ * compression.min.size=1024    # 이 크기(bytes) 이상인 응답만 압축
+ * compression.level=6          # 압축 수준 (1: 빠름 ~ 9: 작음)
+ * </pre>
+ */
+public class ResponseCompression {
+
+    private static final boolean ENABLED = ConfigManager.getBoolean("compression.enabled", true);
+    private static final int MIN_SIZE = ConfigManager.getInt("compression.min.size", 1024);
+    private static final int LEVEL = ConfigManager.getInt("compression.level", 6);
+
+    private static final LongAdder compressedResponses = new LongAdder();
+    private static final LongAdder skippedResponses = new LongAdder();
+    private static final LongAdder bytesIn = new LongAdder();
+    private static final LongAdder bytesOut = new LongAdder();
+    private static final LongAdder compressNanos = new LongAdder();
+
+    private ResponseCompression() {
+    }
+
+    /**
+     * 응답 헤더를 정하고 실제 출력 스트림을 여는 함수 (응답마다 처음 한 번만 호출)
+     */
+    @FunctionalInterface
+    public interface Target {
+        /**
+         * @param encoding Content-Encoding 값 (압축하지 않으면 null)
+         * @param length 본문 길이 (압축하면 미리 알 수 없으므로 -1)
+         */
+        OutputStream open(String encoding, long length) throws IOException;
+    }
+
+    /**
+     * Accept-Encoding에서 사용할 압축 방식 선택 (gzip 우선)
+     *
+     * @return "gzip", "deflate" 또는 압축하지 않으면 null
+     */
+    public static String negotiate(String acceptEncoding) {
+        if (!ENABLED || acceptEncoding == null) {
+            return null;
+        }
+
+        boolean deflate = false;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String coding = tokens[0].trim().toLowerCase();
+            if (tokens.length > 1 && tokens[1].replace(" ", "").matches("q=0(\\.0*)?")) {
+                continue;  // q=0은 거부 의미
+            }
+            if (coding.equals("gzip")) {
+                return "gzip";
+            }
+            if (coding.equals("deflate")) {
+                deflate = true;
+            }
+        }
+        return deflate ? "deflate" : null;
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * 압축 출력 스트림 생성
+     * 첫 출력이 나가기 전까지 target을 열지 않으므로, 그 전에 실패하면 응답을 에러로 바꿀 수 있음
+     * 반드시 close()해야 압축이 마무리됨
+     *
+     * @param encoding negotiate()가 반환한 압축 방식
+     */
+    public static OutputStream wrap(String encoding, Target target) {
+        return new CompressingStream(encoding, target);
+    }
+
+    /**
+     * 압축 통계 (압축/미압축 응답 수, 압축 전후 크기, 압축률, 압축 시간)
+     */
+    public static Map<String, Object> stats() {
+        long in = bytesIn.sum();
+        long out = bytesOut.sum();
+        long count = compressedResponses.sum();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", ENABLED);
+        stats.put("minSize", MIN_SIZE);
+        stats.put("compressedResponses", count);
+        stats.put("skippedResponses", skippedResponses.sum());
+        stats.put("bytesIn", in);
+        stats.put("bytesOut", out);
+        stats.put("ratio", out == 0 ? 0.0 : (double) in / out);
+        stats.put("compressMillis", compressNanos.sum() / 1_000_000);
+        stats.put("avgCompressMicros", count == 0 ? 0 : compressNanos.sum() / 1000 / count);
+        return stats;
+    }
+
+    /**
+     * 기준 크기까지 버퍼링 후 압축 여부를 정하는 출력 스트림
+     */
+    private static final class CompressingStream extends OutputStream {
+        private final String encoding;
+        private final Target target;
+        private final byte[] buffer = new byte[Math.max(MIN_SIZE, 0)];
+        private int buffered = 0;
+        private long written = 0;
+
+        private OutputStream out;            // 압축하지 않는 경우의 출력
+        private DeflaterOutputStream deflater;  // 압축하는 경우의 출력
+        private CountingStream counter;
+        private boolean closed = false;
+
+        CompressingStream(String encoding, Target target) {
+            this.encoding = encoding;
+            this.target = target;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            written += len;
+            if (out == null && deflater == null) {
+                if (buffered + len < buffer.length) {
+                    System.arraycopy(b, off, buffer, buffered, len);
+                    buffered += len;
+                    return;
+                }
+                startCompression();
+            }
+            writeThrough(b, off, len);
+        }
+
+        /**
+         * 버퍼가 아직 기준 크기 미만이면 아무것도 보내지 않음 (응답을 확정하지 않기 위함)
+         */
+        @Override
+        public void flush() throws IOException {
+            if (deflater != null) {
+                deflater.flush();
+            } else if (out != null) {
+                out.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+
+            if (deflater == null) {
+                if (out == null) {
+                    // 기준 크기 미만: 압축하지 않고 길이를 알려 한 번에 전송
+                    out = target.open(null, buffered);
+                    out.write(buffer, 0, buffered);
+                }
+                skippedResponses.increment();
+                out.close();
+                return;
+            }
+
+            long start = System.nanoTime();
+            try {
+                deflater.finish();
+            } finally {
+                compressNanos.add(System.nanoTime() - start);
+            }
+            compressedResponses.increment();
+            bytesIn.add(written);
+            bytesOut.add(counter.count);
+            deflater.close();
+        }
+
+        private void startCompression() throws IOException {
+            counter = new CountingStream(target.open(encoding, -1));
+            deflater = "gzip".equals(encoding)
+                ? new LevelGzipStream(counter)
+                : new LevelDeflateStream(counter);
+            writeThrough(buffer, 0, buffered);
+        }
+
+        private void writeThrough(byte[] b, int off, int len) throws IOException {
+            if (deflater == null) {
+                out.write(b, off, len);
+                return;
+            }
+            long start = System.nanoTime();
+            try {
+                deflater.write(b, off, len);
+            } finally {
+                compressNanos.add(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * 설정한 압축 수준을 쓰는 gzip 스트림 (GZIPOutputStream은 수준을 받는 생성자가 없음)
+     */
+    private static final class LevelGzipStream extends GZIPOutputStream {
+        LevelGzipStream(OutputStream out) throws IOException {
+            super(out, 8192);
+            def.setLevel(LEVEL);
+        }
+    }
+
+    /**
+     * 설정한 압축 수준을 쓰는 deflate 스트림 (기본 Deflater를 써야 close() 때 함께 해제됨)
+     */
+    private static final class LevelDeflateStream extends DeflaterOutputStream {
+        LevelDeflateStream(OutputStream out) {
+            super(out);
+            def.setLevel(LEVEL);
+        }
+    }
+
+    /**
+     * 압축 후 전송한 바이트 수 집계
+     */
+    private static final class CountingStream extends FilterOutputStream {
+        long count = 0;
+
+        CountingStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
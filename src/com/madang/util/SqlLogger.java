@@ -1,35 +1,53 @@
 package com.madang.util;
 
 import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * SQL 로그 (logging.sql.enabled=true일 때만 SqlTrace를 통해 표본/느린 쿼리를 기록)
+ */
 public class SqlLogger {
 
     /**
-     * SELECT 쿼리를 포맷하여 콘솔에 로그로 남깁니다.
+     * SELECT 쿼리를 로그 대상으로 남깁니다. (실행 시간과 함께 SqlTrace가 기록)
      * @param sql    실행할 SQL 문자열
      * @param params SQL에 바인딩될 파라미터
      */
     public static void logQuery(String sql, Object... params) {
-        System.out.println(formatSql(sql, "QUERY", params));
+        if (SqlTrace.ENABLED) {
+            SqlTrace.pending("QUERY", sql, params);
+        }
     }
 
     /**
-     * INSERT, UPDATE, DELETE 쿼리를 포맷하여 콘솔에 로그로 남깁니다.
+     * INSERT, UPDATE, DELETE 쿼리를 로그 대상으로 남깁니다. (실행 시간과 함께 SqlTrace가 기록)
      * @param sql    실행할 SQL 문자열
      * @param params SQL에 바인딩될 파라미터
      */
     public static void logUpdate(String sql, Object... params) {
-        System.out.println(formatSql(sql, "UPDATE", params));
+        if (SqlTrace.ENABLED) {
+            SqlTrace.pending("UPDATE", sql, params);
+        }
+    }
+
+    /**
+     * SqlTrace 출력 스레드에서 실행 기록 한 건을 포맷합니다.
+     */
+    static String format(SqlTrace.Event event) {
+        String time = String.format("%.3f ms", event.nanos() / (double) TimeUnit.MILLISECONDS.toNanos(1))
+                      + (event.slow() ? " (SLOW)" : "") + (event.failed() ? " (FAILED)" : "");
+        return formatSql(event.sql(), event.type(), time, event.params());
     }
 
     /**
      * SQL 쿼리 문자열을 읽기 쉽게 포맷팅하는 내부 메서드입니다.
      * @param sql    포맷팅할 원본 SQL 문자열
      * @param type   쿼리 종류 (e.g., "QUERY", "UPDATE")
+     * @param time   실행 시간
      * @param params 바인딩될 파라미터
      * @return 포맷팅된 전체 로그 문자열
      */
-    private static String formatSql(String sql, String type, Object... params) {
+    private static String formatSql(String sql, String type, String time, Object... params) {
         if (sql == null || sql.trim().isEmpty()) {
             return "";
         }
@@ -43,6 +61,7 @@ public class SqlLogger {
         StringBuilder logBuilder = new StringBuilder();
         logBuilder.append("\n┌───────────────── SQL Log ─────────────────┐");
         logBuilder.append("\n│ [TYPE] ").append(type);
+        logBuilder.append("\n│ [TIME] ").append(time);
         logBuilder.append("\n│ [SQL]  ").append(formattedSql.replaceAll("\n", "\n│        "));
         if (params != null && params.length > 0) {
             logBuilder.append("\n│ [PARAMS] ").append(Arrays.toString(params));
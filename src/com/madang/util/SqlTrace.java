@@ -0,0 +1,348 @@
+package com.madang.util;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Pattern;
+
+/**
+ * SQL 실행 추적 (SqlLogger의 출력 담당)
+ *
+ * logging.sql.enabled=true일 때만 동작합니다. 꺼져 있으면 SqlLogger 호출을 건너뛰고,
+ * 지표 수집(Metrics)도 꺼져 있으면 연결도 감싸지 않습니다.
+ * - DBConnection이 내주는 연결의 Statement 실행 시간을 재서 SQL 템플릿(공백, IN 목록을 정리한 SQL)별 분포에 누적
+ * - 표본(sample.every건 중 1건)과 느린 쿼리(slow.threshold 이상)만 기록 대상
+ * - 기록은 잠금 없는 링 버퍼에 넣고 백그라운드 스레드가 꺼내 포맷/출력 (요청 스레드는 stdout 잠금을 기다리지 않음)
+ * - 버퍼가 가득 차면 기록을 버리고 개수만 셈 (분포 집계는 그대로)
+ *
+ * 설정:
+ * <pre>
+ * logging.sql.enabled=false          # SQL 추적 사용
+ * logging.sql.sample.every=100       # N건 중 1건 기록 (1: 모두, 0: 느린 쿼리만)
+ * logging.sql.slow.threshold=200     # 이 시간(ms) 이상 걸린 쿼리는 항상 기록 (0: 사용 안 함)
+ * logging.sql.buffer.size=8192       # 링 버퍼 크기 (2의 거듭제곱으로 올림)
+ * logging.sql.file=                  # 기록 파일 (비우면 콘솔)
+ * </pre>
+ */
+public final class SqlTrace {
+
+    static final boolean ENABLED = ConfigManager.getBoolean("logging.sql.enabled", false);
+    private static final int SAMPLE_EVERY = ConfigManager.getInt("logging.sql.sample.every", 100);
+    private static final long SLOW_NANOS = TimeUnit.MILLISECONDS.toNanos(ConfigManager.getLong("logging.sql.slow.threshold", 200));
+
+    // 템플릿 수 상한 (동적으로 만든 SQL이 끝없이 늘어나지 않도록, 넘으면 OTHER로 합산)
+    private static final int MAX_TEMPLATES = 500;
+    private static final int MAX_CACHED_SQL = 2000;
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\?(\\s*,\\s*\\?)+");
+    private static final Pattern VALUES_LIST = Pattern.compile("\\(\\?, \\.\\.\\.\\)(\\s*,\\s*\\(\\?, \\.\\.\\.\\))+");
+
+    private static final ConcurrentHashMap<String, Template> TEMPLATES = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, Template> BY_SQL = new ConcurrentHashMap<>();
+    private static final Template OTHER = new Template("(기타)");
+
+    // SqlLogger.logQuery/logUpdate가 실행 직전에 남긴 SQL과 파라미터 (실행 시간과 함께 기록)
+    private static final ThreadLocal<Pending> PENDING = new ThreadLocal<>();
+
+    private static final Ring RING = new Ring(ConfigManager.getInt("logging.sql.buffer.size", 8192));
+    private static final LongAdder written = new LongAdder();
+    private static final LongAdder slow = new LongAdder();
+    private static final LongAdder dropped = new LongAdder();
+
+    private static volatile Thread writer;
+
+    private SqlTrace() {
+    }
+
+    /**
+     * 실행 직전의 SQL과 파라미터 (SqlLogger에서 호출)
+     */
+    static void pending(String type, String sql, Object[] params) {
+        PENDING.set(new Pending(type, sql, params));
+    }
+
+    /**
+     * 추적이나 지표 수집(Metrics)이 켜져 있으면 Statement 실행 시간을 재는 연결로 감쌈 (둘 다 꺼져 있으면 그대로 반환)
+     * 리플렉션 프록시 대신 직접 전달하는 래퍼(TracedConnection)를 사용해 set* 등 실행 외 호출에는 비용이 없음
+     */
+    public static Connection wrap(Connection conn) {
+        if (!isWrapping() || conn == null) {
+            return conn;
+        }
+        return new TracedConnection(conn);
+    }
+
+    /**
+     * Statement 실행 시간을 재야 하는지 (추적이나 지표 수집이 켜져 있음)
+     */
+    static boolean isWrapping() {
+        return ENABLED || Metrics.ENABLED;
+    }
+
+    /**
+     * 실행 한 건 기록 (DAO 메서드별 지표, 템플릿 분포 누적, 표본/느린 쿼리는 링 버퍼에 추가)
+     */
+    static void record(String sql, String type, long nanos, boolean failed) {
+        if (Metrics.ENABLED) {
+            Metrics.recordQuery(sql, nanos, failed);
+        }
+        if (!ENABLED) {
+            return;
+        }
+        template(sql).timer.record(nanos, failed);
+
+        // 실행할 때마다 비움: SQL이 달라 짝이 맞지 않은 파라미터도 풀 스레드에 계속 붙어 있지 않도록
+        Pending pending = PENDING.get();
+        Object[] params = null;
+        if (pending != null) {
+            PENDING.remove();
+            if (pending.sql == sql || pending.sql.equals(sql)) {
+                type = pending.type;
+                params = pending.params;
+            }
+        }
+
+        boolean isSlow = SLOW_NANOS > 0 && nanos >= SLOW_NANOS;
+        if (isSlow) {
+            slow.increment();
+        }
+        boolean sampled = SAMPLE_EVERY > 0 && (SAMPLE_EVERY == 1 || ThreadLocalRandom.current().nextInt(SAMPLE_EVERY) == 0);
+        if (!isSlow && !sampled) {
+            return;
+        }
+
+        if (!RING.offer(new Event(type, sql, params, nanos, failed, isSlow))) {
+            dropped.increment();
+            return;
+        }
+        startWriter();
+    }
+
+    private static Template template(String sql) {
+        Template template = BY_SQL.get(sql);
+        if (template != null) {
+            return template;
+        }
+
+        String normalized = normalize(sql);
+        template = TEMPLATES.get(normalized);
+        if (template == null) {
+            template = TEMPLATES.size() < MAX_TEMPLATES
+                       ? TEMPLATES.computeIfAbsent(normalized, Template::new)
+                       : OTHER;
+        }
+        if (BY_SQL.size() < MAX_CACHED_SQL) {
+            BY_SQL.put(sql, template);
+        }
+        return template;
+    }
+
+    /**
+     * SQL 템플릿 (공백 정리, ?, ?, ? 목록과 다중 행 VALUES를 한 묶음으로)
+     */
+    static String normalize(String sql) {
+        String result = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        result = PLACEHOLDER_LIST.matcher(result).replaceAll("?, ...");
+        return VALUES_LIST.matcher(result).replaceAll("(?, ...), ...");
+    }
+
+    // ========================================
+    // 백그라운드 출력
+    // ========================================
+
+    private static void startWriter() {
+        if (writer != null) {
+            return;
+        }
+        synchronized (SqlTrace.class) {
+            if (writer == null) {
+                Thread thread = new Thread(SqlTrace::drainLoop, "sql-trace-writer");
+                thread.setDaemon(true);
+                thread.start();
+                writer = thread;
+            }
+        }
+    }
+
+    private static void drainLoop() {
+        PrintStream out = openOutput();
+        StringBuilder batch = new StringBuilder();
+        while (true) {
+            Event event;
+            while ((event = RING.poll()) != null) {
+                batch.append(SqlLogger.format(event)).append('\n');
+                written.increment();
+                if (batch.length() > 64 * 1024) {
+                    out.print(batch);
+                    batch.setLength(0);
+                }
+            }
+            if (batch.length() > 0) {
+                out.print(batch);
+                out.flush();
+                batch.setLength(0);
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+    }
+
+    private static PrintStream openOutput() {
+        String file = ConfigManager.getString("logging.sql.file", "");
+        if (file.isBlank()) {
+            return System.out;
+        }
+        try {
+            return new PrintStream(new FileOutputStream(file, true), false, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.err.println("⚠️  SQL 추적 파일을 열 수 없어 콘솔에 출력합니다: " + e.getMessage());
+            return System.out;
+        }
+    }
+
+    /**
+     * 남은 기록을 출력할 시간을 줌 (종료 시 호출)
+     */
+    public static void flush() {
+        for (int i = 0; i < 50 && writer != null && !RING.isEmpty(); i++) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+    }
+
+    // ========================================
+    // 통계
+    // ========================================
+
+    /**
+     * 추적 통계 (헬스체크용, 총 실행 시간이 긴 템플릿 순으로 최대 20개)
+     */
+    public static Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", ENABLED);
+        if (!ENABLED) {
+            return stats;
+        }
+        stats.put("sampleEvery", SAMPLE_EVERY);
+        stats.put("slowThresholdMillis", TimeUnit.NANOSECONDS.toMillis(SLOW_NANOS));
+        stats.put("written", written.sum());
+        stats.put("slow", slow.sum());
+        stats.put("dropped", dropped.sum());
+
+        List<Template> templates = new ArrayList<>(TEMPLATES.values());
+        if (OTHER.timer.count.sum() > 0) {
+            templates.add(OTHER);
+        }
+        templates.sort(Comparator.comparingLong((Template t) -> t.timer.totalNanos.sum()).reversed());
+
+        List<Map<String, Object>> top = new ArrayList<>();
+        for (Template template : templates.subList(0, Math.min(20, templates.size()))) {
+            top.add(template.stats());
+        }
+        stats.put("templates", TEMPLATES.size());
+        stats.put("top", top);
+        return stats;
+    }
+
+    /**
+     * 템플릿별 실행 시간 분포
+     */
+    static final class Template {
+        final String sql;
+        final Metrics.Timer timer = new Metrics.Timer();
+
+        Template(String sql) {
+            this.sql = sql;
+        }
+
+        Map<String, Object> stats() {
+            long total = timer.count.sum();
+            long totalNanos = timer.totalNanos.sum();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("sql", sql);
+            stats.put("count", total);
+            stats.put("errors", timer.errors.sum());
+            stats.put("totalMillis", totalNanos / 1_000_000);
+            stats.put("avgMillis", total == 0 ? 0.0 : totalNanos / 1e6 / total);
+            stats.put("p50Millis", timer.percentileMillis(50));
+            stats.put("p95Millis", timer.percentileMillis(95));
+            stats.put("p99Millis", timer.percentileMillis(99));
+            stats.put("maxMillis", timer.maxNanos.get() / 1e6);
+            return stats;
+        }
+    }
+
+    private record Pending(String type, String sql, Object[] params) {
+    }
+
+    /**
+     * 출력할 실행 기록
+     */
+    record Event(String type, String sql, Object[] params, long nanos, boolean failed, boolean slow) {
+    }
+
+    /**
+     * 잠금 없는 다중 생산자/단일 소비자 링 버퍼
+     *
+     * 생산자는 tail을 CAS로 올려 칸을 예약한 뒤 값을 넣고, 소비자(출력 스레드)는 head 칸에 값이 들어올 때까지 기다림.
+     * 소비자는 칸을 비운 다음 head를 올리므로, 생산자가 tail - head < 크기를 확인했다면 예약한 칸은 비어 있음
+     */
+    static final class Ring {
+        private final AtomicReferenceArray<Event> slots;
+        private final int mask;
+        private final AtomicLong tail = new AtomicLong();
+        private volatile long head = 0;
+
+        Ring(int size) {
+            int capacity = Integer.highestOneBit(Math.max(2, size - 1)) << 1;
+            this.slots = new AtomicReferenceArray<>(capacity);
+            this.mask = capacity - 1;
+        }
+
+        /**
+         * @return 가득 차서 넣지 못했으면 false
+         */
+        boolean offer(Event event) {
+            long t;
+            do {
+                t = tail.get();
+                if (t - head >= slots.length()) {
+                    return false;
+                }
+            } while (!tail.compareAndSet(t, t + 1));
+            slots.set((int) (t & mask), event);
+            return true;
+        }
+
+        /**
+         * 출력 스레드에서만 호출 (비었거나 예약된 칸에 아직 값이 없으면 null)
+         */
+        Event poll() {
+            int index = (int) (head & mask);
+            Event event = slots.get(index);
+            if (event == null) {
+                return null;
+            }
+            slots.set(index, null);
+            head = head + 1;
+            return event;
+        }
+
+        boolean isEmpty() {
+            return head == tail.get();
+        }
+    }
+}
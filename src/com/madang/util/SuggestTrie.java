@@ -0,0 +1,556 @@
+package com.madang.util;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * 자동완성용 접두어 트라이 (압축 트라이, radix tree)
+ *
+ * 도서명/출판사/고객명 같은 짧은 문자열을 JVM 메모리에 두고, 입력 중인 접두어로 상위 후보를 DB 조회 없이 찾습니다.
+ * - 노드마다 하위 트리의 상위 후보(suggest.top.k개)를 미리 계산해 두므로 조회는 접두어 길이만큼만 내려가면 됨
+ * - 문자열 전체와 각 단어의 시작 위치를 모두 색인 ("축구의 역사"는 "축구", "역사" 어느 쪽으로도 검색)
+ * - 대소문자 구분 없음, 같은 문자열이 여러 행에 있으면 행 수가 많은 후보가 먼저
+ * - 행 ID 단위로 put/remove하므로 같은 변경을 두 번 반영해도 결과가 같음
+ *
+ * 처음 사용할 때(또는 서버 시작 시 load()) 전체 행을 읽고, 이후에는 DAO가 쓰기를 커밋한 후 put/remove로 갱신합니다.
+ * 전체를 읽는 동안에는 트라이 구조와 행 수만 쌓고, 다 읽은 후 모든 노드의 상위 후보를 한 번에 계산합니다.
+ * 이 서버를 거치지 않은 변경은 suggest.reload.interval마다 전체를 다시 읽을 때 반영됩니다.
+ *
+ * 설정:
+ * <pre>
+ * suggest.top.k=10                # 접두어당 최대 후보 수
+ * suggest.reload.interval=600000  # 전체를 다시 읽는 주기 (ms, 0이면 다시 읽지 않음)
+ * </pre>
+ */
+public final class SuggestTrie {
+
+    private static final int TOP_K = ConfigManager.getInt("suggest.top.k", 10);
+    private static final long RELOAD_INTERVAL = ConfigManager.getLong("suggest.reload.interval", 600000L);
+
+    // 생성된 모든 트라이 (통계 조회용)
+    private static final List<SuggestTrie> REGISTRY = new CopyOnWriteArrayList<>();
+
+    private static final Term[] NO_TERMS = new Term[0];
+
+    // 행 수가 많은 순, 짧은 순, 문자열 순 (같은 필드/문자열이면 같은 Term이므로 중복 없음)
+    private static final Comparator<Term> RANK = Comparator
+        .comparingInt((Term term) -> -term.count)
+        .thenComparingInt(term -> term.text.length())
+        .thenComparing(term -> term.text)
+        .thenComparing(term -> term.field);
+
+    private final String name;
+    private final String[] fields;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private volatile Index index;               // 로딩 전에는 null
+    private volatile long loadedAt;
+    private List<Consumer<Index>> pending;      // 로딩 중 들어온 변경 (lock으로 보호, 로딩 중에만 non-null)
+
+    private final LongAdder queries = new LongAdder();
+    private final LongAdder updates = new LongAdder();
+    private final LongAdder reloads = new LongAdder();
+
+    /**
+     * 트라이에 색인된 문자열 (필드와 문자열이 같으면 하나의 Term, count는 그 값을 가진 행 수)
+     */
+    private static final class Term {
+        final String field;
+        final String text;
+        int count;
+
+        Term(String field, String text) {
+            this.field = field;
+            this.text = text;
+        }
+    }
+
+    private static final class Node {
+        String label;                            // 부모에서 이 노드로 오는 간선 문자열 (소문자)
+        final Map<Character, Node> children = new HashMap<>(4);
+        final List<Term> terms = new ArrayList<>(1);  // 이 노드에서 끝나는 키의 Term
+        Term[] top = NO_TERMS;                   // 하위 트리의 상위 후보 (RANK 순)
+
+        Node(String label) {
+            this.label = label;
+        }
+    }
+
+    /**
+     * 전체 행을 읽어 put으로 넘기는 함수 (보통 DAO의 DB 조회)
+     */
+    @FunctionalInterface
+    public interface Loader {
+        void load(RowSink sink) throws SQLException;
+    }
+
+    @FunctionalInterface
+    public interface RowSink {
+        void put(int id, String... values);
+    }
+
+    /**
+     * @param name 통계에 표시할 이름
+     * @param fields 행마다 색인할 값의 이름 (put의 values 순서)
+     */
+    public SuggestTrie(String name, String... fields) {
+        this.name = name;
+        this.fields = fields.clone();
+        REGISTRY.add(this);
+    }
+
+    /**
+     * 생성된 모든 트라이 (헬스체크용)
+     */
+    public static List<SuggestTrie> all() {
+        return Collections.unmodifiableList(REGISTRY);
+    }
+
+    /**
+     * 접두어로 시작하는 상위 후보
+     * 아직 로딩 전이면 loader로 전체를 읽은 후 조회, 다시 읽을 시점이 지났으면 이 요청이 다시 읽음 (그동안 다른 요청은 이전 색인 사용)
+     *
+     * @param prefix 입력 중인 검색어
+     * @param limit 최대 후보 수 (suggest.top.k 이하)
+     * @return 후보 목록 (text, field, count)
+     */
+    public List<Map<String, Object>> suggest(String prefix, int limit, Loader loader) throws SQLException {
+        if (index == null) {
+            loadLock.lock();  // 첫 로딩은 끝날 때까지 대기
+            try {
+                if (index == null) {
+                    reload(loader);
+                }
+            } finally {
+                loadLock.unlock();
+            }
+        } else if (isStale() && loadLock.tryLock()) {
+            try {
+                if (isStale()) {
+                    reload(loader);
+                }
+            } catch (SQLException e) {
+                System.err.println("⚠️  자동완성 색인(" + name + ")을 다시 읽지 못해 이전 색인을 사용합니다: " + e.getMessage());
+                loadedAt = System.currentTimeMillis();
+            } finally {
+                loadLock.unlock();
+            }
+        }
+
+        queries.increment();
+        String key = normalize(prefix);
+        List<Map<String, Object>> suggestions = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            Node node = index.find(key);
+            if (node == null) {
+                return suggestions;
+            }
+            for (int i = 0; i < Math.min(limit, node.top.length); i++) {
+                Term term = node.top[i];
+                Map<String, Object> item = new LinkedHashMap<>();
+                item.put("text", term.text);
+                item.put("field", term.field);
+                item.put("count", term.count);
+                suggestions.add(item);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return suggestions;
+    }
+
+    /**
+     * 전체를 읽어 색인 (서버 시작 시 미리 로딩)
+     */
+    public void load(Loader loader) throws SQLException {
+        loadLock.lock();
+        try {
+            reload(loader);
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * 행 추가/수정 (DAO가 쓰기를 커밋한 후 호출, 로딩 전이면 무시)
+     *
+     * @param values fields 순서의 값 (null이나 빈 값은 색인하지 않음)
+     */
+    public void put(int id, String... values) {
+        apply(index -> index.put(id, values));
+    }
+
+    /**
+     * 행 삭제 (DAO가 쓰기를 커밋한 후 호출, 로딩 전이면 무시)
+     */
+    public void remove(int id) {
+        apply(index -> index.remove(id));
+    }
+
+    private void apply(Consumer<Index> change) {
+        lock.writeLock().lock();
+        try {
+            if (index != null) {
+                change.accept(index);
+                updates.increment();
+            }
+            if (pending != null) {
+                pending.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 새 색인을 만든 후 교체 (loadLock을 잡은 상태에서 호출)
+     * 읽는 동안 들어온 변경은 모아 두었다가 새 색인에 다시 반영 (put/remove는 여러 번 반영해도 같음)
+     */
+    private void reload(Loader loader) throws SQLException {
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Index fresh = new Index(true);
+        try {
+            loader.load(fresh::put);  // 아직 공유되지 않은 색인이므로 잠금 없이 채움
+            fresh.computeTop();
+        } catch (SQLException | RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (Consumer<Index> change : pending) {
+                change.accept(fresh);
+            }
+            pending = null;
+            index = fresh;
+            loadedAt = System.currentTimeMillis();
+            reloads.increment();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean isStale() {
+        return RELOAD_INTERVAL > 0 && System.currentTimeMillis() - loadedAt > RELOAD_INTERVAL;
+    }
+
+    /**
+     * 트라이 통계 (행 수, 후보 문자열 수, 조회/갱신 수)
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("name", name);
+
+        lock.readLock().lock();
+        try {
+            stats.put("loaded", index != null);
+            stats.put("rows", index == null ? 0 : index.rows.size());
+            stats.put("terms", index == null ? 0 : index.terms.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        stats.put("queries", queries.sum());
+        stats.put("updates", updates.sum());
+        stats.put("reloads", reloads.sum());
+        stats.put("loadedAt", loadedAt);
+        return stats;
+    }
+
+    /**
+     * 소문자로 바꾸고 연속 공백을 하나로
+     */
+    private static String normalize(String text) {
+        return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 한 번의 전체 로딩으로 만든 색인 (행, 후보 문자열, 트라이)
+     */
+    private final class Index {
+        final Node root = new Node("");
+        final Map<Integer, Term[]> rows = new HashMap<>();
+        final Map<String, Term> terms = new HashMap<>();
+        private boolean bulk;  // 전체 적재 중: 상위 후보는 computeTop()에서 한 번에 계산
+
+        Index(boolean bulk) {
+            this.bulk = bulk;
+        }
+
+        /**
+         * 전체 적재가 끝난 후 모든 노드의 상위 후보를 아래에서부터 계산 (이후 put/remove는 경로만 갱신)
+         */
+        void computeTop() {
+            bulk = false;
+            computeTop(root);
+        }
+
+        private void computeTop(Node node) {
+            for (Node child : node.children.values()) {
+                computeTop(child);
+            }
+            node.top = top(node);
+        }
+
+        void put(int id, String... values) {
+            remove(id);
+
+            Term[] rowTerms = new Term[fields.length];
+            for (int i = 0; i < fields.length && i < values.length; i++) {
+                if (values[i] == null || values[i].isBlank()) {
+                    continue;
+                }
+                String field = fields[i];
+                String text = values[i].trim();
+                Term term = terms.computeIfAbsent(field + '\u0000' + text, k -> new Term(field, text));
+                term.count++;
+                if (term.count == 1) {
+                    for (String key : keys(text)) {
+                        insert(key, term);
+                    }
+                } else if (!bulk) {
+                    for (String key : keys(text)) {
+                        refresh(key);  // 행 수가 바뀌어 순위가 바뀜
+                    }
+                }
+                rowTerms[i] = term;
+            }
+            rows.put(id, rowTerms);
+        }
+
+        void remove(int id) {
+            Term[] rowTerms = rows.remove(id);
+            if (rowTerms == null) {
+                return;
+            }
+            for (Term term : rowTerms) {
+                if (term == null) {
+                    continue;
+                }
+                term.count--;
+                if (term.count == 0) {
+                    terms.remove(term.field + '\u0000' + term.text);
+                }
+                for (String key : keys(term.text)) {
+                    if (term.count == 0) {
+                        delete(key, term);
+                    } else {
+                        refresh(key);
+                    }
+                }
+            }
+        }
+
+        /**
+         * 접두어가 끝나는 노드 (간선 중간에서 끝나도 그 간선의 아래 노드)
+         */
+        Node find(String prefix) {
+            Node node = root;
+            int pos = 0;
+            while (pos < prefix.length()) {
+                Node child = node.children.get(prefix.charAt(pos));
+                if (child == null) {
+                    return null;
+                }
+                int length = Math.min(child.label.length(), prefix.length() - pos);
+                if (!prefix.regionMatches(pos, child.label, 0, length)) {
+                    return null;
+                }
+                pos += length;
+                node = child;
+            }
+            return node;
+        }
+
+        private void insert(String key, Term term) {
+            List<Node> path = new ArrayList<>();
+            Node node = root;
+            path.add(node);
+            int pos = 0;
+
+            while (pos < key.length()) {
+                Node child = node.children.get(key.charAt(pos));
+                if (child == null) {
+                    child = new Node(key.substring(pos));
+                    node.children.put(key.charAt(pos), child);
+                    pos = key.length();
+                } else {
+                    int common = commonPrefix(key, pos, child.label);
+                    if (common < child.label.length()) {
+                        // 간선 중간에서 갈라지면 노드를 나눔
+                        Node split = new Node(child.label.substring(0, common));
+                        child.label = child.label.substring(common);
+                        split.children.put(child.label.charAt(0), child);
+                        split.top = child.top;
+                        node.children.put(split.label.charAt(0), split);
+                        child = split;
+                    }
+                    pos += common;
+                }
+                node = child;
+                path.add(node);
+            }
+
+            node.terms.add(term);
+            refresh(path);
+        }
+
+        private void delete(String key, Term term) {
+            List<Node> path = path(key);
+            if (path == null) {
+                return;
+            }
+            path.get(path.size() - 1).terms.remove(term);
+
+            // 빈 노드는 제거하고, 자식이 하나뿐인 빈 노드는 자식과 합침
+            for (int i = path.size() - 1; i > 0; i--) {
+                Node node = path.get(i);
+                Node parent = path.get(i - 1);
+                if (!node.terms.isEmpty() || node.children.size() > 1) {
+                    break;
+                }
+                if (node.children.isEmpty()) {
+                    parent.children.remove(node.label.charAt(0));
+                } else {
+                    Node only = node.children.values().iterator().next();
+                    only.label = node.label + only.label;
+                    parent.children.put(only.label.charAt(0), only);
+                }
+                path.remove(i);
+            }
+            refresh(path);
+        }
+
+        private void refresh(String key) {
+            if (bulk) {
+                return;
+            }
+            List<Node> path = path(key);
+            if (path != null) {
+                refresh(path);
+            }
+        }
+
+        /**
+         * 아래에서부터 상위 후보 다시 계산 (전체 적재 중에는 건너뜀)
+         */
+        private void refresh(List<Node> path) {
+            if (bulk) {
+                return;
+            }
+            for (int i = path.size() - 1; i >= 0; i--) {
+                path.get(i).top = top(path.get(i));
+            }
+        }
+
+        /**
+         * 노드의 Term과 자식들의 상위 후보를 합친 상위 TOP_K개 (자식의 top은 계산되어 있어야 함)
+         */
+        private Term[] top(Node node) {
+            TreeSet<Term> best = new TreeSet<>(RANK);
+            for (Term term : node.terms) {
+                offer(best, term);
+            }
+            for (Node child : node.children.values()) {
+                for (Term term : child.top) {
+                    if (!offer(best, term)) {
+                        break;  // child.top은 순위 순이므로 이후 후보도 들어가지 못함
+                    }
+                }
+            }
+            return best.toArray(NO_TERMS);
+        }
+
+        /**
+         * 키와 정확히 일치하는 노드까지의 경로 (없으면 null)
+         */
+        private List<Node> path(String key) {
+            List<Node> path = new ArrayList<>();
+            Node node = root;
+            path.add(node);
+            int pos = 0;
+            while (pos < key.length()) {
+                Node child = node.children.get(key.charAt(pos));
+                if (child == null || !key.startsWith(child.label, pos)) {
+                    return null;
+                }
+                pos += child.label.length();
+                node = child;
+                path.add(node);
+            }
+            return path;
+        }
+    }
+
+    /**
+     * 상위 TOP_K개만 유지 (들어가지 못했으면 false)
+     */
+    private static boolean offer(TreeSet<Term> best, Term term) {
+        if (best.size() < TOP_K) {
+            best.add(term);
+            return true;
+        }
+        if (RANK.compare(term, best.last()) >= 0) {
+            return best.contains(term);  // 이미 들어 있는 후보 (다른 단어 위치로 중복 색인된 경우)
+        }
+        best.add(term);
+        if (best.size() > TOP_K) {
+            best.pollLast();
+        }
+        return true;
+    }
+
+    private static int commonPrefix(String key, int pos, String label) {
+        int length = Math.min(label.length(), key.length() - pos);
+        int i = 0;
+        while (i < length && key.charAt(pos + i) == label.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * 색인 키 (문자열 전체와 각 단어부터 시작하는 부분)
+     */
+    private static List<String> keys(String text) {
+        String normalized = normalize(text);
+        List<String> keys = new ArrayList<>();
+        keys.add(normalized);
+        for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+            String key = normalized.substring(i + 1);
+            if (!keys.contains(key)) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+}
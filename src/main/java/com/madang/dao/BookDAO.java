@@ -4,21 +4,38 @@ import com.madang.model.Book;
 import com.madang.model.PageRequest;
 import com.madang.model.PageResponse;
 import com.madang.util.DBConnection;
+import com.madang.util.IdAllocator;
+import com.madang.util.LruCache;
 import com.madang.util.SqlLogger;
+import com.madang.util.SuggestTrie;
 
+import java.io.IOException;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
  * Book 테이블 데이터 접근 객체
+ * 목록/검색 조회는 읽기 전용 연결(복제본)을 사용하고, ID 조회와 쓰기는 기본 DB를 사용
  */
 public class BookDAO {
 
     private static final String DEFAULT_SORT_COLUMN = "bookid";
 
+    // 도서 상세/출판사 목록 캐시 (등록/수정/삭제 시 무효화)
+    private static final LruCache<Integer, Book> BOOK_CACHE = LruCache.fromConfig("book", 1000, 300000L);
+    private static final LruCache<String, List<String>> PUBLISHER_CACHE = LruCache.fromConfig("publisher", 1, 300000L);
+    private static final String PUBLISHERS_KEY = "all";
+
+    // 도서명/출판사 자동완성 색인 (등록/수정/삭제 시 갱신)
+    private static final SuggestTrie SUGGEST = new SuggestTrie("book", "bookname", "publisher");
+
+    // 기본 키 발급기 (IdSequence 테이블에서 구간 예약)
+    private static final IdAllocator ID_ALLOCATOR = IdAllocator.create("Book", "bookid");
+
     /**
      * 조건에 맞는 도서 목록 조회 (검색/필터/정렬)
      */
@@ -26,20 +43,87 @@ public class BookDAO {
                                String sortBy, String direction) throws SQLException {
         List<Book> books = new ArrayList<>();
         List<Object> params = new ArrayList<>();
+        String sql = buildBookListQuery(title, publisher, minPrice, maxPrice, sortBy, direction, params);
+
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+
+        try {
+            conn = DBConnection.getReadConnection();
+            pstmt = conn.prepareStatement(sql);
+
+            for (int i = 0; i < params.size(); i++) {
+                pstmt.setObject(i + 1, params.get(i));
+            }
+
+            SqlLogger.logQuery(sql, params.toArray());
+            rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                books.add(mapBook(rs));
+            }
+        } finally {
+            DBConnection.close(conn, pstmt, rs);
+        }
+
+        return books;
+    }
+
+    /**
+     * 조건에 맞는 도서 목록 스트리밍 조회
+     * 결과를 List로 모으지 않고 한 행씩 handler로 전달 (페이지네이션 없는 대용량 목록 응답용)
+     */
+    public void streamBooks(String title, String publisher, Integer minPrice, Integer maxPrice,
+                            String sortBy, String direction, RowHandler<Book> handler)
+            throws SQLException, IOException {
+        List<Object> params = new ArrayList<>();
+        String sql = buildBookListQuery(title, publisher, minPrice, maxPrice, sortBy, direction, params);
+
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+
+        try {
+            conn = DBConnection.getReadConnection();
+            pstmt = DBConnection.prepareStreaming(conn, sql);
+
+            for (int i = 0; i < params.size(); i++) {
+                pstmt.setObject(i + 1, params.get(i));
+            }
+
+            SqlLogger.logQuery(sql, params.toArray());
+            rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                handler.handle(mapBook(rs));
+            }
+        } catch (IOException e) {
+            // 클라이언트 전송 실패: 남은 행을 읽지 않도록 쿼리 취소
+            DBConnection.cancel(pstmt);
+            throw e;
+        } finally {
+            DBConnection.close(conn, pstmt, rs);
+        }
+    }
+
+    /**
+     * 도서 목록 조회 SQL 생성 (getBooks/streamBooks 공통)
+     */
+    private String buildBookListQuery(String title, String publisher, Integer minPrice, Integer maxPrice,
+                                      String sortBy, String direction, List<Object> params) {
         StringBuilder sql = new StringBuilder("SELECT bookid, bookname, publisher, price FROM Book");
 
         boolean hasCondition = false;
         if (title != null && !title.isBlank()) {
             sql.append(hasCondition ? " AND" : " WHERE");
-            sql.append(" bookname LIKE ?");
-            params.add("%" + title.trim() + "%");
+            sql.append(BookSearchDAO.condition("bookname", title, params));
             hasCondition = true;
         }
 
         if (publisher != null && !publisher.isBlank()) {
             sql.append(hasCondition ? " AND" : " WHERE");
-            sql.append(" publisher LIKE ?");
-            params.add("%" + publisher.trim() + "%");
+            sql.append(BookSearchDAO.condition("publisher", publisher, params));
             hasCondition = true;
         }
 
@@ -61,34 +145,16 @@ public class BookDAO {
            .append(" ")
            .append(resolveSortDirection(direction));
 
-        Connection conn = null;
-        PreparedStatement pstmt = null;
-        ResultSet rs = null;
-
-        try {
-            conn = DBConnection.getConnection();
-            pstmt = conn.prepareStatement(sql.toString());
-
-            for (int i = 0; i < params.size(); i++) {
-                pstmt.setObject(i + 1, params.get(i));
-            }
-
-            SqlLogger.logQuery(sql.toString(), params.toArray());
-            rs = pstmt.executeQuery();
-
-            while (rs.next()) {
-                Book book = new Book();
-                book.setBookid(rs.getInt("bookid"));
-                book.setBookname(rs.getString("bookname"));
-                book.setPublisher(rs.getString("publisher"));
-                book.setPrice(rs.getInt("price"));
-                books.add(book);
-            }
-        } finally {
-            DBConnection.close(conn, pstmt, rs);
-        }
+        return sql.toString();
+    }
 
-        return books;
+    private Book mapBook(ResultSet rs) throws SQLException {
+        Book book = new Book();
+        book.setBookid(rs.getInt("bookid"));
+        book.setBookname(rs.getString("bookname"));
+        book.setPublisher(rs.getString("publisher"));
+        book.setPrice(rs.getInt("price"));
+        return book;
     }
 
     /**
@@ -112,15 +178,13 @@ public class BookDAO {
 
         if (title != null && !title.isBlank()) {
             whereClause.append(hasCondition ? " AND" : " WHERE");
-            whereClause.append(" bookname LIKE ?");
-            params.add("%" + title.trim() + "%");
+            whereClause.append(BookSearchDAO.condition("bookname", title, params));
             hasCondition = true;
         }
 
         if (publisher != null && !publisher.isBlank()) {
             whereClause.append(hasCondition ? " AND" : " WHERE");
-            whereClause.append(" publisher LIKE ?");
-            params.add("%" + publisher.trim() + "%");
+            whereClause.append(BookSearchDAO.condition("publisher", publisher, params));
             hasCondition = true;
         }
 
@@ -138,15 +202,20 @@ public class BookDAO {
         }
 
         // 1. 전체 개수 조회
-        long totalItems = countBooks(whereClause.toString(), params);
+        long totalItems = PageCounter.count("Book", whereClause.toString(), params, pageRequest.getCountMode());
+
+        // 2. 페이징된 데이터 조회 (다음 페이지 커서를 만들기 위해 pageSize + 1개 조회)
+        String sortColumn = resolveSortColumn(pageRequest.getSortBy());
+        String direction = pageRequest.getDirection();
+        List<Object> queryParams = new ArrayList<>(params);
 
-        // 2. 페이징된 데이터 조회
         StringBuilder sql = new StringBuilder("SELECT bookid, bookname, publisher, price FROM Book");
         sql.append(whereClause);
-        sql.append(" ORDER BY ")
-           .append(resolveSortColumn(pageRequest.getSortBy()))
-           .append(" ")
-           .append(pageRequest.getDirection());
+        if (pageRequest.isKeyset()) {
+            Keyset.appendSeek(sql, whereClause.length() > 0, pageRequest, sortColumn, "bookid",
+                              resolveSortType(sortColumn), direction, queryParams);
+        }
+        sql.append(Keyset.orderBy(sortColumn, "bookid", direction));
         sql.append(" LIMIT ? OFFSET ?");
 
         Connection conn = null;
@@ -154,77 +223,48 @@ public class BookDAO {
         ResultSet rs = null;
 
         try {
-            conn = DBConnection.getConnection();
+            conn = DBConnection.getReadConnection();
             pstmt = conn.prepareStatement(sql.toString());
 
-            // WHERE 조건 파라미터 설정
-            for (int i = 0; i < params.size(); i++) {
-                pstmt.setObject(i + 1, params.get(i));
+            // WHERE 조건 파라미터 설정 (커서 조건 포함)
+            for (int i = 0; i < queryParams.size(); i++) {
+                pstmt.setObject(i + 1, queryParams.get(i));
             }
 
             // LIMIT, OFFSET 파라미터 설정
-            pstmt.setInt(params.size() + 1, pageRequest.getPageSize());
-            pstmt.setInt(params.size() + 2, pageRequest.getOffset());
+            pstmt.setInt(queryParams.size() + 1, pageRequest.getPageSize() + 1);
+            pstmt.setInt(queryParams.size() + 2, pageRequest.getOffset());
 
-            SqlLogger.logQuery(sql.toString(), params.toArray());
+            SqlLogger.logQuery(sql.toString(), queryParams.toArray());
             rs = pstmt.executeQuery();
 
             while (rs.next()) {
-                Book book = new Book();
-                book.setBookid(rs.getInt("bookid"));
-                book.setBookname(rs.getString("bookname"));
-                book.setPublisher(rs.getString("publisher"));
-                book.setPrice(rs.getInt("price"));
-                books.add(book);
+                books.add(mapBook(rs));
             }
         } finally {
             DBConnection.close(conn, pstmt, rs);
         }
 
-        // 3. PageResponse 생성
-        return new PageResponse<>(books, pageRequest.getPage(), pageRequest.getPageSize(), totalItems);
-    }
-
-    /**
-     * 조건에 맞는 도서 전체 개수 조회
-     *
-     * @param whereClause WHERE 조건절 (예: " WHERE bookname LIKE ?")
-     * @param params PreparedStatement 파라미터 리스트
-     * @return 전체 도서 개수
-     */
-    private long countBooks(String whereClause, List<Object> params) throws SQLException {
-        StringBuilder sql = new StringBuilder("SELECT COUNT(*) as total FROM Book");
-        sql.append(whereClause);
-
-        Connection conn = null;
-        PreparedStatement pstmt = null;
-        ResultSet rs = null;
-
-        try {
-            conn = DBConnection.getConnection();
-            pstmt = conn.prepareStatement(sql.toString());
-
-            for (int i = 0; i < params.size(); i++) {
-                pstmt.setObject(i + 1, params.get(i));
-            }
-
-            SqlLogger.logQuery(sql.toString(), params.toArray());
-            rs = pstmt.executeQuery();
-
-            if (rs.next()) {
-                return rs.getLong("total");
-            }
-        } finally {
-            DBConnection.close(conn, pstmt, rs);
+        // 3. 다음 페이지 커서 계산
+        String nextCursor = null;
+        if (books.size() > pageRequest.getPageSize()) {
+            books.remove(books.size() - 1);
+            Book last = books.get(books.size() - 1);
+            nextCursor = PageRequest.encodeCursor(sortColumn, direction, sortValueOf(last, sortColumn), last.getBookid());
         }
 
-        return 0;
+        // 4. PageResponse 생성
+        return new PageResponse<>(books, pageRequest, totalItems, nextCursor);
     }
 
     /**
-     * 도서 ID로 조회
+     * 도서 ID로 조회 (캐시 우선)
      */
     public Book getBookById(int bookId) throws SQLException {
+        return BOOK_CACHE.get(bookId, this::loadBookById);
+    }
+
+    private Book loadBookById(int bookId) throws SQLException {
         String sql = "SELECT bookid, bookname, publisher, price FROM Book WHERE bookid = ?";
 
         Connection conn = null;
@@ -268,8 +308,8 @@ public class BookDAO {
         PreparedStatement pstmt = null;
 
         try {
+            int nextId = ID_ALLOCATOR.nextId();  // 연결을 잡기 전에 발급 (구간 예약 시 별도 연결 사용)
             conn = DBConnection.getConnection();
-            int nextId = getNextBookId(conn);
 
             pstmt = conn.prepareStatement(sql);
             pstmt.setInt(1, nextId);
@@ -281,6 +321,10 @@ public class BookDAO {
             int result = pstmt.executeUpdate();
 
             if (result > 0) {
+                PageCounter.invalidate("Book");
+                PUBLISHER_CACHE.invalidateAll();
+                TableVersions.bump("Book");
+                SUGGEST.put(nextId, bookname, publisher);
                 return nextId;
             }
         } finally {
@@ -309,6 +353,13 @@ public class BookDAO {
 
             SqlLogger.logUpdate(sql, book.getBookname(), book.getPublisher(), book.getPrice(), book.getBookid());
             int result = pstmt.executeUpdate();
+            if (result > 0) {
+                PageCounter.invalidate("Book");  // 수정된 값이 검색 조건에 영향을 줌
+                BOOK_CACHE.invalidate(book.getBookid());
+                PUBLISHER_CACHE.invalidateAll();
+                TableVersions.bump("Book");
+                SUGGEST.put(book.getBookid(), book.getBookname(), book.getPublisher());
+            }
             return result > 0;
         } finally {
             DBConnection.close(conn, pstmt);
@@ -330,6 +381,13 @@ public class BookDAO {
             pstmt.setInt(1, bookId);
             SqlLogger.logUpdate(sql, bookId);
             int result = pstmt.executeUpdate();
+            if (result > 0) {
+                PageCounter.invalidate("Book");
+                BOOK_CACHE.invalidate(bookId);
+                PUBLISHER_CACHE.invalidateAll();
+                TableVersions.bump("Book");
+                SUGGEST.remove(bookId);
+            }
             return result > 0;
         } finally {
             DBConnection.close(conn, pstmt);
@@ -337,9 +395,13 @@ public class BookDAO {
     }
 
     /**
-     * 출판사 목록 조회 (중복 제거)
+     * 출판사 목록 조회 (중복 제거, 캐시 우선)
      */
     public List<String> getDistinctPublishers() throws SQLException {
+        return PUBLISHER_CACHE.get(PUBLISHERS_KEY, key -> loadDistinctPublishers());
+    }
+
+    private List<String> loadDistinctPublishers() throws SQLException {
         List<String> publishers = new ArrayList<>();
         String sql = "SELECT DISTINCT publisher FROM Book ORDER BY publisher";
 
@@ -348,7 +410,7 @@ public class BookDAO {
         ResultSet rs = null;
 
         try {
-            conn = DBConnection.getConnection();
+            conn = DBConnection.getReadConnection();
             pstmt = conn.prepareStatement(sql);
             SqlLogger.logQuery(sql);
             rs = pstmt.executeQuery();
@@ -360,7 +422,42 @@ public class BookDAO {
             DBConnection.close(conn, pstmt, rs);
         }
 
-        return publishers;
+        return Collections.unmodifiableList(publishers);  // 캐시에서 공유되므로 수정 불가
+    }
+
+    /**
+     * 도서명/출판사 자동완성 (메모리 색인에서 조회, DB를 거치지 않음)
+     */
+    public List<Map<String, Object>> suggest(String prefix, int limit) throws SQLException {
+        return SUGGEST.suggest(prefix, limit, this::loadSuggestRows);
+    }
+
+    /**
+     * 자동완성 색인 미리 읽기 (서버 시작 시)
+     */
+    public void loadSuggestions() throws SQLException {
+        SUGGEST.load(this::loadSuggestRows);
+    }
+
+    private void loadSuggestRows(SuggestTrie.RowSink sink) throws SQLException {
+        String sql = "SELECT bookid, bookname, publisher FROM Book";
+
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+
+        try {
+            conn = DBConnection.getConnection();  // 복제 지연으로 최근 변경이 빠지지 않도록 기본 DB
+            pstmt = conn.prepareStatement(sql);
+            SqlLogger.logQuery(sql);
+            rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                sink.put(rs.getInt("bookid"), rs.getString("bookname"), rs.getString("publisher"));
+            }
+        } finally {
+            DBConnection.close(conn, pstmt, rs);
+        }
     }
 
     /**
@@ -403,20 +500,6 @@ public class BookDAO {
         return stats;
     }
 
-    private int getNextBookId(Connection conn) throws SQLException {
-        String sql = "SELECT IFNULL(MAX(bookid), 0) + 1 AS next_id FROM Book";
-
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            SqlLogger.logQuery(sql);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt("next_id");
-                }
-            }
-        }
-        return 1;
-    }
-
     private String resolveSortColumn(String sortBy) {
         if (sortBy == null) return DEFAULT_SORT_COLUMN;
         return switch (sortBy.toLowerCase()) {
@@ -428,6 +511,22 @@ public class BookDAO {
         };
     }
 
+    private Keyset.ColumnType resolveSortType(String sortColumn) {
+        return switch (sortColumn) {
+            case "price", "bookid" -> Keyset.ColumnType.INT;
+            default -> Keyset.ColumnType.STRING;
+        };
+    }
+
+    private Object sortValueOf(Book book, String sortColumn) {
+        return switch (sortColumn) {
+            case "bookname" -> book.getBookname();
+            case "publisher" -> book.getPublisher();
+            case "price" -> book.getPrice();
+            default -> book.getBookid();
+        };
+    }
+
     private String resolveSortDirection(String direction) {
         if (direction == null) return "ASC";
         return "desc".equalsIgnoreCase(direction) ? "DESC" : "ASC";
@@ -4,19 +4,34 @@ import com.madang.model.Customer;
 import com.madang.model.PageRequest;
 import com.madang.model.PageResponse;
 import com.madang.util.DBConnection;
+import com.madang.util.IdAllocator;
+import com.madang.util.LruCache;
 import com.madang.util.SqlLogger;
+import com.madang.util.SuggestTrie;
 
+import java.io.IOException;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Customer 테이블 데이터 접근 객체
+ * 목록/검색 조회는 읽기 전용 연결(복제본)을 사용하고, ID 조회와 쓰기는 기본 DB를 사용
  */
 public class CustomerDAO {
 
     private static final String DEFAULT_SORT_COLUMN = "custid";
 
+    // 고객 조회/로그인 캐시 (수정/삭제 시 무효화)
+    private static final LruCache<Integer, Customer> CUSTOMER_CACHE = LruCache.fromConfig("customer", 1000, 300000L);
+
+    // 고객명 자동완성 색인 (등록/수정/삭제 시 갱신)
+    private static final SuggestTrie SUGGEST = new SuggestTrie("customer", "name");
+
+    // 기본 키 발급기 (IdSequence 테이블에서 구간 예약)
+    private static final IdAllocator ID_ALLOCATOR = IdAllocator.create("Customer", "custid");
+
     /**
      * 고객 목록 조회 (검색 & 정렬)
      */
@@ -24,60 +39,25 @@ public class CustomerDAO {
                                        String sortBy, String direction) throws SQLException {
         List<Customer> customers = new ArrayList<>();
         List<Object> params = new ArrayList<>();
-
-        StringBuilder sql = new StringBuilder(
-            "SELECT custid, name, address, phone, role FROM Customer"
-        );
-
-        boolean hasCondition = false;
-        if (name != null && !name.isBlank()) {
-            sql.append(hasCondition ? " AND" : " WHERE");
-            sql.append(" name LIKE ?");
-            params.add("%" + name.trim() + "%");
-            hasCondition = true;
-        }
-
-        if (phone != null && !phone.isBlank()) {
-            sql.append(hasCondition ? " AND" : " WHERE");
-            sql.append(" phone LIKE ?");
-            params.add("%" + phone.trim() + "%");
-            hasCondition = true;
-        }
-
-        if (address != null && !address.isBlank()) {
-            sql.append(hasCondition ? " AND" : " WHERE");
-            sql.append(" address LIKE ?");
-            params.add("%" + address.trim() + "%");
-        }
-
-        sql.append(" ORDER BY ")
-           .append(resolveSortColumn(sortBy))
-           .append(" ")
-           .append(resolveSortDirection(direction));
+        String sql = buildCustomerListQuery(name, phone, address, sortBy, direction, params);
 
         Connection conn = null;
         PreparedStatement pstmt = null;
         ResultSet rs = null;
 
         try {
-            conn = DBConnection.getConnection();
-            pstmt = conn.prepareStatement(sql.toString());
+            conn = DBConnection.getReadConnection();
+            pstmt = conn.prepareStatement(sql);
 
             for (int i = 0; i < params.size(); i++) {
                 pstmt.setObject(i + 1, params.get(i));
             }
 
-            SqlLogger.logQuery(sql.toString(), params.toArray());
+            SqlLogger.logQuery(sql, params.toArray());
             rs = pstmt.executeQuery();
 
             while (rs.next()) {
-                Customer customer = new Customer();
-                customer.setCustid(rs.getInt("custid"));
-                customer.setName(rs.getString("name"));
-                customer.setAddress(rs.getString("address"));
-                customer.setPhone(rs.getString("phone"));
-                customer.setRole(rs.getString("role"));
-                customers.add(customer);
+                customers.add(mapCustomer(rs));
             }
         } finally {
             DBConnection.close(conn, pstmt, rs);
@@ -87,126 +67,147 @@ public class CustomerDAO {
     }
 
     /**
-     * 고객 목록 조회 (페이징 지원)
+     * 고객 목록 스트리밍 조회
+     * 결과를 List로 모으지 않고 한 행씩 handler로 전달 (페이지네이션 없는 대용량 목록 응답용)
      */
-    public PageResponse<Customer> getCustomersPaged(PageRequest pageRequest, String name,
-                                                     String phone, String address) throws SQLException {
-        List<Customer> customers = new ArrayList<>();
+    public void streamCustomers(String name, String phone, String address,
+                                String sortBy, String direction, RowHandler<Customer> handler)
+            throws SQLException, IOException {
         List<Object> params = new ArrayList<>();
-
-        // WHERE 조건 생성
-        StringBuilder whereClause = new StringBuilder();
-        boolean hasCondition = false;
-
-        if (name != null && !name.isBlank()) {
-            whereClause.append(hasCondition ? " AND" : " WHERE");
-            whereClause.append(" name LIKE ?");
-            params.add("%" + name.trim() + "%");
-            hasCondition = true;
-        }
-
-        if (phone != null && !phone.isBlank()) {
-            whereClause.append(hasCondition ? " AND" : " WHERE");
-            whereClause.append(" phone LIKE ?");
-            params.add("%" + phone.trim() + "%");
-            hasCondition = true;
-        }
-
-        if (address != null && !address.isBlank()) {
-            whereClause.append(hasCondition ? " AND" : " WHERE");
-            whereClause.append(" address LIKE ?");
-            params.add("%" + address.trim() + "%");
-        }
-
-        // 1. 전체 개수 조회
-        long totalItems = countCustomers(whereClause.toString(), params);
-
-        // 2. 페이징된 데이터 조회
-        StringBuilder sql = new StringBuilder("SELECT custid, name, address, phone, role FROM Customer");
-        sql.append(whereClause);
-        sql.append(" ORDER BY ")
-           .append(resolveSortColumn(pageRequest.getSortBy()))
-           .append(" ")
-           .append(resolveSortDirection(pageRequest.getDirection()));
-        sql.append(" LIMIT ? OFFSET ?");
+        String sql = buildCustomerListQuery(name, phone, address, sortBy, direction, params);
 
         Connection conn = null;
         PreparedStatement pstmt = null;
         ResultSet rs = null;
 
         try {
-            conn = DBConnection.getConnection();
-            pstmt = conn.prepareStatement(sql.toString());
+            conn = DBConnection.getReadConnection();
+            pstmt = DBConnection.prepareStreaming(conn, sql);
 
-            // WHERE 파라미터 바인딩
             for (int i = 0; i < params.size(); i++) {
                 pstmt.setObject(i + 1, params.get(i));
             }
 
-            // LIMIT, OFFSET 바인딩
-            pstmt.setInt(params.size() + 1, pageRequest.getPageSize());
-            pstmt.setInt(params.size() + 2, pageRequest.getOffset());
-
-            SqlLogger.logQuery(sql.toString(), params.toArray());
+            SqlLogger.logQuery(sql, params.toArray());
             rs = pstmt.executeQuery();
 
             while (rs.next()) {
-                Customer customer = new Customer();
-                customer.setCustid(rs.getInt("custid"));
-                customer.setName(rs.getString("name"));
-                customer.setAddress(rs.getString("address"));
-                customer.setPhone(rs.getString("phone"));
-                customer.setRole(rs.getString("role"));
-                customers.add(customer);
+                handler.handle(mapCustomer(rs));
             }
+        } catch (IOException e) {
+            // 클라이언트 전송 실패: 남은 행을 읽지 않도록 쿼리 취소
+            DBConnection.cancel(pstmt);
+            throw e;
         } finally {
             DBConnection.close(conn, pstmt, rs);
         }
+    }
 
-        // 3. PageResponse 생성
-        return new PageResponse<>(
-            customers,
-            pageRequest.getPage(),
-            pageRequest.getPageSize(),
-            totalItems
+    /**
+     * 고객 목록 조회 SQL 생성 (getCustomers/streamCustomers 공통)
+     */
+    private String buildCustomerListQuery(String name, String phone, String address,
+                                          String sortBy, String direction, List<Object> params) {
+        StringBuilder sql = new StringBuilder(
+            "SELECT custid, name, address, phone, role FROM Customer"
         );
+
+        // 검색 색인으로 찾은 custid + LIKE 조건
+        sql.append(CustomerSearchIndex.where(name, phone, address, params));
+
+        sql.append(" ORDER BY ")
+           .append(resolveSortColumn(sortBy))
+           .append(" ")
+           .append(resolveSortDirection(direction));
+
+        return sql.toString();
+    }
+
+    private Customer mapCustomer(ResultSet rs) throws SQLException {
+        Customer customer = new Customer();
+        customer.setCustid(rs.getInt("custid"));
+        customer.setName(rs.getString("name"));
+        customer.setAddress(rs.getString("address"));
+        customer.setPhone(rs.getString("phone"));
+        customer.setRole(rs.getString("role"));
+        return customer;
     }
 
     /**
-     * 고객 개수 조회 (필터링 조건 포함)
+     * 고객 목록 조회 (페이징 지원)
      */
-    private long countCustomers(String whereClause, List<Object> params) throws SQLException {
-        String sql = "SELECT COUNT(*) as total FROM Customer" + whereClause;
+    public PageResponse<Customer> getCustomersPaged(PageRequest pageRequest, String name,
+                                                     String phone, String address) throws SQLException {
+        List<Customer> customers = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+
+        // WHERE 조건 생성 (검색 색인으로 찾은 custid + LIKE 조건)
+        String whereClause = CustomerSearchIndex.where(name, phone, address, params);
+
+        // 1. 전체 개수 조회
+        long totalItems = PageCounter.count("Customer", whereClause, params, pageRequest.getCountMode());
+
+        // 2. 페이징된 데이터 조회 (다음 페이지 커서를 만들기 위해 pageSize + 1개 조회)
+        String sortColumn = resolveSortColumn(pageRequest.getSortBy());
+        String direction = resolveSortDirection(pageRequest.getDirection());
+        List<Object> queryParams = new ArrayList<>(params);
+
+        StringBuilder sql = new StringBuilder("SELECT custid, name, address, phone, role FROM Customer");
+        sql.append(whereClause);
+        if (pageRequest.isKeyset()) {
+            Keyset.appendSeek(sql, whereClause.length() > 0, pageRequest, sortColumn, "custid",
+                              resolveSortType(sortColumn), direction, queryParams);
+        }
+        sql.append(Keyset.orderBy(sortColumn, "custid", direction));
+        sql.append(" LIMIT ? OFFSET ?");
 
         Connection conn = null;
         PreparedStatement pstmt = null;
         ResultSet rs = null;
 
         try {
-            conn = DBConnection.getConnection();
-            pstmt = conn.prepareStatement(sql);
+            conn = DBConnection.getReadConnection();
+            pstmt = conn.prepareStatement(sql.toString());
 
-            for (int i = 0; i < params.size(); i++) {
-                pstmt.setObject(i + 1, params.get(i));
+            // WHERE 파라미터 바인딩 (커서 조건 포함)
+            for (int i = 0; i < queryParams.size(); i++) {
+                pstmt.setObject(i + 1, queryParams.get(i));
             }
 
-            SqlLogger.logQuery(sql, params.toArray());
+            // LIMIT, OFFSET 바인딩
+            pstmt.setInt(queryParams.size() + 1, pageRequest.getPageSize() + 1);
+            pstmt.setInt(queryParams.size() + 2, pageRequest.getOffset());
+
+            SqlLogger.logQuery(sql.toString(), queryParams.toArray());
             rs = pstmt.executeQuery();
 
-            if (rs.next()) {
-                return rs.getLong("total");
+            while (rs.next()) {
+                customers.add(mapCustomer(rs));
             }
         } finally {
             DBConnection.close(conn, pstmt, rs);
         }
 
-        return 0;
+        // 3. 다음 페이지 커서 계산
+        String nextCursor = null;
+        if (customers.size() > pageRequest.getPageSize()) {
+            customers.remove(customers.size() - 1);
+            Customer last = customers.get(customers.size() - 1);
+            nextCursor = PageRequest.encodeCursor(sortColumn, direction, sortValueOf(last, sortColumn), last.getCustid());
+        }
+
+        // 4. PageResponse 생성
+        return new PageResponse<>(customers, pageRequest, totalItems, nextCursor);
     }
 
     /**
-     * 고객 ID로 조회
+     * 고객 ID로 조회 (캐시 우선)
      */
     public Customer getCustomerById(int custId) throws SQLException {
+        return CUSTOMER_CACHE.get(custId, this::loadCustomerById);
+    }
+
+    private Customer loadCustomerById(int custId) throws SQLException {
         String sql = "SELECT custid, name, address, phone, role FROM Customer WHERE custid = ?";
 
         Connection conn = null;
@@ -254,8 +255,8 @@ public class CustomerDAO {
         PreparedStatement pstmt = null;
 
         try {
+            int nextId = ID_ALLOCATOR.nextId();  // 연결을 잡기 전에 발급 (구간 예약 시 별도 연결 사용)
             conn = DBConnection.getConnection();
-            int nextId = getNextCustomerId(conn);
 
             pstmt = conn.prepareStatement(sql);
             pstmt.setInt(1, nextId);
@@ -266,6 +267,10 @@ public class CustomerDAO {
             SqlLogger.logUpdate(sql, nextId, name, address, phone);
             int result = pstmt.executeUpdate();
             if (result > 0) {
+                PageCounter.invalidate("Customer");
+                TableVersions.bump("Customer");
+                SUGGEST.put(nextId, name);
+                CustomerSearchIndex.put(nextId, name, phone, address);
                 return nextId;
             }
         } finally {
@@ -294,6 +299,13 @@ public class CustomerDAO {
 
             SqlLogger.logUpdate(sql, customer.getName(), customer.getAddress(), customer.getPhone(), customer.getCustid());
             int result = pstmt.executeUpdate();
+            if (result > 0) {
+                PageCounter.invalidate("Customer");  // 수정된 값이 검색 조건에 영향을 줌
+                CUSTOMER_CACHE.invalidate(customer.getCustid());
+                TableVersions.bump("Customer");
+                SUGGEST.put(customer.getCustid(), customer.getName());
+                CustomerSearchIndex.put(customer.getCustid(), customer.getName(), customer.getPhone(), customer.getAddress());
+            }
             return result > 0;
         } finally {
             DBConnection.close(conn, pstmt);
@@ -315,24 +327,59 @@ public class CustomerDAO {
             pstmt.setInt(1, custId);
             SqlLogger.logUpdate(sql, custId);
             int result = pstmt.executeUpdate();
+            if (result > 0) {
+                PageCounter.invalidate("Customer");
+                CUSTOMER_CACHE.invalidate(custId);
+                TableVersions.bump("Customer");
+                SUGGEST.remove(custId);
+                CustomerSearchIndex.remove(custId);
+            }
             return result > 0;
         } finally {
             DBConnection.close(conn, pstmt);
         }
     }
 
-    private int getNextCustomerId(Connection conn) throws SQLException {
-        String sql = "SELECT IFNULL(MAX(custid), 0) + 1 AS next_id FROM Customer";
+    /**
+     * 고객명 자동완성 (메모리 색인에서 조회, DB를 거치지 않음)
+     */
+    public List<Map<String, Object>> suggest(String prefix, int limit) throws SQLException {
+        return SUGGEST.suggest(prefix, limit, this::loadSuggestRows);
+    }
+
+    /**
+     * 자동완성 색인 미리 읽기 (서버 시작 시)
+     */
+    public void loadSuggestions() throws SQLException {
+        SUGGEST.load(this::loadSuggestRows);
+    }
+
+    /**
+     * 고객 검색 색인 미리 읽기 (서버 시작 시)
+     */
+    public void loadSearchIndex() throws SQLException {
+        CustomerSearchIndex.load();
+    }
+
+    private void loadSuggestRows(SuggestTrie.RowSink sink) throws SQLException {
+        String sql = "SELECT custid, name FROM Customer";
 
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+
+        try {
+            conn = DBConnection.getConnection();  // 복제 지연으로 최근 변경이 빠지지 않도록 기본 DB
+            pstmt = conn.prepareStatement(sql);
             SqlLogger.logQuery(sql);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt("next_id");
-                }
+            rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                sink.put(rs.getInt("custid"), rs.getString("name"));
             }
+        } finally {
+            DBConnection.close(conn, pstmt, rs);
         }
-        return 1;
     }
 
     private String resolveSortColumn(String sortBy) {
@@ -346,6 +393,19 @@ public class CustomerDAO {
         };
     }
 
+    private Keyset.ColumnType resolveSortType(String sortColumn) {
+        return "custid".equals(sortColumn) ? Keyset.ColumnType.INT : Keyset.ColumnType.STRING;
+    }
+
+    private Object sortValueOf(Customer customer, String sortColumn) {
+        return switch (sortColumn) {
+            case "name" -> customer.getName();
+            case "address" -> customer.getAddress();
+            case "phone" -> customer.getPhone();
+            default -> customer.getCustid();
+        };
+    }
+
     private String resolveSortDirection(String direction) {
         if (direction == null) return "ASC";
         return "desc".equalsIgnoreCase(direction) ? "DESC" : "ASC";
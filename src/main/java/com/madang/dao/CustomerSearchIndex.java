@@ -0,0 +1,559 @@
+package com.madang.dao;
+
+import com.madang.util.ConfigManager;
+import com.madang.util.DBConnection;
+import com.madang.util.SqlLogger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * 고객 검색 색인 (이름/전화번호/주소, JVM 메모리의 n-gram 역색인)
+ *
+ * name/phone/address의 LIKE '%검색어%'는 인덱스를 쓰지 못해 매번 Customer 전체를 읽으므로,
+ * 값을 n글자씩 잘라 n-gram → custid 목록으로 색인하고 검색어의 n-gram 목록을 교집합해 후보 custid를 찾습니다.
+ * - 이름: 소문자, 공백 제거 후 2-gram
+ * - 전화번호: 숫자만 남긴 후 3-gram (하이픈 유무와 관계없이 "5678", "1234-5678" 모두 검색)
+ * - 주소: 소문자, 공백 제거 후 2-gram
+ *
+ * 색인은 후보를 좁히는 용도이고 결과는 항상 LIKE 조건으로 정합니다.
+ * 후보는 LIKE가 찾는 행을 모두 포함해야 하므로 대소문자 외에 열의 collation이 같게 보는 문자(악센트, 전각 등)는 색인하지 않습니다.
+ * - 검색어에 ASCII/한글 음절 밖의 문자나 LIKE 특수 문자(%, _, \)가 있으면 그 검색어는 LIKE로만 거름
+ * - 값에 ASCII/한글 음절 밖의 문자가 있는 고객은 n-gram과 관계없이 항상 후보에 포함
+ * "(custid IN (찾은 custid) OR custid > 마지막으로 읽은 최대 custid)"를 기본 키 범위 조건으로 쓰고 LIKE 조건을 붙이므로,
+ * 색인을 읽은 후 다른 쓰기 주체(gen/*.py, 데이터 생성기, 다른 서버)가 추가한 고객도 바로 검색됨
+ * - 검색어가 n글자보다 짧거나 후보가 너무 많으면(search.customer.index.max.ids 초과) LIKE만 사용
+ * - 처음 사용할 때 전체를 읽고, 이후에는 CustomerDAO가 쓰기를 커밋한 후 put/remove로 갱신
+ * - 이 서버를 거치지 않은 수정과, 마지막으로 읽은 최대 custid보다 작은 ID로 추가된 고객(다른 서버가 먼저 예약해 둔 ID 구간)은
+ *   search.customer.index.reload.interval마다 전체를 다시 읽을 때 반영
+ *
+ * 설정:
+ * <pre>
+ * search.customer.index.enabled=true
+ * search.customer.index.max.ids=1000             # IN 목록 최대 크기 (넘으면 LIKE 전체 스캔이 더 빠름)
+ * search.customer.index.reload.interval=600000   # 전체를 다시 읽는 주기 (ms, 0이면 다시 읽지 않음)
+ * </pre>
+ */
+public final class CustomerSearchIndex {
+
+    private static final boolean ENABLED = ConfigManager.getBoolean("search.customer.index.enabled", true);
+    private static final int MAX_IDS = ConfigManager.getInt("search.customer.index.max.ids", 1000);
+    private static final long RELOAD_INTERVAL = ConfigManager.getLong("search.customer.index.reload.interval", 600000L);
+
+    private static final int NAME = 0;
+    private static final int PHONE = 1;
+    private static final int ADDRESS = 2;
+    private static final String[] COLUMNS = {"name", "phone", "address"};
+    private static final int[] GRAM_SIZES = {2, 3, 2};
+
+    private static final int[] NO_IDS = new int[0];
+    private static final int MIN_PLACEHOLDERS = 8;
+
+    private static final ReentrantReadWriteLock LOCK = new ReentrantReadWriteLock();
+    private static final ReentrantLock LOAD_LOCK = new ReentrantLock();
+    private static volatile Index index;               // 로딩 전에는 null
+    private static volatile long loadedAt;
+    private static List<Consumer<Index>> pending;      // 로딩 중 들어온 변경 (LOCK으로 보호)
+
+    private static final LongAdder indexedSearches = new LongAdder();
+    private static final LongAdder likeSearches = new LongAdder();
+
+    private CustomerSearchIndex() {
+    }
+
+    /**
+     * 고객 검색 WHERE 절 (CustomerDAO의 목록/페이지 조회 공통)
+     * 색인을 쓸 수 있으면 "(custid IN (...) OR custid > ?)" 후 LIKE 조건, 아니면 LIKE 조건만
+     *
+     * @param params 바인딩 파라미터 (custid와 검색어가 추가됨)
+     * @return " WHERE ..." (조건이 없으면 빈 문자열)
+     */
+    static String where(String name, String phone, String address, List<Object> params) {
+        return where(name, phone, address, params, ENABLED);
+    }
+
+    /**
+     * @param useIndex false면 색인을 쓰지 않고 LIKE 조건만 (벤치마크 비교용)
+     */
+    static String where(String name, String phone, String address, List<Object> params, boolean useIndex) {
+        String[] terms = {name, phone, address};
+        StringBuilder where = new StringBuilder();
+
+        Candidates candidates = useIndex ? match(terms) : null;
+        if (candidates != null) {
+            indexedSearches.increment();
+            int[] ids = candidates.ids();
+            if (ids.length == 0) {
+                where.append(" WHERE custid > ?");
+            } else {
+                // 후보 수마다 SQL이 달라지지 않도록 ? 개수는 정해진 크기로 맞추고 남는 자리는 마지막 custid 반복
+                int placeholders = placeholders(ids.length);
+                where.append(" WHERE (custid IN (");
+                for (int i = 0; i < placeholders; i++) {
+                    where.append(i == 0 ? "?" : ", ?");
+                    params.add(ids[Math.min(i, ids.length - 1)]);
+                }
+                where.append(") OR custid > ?)");
+            }
+            params.add(candidates.indexedUpTo());
+        } else if (hasAny(terms)) {
+            likeSearches.increment();
+        }
+
+        for (int field = 0; field < COLUMNS.length; field++) {
+            if (terms[field] != null && !terms[field].isBlank()) {
+                where.append(where.length() == 0 ? " WHERE" : " AND");
+                where.append(" ").append(COLUMNS[field]).append(" LIKE ?");
+                params.add("%" + terms[field].trim() + "%");
+            }
+        }
+
+        return where.toString();
+    }
+
+    /**
+     * IN 목록의 ? 개수 (8, 16, 32, ... 중 후보 수 이상인 가장 작은 값)
+     * 준비된 문장 캐시와 SQL 지표에 후보 수별로 다른 SQL이 쌓이지 않도록 함
+     */
+    static int placeholders(int count) {
+        return Math.max(MIN_PLACEHOLDERS, Integer.highestOneBit(count - 1) << 1);
+    }
+
+    /**
+     * 색인에서 찾은 후보
+     *
+     * @param ids 검색어에 맞는 custid (오름차순)
+     * @param indexedUpTo 마지막으로 전체를 읽을 때의 최대 custid (이보다 큰 고객은 색인에 없을 수 있음)
+     */
+    private record Candidates(int[] ids, int indexedUpTo) {
+    }
+
+    /**
+     * 검색어에 맞는 후보
+     *
+     * @return 색인을 쓸 수 없으면(색인 가능한 검색어가 없음, 후보가 너무 많음, 로딩 실패) null
+     */
+    private static Candidates match(String[] terms) {
+        if (!hasAny(terms) || !ensureLoaded()) {
+            return null;
+        }
+
+        LOCK.readLock().lock();
+        try {
+            int[] result = null;
+            for (int field = 0; field < COLUMNS.length; field++) {
+                if (terms[field] == null || terms[field].isBlank()) {
+                    continue;
+                }
+                if (!indexable(terms[field], true)) {
+                    continue;  // 와일드카드나 collation이 같게 보는 문자는 LIKE로만 거름
+                }
+                int[] ids = index.match(field, normalize(field, terms[field]));
+                if (ids == null) {
+                    continue;  // 이 검색어는 LIKE로만 거름
+                }
+                result = result == null ? ids : intersect(result, ids);
+                if (result.length == 0) {
+                    break;
+                }
+            }
+            return result == null || result.length > MAX_IDS ? null : new Candidates(result, index.loadedMaxId);
+        } finally {
+            LOCK.readLock().unlock();
+        }
+    }
+
+    private static boolean hasAny(String[] terms) {
+        for (String term : terms) {
+            if (term != null && !term.isBlank()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 고객 추가/수정 (CustomerDAO가 쓰기를 커밋한 후 호출, 로딩 전이면 무시)
+     */
+    static void put(int custId, String name, String phone, String address) {
+        apply(index -> index.put(custId, name, phone, address));
+    }
+
+    /**
+     * 고객 삭제 (CustomerDAO가 쓰기를 커밋한 후 호출, 로딩 전이면 무시)
+     */
+    static void remove(int custId) {
+        apply(index -> index.remove(custId));
+    }
+
+    private static void apply(Consumer<Index> change) {
+        LOCK.writeLock().lock();
+        try {
+            if (index != null) {
+                change.accept(index);
+            }
+            if (pending != null) {
+                pending.add(change);
+            }
+        } finally {
+            LOCK.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 전체를 읽어 색인 (서버 시작 시 미리 로딩)
+     */
+    public static void load() throws SQLException {
+        if (!ENABLED) {
+            return;
+        }
+        LOAD_LOCK.lock();
+        try {
+            reload();
+        } finally {
+            LOAD_LOCK.unlock();
+        }
+    }
+
+    /**
+     * 색인 사용 가능 여부 (처음이면 읽고, 다시 읽을 시점이 지났으면 다시 읽음)
+     * 읽지 못하면 LIKE 검색을 사용하고 다음 주기에 다시 시도
+     */
+    private static boolean ensureLoaded() {
+        boolean stale = RELOAD_INTERVAL > 0 && System.currentTimeMillis() - loadedAt > RELOAD_INTERVAL;
+        if (index != null && !stale) {
+            return true;
+        }
+
+        // 첫 로딩은 끝날 때까지 대기, 다시 읽는 동안 다른 요청은 이전 색인 사용
+        if (index == null) {
+            LOAD_LOCK.lock();
+        } else if (!LOAD_LOCK.tryLock()) {
+            return true;
+        }
+        try {
+            if (index == null || stale) {
+                reload();
+            }
+        } catch (SQLException e) {
+            System.err.println("⚠️  고객 검색 색인을 읽지 못해 LIKE 검색을 사용합니다: " + e.getMessage());
+            loadedAt = System.currentTimeMillis();
+        } finally {
+            LOAD_LOCK.unlock();
+        }
+        return index != null;
+    }
+
+    /**
+     * 새 색인을 만든 후 교체 (LOAD_LOCK을 잡은 상태에서 호출)
+     * 읽는 동안 들어온 변경은 모아 두었다가 새 색인에 다시 반영 (put/remove는 여러 번 반영해도 같음)
+     */
+    private static void reload() throws SQLException {
+        LOCK.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            LOCK.writeLock().unlock();
+        }
+
+        Index fresh = new Index();
+        String sql = "SELECT custid, name, phone, address FROM Customer";
+
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+
+        try {
+            conn = DBConnection.getConnection();  // 복제 지연으로 최근 변경이 빠지지 않도록 기본 DB
+            pstmt = DBConnection.prepareStreaming(conn, sql);
+            SqlLogger.logQuery(sql);
+            rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                int custId = rs.getInt("custid");
+                fresh.put(custId, rs.getString("name"), rs.getString("phone"), rs.getString("address"));
+                fresh.loadedMaxId = Math.max(fresh.loadedMaxId, custId);
+            }
+        } catch (SQLException | RuntimeException e) {
+            LOCK.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                LOCK.writeLock().unlock();
+            }
+            throw e;
+        } finally {
+            DBConnection.close(conn, pstmt, rs);
+        }
+
+        LOCK.writeLock().lock();
+        try {
+            for (Consumer<Index> change : pending) {
+                change.accept(fresh);
+            }
+            pending = null;
+            index = fresh;
+            loadedAt = System.currentTimeMillis();
+        } finally {
+            LOCK.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 색인 통계 (고객 수, n-gram 수, 색인/LIKE 검색 수)
+     */
+    public static Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", ENABLED);
+
+        LOCK.readLock().lock();
+        try {
+            stats.put("loaded", index != null);
+            stats.put("customers", index == null ? 0 : index.rows.size());
+            stats.put("grams", index == null ? 0 : index.gramCount());
+            stats.put("postings", index == null ? 0 : index.postingCount());
+        } finally {
+            LOCK.readLock().unlock();
+        }
+
+        stats.put("indexedSearches", indexedSearches.sum());
+        stats.put("likeSearches", likeSearches.sum());
+        stats.put("loadedAt", loadedAt);
+        return stats;
+    }
+
+    /**
+     * 정규화로 LIKE와 같은 결과를 낼 수 있는 값인지 (ASCII와 한글 음절만, 검색어는 LIKE 특수 문자도 없어야 함)
+     * 그 밖의 문자는 collation에 따라 악센트/전각이 다른 문자와 같게 비교될 수 있음 (é = e, Ａ = a)
+     */
+    private static boolean indexable(String value, boolean term) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (term && (c == '%' || c == '_' || c == '\\')) {
+                return false;
+            }
+            if (c >= 0x80 && (c < 0xAC00 || c > 0xD7A3)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 색인용 정규화 (전화번호는 숫자만, 나머지는 소문자 + 공백 제거)
+     * 원래 값이 검색어를 포함하면 정규화한 값도 정규화한 검색어를 포함 (색인 후보가 LIKE 결과를 모두 포함)
+     */
+    private static String normalize(int field, String value) {
+        StringBuilder normalized = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (field == PHONE ? c >= '0' && c <= '9' : !Character.isWhitespace(c)) {
+                normalized.append(c);
+            }
+        }
+        return field == PHONE ? normalized.toString() : normalized.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static int[] union(int[] a, int[] b) {
+        if (b.length == 0) {
+            return a;
+        }
+        int[] result = new int[a.length + b.length];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length || j < b.length) {
+            if (j == b.length || i < a.length && a[i] < b[j]) {
+                result[size++] = a[i++];
+            } else if (i == a.length || b[j] < a[i]) {
+                result[size++] = b[j++];
+            } else {
+                result[size++] = a[i++];
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int size = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[size++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * custid 목록 (오름차순 정렬 배열, custid가 증가하며 등록되므로 추가는 대부분 끝에 붙음)
+     */
+    private static final class Postings {
+        int[] ids = new int[2];
+        int size;
+
+        void add(int id) {
+            int pos = size > 0 && ids[size - 1] < id ? size : Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0 && pos < size) {
+                return;  // 이미 있음
+            }
+            int insert = pos >= 0 ? pos : -pos - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insert, ids, insert + 1, size - insert);
+            ids[insert] = id;
+            size++;
+        }
+
+        void remove(int id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+                size--;
+            }
+        }
+    }
+
+    /**
+     * 한 번의 전체 로딩으로 만든 색인
+     */
+    private static final class Index {
+        final Map<Integer, String[]> rows = new HashMap<>();   // custid → 정규화한 값 (검증용)
+        final List<Map<String, Postings>> grams = List.of(new HashMap<>(), new HashMap<>(), new HashMap<>());
+        // 값에 색인할 수 없는 문자가 있어 항상 후보에 넣는 custid
+        final List<Postings> unindexed = List.of(new Postings(), new Postings(), new Postings());
+        // DB에서 읽은 최대 custid (이 서버의 put으로는 올리지 않음: 다른 서버가 그보다 작은 ID로 추가할 수 있음)
+        int loadedMaxId;
+
+        void put(int custId, String name, String phone, String address) {
+            remove(custId);
+
+            String[] values = {name, phone, address};
+            String[] normalized = new String[COLUMNS.length];
+            for (int field = 0; field < COLUMNS.length; field++) {
+                normalized[field] = values[field] == null ? "" : normalize(field, values[field]);
+                if (values[field] != null && !indexable(values[field], false)) {
+                    unindexed.get(field).add(custId);
+                }
+                for (String gram : grams(field, normalized[field])) {
+                    grams.get(field).computeIfAbsent(gram, g -> new Postings()).add(custId);
+                }
+            }
+            rows.put(custId, normalized);
+        }
+
+        void remove(int custId) {
+            String[] normalized = rows.remove(custId);
+            if (normalized == null) {
+                return;
+            }
+            for (int field = 0; field < COLUMNS.length; field++) {
+                unindexed.get(field).remove(custId);
+                for (String gram : grams(field, normalized[field])) {
+                    Postings postings = grams.get(field).get(gram);
+                    if (postings != null) {
+                        postings.remove(custId);
+                        if (postings.size == 0) {
+                            grams.get(field).remove(gram);
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * 정규화한 값이 검색어를 포함하는 custid + 색인할 수 없는 값의 custid
+         *
+         * @return 검색어가 n-gram보다 짧으면 null
+         */
+        int[] match(int field, String term) {
+            List<String> termGrams = grams(field, term);
+            if (termGrams.isEmpty()) {
+                return null;
+            }
+            Postings other = unindexed.get(field);
+            return union(matchIndexed(field, term, termGrams), Arrays.copyOf(other.ids, other.size));
+        }
+
+        private int[] matchIndexed(int field, String term, List<String> termGrams) {
+            // 가장 짧은 목록에서 시작해 교집합
+            Postings smallest = null;
+            for (String gram : termGrams) {
+                Postings postings = grams.get(field).get(gram);
+                if (postings == null) {
+                    return NO_IDS;
+                }
+                if (smallest == null || postings.size < smallest.size) {
+                    smallest = postings;
+                }
+            }
+
+            int[] candidates = Arrays.copyOf(smallest.ids, smallest.size);
+            for (String gram : termGrams) {
+                Postings postings = grams.get(field).get(gram);
+                if (postings != smallest) {
+                    candidates = intersect(candidates, Arrays.copyOf(postings.ids, postings.size));
+                }
+            }
+
+            // n-gram이 모두 있어도 연속하지 않을 수 있으므로 값으로 확인
+            int size = 0;
+            for (int id : candidates) {
+                if (rows.get(id)[field].contains(term)) {
+                    candidates[size++] = id;
+                }
+            }
+            return Arrays.copyOf(candidates, size);
+        }
+
+        int gramCount() {
+            return grams.get(NAME).size() + grams.get(PHONE).size() + grams.get(ADDRESS).size();
+        }
+
+        long postingCount() {
+            long count = 0;
+            for (Map<String, Postings> field : grams) {
+                for (Postings postings : field.values()) {
+                    count += postings.size;
+                }
+            }
+            return count;
+        }
+    }
+
+    /**
+     * 값의 n-gram (중복 제거, n글자보다 짧으면 빈 목록)
+     */
+    private static List<String> grams(int field, String normalized) {
+        int n = GRAM_SIZES[field];
+        List<String> grams = new ArrayList<>();
+        for (int i = 0; i + n <= normalized.length(); i++) {
+            String gram = normalized.substring(i, i + n);
+            if (!grams.contains(gram)) {
+                grams.add(gram);
+            }
+        }
+        return grams;
+    }
+}
@@ -0,0 +1,101 @@
+package com.madang.dao;
+
+import com.madang.model.PageRequest;
+
+import java.util.List;
+
+/**
+ * 커서(keyset) 페이지네이션 SQL 조각 생성
+ *
+ * OFFSET 대신 "마지막으로 본 (정렬값, id) 다음부터" 조건을 만들어
+ * (정렬 컬럼, 기본 키) 인덱스를 탐색하도록 합니다.
+ * InnoDB 보조 인덱스는 기본 키를 포함하므로 idx_book_bookname(bookname)도
+ * (bookname, bookid) 순서로 탐색됩니다.
+ *
+ * MySQL은 NULL을 가장 작은 값으로 정렬하므로 (ASC: 맨 앞, DESC: 맨 뒤)
+ * 정렬 컬럼에 NULL이 있으면(예: Customer.phone) NULL 구간을 따로 이어 붙입니다.
+ */
+final class Keyset {
+
+    private Keyset() {
+    }
+
+    /**
+     * 정렬 컬럼의 값 타입 (커서 문자열을 바인딩 값으로 되돌릴 때 사용)
+     */
+    enum ColumnType {
+        STRING, INT, DATE
+    }
+
+    /**
+     * 커서 다음 위치 조건 추가
+     * ASC:  (col > ? OR (col = ? AND id > ?))
+     * DESC: (col < ? OR (col = ? AND id < ?) OR col IS NULL)
+     * 커서 정렬값이 NULL이면
+     * ASC:  ((col IS NULL AND id > ?) OR col IS NOT NULL)
+     * DESC: (col IS NULL AND id < ?)
+     *
+     * @param sql WHERE 절이 이미 있으면 AND로 이어 붙임
+     * @param hasWhere sql에 WHERE 절이 있는지 여부
+     */
+    static void appendSeek(StringBuilder sql, boolean hasWhere, PageRequest pageRequest,
+                           String sortColumn, String idColumn, ColumnType type,
+                           String direction, List<Object> params) {
+        pageRequest.requireCursorFor(sortColumn, direction);
+
+        String op = "DESC".equals(direction) ? "<" : ">";
+        sql.append(hasWhere ? " AND " : " WHERE ");
+
+        if (sortColumn.equals(idColumn)) {
+            sql.append(idColumn).append(' ').append(op).append(" ?");
+            params.add(pageRequest.getCursorId());
+            return;
+        }
+
+        boolean descending = "DESC".equals(direction);
+        if (pageRequest.getCursorValue() == null) {
+            sql.append(descending ? "(" : "((").append(sortColumn).append(" IS NULL AND ")
+               .append(idColumn).append(' ').append(op).append(" ?)");
+            if (!descending) {
+                sql.append(" OR ").append(sortColumn).append(" IS NOT NULL)");
+            }
+            params.add(pageRequest.getCursorId());
+            return;
+        }
+
+        Object value = toBindValue(pageRequest.getCursorValue(), type);
+        sql.append("(").append(sortColumn).append(' ').append(op).append(" ?")
+           .append(" OR (").append(sortColumn).append(" = ? AND ")
+           .append(idColumn).append(' ').append(op).append(" ?)");
+        if (descending) {
+            // NOT NULL 컬럼이면 옵티마이저가 이 조건을 제거함
+            sql.append(" OR ").append(sortColumn).append(" IS NULL");
+        }
+        sql.append(")");
+        params.add(value);
+        params.add(value);
+        params.add(pageRequest.getCursorId());
+    }
+
+    /**
+     * ORDER BY 절 (같은 정렬값 안에서는 기본 키로 순서를 고정)
+     */
+    static String orderBy(String sortColumn, String idColumn, String direction) {
+        if (sortColumn.equals(idColumn)) {
+            return " ORDER BY " + sortColumn + " " + direction;
+        }
+        return " ORDER BY " + sortColumn + " " + direction + ", " + idColumn + " " + direction;
+    }
+
+    private static Object toBindValue(String value, ColumnType type) {
+        try {
+            return switch (type) {
+                case INT -> Integer.parseInt(value);
+                case DATE -> java.sql.Date.valueOf(value);
+                case STRING -> value;
+            };
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 페이지 커서입니다.");
+        }
+    }
+}
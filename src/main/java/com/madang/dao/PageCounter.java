@@ -0,0 +1,169 @@
+package com.madang.dao;
+
+import com.madang.model.PageRequest.CountMode;
+import com.madang.util.ConfigManager;
+import com.madang.util.DBConnection;
+import com.madang.util.SqlLogger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 페이지 응답의 전체 개수(totalItems) 계산
+ *
+ * 페이지마다 COUNT(*)를 다시 실행하면 조회 쿼리와 같은 범위를 한 번 더 스캔하게 됩니다.
+ * 다음 페이지 여부는 DAO가 pageSize + 1개 조회로 판단하므로, 전체 개수는
+ * 요청의 CountMode에 따라 정확값/캐시값/추정값 중 하나로 채우거나 생략합니다.
+ *
+ * 캐시는 (테이블, WHERE 절, 파라미터)별로 저장되며 해당 테이블에 쓰기가 일어나면
+ * invalidate()로 비웁니다.
+ */
+final class PageCounter {
+
+    private static final long CACHE_TTL_MS = ConfigManager.getLong("pagination.count.cache.ttl", 60000L);
+    private static final int CACHE_MAX_ENTRIES = ConfigManager.getInt("pagination.count.cache.size", 1000);
+
+    private static final Map<String, Map<String, CachedCount>> CACHE = new ConcurrentHashMap<>();
+    // 테이블별 쓰기 세대 (조회 중 무효화된 경우 오래된 값을 캐시에 넣지 않기 위함)
+    private static final Map<String, AtomicLong> GENERATIONS = new ConcurrentHashMap<>();
+
+    private PageCounter() {
+    }
+
+    private record CachedCount(long total, long expiresAt) {
+    }
+
+    /**
+     * 조건에 맞는 전체 개수 조회
+     *
+     * @param table 테이블명 (예: "Book")
+     * @param whereClause WHERE 조건절 (예: " WHERE bookname LIKE ?", 조건이 없으면 "")
+     * @param params WHERE 조건절 파라미터 리스트
+     * @param mode 계산 방식
+     * @return 전체 개수 (NONE 방식이면 -1)
+     */
+    static long count(String table, String whereClause, List<Object> params, CountMode mode) throws SQLException {
+        return switch (mode) {
+            case NONE -> -1;
+            case EXACT -> exactCount(table, whereClause, params);
+            case ESTIMATE -> estimatedCount(table, whereClause, params);
+            case CACHED -> cachedCount(table, whereClause, params);
+        };
+    }
+
+    /**
+     * 테이블에 쓰기가 일어난 후 호출 (해당 테이블의 캐시된 개수 제거)
+     */
+    static void invalidate(String table) {
+        generation(table).incrementAndGet();
+        Map<String, CachedCount> entries = CACHE.get(table);
+        if (entries != null) {
+            entries.clear();
+        }
+    }
+
+    private static long cachedCount(String table, String whereClause, List<Object> params) throws SQLException {
+        Map<String, CachedCount> entries = CACHE.computeIfAbsent(table, t -> new ConcurrentHashMap<>());
+        String key = whereClause + '\u001F' + params;
+        long now = System.currentTimeMillis();
+
+        CachedCount cached = entries.get(key);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.total();
+        }
+
+        long generation = generation(table).get();
+        long total = exactCount(table, whereClause, params);
+
+        if (generation == generation(table).get()) {
+            if (entries.size() >= CACHE_MAX_ENTRIES) {
+                entries.values().removeIf(entry -> entry.expiresAt() <= now);
+                if (entries.size() >= CACHE_MAX_ENTRIES) {
+                    entries.clear();
+                }
+            }
+            entries.put(key, new CachedCount(total, now + CACHE_TTL_MS));
+        }
+        return total;
+    }
+
+    private static long exactCount(String table, String whereClause, List<Object> params) throws SQLException {
+        String sql = "SELECT COUNT(*) as total FROM " + table + whereClause;
+
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+
+        try {
+            conn = DBConnection.getReadConnection();
+            pstmt = conn.prepareStatement(sql);
+
+            for (int i = 0; i < params.size(); i++) {
+                pstmt.setObject(i + 1, params.get(i));
+            }
+
+            SqlLogger.logQuery(sql, params.toArray());
+            rs = pstmt.executeQuery();
+
+            if (rs.next()) {
+                return rs.getLong("total");
+            }
+        } finally {
+            DBConnection.close(conn, pstmt, rs);
+        }
+
+        return 0;
+    }
+
+    /**
+     * 예상 개수 조회
+     * 조건이 없으면 테이블 통계(information_schema.TABLES.TABLE_ROWS),
+     * 조건이 있으면 실행 계획의 rows * filtered / 100 사용
+     */
+    private static long estimatedCount(String table, String whereClause, List<Object> params) throws SQLException {
+        String sql;
+        if (whereClause.isEmpty()) {
+            sql = "SELECT TABLE_ROWS as total FROM information_schema.TABLES " +
+                  "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?";
+            params = List.of(table);
+        } else {
+            sql = "EXPLAIN SELECT 1 FROM " + table + whereClause;
+        }
+
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+
+        try {
+            conn = DBConnection.getReadConnection();
+            pstmt = conn.prepareStatement(sql);
+
+            for (int i = 0; i < params.size(); i++) {
+                pstmt.setObject(i + 1, params.get(i));
+            }
+
+            SqlLogger.logQuery(sql, params.toArray());
+            rs = pstmt.executeQuery();
+
+            if (!rs.next()) {
+                return 0;
+            }
+            if (whereClause.isEmpty()) {
+                return rs.getLong("total");
+            }
+            return Math.round(rs.getLong("rows") * rs.getDouble("filtered") / 100.0);
+        } finally {
+            DBConnection.close(conn, pstmt, rs);
+        }
+    }
+
+    private static AtomicLong generation(String table) {
+        return GENERATIONS.computeIfAbsent(table, t -> new AtomicLong());
+    }
+}
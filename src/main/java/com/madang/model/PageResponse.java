@@ -1,5 +1,8 @@
 package com.madang.model;
 
+import com.madang.util.JsonWriter;
+
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -10,10 +13,12 @@ public class PageResponse<T> {
     private List<T> items;          // 현재 페이지의 데이터 목록
     private int page;               // 현재 페이지 번호
     private int pageSize;           // 페이지당 항목 수
-    private long totalItems;        // 전체 항목 수
+    private long totalItems;        // 전체 항목 수 (NONE 방식이면 -1)
     private int totalPages;         // 전체 페이지 수
     private boolean hasNext;        // 다음 페이지 존재 여부
     private boolean hasPrevious;    // 이전 페이지 존재 여부
+    private String nextCursor;      // 다음 페이지 커서 (PageRequest의 after로 전달, 마지막 페이지면 null)
+    private PageRequest.CountMode countMode = PageRequest.CountMode.EXACT;  // totalItems 계산 방식
 
     /**
      * 기본 생성자
@@ -39,6 +44,29 @@ public class PageResponse<T> {
         this.hasPrevious = page > 1;
     }
 
+    /**
+     * 커서 정보를 포함하는 생성자
+     * DAO는 pageSize + 1개를 조회하므로 다음 페이지 여부는 전체 개수가 아니라 nextCursor 유무로 판단
+     * (추정치나 캐시된 개수를 써도 hasNext는 항상 정확함)
+     *
+     * @param items 현재 페이지의 데이터 목록
+     * @param pageRequest 페이지 요청 정보
+     * @param totalItems 전체 항목 수 (NONE 방식이면 -1)
+     * @param nextCursor 다음 페이지 커서 (없으면 null)
+     */
+    public PageResponse(List<T> items, PageRequest pageRequest, long totalItems, String nextCursor) {
+        this(items, pageRequest.getPage(), pageRequest.getPageSize(), Math.max(totalItems, 0));
+        this.nextCursor = nextCursor;
+        this.countMode = pageRequest.getCountMode();
+        this.hasNext = nextCursor != null;
+        // 커서 방식은 요청에 커서가 있었는지로 판단 (커서 없이 요청한 첫 페이지는 false)
+        this.hasPrevious = pageRequest.getAfter() != null || pageRequest.getPage() > 1;
+        if (totalItems < 0) {
+            this.totalItems = -1;
+            this.totalPages = -1;
+        }
+    }
+
     /**
      * 전체 페이지 수 계산
      */
@@ -105,6 +133,48 @@ public class PageResponse<T> {
         this.hasPrevious = hasPrevious;
     }
 
+    public PageRequest.CountMode getCountMode() {
+        return countMode;
+    }
+
+    public void setCountMode(PageRequest.CountMode countMode) {
+        this.countMode = countMode;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * JSON 스트림에 직접 기록
+     *
+     * @param out JSON 작성기
+     * @param itemWriter 항목 하나를 기록하는 함수 (예: Book::writeJson)
+     */
+    public void writeJson(JsonWriter out, JsonWriter.ItemWriter<T> itemWriter) throws IOException {
+        out.beginObject();
+        out.name("items").array(items, itemWriter);
+        out.name("page").value(page)
+           .name("pageSize").value(pageSize);
+        // NONE 방식은 전체 개수를 모르므로 null
+        if (totalItems < 0) {
+            out.name("totalItems").nullValue()
+               .name("totalPages").nullValue();
+        } else {
+            out.name("totalItems").value(totalItems)
+               .name("totalPages").value(totalPages);
+        }
+        out.name("countMode").value(countMode.name().toLowerCase())
+           .name("hasNext").value(hasNext)
+           .name("hasPrevious").value(hasPrevious)
+           .name("nextCursor").value(nextCursor);
+        out.endObject();
+    }
+
     @Override
     public String toString() {
         return "PageResponse{" +
@@ -115,6 +185,8 @@ public class PageResponse<T> {
                 ", totalPages=" + totalPages +
                 ", hasNext=" + hasNext +
                 ", hasPrevious=" + hasPrevious +
+                ", nextCursor='" + nextCursor + '\'' +
+                ", countMode=" + countMode +
                 '}';
     }
 }
@@ -7,16 +7,24 @@ import jakarta.servlet.http.HttpServletResponse;
 
 import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.PrintWriter;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonSyntaxException;
 
+import com.madang.util.Bulkhead;
+import com.madang.util.DBConnection;
+import com.madang.util.JsonBody;
+import com.madang.util.JsonWriter;
+import com.madang.util.Metrics;
+import com.madang.util.ResponseCompression;
 import com.madang.util.SessionManager;
 import com.madang.util.SessionManager.Session;
 
@@ -31,6 +39,11 @@ public abstract class ApiServlet extends HttpServlet {
     private static final long serialVersionUID = 1L;
     private static final Gson gson = new Gson();
 
+    /**
+     * 일반 API(도서/고객/주문) 동시 처리 제한 (bulkhead.api.*)
+     */
+    static final Bulkhead API_BULKHEAD = Bulkhead.fromConfig("api", 50, 100, 1000L);
+
     /**
      * 모든 HTTP 메서드를 처리하는 통합 service 메서드
      * ApiHandler.handle()과 동일한 역할
@@ -48,13 +61,47 @@ public abstract class ApiServlet extends HttpServlet {
             return;
         }
 
+        // 요청 종류별 동시 처리 제한 (초과 시 바로 503)
+        long start = System.nanoTime();
+        Bulkhead bulkhead = bulkhead();
+        if (bulkhead != null && !bulkhead.tryAcquire()) {
+            resp.setHeader("Retry-After", "1");
+            sendErrorResponse(resp, HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+                "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.");
+            Metrics.recordRequest(req.getServletPath(), null, actions(), req.getMethod(), resp.getStatus(),
+                                  System.nanoTime() - start);
+            return;
+        }
+
+        String action = null;
         try {
+            // 읽기 복제본 선택 시 방금 쓰기를 한 사용자인지 구분 (세션 ID, 없으면 접속 주소)
+            // 슬롯을 받은 후이므로 try 안에서 (실패해도 finally에서 슬롯 반납)
+            String sessionId = getSessionId(req);
+            DBConnection.bindClient(sessionId != null ? sessionId : req.getRemoteAddr());
+
             String method = req.getMethod();
             Map<String, String> params = parseQueryParams(req);
+            action = params.get("action");
+
+            // 조건부 GET: 버전 토큰이 클라이언트가 가진 ETag와 같으면 조회 없이 304
+            if ("GET".equals(method)) {
+                String version = versionToken(params);
+                if (version != null) {
+                    String etag = "W/\"" + version + "\"";
+                    resp.setHeader("ETag", etag);
+                    resp.setHeader("Cache-Control", "no-cache");
+                    if (etagMatches(req.getHeader("If-None-Match"), etag)) {
+                        resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                        return;
+                    }
+                }
+            }
+
             String requestBody = readRequestBody(req);
 
             // HTTP 메서드에 따라 처리
-            String response;
+            JsonBody response;
             switch (method) {
                 case "GET":
                     response = handleGet(params, req, resp);
@@ -72,46 +119,96 @@ public abstract class ApiServlet extends HttpServlet {
                     response = errorResponse("지원하지 않는 HTTP 메서드입니다.");
             }
 
-            sendJsonResponse(resp, HttpServletResponse.SC_OK, response);
+            if (!"GET".equals(method)) {
+                // 이후 잠시 동안 이 사용자의 조회는 기본 DB에서 (read-your-writes)
+                DBConnection.markWritten();
+            }
+
+            sendJsonResponse(req, resp, HttpServletResponse.SC_OK, response);
 
         } catch (IllegalAccessException e) {
             // 권한 오류 (403 Forbidden)
             e.printStackTrace();
-            sendJsonResponse(resp, HttpServletResponse.SC_FORBIDDEN,
-                errorResponse(e.getMessage()));
+            sendErrorResponse(resp, HttpServletResponse.SC_FORBIDDEN, e.getMessage());
         } catch (Exception e) {
             e.printStackTrace();
             String errorMsg = e.getMessage() == null ? "알 수 없는 오류가 발생했습니다." : e.getMessage();
-            sendJsonResponse(resp, HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
-                errorResponse(errorMsg));
+            sendErrorResponse(resp, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, errorMsg);
+        } finally {
+            DBConnection.clearClient();
+            if (bulkhead != null) {
+                bulkhead.release();
+            }
+            Metrics.recordRequest(req.getServletPath(), action, actions(), req.getMethod(), resp.getStatus(),
+                                  System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * GET 응답의 버전 토큰 (ETag로 사용, null이면 조건부 요청을 처리하지 않음)
+     * DB를 조회하지 않고 계산할 수 있어야 함 (예: TableVersions.token("Book"))
+     */
+    protected String versionToken(Map<String, String> params) {
+        return null;
+    }
+
+    /**
+     * If-None-Match에 ETag가 포함되어 있는지 확인 (약한 비교)
+     */
+    private boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
         }
+        String opaque = etag.startsWith("W/") ? etag.substring(2) : etag;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || value.equals(etag) || value.equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 이 서블릿 요청에 적용할 동시 처리 제한 (null이면 제한 없음)
+     * 무거운 요청을 처리하는 서블릿은 별도 bulkhead로 재정의
+     */
+    protected Bulkhead bulkhead() {
+        return API_BULKHEAD;
+    }
+
+    /**
+     * 이 서블릿이 처리하는 action 목록 (요청 지표 라벨용, 목록에 없는 값은 other로 기록)
+     */
+    protected Set<String> actions() {
+        return Set.of();
     }
 
     /**
      * GET 요청 처리 (하위 클래스에서 구현)
      */
-    protected String handleGet(Map<String, String> params, HttpServletRequest req, HttpServletResponse resp) throws Exception {
+    protected JsonBody handleGet(Map<String, String> params, HttpServletRequest req, HttpServletResponse resp) throws Exception {
         return errorResponse("GET 메서드가 구현되지 않았습니다.");
     }
 
     /**
      * POST 요청 처리 (하위 클래스에서 구현)
      */
-    protected String handlePost(Map<String, String> params, String body, HttpServletRequest req, HttpServletResponse resp) throws Exception {
+    protected JsonBody handlePost(Map<String, String> params, String body, HttpServletRequest req, HttpServletResponse resp) throws Exception {
         return errorResponse("POST 메서드가 구현되지 않았습니다.");
     }
 
     /**
      * PUT 요청 처리 (하위 클래스에서 구현)
      */
-    protected String handlePut(Map<String, String> params, String body, HttpServletRequest req, HttpServletResponse resp) throws Exception {
+    protected JsonBody handlePut(Map<String, String> params, String body, HttpServletRequest req, HttpServletResponse resp) throws Exception {
         return errorResponse("PUT 메서드가 구현되지 않았습니다.");
     }
 
     /**
      * DELETE 요청 처리 (하위 클래스에서 구현)
      */
-    protected String handleDelete(Map<String, String> params, HttpServletRequest req, HttpServletResponse resp) throws Exception {
+    protected JsonBody handleDelete(Map<String, String> params, HttpServletRequest req, HttpServletResponse resp) throws Exception {
         return errorResponse("DELETE 메서드가 구현되지 않았습니다.");
     }
 
@@ -154,17 +251,60 @@ public abstract class ApiServlet extends HttpServlet {
 
     /**
      * JSON 응답 전송
+     * 본문을 문자열로 만들지 않고 응답 출력 스트림에 바로 기록
+     * (스트리밍 조회는 이 시점에 실행되므로, 실패 시 스트림을 닫지 않고 에러 응답으로 전환)
+     * 클라이언트가 지원하면 gzip/deflate로 압축하며 전송 (compression.min.size 미만은 압축 안 함)
      */
-    protected void sendJsonResponse(HttpServletResponse resp, int statusCode, String jsonResponse)
-            throws IOException {
+    protected void sendJsonResponse(HttpServletRequest req, HttpServletResponse resp, int statusCode, JsonBody body)
+            throws Exception {
         resp.setStatus(statusCode);
         resp.setContentType("application/json; charset=UTF-8");
         resp.setCharacterEncoding("UTF-8");
+        if (ResponseCompression.isEnabled()) {
+            resp.setHeader("Vary", "Accept-Encoding");
+        }
 
-        try (PrintWriter writer = resp.getWriter()) {
-            writer.write(jsonResponse);
-            writer.flush();
+        String encoding = ResponseCompression.negotiate(req.getHeader("Accept-Encoding"));
+        if (encoding == null) {
+            JsonWriter out = JsonWriter.of(resp.getOutputStream());
+            body.writeTo(out);
+            out.flush();
+            return;
         }
+
+        JsonWriter out = JsonWriter.of(ResponseCompression.wrap(encoding, (contentEncoding, length) -> {
+            if (contentEncoding != null) {
+                resp.setHeader("Content-Encoding", contentEncoding);
+            }
+            if (length >= 0) {
+                resp.setContentLengthLong(length);
+            }
+            return resp.getOutputStream();
+        }));
+        body.writeTo(out);
+        out.close();
+    }
+
+    /**
+     * 에러 응답 전송
+     * 본문 일부가 이미 전송된 경우에는 상태 코드를 바꿀 수 없으므로 연결만 정리
+     */
+    protected void sendErrorResponse(HttpServletResponse resp, int statusCode, String message)
+            throws IOException {
+        if (resp.isCommitted()) {
+            System.err.println("⚠️  응답 전송 중 오류 발생 (이미 전송된 응답): " + message);
+            return;
+        }
+
+        resp.resetBuffer();
+        resp.setHeader("Content-Encoding", null);  // 압축 전송 중 실패한 경우 (에러 응답은 압축하지 않음)
+        resp.setStatus(statusCode);
+        resp.setContentType("application/json; charset=UTF-8");
+        resp.setCharacterEncoding("UTF-8");
+
+        JsonWriter out = JsonWriter.of(resp.getOutputStream());
+        writeError(out, message);
+        out.flush();
     }
 
     /**
@@ -179,48 +319,45 @@ public abstract class ApiServlet extends HttpServlet {
 
     /**
      * 성공 응답 생성
+     * data 부분은 응답 스트림에 직접 기록됨
      */
-    protected String successResponse(String data) {
-        return "{\"success\": true, \"data\": " + data + "}";
+    protected JsonBody successResponse(JsonBody data) {
+        return out -> {
+            out.beginObject().name("success").value(true).name("data");
+            data.writeTo(out);
+            out.endObject();
+        };
     }
 
     /**
-     * 에러 응답 생성
+     * 성공 응답 생성 (Map, List, 문자열, 숫자 등 일반 값)
      */
-    protected String errorResponse(String message) {
-        return "{\"success\": false, \"error\": \"" + escapeJson(message) + "\"}";
+    protected JsonBody successResponse(Object data) {
+        return successResponse(out -> out.writeValue(data));
     }
 
     /**
-     * JSON 문자열 이스케이프
+     * 성공 응답 생성 (목록)
      */
-    protected String escapeJson(String str) {
-        if (str == null) return "";
-        return str.replace("\\", "\\\\")
-                  .replace("\"", "\\\"")
-                  .replace("\n", "\\n")
-                  .replace("\r", "\\r")
-                  .replace("\t", "\\t");
+    protected <T> JsonBody successResponse(List<T> items, JsonWriter.ItemWriter<T> itemWriter) {
+        return successResponse(out -> out.array(items, itemWriter));
     }
 
     /**
-     * 객체를 JSON 문자열로 변환 (간단한 구현)
+     * 에러 응답 생성
      */
-    protected String toJson(Object obj) {
-        if (obj == null) return "null";
-        if (obj instanceof String) return "\"" + escapeJson((String) obj) + "\"";
-        if (obj instanceof Number || obj instanceof Boolean) return obj.toString();
-        if (obj instanceof java.util.List) {
-            java.util.List<?> list = (java.util.List<?>) obj;
-            StringBuilder sb = new StringBuilder("[");
-            for (int i = 0; i < list.size(); i++) {
-                if (i > 0) sb.append(",");
-                sb.append(toJson(list.get(i)));
-            }
-            sb.append("]");
-            return sb.toString();
-        }
-        return obj.toString();
+    protected JsonBody errorResponse(String message) {
+        return out -> writeError(out, message);
+    }
+
+    /**
+     * 에러 응답 본문 기록
+     */
+    private void writeError(JsonWriter out, String message) throws IOException {
+        out.beginObject()
+           .name("success").value(false)
+           .name("error").value(message == null ? "" : message)
+           .endObject();
     }
 
     /**
@@ -257,6 +394,21 @@ public abstract class ApiServlet extends HttpServlet {
         }
     }
 
+    /**
+     * JSON 본문에서 배열 추출 (필수)
+     */
+    protected JsonArray requireJsonArray(String json, String key) {
+        try {
+            JsonObject obj = gson.fromJson(json, JsonObject.class);
+            if (!obj.has(key) || !obj.get(key).isJsonArray()) {
+                throw new IllegalArgumentException(key + " 배열이 필요합니다.");
+            }
+            return obj.getAsJsonArray(key);
+        } catch (JsonSyntaxException e) {
+            throw new IllegalArgumentException("잘못된 JSON 형식입니다.");
+        }
+    }
+
     /**
      * HTTP 헤더에서 세션 ID 추출
      */
@@ -4,25 +4,60 @@ import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.HttpServletRequest;
 
 import com.madang.dao.BookDAO;
+import com.madang.dao.TableVersions;
 import com.madang.model.Book;
 import com.madang.model.PageRequest;
 import com.madang.model.PageResponse;
+import com.madang.util.JsonBody;
 
+import java.sql.SQLException;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * /api/books 서블릿
  * BookHandler (HttpServer 기반)에서 변환
  */
-@WebServlet("/api/books")
+@WebServlet(urlPatterns = "/api/books", loadOnStartup = 1)
 public class BookServlet extends ApiServlet {
 
     private static final long serialVersionUID = 1L;
     private final BookDAO bookDAO = new BookDAO();
+    private static final Set<String> ACTIONS = Set.of(
+        "list", "detail", "search", "publisher", "publishers", "stats", "suggest", "create", "update", "delete");
+
+    /**
+     * 자동완성 색인 미리 읽기 (실패하면 첫 자동완성 요청 때 다시 읽음)
+     */
+    @Override
+    public void init() {
+        try {
+            bookDAO.loadSuggestions();
+        } catch (SQLException e) {
+            System.err.println("⚠️  도서 자동완성 색인을 미리 읽지 못했습니다: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 도서 상세/출판사 목록은 Book 테이블이 바뀌지 않았으면 304
+     */
+    @Override
+    protected String versionToken(Map<String, String> params) {
+        String action = params.getOrDefault("action", "list");
+        if ("detail".equals(action) || "publishers".equals(action)) {
+            return TableVersions.token("Book");
+        }
+        return null;
+    }
+
+    @Override
+    protected Set<String> actions() {
+        return ACTIONS;
+    }
 
     @Override
-    protected String handleGet(Map<String, String> params, HttpServletRequest req, jakarta.servlet.http.HttpServletResponse resp) throws Exception {
+    protected JsonBody handleGet(Map<String, String> params, HttpServletRequest req, jakarta.servlet.http.HttpServletResponse resp) throws Exception {
         String action = params.getOrDefault("action", "list");
 
         switch (action) {
@@ -32,25 +67,31 @@ public class BookServlet extends ApiServlet {
                 if (book == null) {
                     return errorResponse("도서를 찾을 수 없습니다.");
                 }
-                return successResponse(book.toJson());
+                return successResponse(book::writeJson);
 
             case "publishers":
                 List<String> publishers = bookDAO.getDistinctPublishers();
-                return successResponse(toJsonArrayString(publishers));
+                return successResponse(publishers);
 
             case "stats":
                 int statsBookId = Integer.parseInt(params.get("id"));
                 Map<String, Object> stats = bookDAO.getBookStats(statsBookId);
-                return successResponse(mapToJson(stats));
+                return successResponse(stats);
+
+            case "suggest":
+                String prefix = params.get("q");
+                if (prefix == null || prefix.isBlank()) {
+                    return errorResponse("q 파라미터가 필요합니다");
+                }
+                int suggestLimit = Integer.parseInt(params.getOrDefault("limit", "10"));
+                return successResponse(bookDAO.suggest(prefix, suggestLimit));
 
             case "search":
             case "publisher":
             case "list":
             default:
-                String title = params.get("title");
-                if (title == null || title.isBlank()) {
-                    title = params.get("keyword");
-                }
+                String titleParam = params.get("title");
+                String title = (titleParam == null || titleParam.isBlank()) ? params.get("keyword") : titleParam;
                 String publisherFilter = params.getOrDefault("publisher", params.get("name"));
                 Integer minPrice = parseInteger(params.get("priceMin"));
                 Integer maxPrice = parseInteger(params.get("priceMax"));
@@ -60,26 +101,32 @@ public class BookServlet extends ApiServlet {
                 // 페이지네이션 파라미터 확인
                 String pageParam = params.get("page");
                 String pageSizeParam = params.get("pageSize");
+                String afterParam = params.get("after");  // 커서(keyset) 방식
 
                 // 페이지네이션 사용 여부 결정
-                if (pageParam != null || pageSizeParam != null) {
+                if (pageParam != null || pageSizeParam != null || afterParam != null) {
                     // 페이지네이션 사용
                     int page = parseInteger(pageParam) != null ? parseInteger(pageParam) : 1;
                     int pageSize = parseInteger(pageSizeParam) != null ? parseInteger(pageSizeParam) : 20;
 
-                    PageRequest pageRequest = new PageRequest(page, pageSize, sortBy, direction);
+                    PageRequest pageRequest = new PageRequest(page, pageSize, sortBy, direction, afterParam);
+                    pageRequest.setCountMode(PageRequest.CountMode.parse(params.get("count")));  // exact / cached / estimate / none
                     PageResponse<Book> pageResponse = bookDAO.getBooksPaged(pageRequest, title, publisherFilter, minPrice, maxPrice);
-                    return successResponse(pageResponseToJson(pageResponse));
+                    return successResponse(out -> pageResponse.writeJson(out, Book::writeJson));
                 } else {
-                    // 기존 방식 (하위 호환성 유지)
-                    List<Book> books = bookDAO.getBooks(title, publisherFilter, minPrice, maxPrice, sortBy, direction);
-                    return successResponse(toJsonArray(books));
+                    // 기존 방식 (하위 호환성 유지): 목록을 모으지 않고 행 단위로 스트리밍
+                    return successResponse(out -> {
+                        out.beginArray();
+                        bookDAO.streamBooks(title, publisherFilter, minPrice, maxPrice, sortBy, direction,
+                            row -> row.writeJson(out));
+                        out.endArray();
+                    });
                 }
         }
     }
 
     @Override
-    protected String handlePost(Map<String, String> params, String body, HttpServletRequest req, jakarta.servlet.http.HttpServletResponse resp) throws Exception {
+    protected JsonBody handlePost(Map<String, String> params, String body, HttpServletRequest req, jakarta.servlet.http.HttpServletResponse resp) throws Exception {
         String action = params.getOrDefault("action", "create");
 
         if ("create".equals(action)) {
@@ -90,7 +137,7 @@ public class BookServlet extends ApiServlet {
             int newBookId = bookDAO.createBook(bookname, publisher, price);
             if (newBookId > 0) {
                 Book created = new Book(newBookId, bookname, publisher, price);
-                return successResponse(created.toJson());
+                return successResponse(created::writeJson);
             }
             return errorResponse("도서 등록에 실패했습니다.");
         }
@@ -99,7 +146,7 @@ public class BookServlet extends ApiServlet {
     }
 
     @Override
-    protected String handlePut(Map<String, String> params, String body, HttpServletRequest req, jakarta.servlet.http.HttpServletResponse resp) throws Exception {
+    protected JsonBody handlePut(Map<String, String> params, String body, HttpServletRequest req, jakarta.servlet.http.HttpServletResponse resp) throws Exception {
         String action = params.getOrDefault("action", "update");
 
         if ("update".equals(action)) {
@@ -111,7 +158,7 @@ public class BookServlet extends ApiServlet {
             Book book = new Book(bookId, bookname, publisher, price);
             boolean success = bookDAO.updateBook(book);
             if (success) {
-                return successResponse(book.toJson());
+                return successResponse(book::writeJson);
             }
             return errorResponse("도서를 수정할 수 없습니다.");
         }
@@ -120,7 +167,7 @@ public class BookServlet extends ApiServlet {
     }
 
     @Override
-    protected String handleDelete(Map<String, String> params, HttpServletRequest req, jakarta.servlet.http.HttpServletResponse resp) throws Exception {
+    protected JsonBody handleDelete(Map<String, String> params, HttpServletRequest req, jakarta.servlet.http.HttpServletResponse resp) throws Exception {
         String action = params.getOrDefault("action", "delete");
 
         if ("delete".equals(action)) {
@@ -131,7 +178,7 @@ public class BookServlet extends ApiServlet {
 
             boolean success = bookDAO.deleteBook(bookId);
             if (success) {
-                return successResponse("{\"deleted\":true}");
+                return successResponse(Map.of("deleted", true));
             }
             return errorResponse("도서를 삭제할 수 없습니다.");
         }
@@ -139,27 +186,7 @@ public class BookServlet extends ApiServlet {
         return errorResponse("알 수 없는 action: " + action);
     }
 
-    // ===== 유틸리티 메서드 (BookHandler와 동일) =====
-
-    private String toJsonArray(List<Book> books) {
-        StringBuilder sb = new StringBuilder("[");
-        for (int i = 0; i < books.size(); i++) {
-            if (i > 0) sb.append(",");
-            sb.append(books.get(i).toJson());
-        }
-        sb.append("]");
-        return sb.toString();
-    }
-
-    private String toJsonArrayString(List<String> list) {
-        StringBuilder sb = new StringBuilder("[");
-        for (int i = 0; i < list.size(); i++) {
-            if (i > 0) sb.append(",");
-            sb.append("\"").append(escapeJson(list.get(i))).append("\"");
-        }
-        sb.append("]");
-        return sb.toString();
-    }
+    // ===== 유틸리티 메서드 =====
 
     private Integer parseInteger(String value) {
         if (value == null || value.isBlank()) {
@@ -171,38 +198,4 @@ public class BookServlet extends ApiServlet {
             return null;
         }
     }
-
-    private String mapToJson(Map<String, Object> map) {
-        StringBuilder sb = new StringBuilder("{");
-        boolean first = true;
-        for (Map.Entry<String, Object> entry : map.entrySet()) {
-            if (!first) sb.append(",");
-            first = false;
-            sb.append("\"").append(entry.getKey()).append("\":");
-            Object value = entry.getValue();
-            if (value instanceof String) {
-                sb.append("\"").append(escapeJson((String) value)).append("\"");
-            } else {
-                sb.append(value);
-            }
-        }
-        sb.append("}");
-        return sb.toString();
-    }
-
-    /**
-     * PageResponse를 JSON 문자열로 변환
-     */
-    private String pageResponseToJson(PageResponse<Book> pageResponse) {
-        StringBuilder sb = new StringBuilder("{");
-        sb.append("\"items\":").append(toJsonArray(pageResponse.getItems())).append(",");
-        sb.append("\"page\":").append(pageResponse.getPage()).append(",");
-        sb.append("\"pageSize\":").append(pageResponse.getPageSize()).append(",");
-        sb.append("\"totalItems\":").append(pageResponse.getTotalItems()).append(",");
-        sb.append("\"totalPages\":").append(pageResponse.getTotalPages()).append(",");
-        sb.append("\"hasNext\":").append(pageResponse.isHasNext()).append(",");
-        sb.append("\"hasPrevious\":").append(pageResponse.isHasPrevious());
-        sb.append("}");
-        return sb.toString();
-    }
 }
@@ -8,23 +8,45 @@ import com.madang.dao.CustomerDAO;
 import com.madang.model.Customer;
 import com.madang.model.PageRequest;
 import com.madang.model.PageResponse;
+import com.madang.util.JsonBody;
 import com.madang.util.SessionManager;
 
-import java.util.List;
+import java.sql.SQLException;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * /api/customers 서블릿
  * CustomerHandler (HttpServer 기반)에서 변환
  */
-@WebServlet("/api/customers")
+@WebServlet(urlPatterns = "/api/customers", loadOnStartup = 1)
 public class CustomerServlet extends ApiServlet {
 
     private static final long serialVersionUID = 1L;
     private final CustomerDAO customerDAO = new CustomerDAO();
+    private static final Set<String> ACTIONS = Set.of(
+        "list", "detail", "suggest", "login", "create", "update", "delete");
 
+    /**
+     * 자동완성/검색 색인 미리 읽기 (실패하면 첫 자동완성/검색 요청 때 다시 읽음)
+     */
     @Override
-    protected String handleGet(Map<String, String> params, HttpServletRequest req, HttpServletResponse resp) throws Exception {
+    public void init() {
+        try {
+            customerDAO.loadSuggestions();
+            customerDAO.loadSearchIndex();
+        } catch (SQLException e) {
+            System.err.println("⚠️  고객 자동완성/검색 색인을 미리 읽지 못했습니다: " + e.getMessage());
+        }
+    }
+
+    @Override
+    protected Set<String> actions() {
+        return ACTIONS;
+    }
+
+    @Override
+    protected JsonBody handleGet(Map<String, String> params, HttpServletRequest req, HttpServletResponse resp) throws Exception {
         String action = params.getOrDefault("action", "list");
 
         if ("detail".equals(action)) {
@@ -33,7 +55,16 @@ public class CustomerServlet extends ApiServlet {
             if (customer == null) {
                 return errorResponse("고객을 찾을 수 없습니다.");
             }
-            return successResponse(customer.toJson());
+            return successResponse(customer::writeJson);
+        }
+
+        if ("suggest".equals(action)) {
+            String prefix = params.get("q");
+            if (prefix == null || prefix.isBlank()) {
+                return errorResponse("q 파라미터가 필요합니다");
+            }
+            int limit = Integer.parseInt(params.getOrDefault("limit", "10"));
+            return successResponse(customerDAO.suggest(prefix, limit));
         }
 
         String name = params.getOrDefault("name", params.get("keyword"));
@@ -45,24 +76,30 @@ public class CustomerServlet extends ApiServlet {
         // 페이지네이션 파라미터 확인
         String pageParam = params.get("page");
         String pageSizeParam = params.get("pageSize");
+        String afterParam = params.get("after");  // 커서(keyset) 방식
 
         // 페이지네이션 사용 여부 결정
-        if (pageParam != null || pageSizeParam != null) {
+        if (pageParam != null || pageSizeParam != null || afterParam != null) {
             int page = parseInteger(pageParam) != null ? parseInteger(pageParam) : 1;
             int pageSize = parseInteger(pageSizeParam) != null ? parseInteger(pageSizeParam) : 10;
 
-            PageRequest pageRequest = new PageRequest(page, pageSize, sortBy, direction);
+            PageRequest pageRequest = new PageRequest(page, pageSize, sortBy, direction, afterParam);
+            pageRequest.setCountMode(PageRequest.CountMode.parse(params.get("count")));  // exact / cached / estimate / none
             PageResponse<Customer> pageResponse = customerDAO.getCustomersPaged(pageRequest, name, phone, address);
-            return successResponse(pageResponseToJson(pageResponse));
+            return successResponse(out -> pageResponse.writeJson(out, Customer::writeJson));
         } else {
-            // 기존 방식 (하위 호환성 유지)
-            List<Customer> customers = customerDAO.getCustomers(name, phone, address, sortBy, direction);
-            return successResponse(toJsonArray(customers));
+            // 기존 방식 (하위 호환성 유지): 목록을 모으지 않고 행 단위로 스트리밍
+            return successResponse(out -> {
+                out.beginArray();
+                customerDAO.streamCustomers(name, phone, address, sortBy, direction,
+                    customer -> customer.writeJson(out));
+                out.endArray();
+            });
         }
     }
 
     @Override
-    protected String handlePost(Map<String, String> params, String body, HttpServletRequest req, HttpServletResponse resp) throws Exception {
+    protected JsonBody handlePost(Map<String, String> params, String body, HttpServletRequest req, HttpServletResponse resp) throws Exception {
         String action = params.getOrDefault("action", "create");
 
         if ("login".equals(action)) {
@@ -84,11 +121,11 @@ public class CustomerServlet extends ApiServlet {
             resp.setHeader("X-Session-Id", sessionId);
 
             // 고객 정보와 세션 ID 반환
-            String response = String.format(
-                "{\"customer\":%s,\"sessionId\":\"%s\"}",
-                customer.toJson(), sessionId
-            );
-            return successResponse(response);
+            return successResponse(out -> {
+                out.beginObject().name("customer");
+                customer.writeJson(out);
+                out.name("sessionId").value(sessionId).endObject();
+            });
         }
 
         if ("create".equals(action)) {
@@ -99,7 +136,7 @@ public class CustomerServlet extends ApiServlet {
             int newId = customerDAO.createCustomer(name, address, phone);
             if (newId > 0) {
                 Customer created = new Customer(newId, name, address, phone);
-                return successResponse(created.toJson());
+                return successResponse(created::writeJson);
             }
             return errorResponse("고객 등록에 실패했습니다.");
         }
@@ -108,7 +145,7 @@ public class CustomerServlet extends ApiServlet {
     }
 
     @Override
-    protected String handlePut(Map<String, String> params, String body, HttpServletRequest req, HttpServletResponse resp) throws Exception {
+    protected JsonBody handlePut(Map<String, String> params, String body, HttpServletRequest req, HttpServletResponse resp) throws Exception {
         String action = params.getOrDefault("action", "update");
 
         if ("update".equals(action)) {
@@ -120,7 +157,7 @@ public class CustomerServlet extends ApiServlet {
             Customer customer = new Customer(custId, name, address, phone);
             boolean success = customerDAO.updateCustomer(customer);
             if (success) {
-                return successResponse(customer.toJson());
+                return successResponse(customer::writeJson);
             }
             return errorResponse("고객 정보를 수정할 수 없습니다.");
         }
@@ -129,7 +166,7 @@ public class CustomerServlet extends ApiServlet {
     }
 
     @Override
-    protected String handleDelete(Map<String, String> params, HttpServletRequest req, HttpServletResponse resp) throws Exception {
+    protected JsonBody handleDelete(Map<String, String> params, HttpServletRequest req, HttpServletResponse resp) throws Exception {
         String action = params.getOrDefault("action", "delete");
 
         if ("delete".equals(action)) {
@@ -140,7 +177,7 @@ public class CustomerServlet extends ApiServlet {
 
             boolean success = customerDAO.deleteCustomer(custId);
             if (success) {
-                return successResponse("{\"deleted\":true}");
+                return successResponse(Map.of("deleted", true));
             }
             return errorResponse("고객을 삭제할 수 없습니다.");
         }
@@ -150,37 +187,6 @@ public class CustomerServlet extends ApiServlet {
 
     // ===== 유틸리티 메서드 =====
 
-    private String toJsonArray(List<Customer> customers) {
-        StringBuilder sb = new StringBuilder("[");
-        for (int i = 0; i < customers.size(); i++) {
-            if (i > 0) sb.append(",");
-            sb.append(customers.get(i).toJson());
-        }
-        sb.append("]");
-        return sb.toString();
-    }
-
-    private String pageResponseToJson(PageResponse<Customer> pageResponse) {
-        StringBuilder itemsJson = new StringBuilder("[");
-        List<Customer> items = pageResponse.getItems();
-        for (int i = 0; i < items.size(); i++) {
-            if (i > 0) itemsJson.append(",");
-            itemsJson.append(items.get(i).toJson());
-        }
-        itemsJson.append("]");
-
-        return String.format(
-            "{\"items\":%s,\"page\":%d,\"pageSize\":%d,\"totalItems\":%d,\"totalPages\":%d,\"hasNext\":%b,\"hasPrevious\":%b}",
-            itemsJson.toString(),
-            pageResponse.getPage(),
-            pageResponse.getPageSize(),
-            pageResponse.getTotalItems(),
-            pageResponse.getTotalPages(),
-            pageResponse.isHasNext(),
-            pageResponse.isHasPrevious()
-        );
-    }
-
     private Integer parseInteger(String value) {
         if (value == null || value.isBlank()) {
             return null;
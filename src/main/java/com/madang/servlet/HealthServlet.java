@@ -4,10 +4,19 @@ import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import com.madang.dao.CustomerSearchIndex;
+import com.madang.util.Bulkhead;
 import com.madang.util.DBConnection;
+import com.madang.util.JsonBody;
+import com.madang.util.LruCache;
+import com.madang.util.ResponseCompression;
+import com.madang.util.SqlTrace;
+import com.madang.util.SuggestTrie;
 
 import java.sql.Connection;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -20,8 +29,16 @@ public class HealthServlet extends ApiServlet {
     private static final long serialVersionUID = 1L;
     private static final long START_TIME = System.currentTimeMillis();
 
+    /**
+     * 헬스체크는 과부하 중에도 응답하도록 동시 처리 제한을 적용하지 않음
+     */
+    @Override
+    protected Bulkhead bulkhead() {
+        return null;
+    }
+
     @Override
-    protected String handleGet(Map<String, String> params, HttpServletRequest req, HttpServletResponse resp) throws Exception {
+    protected JsonBody handleGet(Map<String, String> params, HttpServletRequest req, HttpServletResponse resp) throws Exception {
         Map<String, Object> healthStatus = new HashMap<>();
 
         // 서버 상태
@@ -38,6 +55,34 @@ public class HealthServlet extends ApiServlet {
         // 데이터베이스 연결 확인
         Map<String, Object> dbStatus = checkDatabaseConnection();
         healthStatus.put("database", dbStatus);
+        healthStatus.put("replicas", DBConnection.getReplicaStatus());
+
+        // 조회 캐시 통계 (hit/miss/eviction)
+        List<Map<String, Object>> caches = new ArrayList<>();
+        for (LruCache<?, ?> cache : LruCache.all()) {
+            caches.add(cache.stats());
+        }
+        caches.add(StatsServlet.STATS_CACHE.stats());
+        healthStatus.put("caches", caches);
+
+        // 요청 종류별 동시 처리 현황
+        List<Map<String, Object>> bulkheads = new ArrayList<>();
+        for (Bulkhead bulkhead : Bulkhead.all()) {
+            bulkheads.add(bulkhead.stats());
+        }
+        healthStatus.put("bulkheads", bulkheads);
+
+        // 응답 압축 통계 (압축률, 압축 시간)
+        healthStatus.put("compression", ResponseCompression.stats());
+
+        // 자동완성 색인 (색인된 행/후보 수)
+        List<Map<String, Object>> suggest = new ArrayList<>();
+        for (SuggestTrie trie : SuggestTrie.all()) {
+            suggest.add(trie.stats());
+        }
+        healthStatus.put("suggest", suggest);
+        healthStatus.put("customerSearch", CustomerSearchIndex.stats());
+        healthStatus.put("sqlTrace", SqlTrace.stats());
 
         // 시스템 정보
         Map<String, Object> systemInfo = new HashMap<>();
@@ -46,7 +91,7 @@ public class HealthServlet extends ApiServlet {
         systemInfo.put("os_arch", System.getProperty("os.arch"));
         healthStatus.put("system", systemInfo);
 
-        return successResponse(mapToJson(healthStatus));
+        return successResponse(healthStatus);
     }
 
     /**
@@ -88,38 +133,4 @@ public class HealthServlet extends ApiServlet {
 
         return sb.toString().trim();
     }
-
-    /**
-     * Map을 JSON 문자열로 변환 (중첩 Map 지원)
-     */
-    private String mapToJson(Map<String, Object> map) {
-        StringBuilder sb = new StringBuilder("{");
-        boolean first = true;
-        for (Map.Entry<String, Object> entry : map.entrySet()) {
-            if (!first) sb.append(",");
-            first = false;
-            sb.append("\"").append(entry.getKey()).append("\":");
-            sb.append(valueToJson(entry.getValue()));
-        }
-        sb.append("}");
-        return sb.toString();
-    }
-
-    /**
-     * 값을 JSON 문자열로 변환 (재귀적 처리)
-     */
-    @SuppressWarnings("unchecked")
-    private String valueToJson(Object value) {
-        if (value == null) {
-            return "null";
-        } else if (value instanceof String) {
-            return "\"" + escapeJson((String) value) + "\"";
-        } else if (value instanceof Map) {
-            return mapToJson((Map<String, Object>) value);
-        } else if (value instanceof Number || value instanceof Boolean) {
-            return value.toString();
-        } else {
-            return "\"" + value.toString() + "\"";
-        }
-    }
 }
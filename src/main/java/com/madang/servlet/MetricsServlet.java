@@ -0,0 +1,31 @@
+package com.madang.servlet;
+
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import com.madang.util.Metrics;
+
+import java.io.IOException;
+
+/**
+ * /api/metrics 서블릿 (Prometheus 수집용)
+ * JSON이 아닌 텍스트 형식이므로 ApiServlet을 상속하지 않고, 동시 처리 제한과 요청 지표에서도 빠짐
+ */
+@WebServlet("/api/metrics")
+public class MetricsServlet extends HttpServlet {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        if (!Metrics.ENABLED) {
+            resp.sendError(HttpServletResponse.SC_NOT_FOUND, "metrics.enabled=false");
+            return;
+        }
+        resp.setContentType("text/plain; version=0.0.4; charset=UTF-8");
+        resp.setHeader("Cache-Control", "no-store");
+        resp.getWriter().write(Metrics.scrape());
+    }
+}
@@ -4,13 +4,20 @@ import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 import com.madang.dao.OrderDAO;
 import com.madang.model.Order;
 import com.madang.model.PageRequest;
 import com.madang.model.PageResponse;
+import com.madang.util.ConfigManager;
+import com.madang.util.JsonBody;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * /api/orders 서블릿
@@ -20,10 +27,17 @@ import java.util.Map;
 public class OrderServlet extends ApiServlet {
 
     private static final long serialVersionUID = 1L;
+    private static final int MAX_BATCH_ITEMS = ConfigManager.getInt("order.batch.max.items", 100);
     private final OrderDAO orderDAO = new OrderDAO();
+    private static final Set<String> ACTIONS = Set.of("list", "stats", "recent", "create", "batch", "update", "delete");
 
     @Override
-    protected String handleGet(Map<String, String> params, HttpServletRequest req, HttpServletResponse resp) throws Exception {
+    protected Set<String> actions() {
+        return ACTIONS;
+    }
+
+    @Override
+    protected JsonBody handleGet(Map<String, String> params, HttpServletRequest req, HttpServletResponse resp) throws Exception {
         String action = params.get("action");
 
         if ("list".equals(action)) {
@@ -34,26 +48,28 @@ public class OrderServlet extends ApiServlet {
             // 페이지네이션 파라미터 확인
             String pageParam = params.get("page");
             String pageSizeParam = params.get("pageSize");
+            String afterParam = params.get("after");  // 커서(keyset) 방식
 
             // 페이지네이션 사용 여부 결정
-            if (pageParam != null || pageSizeParam != null) {
+            if (pageParam != null || pageSizeParam != null || afterParam != null) {
                 int page = parseInteger(pageParam) != null ? parseInteger(pageParam) : 1;
                 int pageSize = parseInteger(pageSizeParam) != null ? parseInteger(pageSizeParam) : 10;
 
-                PageRequest pageRequest = new PageRequest(page, pageSize, sortBy, direction);
+                PageRequest pageRequest = new PageRequest(page, pageSize, sortBy, direction, afterParam);
+                pageRequest.setCountMode(PageRequest.CountMode.parse(params.get("count")));  // exact / cached / estimate / none
                 PageResponse<Order> pageResponse = orderDAO.getOrdersByCustomerPaged(pageRequest, custId);
-                return successResponse(pageResponseToJson(pageResponse));
+                return successResponse(out -> pageResponse.writeJson(out, Order::writeJsonWithDetails));
             } else {
                 // 기존 방식 (하위 호환성 유지)
                 List<Order> orders = orderDAO.getOrdersByCustomer(custId, sortBy, direction);
-                return successResponse(toJsonArray(orders));
+                return successResponse(orders, Order::writeJsonWithDetails);
             }
         }
 
         if ("stats".equals(action)) {
             int custId = Integer.parseInt(params.get("custid"));
             Map<String, Object> stats = orderDAO.getCustomerOrderStats(custId);
-            return successResponse(mapToJson(stats));
+            return successResponse(stats);
         }
 
         if ("recent".equals(action)) {
@@ -61,14 +77,14 @@ public class OrderServlet extends ApiServlet {
             String sortBy = params.get("sortBy");
             String direction = params.get("direction");
             List<Map<String, Object>> recent = orderDAO.getRecentOrders(limit, sortBy, direction);
-            return successResponse(listMapToJsonArray(recent));
+            return successResponse(recent);
         }
 
         return errorResponse("알 수 없는 action: " + action);
     }
 
     @Override
-    protected String handlePost(Map<String, String> params, String body, HttpServletRequest req, HttpServletResponse resp) throws Exception {
+    protected JsonBody handlePost(Map<String, String> params, String body, HttpServletRequest req, HttpServletResponse resp) throws Exception {
         String action = params.get("action");
 
         if ("create".equals(action)) {
@@ -78,17 +94,31 @@ public class OrderServlet extends ApiServlet {
 
             int orderId = orderDAO.createOrder(custId, bookId, salePrice);
             if (orderId > 0) {
-                return successResponse("{\"orderid\":" + orderId + "}");
+                return successResponse(Map.of("orderid", orderId));
             } else {
                 return errorResponse("주문 생성에 실패했습니다.");
             }
         }
 
+        if ("batch".equals(action)) {
+            // 본문: {"custid": 1, "items": [{"bookid": 1, "saleprice": 7000}, ...]}
+            int custId = requireJsonInt(body, "custid");
+            List<Order> lines = parseBatchItems(requireJsonArray(body, "items"));
+
+            List<Map<String, Object>> results = orderDAO.createOrders(custId, lines);
+            long created = results.stream().filter(r -> Boolean.TRUE.equals(r.get("success"))).count();
+            return successResponse(out -> out.beginObject()
+                .name("created").value(created)
+                .name("failed").value(results.size() - created)
+                .name("results").writeValue(results)
+                .endObject());
+        }
+
         return errorResponse("알 수 없는 action: " + action);
     }
 
     @Override
-    protected String handlePut(Map<String, String> params, String body, HttpServletRequest req, HttpServletResponse resp) throws Exception {
+    protected JsonBody handlePut(Map<String, String> params, String body, HttpServletRequest req, HttpServletResponse resp) throws Exception {
         String action = params.get("action");
 
         if ("update".equals(action)) {
@@ -98,7 +128,7 @@ public class OrderServlet extends ApiServlet {
 
             boolean success = orderDAO.updateOrderPrice(orderId, custId, salePrice);
             if (success) {
-                return successResponse("{\"updated\":true}");
+                return successResponse(Map.of("updated", true));
             }
             return errorResponse("주문 정보를 수정할 수 없습니다.");
         }
@@ -107,7 +137,7 @@ public class OrderServlet extends ApiServlet {
     }
 
     @Override
-    protected String handleDelete(Map<String, String> params, HttpServletRequest req, HttpServletResponse resp) throws Exception {
+    protected JsonBody handleDelete(Map<String, String> params, HttpServletRequest req, HttpServletResponse resp) throws Exception {
         String action = params.get("action");
 
         if ("delete".equals(action)) {
@@ -116,7 +146,7 @@ public class OrderServlet extends ApiServlet {
 
             boolean success = orderDAO.deleteOrder(orderId, custId);
             if (success) {
-                return successResponse("{\"deleted\":true}");
+                return successResponse(Map.of("deleted", true));
             } else {
                 return errorResponse("주문을 찾을 수 없거나 권한이 없습니다.");
             }
@@ -127,63 +157,41 @@ public class OrderServlet extends ApiServlet {
 
     // ===== 유틸리티 메서드 =====
 
-    private String toJsonArray(List<Order> orders) {
-        StringBuilder sb = new StringBuilder("[");
-        for (int i = 0; i < orders.size(); i++) {
-            if (i > 0) sb.append(",");
-            sb.append(orders.get(i).toJsonWithDetails());
+    /**
+     * 일괄 주문 항목 변환 (bookid, saleprice 필수)
+     */
+    private List<Order> parseBatchItems(JsonArray items) {
+        if (items.isEmpty()) {
+            throw new IllegalArgumentException("items 값이 비어있습니다.");
         }
-        sb.append("]");
-        return sb.toString();
-    }
-
-    private String pageResponseToJson(PageResponse<Order> pageResponse) {
-        StringBuilder itemsJson = new StringBuilder("[");
-        List<Order> items = pageResponse.getItems();
-        for (int i = 0; i < items.size(); i++) {
-            if (i > 0) itemsJson.append(",");
-            itemsJson.append(items.get(i).toJsonWithDetails());
+        if (items.size() > MAX_BATCH_ITEMS) {
+            throw new IllegalArgumentException("한 번에 주문할 수 있는 항목은 최대 " + MAX_BATCH_ITEMS + "개입니다.");
         }
-        itemsJson.append("]");
-
-        return String.format(
-            "{\"items\":%s,\"page\":%d,\"pageSize\":%d,\"totalItems\":%d,\"totalPages\":%d,\"hasNext\":%b,\"hasPrevious\":%b}",
-            itemsJson.toString(),
-            pageResponse.getPage(),
-            pageResponse.getPageSize(),
-            pageResponse.getTotalItems(),
-            pageResponse.getTotalPages(),
-            pageResponse.isHasNext(),
-            pageResponse.isHasPrevious()
-        );
-    }
 
-    private String mapToJson(Map<String, Object> map) {
-        StringBuilder sb = new StringBuilder("{");
-        boolean first = true;
-        for (Map.Entry<String, Object> entry : map.entrySet()) {
-            if (!first) sb.append(",");
-            first = false;
-            sb.append("\"").append(entry.getKey()).append("\":");
-            Object value = entry.getValue();
-            if (value instanceof String) {
-                sb.append("\"").append(escapeJson((String) value)).append("\"");
-            } else {
-                sb.append(value);
+        List<Order> lines = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            JsonElement element = items.get(i);
+            if (!element.isJsonObject()) {
+                throw new IllegalArgumentException("items[" + i + "] 형식이 올바르지 않습니다.");
             }
+            JsonObject item = element.getAsJsonObject();
+            Order line = new Order();
+            line.setBookid(requireItemInt(item, i, "bookid"));
+            line.setSaleprice(requireItemInt(item, i, "saleprice"));
+            lines.add(line);
         }
-        sb.append("}");
-        return sb.toString();
+        return lines;
     }
 
-    private String listMapToJsonArray(List<Map<String, Object>> list) {
-        StringBuilder sb = new StringBuilder("[");
-        for (int i = 0; i < list.size(); i++) {
-            if (i > 0) sb.append(",");
-            sb.append(mapToJson(list.get(i)));
+    private int requireItemInt(JsonObject item, int index, String key) {
+        if (!item.has(key) || item.get(key).isJsonNull()) {
+            throw new IllegalArgumentException("items[" + index + "]." + key + " 값이 필요합니다.");
+        }
+        try {
+            return item.get(key).getAsInt();
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("items[" + index + "]." + key + " 값은 정수여야 합니다.");
         }
-        sb.append("]");
-        return sb.toString();
     }
 
     private Integer parseInteger(String value) {
@@ -0,0 +1,59 @@
+package com.madang.servlet;
+
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import com.madang.dao.BookSearchDAO;
+import com.madang.dao.TableVersions;
+import com.madang.util.JsonBody;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * /api/search 서블릿 (도서 전문 검색)
+ * 도서명/출판사를 FULLTEXT 인덱스로 검색해 관련도 순으로 반환
+ */
+@WebServlet("/api/search")
+public class SearchServlet extends ApiServlet {
+
+    private static final long serialVersionUID = 1L;
+    private static final int MAX_LIMIT = 100;
+    private final transient BookSearchDAO bookSearchDAO = new BookSearchDAO();
+    private static final Set<String> ACTIONS = Set.of("books");
+
+    /**
+     * 검색 결과는 Book 테이블이 바뀌지 않았으면 304
+     */
+    @Override
+    protected String versionToken(Map<String, String> params) {
+        return TableVersions.token("Book");
+    }
+
+    @Override
+    protected Set<String> actions() {
+        return ACTIONS;
+    }
+
+    @Override
+    protected JsonBody handleGet(Map<String, String> params, HttpServletRequest req, HttpServletResponse resp) throws Exception {
+        String action = params.getOrDefault("action", "books");
+
+        if ("books".equals(action)) {
+            String query = params.get("q");
+            int limit = Integer.parseInt(params.getOrDefault("limit", "20"));
+
+            if (query == null || query.isBlank()) {
+                return errorResponse("q 파라미터가 필요합니다");
+            }
+            if (limit < 1 || limit > MAX_LIMIT) {
+                return errorResponse("limit은 1 ~ " + MAX_LIMIT + " 사이여야 합니다");
+            }
+
+            return successResponse(bookSearchDAO.search(query, limit));
+        }
+
+        return errorResponse("알 수 없는 action: " + action);
+    }
+}
@@ -5,9 +5,28 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 import com.madang.dao.OrderDAO;
+import com.madang.dao.SalesRollupDAO;
+import com.madang.dao.TableVersions;
+import com.madang.util.Bulkhead;
+import com.madang.util.ConfigManager;
+import com.madang.util.JsonBody;
+import com.madang.util.StaleWhileRevalidateCache;
 
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * /api/stats 서블릿 (대시보드용)
@@ -18,74 +37,163 @@ public class StatsServlet extends ApiServlet {
 
     private static final long serialVersionUID = 1L;
     private final OrderDAO orderDAO = new OrderDAO();
+    private final transient SalesRollupDAO salesRollupDAO = new SalesRollupDAO();
+    private static final Set<String> ACTIONS = Set.of(
+        "dashboard", "overview", "bestsellers", "weekly-bestsellers", "recent", "customers", "publishers", "books",
+        "monthly", "customer-segments", "top-customers", "publishers-by-month", "books-by-month", "rebuild-rollups");
+
+    private static final boolean CACHE_ENABLED = ConfigManager.getBoolean("stats.cache.enabled", true);
+    private static final long DEFAULT_REFRESH_MS = ConfigManager.getLong("stats.cache.refresh.default", 30000L);
+
+    /**
+     * 통계 요청 동시 처리 제한 (bulkhead.stats.*, DB 연결은 db.concurrency.stats.limit)
+     * 대시보드 새로고침이 몰려도 주문 등 일반 API의 처리 슬롯과 DB 연결을 남겨둠
+     */
+    private static final Bulkhead STATS_BULKHEAD = Bulkhead.fromConfig("stats", 4, 20, 2000L);
+
+    /**
+     * 통계 결과 캐시 (action + 그 action이 읽는 파라미터 값별)
+     * 마지막 결과를 바로 반환하고, stats.cache.refresh.{action} 주기가 지나면 백그라운드에서 다시 계산
+     * 백그라운드 갱신도 통계 요청과 같은 bulkhead 슬롯을 사용
+     */
+    static final StaleWhileRevalidateCache<StatsKey, Object> STATS_CACHE = new StaleWhileRevalidateCache<>(
+        "stats",
+        key -> ConfigManager.getLong("stats.cache.refresh." + key.action(), DEFAULT_REFRESH_MS),
+        ConfigManager.getLong("stats.cache.max.stale", 600000L),
+        ConfigManager.getInt("stats.cache.size", 500),
+        ConfigManager.getInt("stats.cache.threads", 2),
+        STATS_BULKHEAD);
+
+    /**
+     * @param params action이 조회에 쓰는 값 (그 밖의 파라미터, 예: ?_=시각 같은 캐시 우회 값은 키에 넣지 않음)
+     * @param version ETag를 쓰는 action의 버전 토큰 (없으면 null)
+     */
+    record StatsKey(String action, List<Object> params, String version) {
+    }
+
+    /**
+     * 대시보드 묶음 조회용 스레드 풀 (stats.dashboard.threads)
+     * 항목마다 별도 연결로 동시에 조회하므로 스레드 수가 DB 커넥션 풀보다 크지 않게 설정
+     * 대기열이 가득 차면 요청 스레드에서 직접 실행
+     * 항목 조회는 요청이 받은 통계 슬롯 안에서 실행되며 DB 연결도 통계 몫(db.concurrency.stats.limit)으로 제한
+     */
+    private static final ThreadPoolExecutor DASHBOARD_EXECUTOR = createDashboardExecutor(
+        ConfigManager.getInt("stats.dashboard.threads", 4));
+
+    // 대시보드 묶음 조회 최대 대기 시간 (ms), 넘긴 항목은 취소하고 나머지만 응답
+    private static final long DASHBOARD_TIMEOUT_MS = ConfigManager.getLong("stats.dashboard.timeout", 10000L);
+
+    private static ThreadPoolExecutor createDashboardExecutor(int threads) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(64), runnable -> {
+                Thread thread = new Thread(runnable, "stats-dashboard-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    @Override
+    protected Bulkhead bulkhead() {
+        return STATS_BULKHEAD;
+    }
+
+    /**
+     * 전체 통계는 도서/고객/주문이 바뀌지 않았으면 304
+     */
+    @Override
+    protected String versionToken(Map<String, String> params) {
+        if ("overview".equals(params.get("action"))) {
+            return TableVersions.token("Book", "Customer", "Orders");
+        }
+        return null;
+    }
 
     @Override
-    protected String handleGet(Map<String, String> params, HttpServletRequest req, HttpServletResponse resp) throws Exception {
+    protected Set<String> actions() {
+        return ACTIONS;
+    }
+
+    @Override
+    protected JsonBody handleGet(Map<String, String> params, HttpServletRequest req, HttpServletResponse resp) throws Exception {
         String action = params.get("action");
 
+        if ("dashboard".equals(action)) {
+            String month = params.get("month");
+            if (month == null || month.isEmpty()) {
+                month = YearMonth.now().toString();
+            }
+            return successResponse(getDashboard(month));
+        }
+
         if ("overview".equals(action)) {
-            Map<String, Object> stats = orderDAO.getOverallStats();
-            return successResponse(mapToJson(stats));
+            Object stats = cached(action, orderDAO::getOverallStats);
+            return successResponse(stats);
         }
 
         if ("bestsellers".equals(action)) {
             int limit = Integer.parseInt(params.getOrDefault("limit", "5"));
-            List<Map<String, Object>> bestsellers = orderDAO.getBestsellers(limit);
-            return successResponse(listMapToJsonArray(bestsellers));
+            Object bestsellers = cached(action, () -> orderDAO.getBestsellers(limit), limit);
+            return successResponse(bestsellers);
         }
 
         if ("weekly-bestsellers".equals(action)) {
             int limit = Integer.parseInt(params.getOrDefault("limit", "5"));
-            List<Map<String, Object>> bestsellers = orderDAO.getWeeklyBestsellers(limit);
-            return successResponse(listMapToJsonArray(bestsellers));
+            Object bestsellers = cached(action, () -> orderDAO.getWeeklyBestsellers(limit), limit);
+            return successResponse(bestsellers);
         }
 
         if ("recent".equals(action)) {
             int limit = Integer.parseInt(params.getOrDefault("limit", "5"));
             String sortBy = params.get("sortBy");
             String direction = params.get("direction");
-            List<Map<String, Object>> orders = orderDAO.getRecentOrders(limit, sortBy, direction);
-            return successResponse(listMapToJsonArray(orders));
+            Object orders = cached(action, () -> orderDAO.getRecentOrders(limit, sortBy, direction), limit, sortBy, direction);
+            return successResponse(orders);
         }
 
         if ("customers".equals(action)) {
             String sortBy = params.get("sortBy");
             String direction = params.get("direction");
-            List<Map<String, Object>> stats = orderDAO.getStatsByCustomer(sortBy, direction);
-            return successResponse(listMapToJsonArray(stats));
+            Object stats = cached(action, () -> orderDAO.getStatsByCustomer(sortBy, direction), sortBy, direction);
+            return successResponse(stats);
         }
 
         if ("publishers".equals(action)) {
             String sortBy = params.get("sortBy");
             String direction = params.get("direction");
-            List<Map<String, Object>> stats = orderDAO.getStatsByPublisher(sortBy, direction);
-            return successResponse(listMapToJsonArray(stats));
+            Object stats = cached(action, () -> orderDAO.getStatsByPublisher(sortBy, direction), sortBy, direction);
+            return successResponse(stats);
         }
 
         if ("books".equals(action)) {
             String sortBy = params.get("sortBy");
             String direction = params.get("direction");
-            List<Map<String, Object>> stats = orderDAO.getStatsByBook(sortBy, direction);
-            return successResponse(listMapToJsonArray(stats));
+            return successResponse(out -> {
+                out.beginArray();
+                orderDAO.streamStatsByBook(sortBy, direction, out::writeValue);
+                out.endArray();
+            });
         }
 
         if ("monthly".equals(action)) {
             int months = Integer.parseInt(params.getOrDefault("months", "12"));
-            List<Map<String, Object>> stats = orderDAO.getMonthlySales(months);
-            return successResponse(listMapToJsonArray(stats));
+            Object stats = cached(action, () -> orderDAO.getMonthlySales(months), months);
+            return successResponse(stats);
         }
 
         if ("customer-segments".equals(action)) {
             String month = params.get("month");
-            List<Map<String, Object>> segments;
+            Object segments;
 
             if (month != null && !month.isEmpty()) {
-                segments = orderDAO.getCustomerSegmentsByMonth(month);
+                segments = cached(action, () -> orderDAO.getCustomerSegmentsByMonth(month), month);
             } else {
-                segments = orderDAO.getCustomerSegments();
+                segments = cached(action, orderDAO::getCustomerSegments);
             }
 
-            return successResponse(listMapToJsonArray(segments));
+            return successResponse(segments);
         }
 
         if ("top-customers".equals(action)) {
@@ -96,8 +204,8 @@ public class StatsServlet extends ApiServlet {
                 return errorResponse("month 파라미터가 필요합니다");
             }
 
-            List<Map<String, Object>> customers = orderDAO.getTopCustomersByMonth(month, limit);
-            return successResponse(listMapToJsonArray(customers));
+            Object customers = cached(action, () -> orderDAO.getTopCustomersByMonth(month, limit), month, limit);
+            return successResponse(customers);
         }
 
         if ("publishers-by-month".equals(action)) {
@@ -107,8 +215,8 @@ public class StatsServlet extends ApiServlet {
                 return errorResponse("month 파라미터가 필요합니다");
             }
 
-            List<Map<String, Object>> stats = orderDAO.getPublisherStatsByMonth(month);
-            return successResponse(listMapToJsonArray(stats));
+            Object stats = cached(action, () -> orderDAO.getPublisherStatsByMonth(month), month);
+            return successResponse(stats);
         }
 
         if ("books-by-month".equals(action)) {
@@ -118,40 +226,101 @@ public class StatsServlet extends ApiServlet {
                 return errorResponse("month 파라미터가 필요합니다");
             }
 
-            List<Map<String, Object>> stats = orderDAO.getBookStatsByMonth(month);
-            return successResponse(listMapToJsonArray(stats));
+            Object stats = cached(action, () -> orderDAO.getBookStatsByMonth(month), month);
+            return successResponse(stats);
         }
 
         return errorResponse("알 수 없는 action: " + action);
     }
 
-    // ===== 유틸리티 메서드 =====
-
-    private String mapToJson(Map<String, Object> map) {
-        StringBuilder sb = new StringBuilder("{");
-        boolean first = true;
-        for (Map.Entry<String, Object> entry : map.entrySet()) {
-            if (!first) sb.append(",");
-            first = false;
-            sb.append("\"").append(entry.getKey()).append("\":");
-            Object value = entry.getValue();
-            if (value instanceof String) {
-                sb.append("\"").append(escapeJson((String) value)).append("\"");
-            } else {
-                sb.append(value);
+    @Override
+    protected JsonBody handlePost(Map<String, String> params, String body, HttpServletRequest req, HttpServletResponse resp) throws Exception {
+        String action = params.get("action");
+
+        if ("rebuild-rollups".equals(action)) {
+            // 판매 집계 테이블을 Orders 기준으로 다시 생성 (관리자)
+            requireAdmin(req);
+            Map<String, Object> result = salesRollupDAO.rebuild();
+            STATS_CACHE.invalidateAll();
+            return successResponse(result);
+        }
+
+        return errorResponse("알 수 없는 action: " + action);
+    }
+
+    /**
+     * 대시보드 화면에 필요한 통계를 한 번에 조회
+     * 항목별 조회를 동시에 실행하므로 응답 시간은 가장 느린 항목 기준이며,
+     * 각 항목은 개별 action과 같은 캐시 키를 사용해 결과를 공유함
+     * stats.dashboard.timeout 안에 끝나지 않은 항목은 취소하고 null로 응답 (항목 이름은 timedOut 목록에)
+     *
+     * @param month 월별 항목 기준 월 (YYYY-MM)
+     */
+    private Map<String, Object> getDashboard(String month) throws Exception {
+        Map<String, Future<Object>> sections = new LinkedHashMap<>();
+        sections.put("overview", submitSection("overview",
+            orderDAO::getOverallStats));
+        sections.put("weeklyBestsellers", submitSection("weekly-bestsellers",
+            () -> orderDAO.getWeeklyBestsellers(5), 5));
+        sections.put("monthly", submitSection("monthly",
+            () -> orderDAO.getMonthlySales(12), 12));
+        sections.put("customerSegments", submitSection("customer-segments",
+            () -> orderDAO.getCustomerSegmentsByMonth(month), month));
+        sections.put("topCustomers", submitSection("top-customers",
+            () -> orderDAO.getTopCustomersByMonth(month, 10), month, 10));
+        sections.put("publishers", submitSection("publishers-by-month",
+            () -> orderDAO.getPublisherStatsByMonth(month), month));
+        sections.put("books", submitSection("books-by-month",
+            () -> orderDAO.getBookStatsByMonth(month), month));
+
+        Map<String, Object> dashboard = new LinkedHashMap<>();
+        dashboard.put("month", month);
+        List<String> timedOut = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DASHBOARD_TIMEOUT_MS);
+        try {
+            for (Map.Entry<String, Future<Object>> section : sections.entrySet()) {
+                try {
+                    long remaining = deadline - System.nanoTime();
+                    dashboard.put(section.getKey(), section.getValue().get(remaining, TimeUnit.NANOSECONDS));
+                } catch (TimeoutException e) {
+                    section.getValue().cancel(true);
+                    dashboard.put(section.getKey(), null);
+                    timedOut.add(section.getKey());
+                }
+            }
+        } catch (ExecutionException e) {
+            // 한 항목이라도 실패하면 나머지 조회를 취소하고 오류 응답
+            for (Future<Object> future : sections.values()) {
+                future.cancel(true);
             }
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception ex) {
+                throw ex;
+            }
+            throw e;
+        }
+        if (!timedOut.isEmpty()) {
+            dashboard.put("timedOut", timedOut);
         }
-        sb.append("}");
-        return sb.toString();
+        return dashboard;
+    }
+
+    private Future<Object> submitSection(String action, Callable<Object> loader, Object... keyParams) {
+        return DASHBOARD_EXECUTOR.submit(STATS_BULKHEAD.within(() -> cached(action, loader, keyParams)));
     }
 
-    private String listMapToJsonArray(List<Map<String, Object>> list) {
-        StringBuilder sb = new StringBuilder("[");
-        for (int i = 0; i < list.size(); i++) {
-            if (i > 0) sb.append(",");
-            sb.append(mapToJson(list.get(i)));
+    /**
+     * 통계 결과를 캐시에서 조회
+     * 키는 action과 조회에 쓰는 값만으로 만들어, 요청에 붙은 다른 파라미터가 캐시를 나누지 않도록 함
+     * ETag를 쓰는 action은 버전 토큰을 키에 포함 (ETag와 다른 시점의 캐시 값을 반환하지 않도록)
+     *
+     * @param keyParams loader가 읽는 파라미터 값 (기본값을 적용한 후의 값)
+     */
+    private Object cached(String action, Callable<Object> loader, Object... keyParams) throws Exception {
+        if (!CACHE_ENABLED) {
+            return loader.call();
         }
-        sb.append("]");
-        return sb.toString();
+        String version = versionToken(Map.of("action", action));
+        return STATS_CACHE.get(new StatsKey(action, Arrays.asList(keyParams), version), loader);
     }
 }
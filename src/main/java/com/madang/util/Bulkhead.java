@@ -0,0 +1,247 @@
+package com.madang.util;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 요청 종류별 동시 처리 제한 (bulkhead)
+ *
+ * 통계처럼 무거운 요청이 몰려도 주문 등 다른 요청의 처리 슬롯과 DB 연결을 다 차지하지 못하도록
+ * 요청 종류(api, stats, static)마다 동시 처리 수와 대기 수를 따로 제한합니다.
+ * - 동시 처리 수 이내: 바로 처리
+ * - 초과: 최대 대기 수까지 maxWait 동안 순서대로 대기
+ * - 대기 자리도 없거나 대기 시간 초과: 바로 거절 (호출한 쪽에서 503 응답)
+ *
+ * 설정 (name이 "stats"인 경우):
+ * <pre>
+ * bulkhead.enabled=true                 # false면 제한하지 않음
+ * bulkhead.stats.max.concurrent=4       # 동시 처리 수
+ * bulkhead.stats.max.queue=20           # 최대 대기 수
+ * bulkhead.stats.max.wait=2000          # 최대 대기 시간 (ms)
+ * </pre>
+ *
+ * 슬롯을 받은 스레드는 처리가 끝날 때까지 이 bulkhead에 속하며, DBConnection이 요청 종류별
+ * 연결 사용 제한(db.concurrency.{name}.limit)을 적용할 때 current()로 확인합니다.
+ *
+ * tryAcquire()는 호출한 스레드를 대기시키므로 가상 스레드에서 사용하고, 고정 크기 스레드 풀로 요청을 받을 때는
+ * execute()로 요청 종류별 전용 스레드 풀에 넘겨 대기 중인 요청이 공용 스레드를 붙잡지 않도록 합니다.
+ */
+public final class Bulkhead {
+
+    private static final boolean ENABLED = ConfigManager.getBoolean("bulkhead.enabled", true);
+
+    // 생성된 모든 bulkhead (통계 조회용)
+    private static final List<Bulkhead> REGISTRY = new CopyOnWriteArrayList<>();
+
+    // 현재 스레드가 처리 중인 요청의 bulkhead
+    private static final ThreadLocal<Bulkhead> CURRENT = new ThreadLocal<>();
+
+    private final String name;
+    private final int maxConcurrent;
+    private final int maxQueue;
+    private final long maxWaitMillis;
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    // execute()용 전용 스레드 풀 (maxConcurrent개 스레드, 대기열 maxQueue개, 쓰지 않는 동안은 스레드 없음)
+    private final ThreadPoolExecutor executor;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+
+    public Bulkhead(String name, int maxConcurrent, int maxQueue, long maxWaitMillis) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("동시 처리 수는 1 이상이어야 합니다: " + name);
+        }
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueue = maxQueue;
+        this.maxWaitMillis = maxWaitMillis;
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.executor = createExecutor(name, maxConcurrent, maxQueue);
+        REGISTRY.add(this);
+    }
+
+    /**
+     * 설정 파일 기준으로 생성 (bulkhead.{name}.max.concurrent, .max.queue, .max.wait)
+     */
+    public static Bulkhead fromConfig(String name, int defaultConcurrent, int defaultQueue, long defaultWaitMillis) {
+        return new Bulkhead(name,
+            ConfigManager.getInt("bulkhead." + name + ".max.concurrent", defaultConcurrent),
+            ConfigManager.getInt("bulkhead." + name + ".max.queue", defaultQueue),
+            ConfigManager.getLong("bulkhead." + name + ".max.wait", defaultWaitMillis));
+    }
+
+    /**
+     * 처리 슬롯 획득 (true면 처리 후 반드시 release() 호출)
+     *
+     * @return 거절된 경우 false
+     */
+    public boolean tryAcquire() {
+        if (!ENABLED) {
+            CURRENT.set(this);
+            return true;
+        }
+        if (permits.tryAcquire()) {
+            accepted.increment();
+            CURRENT.set(this);
+            return true;
+        }
+
+        if (waiting.incrementAndGet() > maxQueue) {
+            waiting.decrementAndGet();
+            rejected.increment();
+            return false;
+        }
+        try {
+            if (permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                accepted.increment();
+                CURRENT.set(this);
+                return true;
+            }
+            timedOut.increment();
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejected.increment();
+            return false;
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    /**
+     * 전용 스레드 풀에서 슬롯을 받아 실행 (server.executor=fixed 등 플랫폼 스레드로 요청을 받을 때 사용)
+     * 호출한 스레드는 작업을 넘기고 바로 돌아가므로, 통계 요청이 몰려도 주문 요청을 받을 스레드가 남음
+     *
+     * @param task 슬롯을 받은 상태로 실행할 작업 (끝나면 슬롯 반납)
+     * @param onReject 거절 시 실행할 작업 (대기열이 가득 차면 호출한 스레드에서, maxWait 넘게 기다렸으면 풀 스레드에서)
+     */
+    public void execute(Runnable task, Runnable onReject) {
+        if (!ENABLED) {
+            run(task);
+            return;
+        }
+
+        long queuedAt = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                if (System.nanoTime() - queuedAt > TimeUnit.MILLISECONDS.toNanos(maxWaitMillis)) {
+                    timedOut.increment();
+                    onReject.run();
+                } else if (tryAcquire()) {
+                    run(task);
+                } else {
+                    onReject.run();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            onReject.run();
+        }
+    }
+
+    /**
+     * 슬롯을 받은 상태에서 실행 (ENABLED가 아니면 슬롯 없이 현재 bulkhead만 표시)
+     */
+    private void run(Runnable task) {
+        if (!ENABLED) {
+            CURRENT.set(this);
+        }
+        try {
+            task.run();
+        } finally {
+            release();
+        }
+    }
+
+    private static ThreadPoolExecutor createExecutor(String name, int threads, int maxQueue) {
+        BlockingQueue<Runnable> queue = maxQueue > 0 ? new ArrayBlockingQueue<>(maxQueue) : new SynchronousQueue<>();
+        AtomicInteger count = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, queue, runnable -> {
+            Thread thread = new Thread(runnable, "bulkhead-" + name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * 처리 슬롯 반납
+     */
+    public void release() {
+        CURRENT.remove();
+        if (ENABLED) {
+            permits.release();
+        }
+    }
+
+    /**
+     * 이미 슬롯을 받은 요청의 일부 작업을 다른 스레드에서 실행할 때 사용 (대시보드 항목별 동시 조회 등)
+     * 슬롯을 새로 받지 않고, 작업 중 DB 연결은 이 bulkhead 몫으로 제한됨
+     */
+    public <T> Callable<T> within(Callable<T> task) {
+        return () -> {
+            Bulkhead previous = CURRENT.get();
+            CURRENT.set(this);
+            try {
+                return task.call();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    /**
+     * 현재 스레드가 처리 중인 요청의 bulkhead (요청 처리 중이 아니면 null)
+     */
+    public static Bulkhead current() {
+        return CURRENT.get();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 통계 (처리 중, 대기 중, 수락/거절/대기 시간 초과 수)
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("name", name);
+        stats.put("maxConcurrent", maxConcurrent);
+        stats.put("maxQueue", maxQueue);
+        stats.put("active", maxConcurrent - permits.availablePermits());
+        stats.put("waiting", waiting.get() + executor.getQueue().size());
+        stats.put("accepted", accepted.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("timedOut", timedOut.sum());
+        return stats;
+    }
+
+    /**
+     * 생성된 모든 bulkhead 목록
+     */
+    public static List<Bulkhead> all() {
+        return Collections.unmodifiableList(REGISTRY);
+    }
+}
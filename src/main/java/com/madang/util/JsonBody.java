@@ -0,0 +1,11 @@
+package com.madang.util;
+
+/**
+ * 응답 본문 작성 함수
+ * 서블릿/핸들러가 반환하면 응답 출력 스트림에 직접 기록됩니다.
+ */
+@FunctionalInterface
+public interface JsonBody {
+
+    void writeTo(JsonWriter out) throws Exception;
+}
@@ -0,0 +1,454 @@
+package com.madang.util;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 운영 지표 (/api/metrics, Prometheus 텍스트 형식)
+ *
+ * - 요청: 경로/action/메서드별 응답 시간 분포, 상태 코드별 건수 (ApiServlet, MadangServer)
+ * - 쿼리: 쿼리를 실행한 DAO 메서드별 실행 시간 분포 (DBConnection 연결의 Statement에서 측정)
+ * - 연결 풀: 풀별 사용 중/유휴/대기 수와 연결 획득 시간 (HikariCP 지표 수집기)
+ * - 세션 수, JVM GC/메모리/할당량
+ *
+ * 요청 스레드는 LongAdder 증가만 하고, 문자열 조립은 수집 요청이 올 때만 합니다.
+ * 라벨 조합은 metrics.max.series개까지만 만들고 그 뒤의 새 조합은 other로 합산합니다.
+ *
+ * 설정:
+ * <pre>
+ * metrics.enabled=true        # 지표 수집 사용
+ * metrics.max.series=500      # 요청/쿼리 라벨 조합 수 상한 (각각)
+ * </pre>
+ */
+public final class Metrics {
+
+    public static final boolean ENABLED = ConfigManager.getBoolean("metrics.enabled", true);
+    private static final int MAX_SERIES = ConfigManager.getInt("metrics.max.series", 500);
+    private static final int MAX_CACHED_SQL = 2000;
+    private static final String OTHER = "other";
+
+    // 요청 라벨로 그대로 쓰는 HTTP 메서드 (그 밖의 값은 other)
+    private static final Set<String> METHODS = Set.of("GET", "POST", "PUT", "DELETE", "OPTIONS", "HEAD");
+
+    /**
+     * 분포 구간 상한 (마이크로초), 마지막 구간은 그 이상
+     */
+    static final long[] BUCKET_MICROS = {
+        100, 250, 500, 1_000, 2_500, 5_000, 10_000, 25_000, 50_000,
+        100_000, 250_000, 500_000, 1_000_000, 2_500_000, 5_000_000, 10_000_000
+    };
+    private static final String[] BUCKET_LE = new String[BUCKET_MICROS.length];
+
+    static {
+        for (int i = 0; i < BUCKET_MICROS.length; i++) {
+            BUCKET_LE[i] = BigDecimal.valueOf(BUCKET_MICROS[i], 6).stripTrailingZeros().toPlainString();
+        }
+    }
+
+    // 요청 (키: 경로, action, 메서드 / 경로, action, 메서드, 상태 코드)
+    private static final ConcurrentHashMap<Labels, Timer> REQUESTS = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<Labels, LongAdder> RESPONSES = new ConcurrentHashMap<>();
+
+    // 쿼리 (키: DAO 클래스.메서드)
+    private static final ConcurrentHashMap<String, Timer> QUERIES = new ConcurrentHashMap<>();
+    // 호출 위치 캐시: SQL 템플릿별 (IN (?, ?, ...) 목록 길이와 무관), 그 앞에 SQL 문자열별 (가득 차면 비우고 다시 채움)
+    private static final ConcurrentHashMap<String, String> CALLERS = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, String> CALLERS_BY_SQL = new ConcurrentHashMap<>();
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    // 연결 풀 (키: 풀 이름)
+    private static final ConcurrentHashMap<String, PoolMetrics> POOLS = new ConcurrentHashMap<>();
+
+    private Metrics() {
+    }
+
+    // ========================================
+    // 기록
+    // ========================================
+
+    /**
+     * 요청 한 건 기록
+     *
+     * @param route  서블릿 경로 (예: /api/books)
+     * @param action action 파라미터 (없으면 null)
+     * @param actions 이 경로가 처리하는 action 목록 (목록에 없는 값은 other로 기록)
+     * @param status 응답 상태 코드
+     */
+    public static void recordRequest(String route, String action, Set<String> actions, String method,
+                                     int status, long nanos) {
+        if (!ENABLED) {
+            return;
+        }
+        // 클라이언트가 보낸 값을 그대로 라벨로 쓰면 임의의 값으로 시계열을 늘릴 수 있으므로 알려진 값만 사용
+        action = action == null ? "" : actions.contains(action) ? action : OTHER;
+        method = METHODS.contains(method) ? method : OTHER;
+        Labels key = new Labels(route, action, method, null);
+        Timer timer = REQUESTS.get(key);
+        if (timer == null) {
+            if (REQUESTS.size() >= MAX_SERIES) {
+                key = new Labels(route, OTHER, method, null);
+            }
+            timer = REQUESTS.computeIfAbsent(key, k -> new Timer());
+        }
+        timer.record(nanos, status >= 500);
+
+        Labels response = new Labels(key.route, key.action, method, Integer.toString(status));
+        LongAdder count = RESPONSES.get(response);
+        if (count == null) {
+            if (RESPONSES.size() >= MAX_SERIES * 2) {
+                response = new Labels(route, OTHER, method, Integer.toString(status));
+            }
+            count = RESPONSES.computeIfAbsent(response, k -> new LongAdder());
+        }
+        count.increment();
+    }
+
+    /**
+     * 쿼리 한 건 기록 (Statement 실행 스레드에서 호출, 호출한 DAO 메서드는 SQL 템플릿별로 한 번만 찾음)
+     */
+    static void recordQuery(String sql, long nanos, boolean failed) {
+        String caller = CALLERS_BY_SQL.get(sql);
+        if (caller == null) {
+            caller = caller(SqlTrace.normalize(sql));
+            if (CALLERS_BY_SQL.size() >= MAX_CACHED_SQL) {
+                CALLERS_BY_SQL.clear();
+            }
+            CALLERS_BY_SQL.put(sql, caller);
+        }
+
+        Timer timer = QUERIES.get(caller);
+        if (timer == null) {
+            timer = QUERIES.computeIfAbsent(QUERIES.size() < MAX_SERIES ? caller : OTHER, k -> new Timer());
+        }
+        timer.record(nanos, failed);
+    }
+
+    private static String caller(String template) {
+        String caller = CALLERS.get(template);
+        if (caller == null) {
+            caller = caller();
+            if (CALLERS.size() < MAX_CACHED_SQL) {
+                CALLERS.put(template, caller);
+            }
+        }
+        return caller;
+    }
+
+    /**
+     * 쿼리를 실행한 메서드 (util 패키지 밖의 첫 com.madang 프레임, 람다는 감싼 메서드 이름으로)
+     */
+    private static String caller() {
+        return WALKER.walk(frames -> frames
+            .filter(f -> f.getClassName().startsWith("com.madang.") && !f.getClassName().startsWith("com.madang.util."))
+            .findFirst()
+            .map(f -> {
+                String type = f.getClassName().substring(f.getClassName().lastIndexOf('.') + 1);
+                int nested = type.indexOf('$');
+                String method = f.getMethodName();
+                if (method.startsWith("lambda$")) {
+                    method = method.substring(7, Math.max(7, method.indexOf('$', 7)));
+                }
+                return (nested > 0 ? type.substring(0, nested) : type) + "." + method;
+            })
+            .orElse(OTHER));
+    }
+
+    /**
+     * HikariCP 풀에 지표 수집기 등록 (풀 상태와 연결 획득/사용 시간)
+     */
+    static void register(HikariConfig config) {
+        if (ENABLED) {
+            config.setMetricsTrackerFactory((poolName, poolStats) -> {
+                PoolMetrics pool = new PoolMetrics(poolStats);
+                POOLS.put(poolName, pool);
+                return pool;
+            });
+        }
+    }
+
+    // ========================================
+    // 출력
+    // ========================================
+
+    /**
+     * 모든 지표 (Prometheus 텍스트 형식 0.0.4)
+     */
+    public static String scrape() {
+        StringBuilder out = new StringBuilder(16 * 1024);
+        writeRequests(out);
+        writeQueries(out);
+        writePools(out);
+
+        header(out, "madang_sessions", "gauge", "로그인 세션 수");
+        sample(out, "madang_sessions", "", SessionManager.getSessionCount());
+
+        writeJvm(out);
+        return out.toString();
+    }
+
+    private static void writeRequests(StringBuilder out) {
+        header(out, "madang_http_requests_total", "counter", "응답 상태 코드별 요청 수");
+        for (Map.Entry<Labels, LongAdder> entry : new TreeMap<>(RESPONSES).entrySet()) {
+            sample(out, "madang_http_requests_total", entry.getKey().toString(), entry.getValue().sum());
+        }
+
+        header(out, "madang_http_request_duration_seconds", "histogram", "요청 처리 시간");
+        for (Map.Entry<Labels, Timer> entry : new TreeMap<>(REQUESTS).entrySet()) {
+            entry.getValue().writeHistogram(out, "madang_http_request_duration_seconds", entry.getKey().toString());
+        }
+    }
+
+    private static void writeQueries(StringBuilder out) {
+        Map<String, Timer> queries = new TreeMap<>(QUERIES);
+
+        header(out, "madang_db_query_duration_seconds", "histogram", "DAO 메서드별 쿼리 실행 시간");
+        for (Map.Entry<String, Timer> entry : queries.entrySet()) {
+            entry.getValue().writeHistogram(out, "madang_db_query_duration_seconds", label("method", entry.getKey()));
+        }
+
+        header(out, "madang_db_query_errors_total", "counter", "DAO 메서드별 실패한 쿼리 수");
+        for (Map.Entry<String, Timer> entry : queries.entrySet()) {
+            sample(out, "madang_db_query_errors_total", label("method", entry.getKey()), entry.getValue().errors.sum());
+        }
+    }
+
+    private static void writePools(StringBuilder out) {
+        Map<String, PoolMetrics> pools = new TreeMap<>(POOLS);
+
+        header(out, "madang_db_pool_connections", "gauge", "풀 연결 수 (active: 사용 중, idle: 유휴, total: 전체)");
+        for (Map.Entry<String, PoolMetrics> entry : pools.entrySet()) {
+            String pool = label("pool", entry.getKey());
+            PoolStats stats = entry.getValue().stats;
+            sample(out, "madang_db_pool_connections", pool + ",state=\"active\"", stats.getActiveConnections());
+            sample(out, "madang_db_pool_connections", pool + ",state=\"idle\"", stats.getIdleConnections());
+            sample(out, "madang_db_pool_connections", pool + ",state=\"total\"", stats.getTotalConnections());
+        }
+
+        header(out, "madang_db_pool_max_connections", "gauge", "풀 최대 연결 수");
+        for (Map.Entry<String, PoolMetrics> entry : pools.entrySet()) {
+            sample(out, "madang_db_pool_max_connections", label("pool", entry.getKey()), entry.getValue().stats.getMaxConnections());
+        }
+
+        header(out, "madang_db_pool_pending_threads", "gauge", "연결을 기다리는 스레드 수");
+        for (Map.Entry<String, PoolMetrics> entry : pools.entrySet()) {
+            sample(out, "madang_db_pool_pending_threads", label("pool", entry.getKey()), entry.getValue().stats.getPendingThreads());
+        }
+
+        header(out, "madang_db_pool_timeouts_total", "counter", "연결 획득 시간 초과 수");
+        for (Map.Entry<String, PoolMetrics> entry : pools.entrySet()) {
+            sample(out, "madang_db_pool_timeouts_total", label("pool", entry.getKey()), entry.getValue().timeouts.sum());
+        }
+
+        header(out, "madang_db_pool_acquire_seconds", "histogram", "풀에서 연결을 얻기까지 걸린 시간");
+        for (Map.Entry<String, PoolMetrics> entry : pools.entrySet()) {
+            entry.getValue().acquire.writeHistogram(out, "madang_db_pool_acquire_seconds", label("pool", entry.getKey()));
+        }
+
+        header(out, "madang_db_pool_usage_seconds", "histogram", "연결을 빌려 쓴 시간 (획득부터 반납까지)");
+        for (Map.Entry<String, PoolMetrics> entry : pools.entrySet()) {
+            entry.getValue().usage.writeHistogram(out, "madang_db_pool_usage_seconds", label("pool", entry.getKey()));
+        }
+    }
+
+    private static void writeJvm(StringBuilder out) {
+        header(out, "jvm_gc_collections_total", "counter", "GC 횟수");
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            sample(out, "jvm_gc_collections_total", label("gc", gc.getName()), Math.max(0, gc.getCollectionCount()));
+        }
+        header(out, "jvm_gc_collection_seconds_total", "counter", "GC에 걸린 시간");
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            sample(out, "jvm_gc_collection_seconds_total", label("gc", gc.getName()), Math.max(0, gc.getCollectionTime()) / 1000.0);
+        }
+
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        MemoryUsage nonHeap = ManagementFactory.getMemoryMXBean().getNonHeapMemoryUsage();
+        header(out, "jvm_memory_used_bytes", "gauge", "사용 중인 메모리");
+        sample(out, "jvm_memory_used_bytes", "area=\"heap\"", heap.getUsed());
+        sample(out, "jvm_memory_used_bytes", "area=\"nonheap\"", nonHeap.getUsed());
+        header(out, "jvm_memory_committed_bytes", "gauge", "확보된 메모리");
+        sample(out, "jvm_memory_committed_bytes", "area=\"heap\"", heap.getCommitted());
+        sample(out, "jvm_memory_committed_bytes", "area=\"nonheap\"", nonHeap.getCommitted());
+        header(out, "jvm_memory_max_bytes", "gauge", "최대 메모리 (-1: 제한 없음)");
+        sample(out, "jvm_memory_max_bytes", "area=\"heap\"", heap.getMax());
+
+        // 모든 스레드가 지금까지 할당한 바이트 (HotSpot 전용, 지원하지 않으면 생략)
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+            && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+            header(out, "jvm_allocated_bytes_total", "counter", "힙 할당량 누계");
+            sample(out, "jvm_allocated_bytes_total", "", threads.getTotalThreadAllocatedBytes());
+        }
+
+        header(out, "jvm_threads_live", "gauge", "실행 중인 플랫폼 스레드 수");
+        sample(out, "jvm_threads_live", "", ManagementFactory.getThreadMXBean().getThreadCount());
+        header(out, "process_uptime_seconds", "gauge", "가동 시간");
+        sample(out, "process_uptime_seconds", "", ManagementFactory.getRuntimeMXBean().getUptime() / 1000.0);
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, double value) {
+        out.append(name);
+        if (!labels.isEmpty()) {
+            out.append('{').append(labels).append('}');
+        }
+        out.append(' ');
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            out.append((long) value);
+        } else {
+            out.append(value);
+        }
+        out.append('\n');
+    }
+
+    private static String label(String name, String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 8);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> escaped.append("\\\\");
+                case '"' -> escaped.append("\\\"");
+                case '\n' -> escaped.append("\\n");
+                default -> escaped.append(c);
+            }
+        }
+        return name + "=\"" + escaped + "\"";
+    }
+
+    /**
+     * 요청 라벨 (status가 null이면 응답 시간 분포용)
+     */
+    private record Labels(String route, String action, String method, String status) implements Comparable<Labels> {
+
+        @Override
+        public int compareTo(Labels other) {
+            int result = route.compareTo(other.route);
+            if (result == 0) result = action.compareTo(other.action);
+            if (result == 0) result = method.compareTo(other.method);
+            if (result == 0 && status != null) result = status.compareTo(other.status);
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            String labels = label("route", route) + "," + label("action", action) + "," + label("method", method);
+            return status == null ? labels : labels + "," + label("status", status);
+        }
+    }
+
+    /**
+     * 실행 시간 분포 (구간별 개수, 합계, 최대, 실패 수)
+     * 여러 스레드가 동시에 기록하므로 모든 값은 LongAdder/AtomicLong
+     */
+    public static final class Timer {
+        final LongAdder count = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAdder[] buckets = new LongAdder[BUCKET_MICROS.length + 1];
+        final AtomicLong maxNanos = new AtomicLong();
+
+        Timer() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(long nanos, boolean failed) {
+            count.increment();
+            totalNanos.add(nanos);
+            if (failed) {
+                errors.increment();
+            }
+            long micros = nanos / 1000;
+            int bucket = 0;
+            while (bucket < BUCKET_MICROS.length && micros > BUCKET_MICROS[bucket]) {
+                bucket++;
+            }
+            buckets[bucket].increment();
+
+            long max;
+            while (nanos > (max = maxNanos.get()) && !maxNanos.compareAndSet(max, nanos)) {
+                // 다른 스레드가 먼저 갱신하면 다시 비교
+            }
+        }
+
+        /**
+         * 백분위 추정 (해당 구간의 상한, 최대값을 넘지 않음)
+         */
+        double percentileMillis(double percentile) {
+            long total = count.sum();
+            if (total == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(total * percentile / 100.0);
+            long seen = 0;
+            for (int i = 0; i < BUCKET_MICROS.length; i++) {
+                seen += buckets[i].sum();
+                if (seen >= rank) {
+                    return Math.min(BUCKET_MICROS[i] / 1000.0, maxNanos.get() / 1e6);
+                }
+            }
+            return maxNanos.get() / 1e6;
+        }
+
+        /**
+         * Prometheus 히스토그램 (_bucket은 누적 개수, 단위는 초)
+         */
+        void writeHistogram(StringBuilder out, String name, String labels) {
+            String prefix = labels.isEmpty() ? "" : labels + ",";
+            long cumulative = 0;
+            for (int i = 0; i < BUCKET_MICROS.length; i++) {
+                cumulative += buckets[i].sum();
+                sample(out, name + "_bucket", prefix + "le=\"" + BUCKET_LE[i] + "\"", cumulative);
+            }
+            cumulative += buckets[BUCKET_MICROS.length].sum();
+            sample(out, name + "_bucket", prefix + "le=\"+Inf\"", cumulative);
+            sample(out, name + "_sum", labels, totalNanos.sum() / 1e9);
+            sample(out, name + "_count", labels, cumulative);
+        }
+    }
+
+    /**
+     * HikariCP 풀 하나의 지표 (풀 상태는 HikariCP가 주기적으로 갱신하는 PoolStats)
+     */
+    private static final class PoolMetrics implements IMetricsTracker {
+        final PoolStats stats;
+        final Timer acquire = new Timer();
+        final Timer usage = new Timer();
+        final LongAdder timeouts = new LongAdder();
+
+        PoolMetrics(PoolStats stats) {
+            this.stats = stats;
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            acquire.record(elapsedAcquiredNanos, false);
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            usage.record(TimeUnit.MILLISECONDS.toNanos(elapsedBorrowedMillis), false);
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            timeouts.increment();
+        }
+    }
+}
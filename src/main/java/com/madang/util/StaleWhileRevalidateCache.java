@@ -0,0 +1,232 @@
+package com.madang.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * stale-while-revalidate 캐시
+ *
+ * 마지막으로 계산한 값을 바로 돌려주고, 갱신 주기가 지난 값이면 전용 스레드에서 다시 계산합니다.
+ * - 갱신 주기 이내: 캐시 값 반환
+ * - 갱신 주기 초과 ~ 최대 보관 시간 이내: 캐시 값 반환 + 백그라운드 갱신 (키당 한 번만)
+ * - 값이 없거나 최대 보관 시간 초과: 호출한 스레드에서 계산 (같은 키를 동시에 요청하면 한 번만 계산하고 결과 공유)
+ *
+ * 대시보드 집계처럼 조금 늦은 값이 허용되고 계산 비용이 큰 조회에 사용합니다.
+ * 백그라운드 갱신도 요청과 같은 bulkhead 슬롯을 받아 실행하며, 받지 못하면 이번 갱신은 건너뜁니다
+ * (이전 값을 계속 반환하고 다음 조회 때 다시 시도).
+ */
+public class StaleWhileRevalidateCache<K, V> {
+
+    private final String name;
+    private final ToLongFunction<K> refreshInterval;
+    private final long maxStaleMillis;
+    private final int maxSize;
+    private final Bulkhead bulkhead;
+    private final ThreadPoolExecutor executor;
+
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    // 계산 중인 키 (동시 요청을 하나의 조회로 합치기 위함)
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    // 백그라운드 갱신 중인 키 (갱신은 건너뛸 수 있으므로 값이 없어 기다리는 요청과 결과를 공유하지 않음)
+    private final Set<K> refreshing = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder collapsed = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+    private final LongAdder refreshRejected = new LongAdder();
+
+    private static final class Entry<V> {
+        final V value;
+        final long loadedAt;
+        volatile long lastAccess;
+
+        Entry(V value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+            this.lastAccess = loadedAt;
+        }
+    }
+
+    /**
+     * @param name 캐시 이름 (스레드 이름, 통계에 사용)
+     * @param refreshInterval 키별 갱신 주기 (ms)
+     * @param maxStaleMillis 이 시간이 지난 값은 반환하지 않고 새로 계산
+     * @param maxSize 최대 키 개수 (넘으면 가장 오래 사용하지 않은 키 제거)
+     * @param threads 백그라운드 갱신 스레드 수
+     * @param bulkhead 백그라운드 갱신에 적용할 동시 처리 제한 (null이면 제한 없음)
+     */
+    public StaleWhileRevalidateCache(String name, ToLongFunction<K> refreshInterval,
+                                     long maxStaleMillis, int maxSize, int threads, Bulkhead bulkhead) {
+        this.name = name;
+        this.refreshInterval = refreshInterval;
+        this.maxStaleMillis = maxStaleMillis;
+        this.maxSize = maxSize;
+        this.bulkhead = bulkhead;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(Math.max(maxSize, 16)), runnable -> {
+                Thread thread = new Thread(runnable, name + "-refresh-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 캐시 조회 (없으면 loader로 계산)
+     */
+    public V get(K key, Callable<V> loader) throws Exception {
+        long now = System.currentTimeMillis();
+        Entry<V> entry = entries.get(key);
+
+        if (entry != null && now - entry.loadedAt < maxStaleMillis) {
+            entry.lastAccess = now;
+            if (now - entry.loadedAt >= refreshInterval.applyAsLong(key)) {
+                staleHits.increment();
+                refreshAsync(key, loader);
+            } else {
+                hits.increment();
+            }
+            return entry.value;
+        }
+
+        misses.increment();
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            // 같은 키를 이미 계산 중이면 그 결과를 기다림
+            collapsed.increment();
+            return await(existing);
+        }
+
+        load(key, loader, created);
+        return await(created);
+    }
+
+    /**
+     * 전체 제거 (다음 조회는 새로 계산)
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * 캐시 통계
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("name", name);
+        stats.put("hits", hits.sum());
+        stats.put("staleHits", staleHits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("collapsed", collapsed.sum());
+        stats.put("refreshes", refreshes.sum());
+        stats.put("refreshFailures", refreshFailures.sum());
+        stats.put("refreshRejected", refreshRejected.sum());
+        stats.put("size", entries.size());
+        stats.put("refreshQueue", executor.getQueue().size());
+        return stats;
+    }
+
+    private void refreshAsync(K key, Callable<V> loader) {
+        if (!refreshing.add(key)) {
+            return;  // 이미 갱신 중
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    refresh(key, loader);
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+        }
+    }
+
+    private void refresh(K key, Callable<V> loader) {
+        if (bulkhead != null && !bulkhead.tryAcquire()) {
+            refreshRejected.increment();  // 요청이 몰리는 중: 이전 값을 계속 사용
+            return;
+        }
+        try {
+            refreshes.increment();
+            store(key, loader.call());
+        } catch (Throwable t) {
+            refreshFailures.increment();  // 실패하면 이전 값을 계속 사용
+        } finally {
+            if (bulkhead != null) {
+                bulkhead.release();
+            }
+        }
+    }
+
+    private void load(K key, Callable<V> loader, CompletableFuture<V> future) {
+        try {
+            V value = loader.call();
+            store(key, value);
+            future.complete(value);
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private void store(K key, V value) {
+        entries.put(key, new Entry<>(value, System.currentTimeMillis()));
+        trim();
+    }
+
+    /**
+     * 최대 키 개수를 넘으면 가장 오래 사용하지 않은 키 제거
+     */
+    private void trim() {
+        while (entries.size() > maxSize) {
+            K oldestKey = null;
+            long oldestAccess = Long.MAX_VALUE;
+            Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<K, Entry<V>> e = it.next();
+                if (e.getValue().lastAccess < oldestAccess) {
+                    oldestAccess = e.getValue().lastAccess;
+                    oldestKey = e.getKey();
+                }
+            }
+            if (oldestKey == null) {
+                return;
+            }
+            entries.remove(oldestKey);
+        }
+    }
+
+    private V await(CompletableFuture<V> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception ex) {
+                throw ex;
+            }
+            throw e;
+        }
+    }
+}